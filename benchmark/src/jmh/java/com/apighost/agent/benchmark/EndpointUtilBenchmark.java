@@ -0,0 +1,47 @@
+package com.apighost.agent.benchmark;
+
+import com.apighost.agent.benchmark.fixture.OrderResponse;
+import com.apighost.agent.benchmark.fixture.deep.Level0;
+import com.apighost.agent.benchmark.fixture.graph.Node;
+import com.apighost.agent.collector.util.EndpointUtil;
+import com.apighost.model.collector.FieldMeta;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link EndpointUtil#analyzeDto(Class, java.util.Set)} on DTO graphs of different
+ * shapes: a typical nested response, a 32-level chain with list-typed siblings, and a cyclic
+ * node and edge graph.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EndpointUtilBenchmark {
+
+    @Benchmark
+    public List<FieldMeta> analyzeNestedDto() {
+        return EndpointUtil.analyzeDto(OrderResponse.class, new HashSet<>());
+    }
+
+    @Benchmark
+    public List<FieldMeta> analyzeDeepDto() {
+        return EndpointUtil.analyzeDto(Level0.class, new HashSet<>());
+    }
+
+    @Benchmark
+    public List<FieldMeta> analyzeCyclicDto() {
+        return EndpointUtil.analyzeDto(Node.class, new HashSet<>());
+    }
+}
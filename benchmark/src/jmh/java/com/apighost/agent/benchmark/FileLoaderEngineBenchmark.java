@@ -0,0 +1,145 @@
+package com.apighost.agent.benchmark;
+
+import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.config.ResultStoreSetting;
+import com.apighost.agent.config.ResultStoreSetting.StoreType;
+import com.apighost.agent.engine.FileLoaderEngine;
+import com.apighost.agent.file.FileExporter;
+import com.apighost.agent.file.FsyncPolicy;
+import com.apighost.agent.file.ResultFormat;
+import com.apighost.agent.index.FileWatchIndex;
+import com.apighost.agent.model.ResultListQuery;
+import com.apighost.agent.model.ScenarioResultListResponse;
+import com.apighost.agent.store.FileResultStore;
+import com.apighost.model.scenario.ScenarioResult;
+import com.apighost.model.scenario.result.ResultStep;
+import com.apighost.model.scenario.step.HTTPMethod;
+import com.apighost.model.scenario.step.ProtocolType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures {@link FileLoaderEngine#getScenarioResults(ResultListQuery)} over a directory of
+ * {@code resultCount} exported results.
+ * <p>
+ * {@code listAll} and {@code firstPage} read from the warm in-memory index, the way listing
+ * requests are served once the agent is running. {@code coldListAll} builds a new index for
+ * every invocation, which includes the full directory scan done on the first listing after
+ * startup.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileLoaderEngineBenchmark {
+
+    private static final int STEPS_PER_RESULT = 5;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"100", "1000"})
+    public int resultCount;
+
+    private Path workDirectory;
+    private ApiGhostSetting apiGhostSetting;
+    private ResultStoreSetting resultStoreSetting;
+    private FileWatchIndex fileWatchIndex;
+    private FileLoaderEngine fileLoaderEngine;
+    private ResultListQuery pageQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("apighost-bench");
+        Path scenarioPath = Files.createDirectories(workDirectory.resolve("scenario"));
+        Path resultPath = Files.createDirectories(workDirectory.resolve("result"));
+
+        apiGhostSetting = new ApiGhostSetting(scenarioPath.toString(), resultPath.toString(),
+            ".yaml", ".yml", ".json", ResultFormat.JSON);
+        resultStoreSetting = new ResultStoreSetting(StoreType.FILE, 64L * 1024 * 1024,
+            Duration.ofDays(1), 0, 0, Duration.ofMinutes(10), 0.5, FsyncPolicy.NEVER, 256, 32);
+
+        FileExporter fileExporter = new FileExporter(FsyncPolicy.NEVER);
+        for (int i = 0; i < resultCount; i++) {
+            /* Distinct scenario names keep the second-precision result names unique. */
+            fileExporter.exportFile(createResult("scenario-" + i, i % 10 != 0), ".json",
+                resultPath.toString());
+        }
+
+        fileWatchIndex = new FileWatchIndex(apiGhostSetting);
+        fileLoaderEngine = new FileLoaderEngine(apiGhostSetting, fileWatchIndex,
+            new FileResultStore(apiGhostSetting, resultStoreSetting, fileWatchIndex));
+        pageQuery = new ResultListQuery.Builder().limit(PAGE_SIZE).build();
+        fileLoaderEngine.getScenarioResults();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fileWatchIndex.close();
+        BenchmarkFiles.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public ScenarioResultListResponse listAll() {
+        return fileLoaderEngine.getScenarioResults();
+    }
+
+    @Benchmark
+    public ScenarioResultListResponse firstPage() {
+        return fileLoaderEngine.getScenarioResults(pageQuery);
+    }
+
+    @Benchmark
+    public ScenarioResultListResponse coldListAll() {
+        try (FileWatchIndex coldIndex = new FileWatchIndex(apiGhostSetting)) {
+            return new FileLoaderEngine(apiGhostSetting, coldIndex,
+                new FileResultStore(apiGhostSetting, resultStoreSetting, coldIndex))
+                .getScenarioResults();
+        }
+    }
+
+    private ScenarioResult createResult(String scenarioName, boolean success) {
+        List<ResultStep> steps = new ArrayList<>();
+        for (int i = 0; i < STEPS_PER_RESULT; i++) {
+            steps.add(new ResultStep.Builder()
+                .stepName("step" + i)
+                .type(ProtocolType.HTTP)
+                .method(HTTPMethod.GET)
+                .url("http://localhost:8080/orders/" + i)
+                .status(200)
+                .responseBody("{\"orderId\":" + i + ",\"status\":\"PAID\"}")
+                .durationMs(20 + i)
+                .isRequestSuccess(success)
+                .build());
+        }
+        return new ScenarioResult.Builder()
+            .name(scenarioName)
+            .description("benchmark result")
+            .executedAt(Instant.now().toString())
+            .baseUrl("http://localhost:8080")
+            .totalDurationMs(110)
+            .averageDurationMs(22)
+            .isScenarioSuccess(success)
+            .results(steps)
+            .build();
+    }
+}
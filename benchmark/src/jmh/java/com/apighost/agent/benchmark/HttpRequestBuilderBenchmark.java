@@ -0,0 +1,74 @@
+package com.apighost.agent.benchmark;
+
+import com.apighost.agent.util.HttpRequestBuilder;
+import com.apighost.model.scenario.request.Request;
+import com.apighost.model.scenario.request.RequestBody;
+import com.apighost.model.scenario.step.HTTPMethod;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpEntity;
+
+/**
+ * Measures {@link HttpRequestBuilder#build(Request)} for a header-only GET request and for a
+ * POST request whose JSON body has to be parsed.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HttpRequestBuilderBenchmark {
+
+    private static final String JSON_BODY = """
+        {"customer":{"id":42,"name":"bench","email":"bench@apighost.com",
+        "billingAddress":{"street":"Main 1","city":"Seoul","zipCode":"04524"}},
+        "lines":[{"sku":"A-1","quantity":2,"unitPrice":1200},
+        {"sku":"B-7","quantity":1,"unitPrice":56000}],"couponCode":null}
+        """;
+
+    private final HttpRequestBuilder httpRequestBuilder = HttpRequestBuilder.getInstance();
+    private Request getRequest;
+    private Request postRequest;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> header = new LinkedHashMap<>();
+        header.put("Content-Type", "application/json");
+        header.put("Authorization", "Bearer benchmark-token");
+        header.put("X-Request-Id", "3f2a9c1e");
+
+        getRequest = new Request.Builder()
+            .method(HTTPMethod.GET)
+            .url("http://localhost:8080/orders/42")
+            .header(header)
+            .build();
+        postRequest = new Request.Builder()
+            .method(HTTPMethod.POST)
+            .url("http://localhost:8080/orders")
+            .header(header)
+            .body(new RequestBody.Builder().json(JSON_BODY).build())
+            .build();
+    }
+
+    @Benchmark
+    public HttpEntity<?> buildGet() throws JsonProcessingException {
+        return httpRequestBuilder.build(getRequest);
+    }
+
+    @Benchmark
+    public HttpEntity<?> buildPostWithJsonBody() throws JsonProcessingException {
+        return httpRequestBuilder.build(postRequest);
+    }
+}
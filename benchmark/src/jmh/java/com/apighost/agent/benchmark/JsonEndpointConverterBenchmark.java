@@ -0,0 +1,68 @@
+package com.apighost.agent.benchmark;
+
+import com.apighost.agent.benchmark.fixture.OrderResponse;
+import com.apighost.agent.benchmark.fixture.deep.Level0;
+import com.apighost.agent.collector.converter.JsonEndpointConverter;
+import com.apighost.agent.collector.util.EndpointUtil;
+import com.apighost.model.collector.FieldMeta;
+import com.apighost.model.collector.Parameter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the schema and parameter JSON rendering of {@link JsonEndpointConverter}.
+ * <p>
+ * The field schemas are analyzed once in the setup, so only the conversion is measured.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonEndpointConverterBenchmark {
+
+    private static final int PARAMETER_COUNT = 20;
+
+    private final JsonEndpointConverter converter = JsonEndpointConverter.getInstance();
+    private List<FieldMeta> nestedSchema;
+    private List<FieldMeta> deepSchema;
+    private List<Parameter> parameters;
+
+    @Setup
+    public void setUp() {
+        nestedSchema = EndpointUtil.analyzeDto(OrderResponse.class, new HashSet<>());
+        deepSchema = EndpointUtil.analyzeDto(Level0.class, new HashSet<>());
+        parameters = new ArrayList<>();
+        for (int i = 0; i < PARAMETER_COUNT; i++) {
+            parameters.add(new Parameter("String", "param" + i));
+        }
+    }
+
+    @Benchmark
+    public String nestedSchemaToJson() {
+        return converter.createJsonBodyFromEndpoint(nestedSchema);
+    }
+
+    @Benchmark
+    public String deepSchemaToJson() {
+        return converter.createJsonBodyFromEndpoint(deepSchema);
+    }
+
+    @Benchmark
+    public String parametersToJson() {
+        return converter.convertParamsToJson(parameters);
+    }
+}
@@ -0,0 +1,55 @@
+package com.apighost.agent.benchmark;
+
+import com.apighost.agent.collector.RestApiCollector;
+import com.apighost.agent.collector.ScanMode;
+import com.apighost.model.collector.Endpoint;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full {@link RestApiCollector#scan()} over generated controller packages.
+ * <p>
+ * The {@code k1} and {@code k5} fixture packages hold 1,000 and 5,000 controllers with three
+ * mappings each, using nested request and response DTOs. A new collector is used for every
+ * invocation because a collector keeps the endpoints of all previous scans. Both scan modes are
+ * measured; after the first iteration the reflective mode finds its classes already loaded, so
+ * the comparison shows schema extraction cost rather than class loading cost.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RestApiCollectorBenchmark {
+
+    private static final String FIXTURE_PACKAGE = "com.apighost.agent.benchmark.fixture.";
+
+    @Param({"k1", "k5"})
+    public String fixture;
+
+    @Param({"REFLECTION", "BYTECODE"})
+    public ScanMode scanMode;
+
+    @Benchmark
+    public List<Endpoint> scan() {
+        RestApiCollector collector = new RestApiCollector(FIXTURE_PACKAGE + fixture,
+            "http://localhost:8080", scanMode);
+        collector.scan();
+        return collector.getEndpointList();
+    }
+}
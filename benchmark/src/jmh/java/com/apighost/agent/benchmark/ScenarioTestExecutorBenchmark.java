@@ -0,0 +1,175 @@
+package com.apighost.agent.benchmark;
+
+import com.apighost.agent.cache.CompiledScenario;
+import com.apighost.agent.config.ApiGhostProperties;
+import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.executor.AsyncHttpStepExecutor;
+import com.apighost.agent.executor.BlockingStepExecutorAdapter;
+import com.apighost.agent.executor.ScenarioTestExecutor;
+import com.apighost.agent.file.ResultFormat;
+import com.apighost.agent.tracing.ScenarioTracer;
+import com.apighost.agent.util.ObjectWriterHolder;
+import com.apighost.model.scenario.Scenario;
+import com.apighost.model.scenario.ScenarioResult;
+import com.apighost.scenario.executor.HTTPStepExecutor;
+import com.apighost.scenario.executor.WebSocketStepExecutor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link ScenarioTestExecutor} running a two-step HTTP scenario against an embedded
+ * stub server on the loopback interface.
+ * <p>
+ * The stub answers immediately with a small JSON document, so the measured time is the agent's
+ * own overhead: request building, the HTTP client round trip, route evaluation and result
+ * assembly. The scenario is compiled once, as the compilation cache does between runs.
+ * </p>
+ * <p>
+ * The blocking library executor, run on its own pool as in the agent, is compared with the
+ * {@link AsyncHttpStepExecutor}, alone and with {@value #IN_FLIGHT_SCENARIOS} scenarios in flight
+ * at once from a single thread.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScenarioTestExecutorBenchmark {
+
+    private static final String SCENARIO_TEMPLATE = """
+        name: benchmark
+        description: two step scenario against the embedded stub
+        timeoutMs: 10000
+        store: {}
+        steps:
+          ping:
+            type: HTTP
+            position: {x: 0, y: 0}
+            request:
+              method: GET
+              url: %1$s/ping
+              header: {}
+            route:
+              - expected:
+                  status: "200"
+                then:
+                  step: order
+          order:
+            type: HTTP
+            position: {x: 0, y: 0}
+            request:
+              method: POST
+              url: %1$s/orders
+              header:
+                Content-Type: application/json
+              body:
+                json: '{"sku":"A-1","quantity":2}'
+            route: []
+        """;
+
+    private static final int IN_FLIGHT_SCENARIOS = 64;
+
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+    private ScenarioTestExecutor scenarioTestExecutor;
+    private ScenarioTestExecutor asyncScenarioTestExecutor;
+    private CompiledScenario compiledScenario;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stubServer = HttpServer.create(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stubServer.createContext("/ping", exchange -> respond(exchange, "{\"status\":\"UP\"}"));
+        stubServer.createContext("/orders",
+            exchange -> respond(exchange, "{\"orderId\":42,\"status\":\"PAID\"}"));
+        stubExecutor = Executors.newFixedThreadPool(4);
+        stubServer.setExecutor(stubExecutor);
+        stubServer.start();
+
+        String baseUrl = "http://127.0.0.1:" + stubServer.getAddress().getPort();
+        Scenario scenario = ObjectWriterHolder.scenarioYamlReader()
+            .readValue(SCENARIO_TEMPLATE.formatted(baseUrl));
+        compiledScenario = CompiledScenario.compile(scenario);
+
+        ApiGhostSetting apiGhostSetting = new ApiGhostSetting("apighost", "apighost/result",
+            ".yaml", ".yml", ".json", ResultFormat.JSON);
+        scenarioTestExecutor = new ScenarioTestExecutor(apiGhostSetting,
+            new ApiGhostProperties("", baseUrl, ""), new HTTPStepExecutor(),
+            new WebSocketStepExecutor());
+        asyncScenarioTestExecutor = new ScenarioTestExecutor(apiGhostSetting,
+            new ApiGhostProperties("", baseUrl, ""), new AsyncHttpStepExecutor(),
+            BlockingStepExecutorAdapter.pooled(new WebSocketStepExecutor(),
+                "apighost-websocket-step"),
+            ScenarioTracer.disabled());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public ScenarioResult executeScenario() {
+        return scenarioTestExecutor.testExecutor(compiledScenario, resultStep -> {
+        });
+    }
+
+    @Benchmark
+    public ScenarioResult executeScenarioAsync() {
+        return asyncScenarioTestExecutor.testExecutorAsync(compiledScenario, resultStep -> {
+        }).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT_SCENARIOS)
+    public void executeInFlightScenarios(Blackhole blackhole) {
+        CompletableFuture<?>[] runs = new CompletableFuture<?>[IN_FLIGHT_SCENARIOS];
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = asyncScenarioTestExecutor.testExecutorAsync(compiledScenario,
+                resultStep -> {
+                });
+        }
+        CompletableFuture.allOf(runs).join();
+        for (CompletableFuture<?> run : runs) {
+            blackhole.consume(run.join());
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+        }
+        byte[] response = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(response);
+        }
+    }
+}
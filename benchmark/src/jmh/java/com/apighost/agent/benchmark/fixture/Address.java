@@ -0,0 +1,20 @@
+package com.apighost.agent.benchmark.fixture;
+
+public class Address {
+
+    private String street;
+    private String city;
+    private String zipCode;
+
+    public String getStreet() {
+        return street;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getZipCode() {
+        return zipCode;
+    }
+}
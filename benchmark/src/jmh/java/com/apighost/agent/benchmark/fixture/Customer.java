@@ -0,0 +1,32 @@
+package com.apighost.agent.benchmark.fixture;
+
+import java.util.List;
+
+public class Customer {
+
+    private long id;
+    private String name;
+    private String email;
+    private Address billingAddress;
+    private List<Address> shippingAddresses;
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Address getBillingAddress() {
+        return billingAddress;
+    }
+
+    public List<Address> getShippingAddresses() {
+        return shippingAddresses;
+    }
+}
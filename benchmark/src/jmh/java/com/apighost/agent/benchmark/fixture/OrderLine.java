@@ -0,0 +1,20 @@
+package com.apighost.agent.benchmark.fixture;
+
+public class OrderLine {
+
+    private String sku;
+    private int quantity;
+    private long unitPrice;
+
+    public String getSku() {
+        return sku;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public long getUnitPrice() {
+        return unitPrice;
+    }
+}
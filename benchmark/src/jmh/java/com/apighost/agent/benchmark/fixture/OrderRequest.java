@@ -0,0 +1,28 @@
+package com.apighost.agent.benchmark.fixture;
+
+import java.util.List;
+
+/**
+ * Request body of the synthetic controllers, nesting a customer and a list of order lines.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class OrderRequest {
+
+    private Customer customer;
+    private List<OrderLine> lines;
+    private String couponCode;
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public List<OrderLine> getLines() {
+        return lines;
+    }
+
+    public String getCouponCode() {
+        return couponCode;
+    }
+}
@@ -0,0 +1,38 @@
+package com.apighost.agent.benchmark.fixture;
+
+import java.util.List;
+
+/**
+ * Response body of the synthetic controllers.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class OrderResponse {
+
+    private long orderId;
+    private String status;
+    private Customer customer;
+    private List<OrderLine> lines;
+    private long totalPrice;
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public List<OrderLine> getLines() {
+        return lines;
+    }
+
+    public long getTotalPrice() {
+        return totalPrice;
+    }
+}
@@ -0,0 +1,20 @@
+package com.apighost.agent.benchmark.fixture.graph;
+
+public class Edge {
+
+    private Node from;
+    private Node to;
+    private double weight;
+
+    public Node getFrom() {
+        return from;
+    }
+
+    public Node getTo() {
+        return to;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+}
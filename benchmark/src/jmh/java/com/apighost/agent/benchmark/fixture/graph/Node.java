@@ -0,0 +1,33 @@
+package com.apighost.agent.benchmark.fixture.graph;
+
+import java.util.List;
+
+/**
+ * Graph node whose fields refer back to itself and to {@link Edge}, forming reference cycles.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class Node {
+
+    private String id;
+    private Node parent;
+    private List<Node> children;
+    private List<Edge> edges;
+
+    public String getId() {
+        return id;
+    }
+
+    public Node getParent() {
+        return parent;
+    }
+
+    public List<Node> getChildren() {
+        return children;
+    }
+
+    public List<Edge> getEdges() {
+        return edges;
+    }
+}
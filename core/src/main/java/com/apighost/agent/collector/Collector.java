@@ -8,4 +8,6 @@ public interface Collector {
     void scan();
 
     List<Endpoint> getEndpointList();
+
+    void clear();
 }
@@ -0,0 +1,61 @@
+package com.apighost.agent.collector;
+
+import com.apighost.agent.metrics.Gauge;
+import com.apighost.agent.metrics.Histogram;
+import com.apighost.agent.metrics.MetricFamily;
+import com.apighost.agent.metrics.MetricsRegistry;
+
+/**
+ * Scan metrics shared by the collectors, labelled by the collector that produced them.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+final class CollectorMetrics {
+
+    private static final MetricFamily<Histogram> SCAN_DURATION = MetricsRegistry.getInstance()
+        .histogram("apighost_scan_duration_seconds", "Duration of endpoint classpath scans",
+            "collector");
+    private static final MetricFamily<Gauge> SCAN_ENDPOINTS = MetricsRegistry.getInstance()
+        .gauge("apighost_scan_endpoints", "Endpoints found by the latest scan", "collector");
+    private static final Gauge REGISTRY_ENDPOINTS = MetricsRegistry.getInstance()
+        .gauge("apighost_endpoint_registry_endpoints", "Endpoints held by the endpoint registry")
+        .labels();
+    private static final Gauge REGISTRY_STRINGS = MetricsRegistry.getInstance()
+        .gauge("apighost_endpoint_registry_distinct_strings",
+            "Distinct strings retained by the endpoint registry")
+        .labels();
+    private static final Gauge REGISTRY_HEAP_BYTES = MetricsRegistry.getInstance()
+        .gauge("apighost_endpoint_registry_heap_bytes",
+            "Estimated heap retained by the endpoint registry")
+        .labels();
+
+    private CollectorMetrics() {
+    }
+
+    /**
+     * Records a finished scan.
+     *
+     * @param collector     the collector label, e.g. {@code rest}
+     * @param startNanos    the {@link System#nanoTime()} reading taken when the scan started
+     * @param endpointCount the number of endpoints collected
+     */
+    static void recordScan(String collector, long startNanos, int endpointCount) {
+        SCAN_DURATION.labels(collector).recordSince(startNanos);
+        SCAN_ENDPOINTS.labels(collector).set(endpointCount);
+    }
+
+    /**
+     * Records the size of the endpoint registry.
+     *
+     * @param endpointCount       the number of endpoints held
+     * @param distinctStringCount the number of distinct strings retained
+     * @param estimatedHeapBytes  the estimated retained heap in bytes
+     */
+    static void recordRegistry(int endpointCount, int distinctStringCount,
+        long estimatedHeapBytes) {
+        REGISTRY_ENDPOINTS.set(endpointCount);
+        REGISTRY_STRINGS.set(distinctStringCount);
+        REGISTRY_HEAP_BYTES.set(estimatedHeapBytes);
+    }
+}
@@ -0,0 +1,175 @@
+package com.apighost.agent.collector;
+
+import com.apighost.model.collector.Endpoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, deduplicated holder of the endpoints served by the agent.
+ *
+ * <p>Scanned endpoints carry their own copies of the same base URL, media type lists and the
+ * many {@code "{}"} placeholders for empty schemas and parameters. The registry rebuilds every
+ * endpoint with strings and lists taken from a pool local to the registry, so each distinct value
+ * is retained once, and holds the result in an immutable list. The endpoints are equal to the
+ * scanned ones field by field, so their JSON representation does not change.</p>
+ *
+ * <p>{@link #getEstimatedHeapBytes()} reports the shallow size of the retained endpoints,
+ * strings and lists, assuming a 64-bit JVM with compressed references and compact strings. It is
+ * an estimate for diagnostics, not a measurement.</p>
+ *
+ * @author oneweeek
+ * @version BETA-0.0.1
+ */
+public class EndpointRegistry {
+
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int ENDPOINT_REFERENCE_FIELDS = 13;
+    private static final int STRING_SHALLOW_BYTES = 24;
+    private static final int LIST_SHALLOW_BYTES = 16;
+
+    private final List<Endpoint> endpoints;
+    private final int distinctStringCount;
+    private final int distinctListCount;
+    private final long estimatedHeapBytes;
+
+    private EndpointRegistry(List<Endpoint> endpoints, Interner interner) {
+        this.endpoints = endpoints;
+        this.distinctStringCount = interner.strings.size();
+        this.distinctListCount = interner.lists.size();
+        this.estimatedHeapBytes = interner.estimatedBytes
+            + align(ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * endpoints.size())
+            + align(OBJECT_HEADER_BYTES + (long) REFERENCE_BYTES * ENDPOINT_REFERENCE_FIELDS)
+            * endpoints.size();
+    }
+
+    /**
+     * Builds a registry from the endpoints of one or more collectors.
+     *
+     * @param endpointLists the endpoint lists, in the order they are served
+     * @return the registry
+     */
+    @SafeVarargs
+    public static EndpointRegistry of(Collection<Endpoint>... endpointLists) {
+        Interner interner = new Interner();
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (Collection<Endpoint> endpointList : endpointLists) {
+            for (Endpoint endpoint : endpointList) {
+                endpoints.add(interner.intern(endpoint));
+            }
+        }
+        return new EndpointRegistry(List.copyOf(endpoints), interner);
+    }
+
+    /**
+     * Publishes the size of the registry as gauges of the agent's metrics.
+     */
+    public void publishMetrics() {
+        CollectorMetrics.recordRegistry(endpoints.size(), distinctStringCount,
+            estimatedHeapBytes);
+    }
+
+    /**
+     * Returns the endpoints of the registry.
+     *
+     * @return an immutable list of endpoints
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    public int getDistinctStringCount() {
+        return distinctStringCount;
+    }
+
+    public int getDistinctListCount() {
+        return distinctListCount;
+    }
+
+    public long getEstimatedHeapBytes() {
+        return estimatedHeapBytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Pool of the strings and lists of one registry.
+     */
+    private static final class Interner {
+
+        private final Map<String, String> strings = new HashMap<>();
+        private final Map<List<String>, List<String>> lists = new HashMap<>();
+        private long estimatedBytes;
+
+        private Endpoint intern(Endpoint endpoint) {
+            return new Endpoint.Builder()
+                .protocolType(endpoint.getProtocolType())
+                .baseUrl(intern(endpoint.getBaseUrl()))
+                .methodName(intern(endpoint.getMethodName()))
+                .httpMethod(endpoint.getHttpMethod())
+                .path(intern(endpoint.getPath()))
+                .produces(intern(endpoint.getProduces()))
+                .consumes(intern(endpoint.getConsumes()))
+                .requestSchema(intern(endpoint.getRequestSchema()))
+                .responseSchema(intern(endpoint.getResponseSchema()))
+                .headers(intern(endpoint.getHeaders()))
+                .cookies(intern(endpoint.getCookies()))
+                .requestParams(intern(endpoint.getRequestParams()))
+                .pathVariables(intern(endpoint.getPathVariables()))
+                .build();
+        }
+
+        private String intern(String value) {
+            if (value == null) {
+                return null;
+            }
+            String pooled = strings.putIfAbsent(value, value);
+            if (pooled != null) {
+                return pooled;
+            }
+            estimatedBytes += STRING_SHALLOW_BYTES + align(ARRAY_HEADER_BYTES
+                + (long) value.length() * (isLatin1(value) ? 1 : 2));
+            return value;
+        }
+
+        private List<String> intern(List<String> values) {
+            if (values == null) {
+                return null;
+            }
+            List<String> key = new ArrayList<>(values.size());
+            for (String value : values) {
+                key.add(intern(value));
+            }
+            List<String> pooled = lists.get(key);
+            if (pooled != null) {
+                return pooled;
+            }
+            List<String> immutable = key.contains(null)
+                ? Collections.unmodifiableList(key) : List.copyOf(key);
+            lists.put(immutable, immutable);
+            estimatedBytes += LIST_SHALLOW_BYTES + (immutable.isEmpty() ? 0
+                : align(ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * immutable.size()));
+            return immutable;
+        }
+
+        private static boolean isLatin1(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > 0xFF) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.apighost.agent.collector;
 
 import com.apighost.agent.collector.converter.JsonEndpointConverter;
 import com.apighost.agent.collector.util.EndpointUtil;
+import com.apighost.agent.collector.util.SignatureSchemaAnalyzer;
 import com.apighost.model.collector.Endpoint;
 import com.apighost.model.collector.FieldMeta;
 import com.apighost.model.collector.Parameter;
@@ -18,7 +19,6 @@ import java.util.List;
 
 import io.github.classgraph.AnnotationInfo;
 import io.github.classgraph.AnnotationInfoList;
-import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
 import io.github.classgraph.MethodInfo;
 import io.github.classgraph.ScanResult;
@@ -41,11 +41,16 @@ import io.github.classgraph.ScanResult;
  */
 public class RestApiCollector implements Collector {
 
-    private final String basePackage;
+    private static final String REST_CONTROLLER =
+        "org.springframework.web.bind.annotation.RestController";
+
+    private final ScanScope scanScope;
     private final String baseUrl;
     private final List<Endpoint> endpointList = new ArrayList<>();
     private final JsonEndpointConverter jsonEndpointConverter;
+    private final ScanMode scanMode;
     private ClassLoader classLoader;
+    private SignatureSchemaAnalyzer signatureSchemaAnalyzer;
 
     /**
      * Constructs an ApiCollector for the specified base package and base URL.
@@ -54,8 +59,31 @@ public class RestApiCollector implements Collector {
      * @param baseUrl     the base URL for all collected endpoints
      */
     public RestApiCollector(String basePackage, String baseUrl) {
-        this.basePackage = basePackage;
+        this(basePackage, baseUrl, ScanMode.REFLECTION);
+    }
+
+    /**
+     * Constructs an ApiCollector that resolves DTO schemas with the given scan mode.
+     *
+     * @param basePackage the root package to scan for controllers
+     * @param baseUrl     the base URL for all collected endpoints
+     * @param scanMode    how request and response DTO schemas are resolved
+     */
+    public RestApiCollector(String basePackage, String baseUrl, ScanMode scanMode) {
+        this(ScanScope.forPackage(basePackage), baseUrl, scanMode);
+    }
+
+    /**
+     * Constructs an ApiCollector that scans the given scope.
+     *
+     * @param scanScope the packages and jars to scan for controllers
+     * @param baseUrl   the base URL for all collected endpoints
+     * @param scanMode  how request and response DTO schemas are resolved
+     */
+    public RestApiCollector(ScanScope scanScope, String baseUrl, ScanMode scanMode) {
+        this.scanScope = scanScope;
         this.baseUrl = baseUrl;
+        this.scanMode = scanMode;
         this.jsonEndpointConverter = JsonEndpointConverter.getInstance();
     }
 
@@ -75,14 +103,32 @@ public class RestApiCollector implements Collector {
      * <p>Processes all classes annotated with {@code @RestController} in the configured
      * base package and its subpackages.</p>
      */
+    /**
+     * Discards the collected endpoints, e.g. once they have been copied into an
+     * {@link EndpointRegistry}.
+     */
+    @Override
+    public void clear() {
+        endpointList.clear();
+    }
+
     @Override
     public void scan() {
+        long startNanos = System.nanoTime();
+        try {
+            scanControllers();
+        } finally {
+            CollectorMetrics.recordScan("rest", startNanos, endpointList.size());
+        }
+    }
 
-        ClassGraph classGraph = EndpointUtil.createClassGraph(basePackage);
-        try (ScanResult scanResult = classGraph.scan()) {
+    private void scanControllers() {
+        try (ScanResult scanResult = scanScope.scan(REST_CONTROLLER);
+            SignatureSchemaAnalyzer analyzer = scanMode == ScanMode.BYTECODE
+                ? new SignatureSchemaAnalyzer(scanResult, scanScope) : null) {
             this.classLoader = scanResult.getClass().getClassLoader();
-            for (ClassInfo classInfo : scanResult.getClassesWithAnnotation(
-                "org.springframework.web.bind.annotation.RestController")) {
+            this.signatureSchemaAnalyzer = analyzer;
+            for (ClassInfo classInfo : scanResult.getClassesWithAnnotation(REST_CONTROLLER)) {
 
                 String classPath = "";
                 List<String> classProduces = Collections.emptyList();
@@ -108,6 +154,8 @@ public class RestApiCollector implements Collector {
                     }
                 }
             }
+        } finally {
+            this.signatureSchemaAnalyzer = null;
         }
     }
 
@@ -273,6 +321,10 @@ public class RestApiCollector implements Collector {
                 || paramAnnotations.containsName(
                 "org.springframework.web.bind.annotation.ModelAttribute")) {
 
+                if (signatureSchemaAnalyzer != null) {
+                    return signatureSchemaAnalyzer.analyzeParameter(paramInfo);
+                }
+
                 String typeName = paramInfo.getTypeDescriptor().toString();
 
                 try {
@@ -295,6 +347,10 @@ public class RestApiCollector implements Collector {
      * @return list of FieldMeta describing the response body or null if not applicable
      */
     private List<FieldMeta> extractResponseDtoSchema(MethodInfo methodInfo) {
+        if (signatureSchemaAnalyzer != null) {
+            return signatureSchemaAnalyzer.analyzeReturnType(methodInfo, true);
+        }
+
         String returnTypeName = methodInfo.getTypeDescriptor().getResultType().toString();
         try {
             Class<?> returnClass = EndpointUtil.loadClass(returnTypeName, classLoader);
@@ -0,0 +1,37 @@
+package com.apighost.agent.collector;
+
+import java.util.Locale;
+
+/**
+ * How a collector resolves the request and response DTO schemas of the scanned endpoints.
+ *
+ * <p>{@link #REFLECTION} loads every parameter and return type through the scanner's class loader
+ * and inspects it with reflection. {@link #BYTECODE} builds the same schemas from the type
+ * signatures in the class files, so no application class is loaded or initialized by a scan.</p>
+ *
+ * @author oneweeek
+ * @version BETA-0.0.1
+ */
+public enum ScanMode {
+
+    REFLECTION,
+    BYTECODE;
+
+    /**
+     * Parses the value of the {@code apighost.lib.scanMode} property.
+     *
+     * @param value the property value; blank selects {@link #REFLECTION}
+     * @return the matching scan mode
+     * @throws IllegalArgumentException if the value is not a known scan mode
+     */
+    public static ScanMode fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return REFLECTION;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "reflection" -> REFLECTION;
+            case "bytecode" -> BYTECODE;
+            default -> throw new IllegalArgumentException("Unsupported scan mode: " + value);
+        };
+    }
+}
@@ -0,0 +1,237 @@
+package com.apighost.agent.collector;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What the collectors scan and how.
+ *
+ * <p>A scope limits the scan to the configured base packages and to the jars matching the accept
+ * and reject patterns, which take ClassGraph jar names or globs such as {@code spring-*.jar}.
+ * System jars and JDK modules are skipped unless explicitly enabled.</p>
+ *
+ * <p>With annotation pre-filtering, {@link #scan(String...)} first indexes only class and
+ * annotation info, then rescans with full method, field and annotation info restricted to the
+ * classes carrying one of the requested annotations. Most classes of a large application are
+ * neither controllers nor configuration, so the full-info pass touches only a small part of the
+ * classpath.</p>
+ *
+ * @author oneweeek
+ * @version BETA-0.0.1
+ */
+public class ScanScope {
+
+    private final List<String> basePackages;
+    private final List<String> acceptJars;
+    private final List<String> rejectJars;
+    private final boolean scanSystemJars;
+    private final boolean annotationPrefilter;
+    private final int workerCount;
+
+    private ScanScope(Builder builder) {
+        this.basePackages = Collections.unmodifiableList(new ArrayList<>(builder.basePackages));
+        this.acceptJars = Collections.unmodifiableList(new ArrayList<>(builder.acceptJars));
+        this.rejectJars = Collections.unmodifiableList(new ArrayList<>(builder.rejectJars));
+        this.scanSystemJars = builder.scanSystemJars;
+        this.annotationPrefilter = builder.annotationPrefilter;
+        this.workerCount = builder.workerCount;
+    }
+
+    /**
+     * Returns the default scope for a base package.
+     *
+     * @param basePackage the root package to scan, or a comma separated list of packages
+     * @return the scope
+     */
+    public static ScanScope forPackage(String basePackage) {
+        return new Builder().basePackage(basePackage).build();
+    }
+
+    /**
+     * Scans the scope for classes carrying any of the given annotations.
+     *
+     * <p>The returned result has full class, method, field and annotation info for at least the
+     * matching classes and must be closed by the caller.</p>
+     *
+     * @param annotationNames the annotation class names the caller looks for
+     * @return the scan result
+     */
+    public ScanResult scan(String... annotationNames) {
+        if (!annotationPrefilter) {
+            return run(newClassGraph().enableAllInfo());
+        }
+
+        Set<String> candidates = new LinkedHashSet<>();
+        ScanResult index = run(newClassGraph().enableClassInfo().enableAnnotationInfo());
+        for (String annotationName : annotationNames) {
+            for (ClassInfo classInfo : index.getClassesWithAnnotation(annotationName)) {
+                candidates.add(classInfo.getName());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return index;
+        }
+        index.close();
+        return run(newClassGraphForClasses(candidates.toArray(new String[0])).enableAllInfo());
+    }
+
+    /**
+     * Creates a ClassGraph restricted to the base packages and jars of this scope. No scan info
+     * is enabled.
+     *
+     * @return configured ClassGraph instance
+     */
+    public ClassGraph newClassGraph() {
+        ClassGraph classGraph = newJarScopedClassGraph();
+        if (!basePackages.isEmpty()) {
+            classGraph.acceptPackages(basePackages.toArray(new String[0]));
+        }
+        return classGraph;
+    }
+
+    /**
+     * Creates a ClassGraph restricted to the given classes, within the jars of this scope but
+     * regardless of the base packages. No scan info is enabled.
+     *
+     * @param classNames the classes to scan
+     * @return configured ClassGraph instance
+     */
+    public ClassGraph newClassGraphForClasses(String... classNames) {
+        return newJarScopedClassGraph().acceptClasses(classNames);
+    }
+
+    public List<String> getBasePackages() {
+        return basePackages;
+    }
+
+    public List<String> getAcceptJars() {
+        return acceptJars;
+    }
+
+    public List<String> getRejectJars() {
+        return rejectJars;
+    }
+
+    public boolean isScanSystemJars() {
+        return scanSystemJars;
+    }
+
+    public boolean isAnnotationPrefilter() {
+        return annotationPrefilter;
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    private ClassGraph newJarScopedClassGraph() {
+        ClassGraph classGraph = new ClassGraph();
+        if (scanSystemJars) {
+            classGraph.enableSystemJarsAndModules();
+        }
+        if (!acceptJars.isEmpty()) {
+            classGraph.acceptJars(acceptJars.toArray(new String[0]));
+        }
+        if (!rejectJars.isEmpty()) {
+            classGraph.rejectJars(rejectJars.toArray(new String[0]));
+        }
+        return classGraph;
+    }
+
+    private ScanResult run(ClassGraph classGraph) {
+        return workerCount > 0 ? classGraph.scan(workerCount) : classGraph.scan();
+    }
+
+    public static class Builder {
+
+        private final List<String> basePackages = new ArrayList<>();
+        private final List<String> acceptJars = new ArrayList<>();
+        private final List<String> rejectJars = new ArrayList<>();
+        private boolean scanSystemJars;
+        private boolean annotationPrefilter = true;
+        private int workerCount;
+
+        /**
+         * Sets the packages to scan. Blank values and {@code ./}, the historical default meaning
+         * "everything", leave the scan unrestricted by package.
+         *
+         * @param basePackage the root package, or a comma separated list of packages
+         * @return this builder
+         */
+        public Builder basePackage(String basePackage) {
+            this.basePackages.clear();
+            for (String value : split(basePackage)) {
+                if (!value.equals("./") && !value.equals(".")) {
+                    this.basePackages.add(value);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Sets the jars to scan, as comma separated jar names or globs. Empty accepts all jars.
+         *
+         * @param acceptJars the jar patterns
+         * @return this builder
+         */
+        public Builder acceptJars(String acceptJars) {
+            this.acceptJars.clear();
+            this.acceptJars.addAll(split(acceptJars));
+            return this;
+        }
+
+        /**
+         * Sets the jars to skip, as comma separated jar names or globs.
+         *
+         * @param rejectJars the jar patterns
+         * @return this builder
+         */
+        public Builder rejectJars(String rejectJars) {
+            this.rejectJars.clear();
+            this.rejectJars.addAll(split(rejectJars));
+            return this;
+        }
+
+        public Builder scanSystemJars(boolean scanSystemJars) {
+            this.scanSystemJars = scanSystemJars;
+            return this;
+        }
+
+        public Builder annotationPrefilter(boolean annotationPrefilter) {
+            this.annotationPrefilter = annotationPrefilter;
+            return this;
+        }
+
+        /**
+         * Sets the number of parallel scan tasks; zero or less uses the ClassGraph default.
+         *
+         * @param workerCount the number of scan workers
+         * @return this builder
+         */
+        public Builder workerCount(int workerCount) {
+            this.workerCount = workerCount;
+            return this;
+        }
+
+        public ScanScope build() {
+            return new ScanScope(this);
+        }
+
+        private static List<String> split(String value) {
+            if (value == null || value.isBlank()) {
+                return Collections.emptyList();
+            }
+            return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .toList();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.apighost.agent.collector;
 
 import com.apighost.agent.collector.converter.JsonEndpointConverter;
 import com.apighost.agent.collector.util.EndpointUtil;
+import com.apighost.agent.collector.util.SignatureSchemaAnalyzer;
 import com.apighost.agent.collector.util.WebSocketAnalyzerUtil;
 import com.apighost.model.collector.Endpoint;
 import com.apighost.model.collector.FieldMeta;
@@ -10,7 +11,6 @@ import com.apighost.model.scenario.step.HTTPMethod;
 import com.apighost.model.scenario.step.ProtocolType;
 import io.github.classgraph.AnnotationInfo;
 import io.github.classgraph.AnnotationInfoList;
-import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
 import io.github.classgraph.MethodInfo;
 import io.github.classgraph.MethodParameterInfo;
@@ -25,7 +25,11 @@ import java.util.List;
 
 public class WebSocketCollector implements Collector {
 
-    private final String basePackage;
+    private static final String CONTROLLER = "org.springframework.stereotype.Controller";
+    private static final String CONFIGURATION =
+        "org.springframework.context.annotation.Configuration";
+
+    private final ScanScope scanScope;
     private final String baseUrl;
     private final List<Endpoint> endpointList = new ArrayList<>();
     private ClassLoader classLoader;
@@ -33,10 +37,21 @@ public class WebSocketCollector implements Collector {
     private String brokerDestinationPrefix;
     private String stompEndpoint;
     private final JsonEndpointConverter jsonEndpointConverter;
+    private final ScanMode scanMode;
+    private SignatureSchemaAnalyzer signatureSchemaAnalyzer;
 
     public WebSocketCollector(String basePackage, String baseUrl) {
-        this.basePackage = basePackage;
+        this(basePackage, baseUrl, ScanMode.REFLECTION);
+    }
+
+    public WebSocketCollector(String basePackage, String baseUrl, ScanMode scanMode) {
+        this(ScanScope.forPackage(basePackage), baseUrl, scanMode);
+    }
+
+    public WebSocketCollector(ScanScope scanScope, String baseUrl, ScanMode scanMode) {
+        this.scanScope = scanScope;
         this.baseUrl = convertToWebSocketUrl(baseUrl);
+        this.scanMode = scanMode;
         this.jsonEndpointConverter = JsonEndpointConverter.getInstance();
     }
 
@@ -45,15 +60,30 @@ public class WebSocketCollector implements Collector {
         return endpointList;
     }
 
+    @Override
+    public void clear() {
+        endpointList.clear();
+    }
+
     @Override
     public void scan() {
-        ClassGraph classGraph = EndpointUtil.createClassGraph(basePackage);
+        long startNanos = System.nanoTime();
+        try {
+            scanControllers();
+        } finally {
+            CollectorMetrics.recordScan("websocket", startNanos, endpointList.size());
+        }
+    }
 
-        try (ScanResult scanResult = classGraph.scan()) {
+    private void scanControllers() {
+        try (ScanResult scanResult = scanScope.scan(CONTROLLER, CONFIGURATION);
+            SignatureSchemaAnalyzer analyzer = scanMode == ScanMode.BYTECODE
+                ? new SignatureSchemaAnalyzer(scanResult, scanScope) : null) {
             this.classLoader = scanResult.getClass().getClassLoader();
+            this.signatureSchemaAnalyzer = analyzer;
 
             WebSocketAnalyzerUtil.WebSocketConfigInfo configInfo =
-                WebSocketAnalyzerUtil.analyze(classGraph);
+                WebSocketAnalyzerUtil.analyze(scanResult);
 
             appDestinationPrefix = configInfo.appPrefix;
             brokerDestinationPrefix = configInfo.brokerPrefix;
@@ -65,8 +95,7 @@ public class WebSocketCollector implements Collector {
                 addConnectionEndpoints();
             }
 
-            for (ClassInfo classInfo : scanResult.getClassesWithAnnotation(
-                "org.springframework.stereotype.Controller")) {
+            for (ClassInfo classInfo : scanResult.getClassesWithAnnotation(CONTROLLER)) {
                 String classDestinationPrefix = EndpointUtil.extractPath(
                     classInfo.getAnnotationInfo(
                         "org.springframework.messaging.handler.annotation.MessageMapping"),
@@ -75,6 +104,8 @@ public class WebSocketCollector implements Collector {
                     endpointList.addAll(toEndpoints(methodInfo, classDestinationPrefix));
                 }
             }
+        } finally {
+            this.signatureSchemaAnalyzer = null;
         }
     }
 
@@ -230,6 +261,9 @@ public class WebSocketCollector implements Collector {
         for (MethodParameterInfo paramInfo : methodInfo.getParameterInfo()) {
             if (paramInfo.getAnnotationInfo(
                 "org.springframework.messaging.handler.annotation.Payload") != null) {
+                if (signatureSchemaAnalyzer != null) {
+                    return signatureSchemaAnalyzer.analyzeParameter(paramInfo);
+                }
                 String typeName = paramInfo.getTypeDescriptor().toString();
                 try {
                     Class<?> paramClass = EndpointUtil.loadClass(typeName, classLoader);
@@ -245,6 +279,9 @@ public class WebSocketCollector implements Collector {
     }
 
     private List<FieldMeta> extractResponseDtoSchema(MethodInfo methodInfo) {
+        if (signatureSchemaAnalyzer != null) {
+            return signatureSchemaAnalyzer.analyzeReturnType(methodInfo, false);
+        }
         String returnTypeName = methodInfo.getTypeDescriptor().getResultType().toString();
         try {
             Class<?> returnClass = EndpointUtil.loadClass(returnTypeName, classLoader);
@@ -0,0 +1,59 @@
+package com.apighost.agent.collector.converter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hash-consed dictionary of JSON schemas produced by {@link JsonEndpointConverter}.
+ *
+ * <p>Every distinct schema is stored once and identified by a short id, assigned in order of
+ * first appearance ({@code s0}, {@code s1}, ...). Because the converter renders equal field trees
+ * to equal strings, endpoints that share a DTO share one entry, and the size of the dictionary
+ * grows with the number of distinct schemas rather than with the number of endpoints.</p>
+ *
+ * <p>Instances are not thread-safe; a dictionary is built once and then only read.</p>
+ *
+ * @author oneweeek
+ * @version BETA-0.0.1
+ */
+public class SchemaDictionary {
+
+    private static final String ID_PREFIX = "s";
+
+    private final Map<String, String> idsBySchema = new HashMap<>();
+    private final Map<String, String> schemasById = new LinkedHashMap<>();
+
+    /**
+     * Adds a schema to the dictionary unless an equal schema is already present.
+     *
+     * @param schema the schema JSON
+     * @return the id of the schema, or {@code null} if the schema is {@code null}
+     */
+    public String intern(String schema) {
+        if (schema == null) {
+            return null;
+        }
+        String id = idsBySchema.get(schema);
+        if (id == null) {
+            id = ID_PREFIX + schemasById.size();
+            idsBySchema.put(schema, id);
+            schemasById.put(id, schema);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the schemas by id, in the order they were added.
+     *
+     * @return an unmodifiable view of the dictionary
+     */
+    public Map<String, String> getSchemas() {
+        return Collections.unmodifiableMap(schemasById);
+    }
+
+    public int size() {
+        return schemasById.size();
+    }
+}
@@ -0,0 +1,216 @@
+package com.apighost.agent.collector.manifest;
+
+import com.apighost.model.collector.Endpoint;
+import com.apighost.model.scenario.step.HTTPMethod;
+import com.apighost.model.scenario.step.ProtocolType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Endpoints collected ahead of time and packaged with the application as a JSON resource.
+ *
+ * <p>The manifest is written by {@link EndpointManifestGenerator} at build time to
+ * {@value #RESOURCE_PATH}. At startup the agent reads it instead of scanning the classpath, so
+ * collecting endpoints costs a single resource read.</p>
+ *
+ * <p>A manifest records the base package and base URL it was generated for. It only applies to an
+ * agent configured with the same base package; otherwise it is ignored and the classpath is
+ * scanned as usual.</p>
+ *
+ * @author oneweeek
+ * @version BETA-0.0.1
+ */
+public class EndpointManifest {
+
+    /**
+     * Classpath location of the manifest.
+     */
+    public static final String RESOURCE_PATH = "META-INF/apighost/endpoints";
+
+    private static final Logger log = LoggerFactory.getLogger(EndpointManifest.class);
+    private static final int FORMAT_VERSION = 1;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String basePackage;
+    private final String baseUrl;
+    private final long generatedAt;
+    private final List<Endpoint> restEndpoints;
+    private final List<Endpoint> webSocketEndpoints;
+
+    /**
+     * Constructs an {@code EndpointManifest}.
+     *
+     * @param basePackage        the package the endpoints were collected from
+     * @param baseUrl            the base URL the endpoints were collected with
+     * @param generatedAt        the generation time in epoch milliseconds
+     * @param restEndpoints      the endpoints collected by the REST collector
+     * @param webSocketEndpoints the endpoints collected by the WebSocket collector
+     */
+    public EndpointManifest(String basePackage, String baseUrl, long generatedAt,
+        List<Endpoint> restEndpoints, List<Endpoint> webSocketEndpoints) {
+        this.basePackage = basePackage;
+        this.baseUrl = baseUrl;
+        this.generatedAt = generatedAt;
+        this.restEndpoints = Collections.unmodifiableList(new ArrayList<>(restEndpoints));
+        this.webSocketEndpoints = Collections.unmodifiableList(
+            new ArrayList<>(webSocketEndpoints));
+    }
+
+    /**
+     * Finds the manifest generated for the given base package.
+     *
+     * @param classLoader the class loader of the application
+     * @param basePackage the configured base package
+     * @return the manifest, or {@code null} if there is none, it cannot be read, or it was
+     * generated for another base package
+     */
+    public static EndpointManifest load(ClassLoader classLoader, String basePackage) {
+        try (InputStream inputStream = classLoader.getResourceAsStream(RESOURCE_PATH)) {
+            if (inputStream == null) {
+                return null;
+            }
+            EndpointManifest manifest = readFrom(inputStream);
+            if (!manifest.getBasePackage().equals(basePackage)) {
+                log.warn("Ignoring endpoint manifest generated for package {}, expected {}",
+                    manifest.getBasePackage(), basePackage);
+                return null;
+            }
+            return manifest;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable endpoint manifest {}", RESOURCE_PATH, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a manifest from its JSON form.
+     *
+     * @param inputStream the stream to read
+     * @return the manifest
+     * @throws IOException              if the stream cannot be read or is not JSON
+     * @throws IllegalArgumentException if the JSON is not a manifest of a supported version
+     */
+    public static EndpointManifest readFrom(InputStream inputStream) throws IOException {
+        JsonNode root = OBJECT_MAPPER.readTree(inputStream);
+        if (root == null || root.path("version").asInt() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported endpoint manifest version: "
+                + (root == null ? null : root.path("version")));
+        }
+        return new EndpointManifest(
+            root.path("basePackage").asText(),
+            root.path("baseUrl").asText(),
+            root.path("generatedAt").asLong(),
+            readEndpoints(root.path("rest")),
+            readEndpoints(root.path("websocket")));
+    }
+
+    /**
+     * Writes the manifest as JSON.
+     *
+     * @param outputStream the stream to write to; not closed
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        root.put("version", FORMAT_VERSION);
+        root.put("basePackage", basePackage);
+        root.put("baseUrl", baseUrl);
+        root.put("generatedAt", generatedAt);
+        writeEndpoints(root.putArray("rest"), restEndpoints);
+        writeEndpoints(root.putArray("websocket"), webSocketEndpoints);
+        outputStream.write(OBJECT_MAPPER.writeValueAsBytes(root));
+    }
+
+    public String getBasePackage() {
+        return basePackage;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public long getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public List<Endpoint> getRestEndpoints() {
+        return restEndpoints;
+    }
+
+    public List<Endpoint> getWebSocketEndpoints() {
+        return webSocketEndpoints;
+    }
+
+    private static void writeEndpoints(ArrayNode array, List<Endpoint> endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            ObjectNode node = array.addObject();
+            node.put("protocolType", endpoint.getProtocolType() == null
+                ? null : endpoint.getProtocolType().name());
+            node.put("baseUrl", endpoint.getBaseUrl());
+            node.put("methodName", endpoint.getMethodName());
+            node.put("httpMethod", endpoint.getHttpMethod() == null
+                ? null : endpoint.getHttpMethod().name());
+            node.put("path", endpoint.getPath());
+            writeStrings(node.putArray("produces"), endpoint.getProduces());
+            writeStrings(node.putArray("consumes"), endpoint.getConsumes());
+            node.put("requestSchema", endpoint.getRequestSchema());
+            node.put("responseSchema", endpoint.getResponseSchema());
+            node.put("headers", endpoint.getHeaders());
+            node.put("cookies", endpoint.getCookies());
+            node.put("requestParams", endpoint.getRequestParams());
+            node.put("pathVariables", endpoint.getPathVariables());
+        }
+    }
+
+    private static void writeStrings(ArrayNode array, List<String> values) {
+        if (values != null) {
+            values.forEach(array::add);
+        }
+    }
+
+    private static List<Endpoint> readEndpoints(JsonNode array) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (JsonNode node : array) {
+            endpoints.add(new Endpoint.Builder()
+                .protocolType(node.hasNonNull("protocolType")
+                    ? ProtocolType.valueOf(node.get("protocolType").asText()) : null)
+                .baseUrl(textOrNull(node, "baseUrl"))
+                .methodName(textOrNull(node, "methodName"))
+                .httpMethod(node.hasNonNull("httpMethod")
+                    ? HTTPMethod.valueOf(node.get("httpMethod").asText()) : null)
+                .path(textOrNull(node, "path"))
+                .produces(readStrings(node.path("produces")))
+                .consumes(readStrings(node.path("consumes")))
+                .requestSchema(textOrNull(node, "requestSchema"))
+                .responseSchema(textOrNull(node, "responseSchema"))
+                .headers(textOrNull(node, "headers"))
+                .cookies(textOrNull(node, "cookies"))
+                .requestParams(textOrNull(node, "requestParams"))
+                .pathVariables(textOrNull(node, "pathVariables"))
+                .build());
+        }
+        return endpoints;
+    }
+
+    private static List<String> readStrings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        for (JsonNode value : array) {
+            values.add(value.asText());
+        }
+        return values;
+    }
+
+    private static String textOrNull(JsonNode node, String fieldName) {
+        return node.hasNonNull(fieldName) ? node.get(fieldName).asText() : null;
+    }
+}
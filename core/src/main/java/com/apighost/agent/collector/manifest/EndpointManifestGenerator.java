@@ -0,0 +1,90 @@
+package com.apighost.agent.collector.manifest;
+
+import com.apighost.agent.collector.RestApiCollector;
+import com.apighost.agent.collector.ScanMode;
+import com.apighost.agent.collector.WebSocketCollector;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the endpoint collectors at build time and writes their output as an
+ * {@link EndpointManifest}.
+ *
+ * <p>The generator is meant to run after the application classes are compiled, with the
+ * application's runtime classpath, and to write into a directory that is packaged into the
+ * application jar. With Gradle:</p>
+ * <pre>
+ * tasks.register('apighostEndpointManifest', JavaExec) {
+ *     dependsOn classes
+ *     def outputDir = layout.buildDirectory.dir('generated/apighost')
+ *     outputs.dir outputDir
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     mainClass = 'com.apighost.agent.collector.manifest.EndpointManifestGenerator'
+ *     args outputDir.get().asFile.path, 'com.example', 'http://localhost:8080', 'bytecode'
+ * }
+ * processResources.from(tasks.named('apighostEndpointManifest'))
+ * </pre>
+ *
+ * <p>Arguments: the output directory, the base package, the base URL and optionally the scan
+ * mode ({@code reflection} by default). The base package and base URL must match the
+ * {@code apighost.lib.basePackage} and {@code apighost.lib.baseUrl} settings of the agent.</p>
+ *
+ * @author oneweeek
+ * @version BETA-0.0.1
+ */
+public class EndpointManifestGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(EndpointManifestGenerator.class);
+
+    private EndpointManifestGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            throw new IllegalArgumentException(
+                "Usage: EndpointManifestGenerator <outputDir> <basePackage> <baseUrl> [scanMode]");
+        }
+        ScanMode scanMode = ScanMode.fromProperty(args.length == 4 ? args[3] : null);
+        Path manifestPath = generate(Paths.get(args[0]), args[1], args[2], scanMode);
+        log.info("Endpoint manifest written to {}", manifestPath);
+    }
+
+    /**
+     * Collects the endpoints of the base package and writes the manifest below the output
+     * directory.
+     *
+     * @param outputDir   the resource root the manifest is written to
+     * @param basePackage the root package to scan for controllers
+     * @param baseUrl     the base URL for all collected endpoints
+     * @param scanMode    how request and response DTO schemas are resolved
+     * @return the path of the written manifest
+     * @throws IOException if the manifest cannot be written
+     */
+    public static Path generate(Path outputDir, String basePackage, String baseUrl,
+        ScanMode scanMode) throws IOException {
+        RestApiCollector restApiCollector = new RestApiCollector(basePackage, baseUrl, scanMode);
+        restApiCollector.scan();
+        WebSocketCollector webSocketCollector = new WebSocketCollector(basePackage, baseUrl,
+            scanMode);
+        webSocketCollector.scan();
+
+        EndpointManifest manifest = new EndpointManifest(basePackage, baseUrl,
+            System.currentTimeMillis(), restApiCollector.getEndpointList(),
+            webSocketCollector.getEndpointList());
+
+        Path manifestPath = outputDir.resolve(EndpointManifest.RESOURCE_PATH);
+        Files.createDirectories(manifestPath.getParent());
+        Path tempPath = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(tempPath)) {
+            manifest.writeTo(outputStream);
+        }
+        Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+        return manifestPath;
+    }
+}
@@ -1,6 +1,7 @@
 package com.apighost.agent.collector.util;
 
 import com.apighost.agent.collector.RestApiCollector;
+import com.apighost.agent.collector.ScanScope;
 import com.apighost.model.collector.FieldMeta;
 import com.apighost.model.collector.Parameter;
 import io.github.classgraph.AnnotationInfo;
@@ -57,20 +58,7 @@ public class EndpointUtil {
      * @return configured ClassGraph instance
      */
     public static ClassGraph createClassGraph(String basePackage) {
-        ClassGraph classGraph = new ClassGraph()
-            .enableAllInfo()
-            .enableMethodInfo()
-            .enableAnnotationInfo();
-
-        boolean isBootJar = EndpointUtil.class.getResource("").getProtocol().equals("jar");
-        if (isBootJar) {
-            classGraph.enableSystemJarsAndModules();
-        }
-
-        if (basePackage != null && !basePackage.isEmpty()) {
-            classGraph.acceptPackages(basePackage);
-        }
-        return classGraph;
+        return ScanScope.forPackage(basePackage).newClassGraph().enableAllInfo();
     }
 
     /**
@@ -0,0 +1,292 @@
+package com.apighost.agent.collector.util;
+
+import com.apighost.agent.collector.ScanScope;
+import com.apighost.model.collector.FieldMeta;
+import io.github.classgraph.ArrayTypeSignature;
+import io.github.classgraph.BaseTypeSignature;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassRefTypeSignature;
+import io.github.classgraph.FieldInfo;
+import io.github.classgraph.MethodInfo;
+import io.github.classgraph.MethodParameterInfo;
+import io.github.classgraph.ScanResult;
+import io.github.classgraph.TypeArgument;
+import io.github.classgraph.TypeSignature;
+import io.github.classgraph.TypeVariableSignature;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds DTO schemas from ClassGraph type signatures, without loading any application class.
+ *
+ * <p>This is the bytecode-only counterpart of {@link EndpointUtil#analyzeDto(Class, Set)},
+ * {@link EndpointUtil#isDTO(Class)} and the reflective return type resolution of the
+ * collectors. Field types are taken from the erased type descriptors, and the element types of
+ * {@code ResponseEntity<T>} and collections from the generic type signatures, so the produced
+ * {@link FieldMeta} trees match the reflective ones.</p>
+ *
+ * <p>Classes outside the scanned packages, such as DTOs of another module, are looked up with a
+ * supplementary scan restricted to that class. Supplementary results are cached and released
+ * together by {@link #close()}. Only JDK classes are ever loaded, to tell whether a
+ * {@code java.*} type is a collection.</p>
+ *
+ * @author oneweeek
+ * @version BETA-0.0.1
+ */
+public class SignatureSchemaAnalyzer implements AutoCloseable {
+
+    private static final String RESPONSE_ENTITY = "org.springframework.http.ResponseEntity";
+    private static final String COLLECTION = "java.util.Collection";
+
+    private final ScanResult scanResult;
+    private final ScanScope scanScope;
+    private final Map<String, Optional<ClassInfo>> classInfoCache = new HashMap<>();
+    private final List<ScanResult> supplementaryResults = new ArrayList<>();
+
+    /**
+     * Constructs an analyzer over the given scan result, which must have field, method and
+     * annotation info enabled.
+     *
+     * @param scanResult the scan of the controller packages
+     */
+    public SignatureSchemaAnalyzer(ScanResult scanResult) {
+        this(scanResult, ScanScope.forPackage(null));
+    }
+
+    /**
+     * Constructs an analyzer whose supplementary scans stay within the jars of the given scope.
+     *
+     * @param scanResult the scan of the controller packages
+     * @param scanScope  the scope the scan result was produced with
+     */
+    public SignatureSchemaAnalyzer(ScanResult scanResult, ScanScope scanScope) {
+        this.scanResult = scanResult;
+        this.scanScope = scanScope;
+    }
+
+    /**
+     * Builds the schema of a request body parameter from its erased type.
+     *
+     * @param paramInfo the annotated body parameter
+     * @return the DTO schema, or an empty list if the parameter is not a DTO
+     */
+    public List<FieldMeta> analyzeParameter(MethodParameterInfo paramInfo) {
+        String className = classNameOf(paramInfo.getTypeDescriptor());
+        if (className != null && isDTO(className)) {
+            return analyzeDto(className, new HashSet<>());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Builds the schema of a method's response body.
+     *
+     * <p>A {@code ResponseEntity<T>} is unwrapped to {@code T}, and a collection to its element
+     * type, as in the reflective extraction.</p>
+     *
+     * @param methodInfo   the controller method
+     * @param unwrapEntity whether {@code ResponseEntity<T>} is unwrapped
+     * @return the DTO schema, or an empty list if the response is not a DTO
+     */
+    public List<FieldMeta> analyzeReturnType(MethodInfo methodInfo, boolean unwrapEntity) {
+        TypeSignature resultType = methodInfo.getTypeSignatureOrTypeDescriptor().getResultType();
+        if (!(resultType instanceof ClassRefTypeSignature classRef)) {
+            return Collections.emptyList();
+        }
+
+        String effectiveClassName = classRef.getFullyQualifiedClassName();
+        if ((unwrapEntity && RESPONSE_ENTITY.equals(effectiveClassName))
+            || isCollection(effectiveClassName)) {
+            effectiveClassName = firstTypeArgumentClassName(classRef);
+        }
+
+        if (effectiveClassName != null && isDTO(effectiveClassName)) {
+            return analyzeDto(effectiveClassName, new HashSet<>());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Analyzes a DTO class and its fields recursively.
+     *
+     * @param className the binary name of the class to analyze
+     * @param visited   names of already visited classes to prevent cycles
+     * @return list of FieldMeta describing the DTO structure
+     */
+    public List<FieldMeta> analyzeDto(String className, Set<String> visited) {
+        if (className == null || visited.contains(className)) {
+            return new ArrayList<>();
+        }
+        visited.add(className);
+
+        ClassInfo classInfo = resolve(className);
+        if (classInfo == null) {
+            return new ArrayList<>();
+        }
+
+        List<FieldMeta> fields = new ArrayList<>();
+        for (FieldInfo fieldInfo : classInfo.getDeclaredFieldInfo()) {
+            if (fieldInfo.isStatic() || fieldInfo.isTransient()) {
+                continue;
+            }
+
+            TypeSignature erasedType = fieldInfo.getTypeDescriptor();
+            String fieldTypeName = classNameOf(erasedType);
+            String fieldType = simpleNameOf(erasedType);
+            List<FieldMeta> nestedFields = new ArrayList<>();
+
+            ClassRefTypeSignature genericType =
+                fieldInfo.getTypeSignature() instanceof ClassRefTypeSignature classRef
+                    && !classRef.getTypeArguments().isEmpty() ? classRef : null;
+            if (genericType != null && isCollection(fieldTypeName)) {
+                TypeArgument elementType = genericType.getTypeArguments().get(0);
+                fieldType = typeArgumentName(elementType);
+
+                String elementClassName = plainClassName(elementType);
+                if (elementClassName != null && isDTO(elementClassName)) {
+                    nestedFields.addAll(analyzeDto(elementClassName, visited));
+                }
+            } else if (fieldTypeName != null && isDTO(fieldTypeName)) {
+                nestedFields.addAll(analyzeDto(fieldTypeName, visited));
+            }
+
+            fields.add(new FieldMeta(fieldInfo.getName(), fieldType, nestedFields));
+        }
+        return fields;
+    }
+
+    /**
+     * Determines if a class is a DTO: a non-JDK class declaring at least one public getter.
+     *
+     * @param className the binary name of the class to check
+     * @return true if the class meets DTO criteria
+     */
+    public boolean isDTO(String className) {
+        if (className.startsWith("java.")) {
+            return false;
+        }
+        ClassInfo classInfo = resolve(className);
+        if (classInfo == null) {
+            return false;
+        }
+
+        for (MethodInfo methodInfo : classInfo.getDeclaredMethodInfo()) {
+            if (!methodInfo.isPublic() || methodInfo.getParameterInfo().length != 0) {
+                continue;
+            }
+            String name = methodInfo.getName();
+            if (name.startsWith("get")) {
+                return true;
+            }
+            if (name.startsWith("is") && methodInfo.getTypeDescriptor()
+                .getResultType() instanceof BaseTypeSignature base
+                && "boolean".equals(base.getTypeStr())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the supplementary scans made for classes outside the scanned packages.
+     */
+    @Override
+    public void close() {
+        for (ScanResult supplementary : supplementaryResults) {
+            supplementary.close();
+        }
+        supplementaryResults.clear();
+        classInfoCache.clear();
+    }
+
+    private ClassInfo resolve(String className) {
+        return classInfoCache.computeIfAbsent(className, name -> {
+            ClassInfo classInfo = scanResult.getClassInfo(name);
+            if (classInfo != null && !classInfo.isExternalClass()) {
+                return Optional.of(classInfo);
+            }
+            ScanResult supplementary = scanScope.newClassGraphForClasses(name)
+                .enableAllInfo()
+                .scan();
+            supplementaryResults.add(supplementary);
+            return Optional.ofNullable(supplementary.getClassInfo(name));
+        }).orElse(null);
+    }
+
+    private boolean isCollection(String className) {
+        if (className == null) {
+            return false;
+        }
+        if (className.startsWith("java.")) {
+            try {
+                /* JDK classes come from the boot or platform loader and are never user code. */
+                return Collection.class.isAssignableFrom(
+                    Class.forName(className, false, ClassLoader.getPlatformClassLoader()));
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+        ClassInfo classInfo = resolve(className);
+        return classInfo != null && classInfo.implementsInterface(COLLECTION);
+    }
+
+    private String firstTypeArgumentClassName(ClassRefTypeSignature classRef) {
+        if (classRef.getTypeArguments().isEmpty()) {
+            return null;
+        }
+        TypeSignature argument = classRef.getTypeArguments().get(0).getTypeSignature();
+        return argument instanceof ClassRefTypeSignature argumentRef
+            ? argumentRef.getFullyQualifiedClassName() : null;
+    }
+
+    /**
+     * Returns the class name of a type argument that is a plain, non-generic class reference,
+     * which is the only kind the reflective analysis descends into.
+     */
+    private String plainClassName(TypeArgument typeArgument) {
+        TypeSignature signature = typeArgument.getTypeSignature();
+        if (signature instanceof ClassRefTypeSignature classRef
+            && classRef.getTypeArguments().isEmpty()) {
+            return classRef.getFullyQualifiedClassName();
+        }
+        return null;
+    }
+
+    private String typeArgumentName(TypeArgument typeArgument) {
+        TypeSignature signature = typeArgument.getTypeSignature();
+        if (signature instanceof ClassRefTypeSignature classRef) {
+            return classRef.getFullyQualifiedClassName();
+        }
+        if (signature instanceof TypeVariableSignature typeVariable) {
+            return typeVariable.getName();
+        }
+        return typeArgument.toString();
+    }
+
+    private String classNameOf(TypeSignature typeSignature) {
+        return typeSignature instanceof ClassRefTypeSignature classRef
+            ? classRef.getFullyQualifiedClassName() : null;
+    }
+
+    private String simpleNameOf(TypeSignature typeSignature) {
+        if (typeSignature instanceof BaseTypeSignature base) {
+            return base.getTypeStr();
+        }
+        if (typeSignature instanceof ArrayTypeSignature array) {
+            return simpleNameOf(array.getElementTypeSignature())
+                + "[]".repeat(array.getNumDimensions());
+        }
+        if (typeSignature instanceof ClassRefTypeSignature classRef) {
+            String name = classRef.getFullyQualifiedClassName();
+            return name.substring(Math.max(name.lastIndexOf('.'), name.lastIndexOf('$')) + 1);
+        }
+        return String.valueOf(typeSignature);
+    }
+}
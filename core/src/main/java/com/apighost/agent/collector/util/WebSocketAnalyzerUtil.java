@@ -19,12 +19,16 @@ public class WebSocketAnalyzerUtil {
 
     public static WebSocketConfigInfo analyze(ClassGraph classGraph) {
         try (ScanResult scanResult = classGraph.scan()) {
-            for (ClassInfo classInfo : scanResult.getClassesWithAnnotation(
-                "org.springframework.context.annotation.Configuration")) {
-                if (classInfo.hasAnnotation(
-                    "org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker")) {
-                    return extractConfigFromClass(classInfo, scanResult.getClass().getClassLoader());
-                }
+            return analyze(scanResult);
+        }
+    }
+
+    public static WebSocketConfigInfo analyze(ScanResult scanResult) {
+        for (ClassInfo classInfo : scanResult.getClassesWithAnnotation(
+            "org.springframework.context.annotation.Configuration")) {
+            if (classInfo.hasAnnotation(
+                "org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker")) {
+                return extractConfigFromClass(classInfo, scanResult.getClass().getClassLoader());
             }
         }
         return new WebSocketConfigInfo("", "", "");
@@ -0,0 +1,45 @@
+package com.apighost.agent.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing count backed by a {@link LongAdder}.
+ * <p>
+ * Increments from many threads are striped across cells instead of contending on a single
+ * value, so counting on a hot path never blocks.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class Counter implements Metric {
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Increments the counter by one.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Increments the counter by the given amount.
+     *
+     * @param amount the non-negative amount to add
+     */
+    public void increment(long amount) {
+        if (amount > 0) {
+            count.add(amount);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public void writeTo(StringBuilder out, String name, String labels) {
+        PrometheusText.sample(out, name, labels, null, count.sum());
+    }
+}
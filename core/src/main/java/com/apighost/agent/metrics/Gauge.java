@@ -0,0 +1,52 @@
+package com.apighost.agent.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Value that can go up and down.
+ * <p>
+ * A gauge either holds its own value, changed with {@link #set(long)}, {@link #increment()} and
+ * {@link #decrement()}, or is bound to a {@link DoubleSupplier} that is sampled when metrics are
+ * scraped, for values such as queue depths that are already tracked elsewhere.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class Gauge implements Metric {
+
+    private final AtomicLong value = new AtomicLong();
+    private volatile DoubleSupplier source;
+
+    public void set(long newValue) {
+        value.set(newValue);
+    }
+
+    public void increment() {
+        value.incrementAndGet();
+    }
+
+    public void decrement() {
+        value.decrementAndGet();
+    }
+
+    /**
+     * Binds the gauge to a supplier sampled on every scrape, replacing its own value.
+     *
+     * @param source the supplier of the current value
+     */
+    public void bind(DoubleSupplier source) {
+        this.source = source;
+    }
+
+    public double getValue() {
+        DoubleSupplier current = source;
+        return current == null ? value.get() : current.getAsDouble();
+    }
+
+    @Override
+    public void writeTo(StringBuilder out, String name, String labels) {
+        PrometheusText.sample(out, name, labels, null, getValue());
+    }
+}
@@ -0,0 +1,108 @@
+package com.apighost.agent.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of durations over fixed bucket boundaries, reported in seconds.
+ * <p>
+ * Every bucket, the total count and the sum are separate {@link LongAdder}s, so recording is a
+ * short scan over the boundaries followed by two uncontended additions. Bucket counts are kept
+ * per bucket and only made cumulative when the histogram is written out.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class Histogram implements Metric {
+
+    /**
+     * Default latency boundaries in seconds, from one millisecond to thirty seconds.
+     */
+    public static final double[] LATENCY_BUCKETS = {
+        0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30
+    };
+
+    private final double[] boundaries;
+    private final long[] boundaryNanos;
+    private final LongAdder[] bucketCounts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    /**
+     * Constructs a histogram with the given upper bucket boundaries.
+     *
+     * @param boundaries the strictly increasing upper boundaries in seconds
+     * @throws IllegalArgumentException if the boundaries are empty or not increasing
+     */
+    public Histogram(double[] boundaries) {
+        if (boundaries.length == 0) {
+            throw new IllegalArgumentException("Histogram needs at least one bucket");
+        }
+        this.boundaries = boundaries.clone();
+        this.boundaryNanos = new long[boundaries.length];
+        for (int i = 0; i < boundaries.length; i++) {
+            if (i > 0 && boundaries[i] <= boundaries[i - 1]) {
+                throw new IllegalArgumentException("Histogram buckets must be increasing");
+            }
+            boundaryNanos[i] = (long) (boundaries[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+        this.bucketCounts = new LongAdder[boundaries.length + 1];
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration measured in nanoseconds.
+     *
+     * @param nanos the duration in nanoseconds; negative values are recorded as zero
+     */
+    public void recordNanos(long nanos) {
+        long value = Math.max(0, nanos);
+        int bucket = 0;
+        while (bucket < boundaryNanos.length && value > boundaryNanos[bucket]) {
+            bucket++;
+        }
+        bucketCounts[bucket].increment();
+        count.increment();
+        sumNanos.add(value);
+    }
+
+    /**
+     * Records a duration measured in milliseconds.
+     *
+     * @param millis the duration in milliseconds
+     */
+    public void recordMillis(long millis) {
+        recordNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Records the time elapsed since the given {@link System#nanoTime()} reading.
+     *
+     * @param startNanos the reading taken when the measured operation started
+     */
+    public void recordSince(long startNanos) {
+        recordNanos(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public void writeTo(StringBuilder out, String name, String labels) {
+        long cumulative = 0;
+        for (int i = 0; i < boundaries.length; i++) {
+            cumulative += bucketCounts[i].sum();
+            PrometheusText.sample(out, name + "_bucket", labels,
+                PrometheusText.formatValue(boundaries[i]), cumulative);
+        }
+        cumulative += bucketCounts[boundaries.length].sum();
+        PrometheusText.sample(out, name + "_bucket", labels, "+Inf", cumulative);
+        PrometheusText.sample(out, name + "_sum", labels, null,
+            sumNanos.sum() / (double) TimeUnit.SECONDS.toNanos(1));
+        PrometheusText.sample(out, name + "_count", labels, null, cumulative);
+    }
+}
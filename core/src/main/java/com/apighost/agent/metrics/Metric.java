@@ -0,0 +1,19 @@
+package com.apighost.agent.metrics;
+
+/**
+ * Single time series that can write its samples in the Prometheus text format.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+interface Metric {
+
+    /**
+     * Appends the samples of this series.
+     *
+     * @param out    the buffer to append to
+     * @param name   the metric name
+     * @param labels the rendered label pairs without braces, or an empty string
+     */
+    void writeTo(StringBuilder out, String name, String labels);
+}
@@ -0,0 +1,121 @@
+package com.apighost.agent.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * All series of one metric name, told apart by their label values.
+ * <p>
+ * Series are created on first use and then looked up without locking. The number of series is
+ * capped; once the cap is reached, new label combinations share a single series whose label
+ * values are all {@value #OVERFLOW_LABEL}, so a label fed from user input such as a step name
+ * cannot grow the registry without bound.
+ * </p>
+ *
+ * @param <T> the series type
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class MetricFamily<T extends Metric> {
+
+    static final int MAX_SERIES = 2_000;
+    static final String OVERFLOW_LABEL = "_overflow";
+
+    private final String name;
+    private final String help;
+    private final String type;
+    private final String[] labelNames;
+    private final Supplier<T> seriesFactory;
+    private final Map<LabelValues, T> series = new ConcurrentHashMap<>();
+
+    MetricFamily(String name, String help, String type, String[] labelNames,
+        Supplier<T> seriesFactory) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = labelNames.clone();
+        this.seriesFactory = seriesFactory;
+    }
+
+    /**
+     * Returns the series with the given label values, creating it on first use.
+     *
+     * @param labelValues the label values, in the order of the label names
+     * @return the series
+     * @throws IllegalArgumentException if the number of values does not match the label names
+     */
+    public T labels(String... labelValues) {
+        if (labelValues.length != labelNames.length) {
+            throw new IllegalArgumentException("Metric " + name + " expects "
+                + labelNames.length + " label values");
+        }
+        LabelValues key = new LabelValues(labelValues);
+        T existing = series.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (series.size() >= MAX_SERIES) {
+            String[] overflow = new String[labelNames.length];
+            Arrays.fill(overflow, OVERFLOW_LABEL);
+            key = new LabelValues(overflow);
+        }
+        return series.computeIfAbsent(key, ignored -> seriesFactory.get());
+    }
+
+    /**
+     * Removes the series with the given label values, for example when the object it describes
+     * is closed.
+     *
+     * @param labelValues the label values, in the order of the label names
+     */
+    public void remove(String... labelValues) {
+        series.remove(new LabelValues(labelValues));
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    boolean hasLabelNames(String[] names) {
+        return Arrays.equals(labelNames, names);
+    }
+
+    void writeTo(StringBuilder out) {
+        if (series.isEmpty()) {
+            return;
+        }
+        PrometheusText.header(out, name, help, type);
+        series.forEach((key, metric) ->
+            metric.writeTo(out, name, PrometheusText.labels(labelNames, key.values)));
+    }
+
+    private static final class LabelValues {
+
+        private final String[] values;
+        private final int hash;
+
+        private LabelValues(String[] values) {
+            this.values = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                this.values[i] = values[i] == null ? "" : values[i];
+            }
+            this.hash = Arrays.hashCode(this.values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LabelValues other && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.apighost.agent.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide registry of the counters, gauges and histograms describing the agent internals.
+ * <p>
+ * Metrics are registered by name once, typically into a {@code static final} field of the class
+ * that updates them, and updated without locking afterwards. Registering an existing name
+ * returns the family already registered, provided the type and label names agree.
+ * </p>
+ * <p>
+ * {@link #scrape()} renders every series in the Prometheus text exposition format. The singleton
+ * instance is created lazily using the Bill Pugh Singleton pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class MetricsRegistry {
+
+    /**
+     * Media type of the output of {@link #scrape()}.
+     */
+    public static final String CONTENT_TYPE = PrometheusText.CONTENT_TYPE;
+
+    private static final Pattern METRIC_NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Pattern LABEL_NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+    private final Map<String, MetricFamily<?>> families = new ConcurrentHashMap<>();
+
+    /**
+     * Holder class for the singleton registry.
+     */
+    private static class SingletonHolder {
+
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+
+    public static MetricsRegistry getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    MetricsRegistry() {
+    }
+
+    /**
+     * Registers a counter family.
+     *
+     * @param name       the metric name, conventionally ending in {@code _total}
+     * @param help       the description of the metric
+     * @param labelNames the label names of its series
+     * @return the counter family
+     */
+    public MetricFamily<Counter> counter(String name, String help, String... labelNames) {
+        return register(name, help, "counter", labelNames, Counter::new);
+    }
+
+    /**
+     * Registers a gauge family.
+     *
+     * @param name       the metric name
+     * @param help       the description of the metric
+     * @param labelNames the label names of its series
+     * @return the gauge family
+     */
+    public MetricFamily<Gauge> gauge(String name, String help, String... labelNames) {
+        return register(name, help, "gauge", labelNames, Gauge::new);
+    }
+
+    /**
+     * Registers a latency histogram family using {@link Histogram#LATENCY_BUCKETS}.
+     *
+     * @param name       the metric name, conventionally ending in {@code _seconds}
+     * @param help       the description of the metric
+     * @param labelNames the label names of its series
+     * @return the histogram family
+     */
+    public MetricFamily<Histogram> histogram(String name, String help, String... labelNames) {
+        return register(name, help, "histogram", labelNames,
+            () -> new Histogram(Histogram.LATENCY_BUCKETS));
+    }
+
+    /**
+     * Renders every registered series in the Prometheus text exposition format.
+     *
+     * @return the exposition text
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        families.values().stream()
+            .sorted((a, b) -> a.getName().compareTo(b.getName()))
+            .forEach(family -> family.writeTo(out));
+        return out.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Metric> MetricFamily<T> register(String name, String help, String type,
+        String[] labelNames, Supplier<T> seriesFactory) {
+        if (!METRIC_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        for (String labelName : labelNames) {
+            if (!LABEL_NAME.matcher(labelName).matches() || labelName.equals("le")) {
+                throw new IllegalArgumentException("Invalid label name: " + labelName);
+            }
+        }
+
+        MetricFamily<?> family = families.computeIfAbsent(name,
+            ignored -> new MetricFamily<>(name, help, type, labelNames, seriesFactory));
+        if (!family.getType().equals(type) || !family.hasLabelNames(labelNames)) {
+            throw new IllegalStateException("Metric " + name
+                + " is already registered with a different type or labels");
+        }
+        return (MetricFamily<T>) family;
+    }
+}
@@ -0,0 +1,103 @@
+package com.apighost.agent.metrics;
+
+/**
+ * Rendering helpers for the Prometheus text exposition format, version 0.0.4.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+final class PrometheusText {
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusText() {
+    }
+
+    /**
+     * Renders label pairs without the surrounding braces.
+     *
+     * @param names  the label names
+     * @param values the label values, in the same order as the names
+     * @return the rendered pairs, or an empty string if there are no labels
+     */
+    static String labels(String[] names, String[] values) {
+        if (names.length == 0) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(names[i]).append("=\"");
+            escape(builder, values[i]);
+            builder.append('"');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Appends one sample line.
+     *
+     * @param out    the buffer to append to
+     * @param name   the sample name
+     * @param labels the rendered label pairs, or an empty string
+     * @param le     the histogram bucket boundary, or {@code null} for other samples
+     * @param value  the sample value
+     */
+    static void sample(StringBuilder out, String name, String labels, String le, double value) {
+        out.append(name);
+        if (!labels.isEmpty() || le != null) {
+            out.append('{').append(labels);
+            if (le != null) {
+                if (!labels.isEmpty()) {
+                    out.append(',');
+                }
+                out.append("le=\"").append(le).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ');
+        for (int i = 0; i < help.length(); i++) {
+            char c = help.charAt(i);
+            if (c == '\\') {
+                out.append("\\\\");
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static void escape(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> builder.append("\\\\");
+                case '"' -> builder.append("\\\"");
+                case '\n' -> builder.append("\\n");
+                default -> builder.append(c);
+            }
+        }
+    }
+}
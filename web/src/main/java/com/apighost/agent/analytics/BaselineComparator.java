@@ -0,0 +1,119 @@
+package com.apighost.agent.analytics;
+
+import com.apighost.agent.config.AnalyticsSetting;
+import com.apighost.agent.model.Baseline;
+import com.apighost.agent.model.BaselineComparison;
+import com.apighost.agent.model.StepComparison;
+import com.apighost.model.scenario.ScenarioResult;
+import com.apighost.model.scenario.result.ResultStep;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the per-step latencies of a run with the pinned {@link Baseline} of its scenario.
+ * <p>
+ * Only successful step executions contribute latency samples, since failed requests often end
+ * early or on a timeout. A step regressed when its p95 exceeds the baseline p95 by more than the
+ * configured ratio; when both sides hold enough samples, the one-sided
+ * {@link MannWhitneyTest} must also find the slowdown significant.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class BaselineComparator {
+
+    private final AnalyticsSetting analyticsSetting;
+
+    public BaselineComparator(AnalyticsSetting analyticsSetting) {
+        this.analyticsSetting = analyticsSetting;
+    }
+
+    /**
+     * Groups the durations of the successful step executions of a result by step name.
+     *
+     * @param scenarioResult the result to read
+     * @return the durations per step name, in order of first execution
+     */
+    public static Map<String, List<Long>> collectStepDurations(ScenarioResult scenarioResult) {
+        Map<String, List<Long>> stepDurations = new LinkedHashMap<>();
+        if (scenarioResult.getResults() == null) {
+            return stepDurations;
+        }
+        for (ResultStep resultStep : scenarioResult.getResults()) {
+            if (resultStep.getStepName() != null && resultStep.getIsRequestSuccess()) {
+                stepDurations.computeIfAbsent(resultStep.getStepName(), name -> new ArrayList<>())
+                    .add(resultStep.getDurationMs());
+            }
+        }
+        return stepDurations;
+    }
+
+    /**
+     * Compares a run with a baseline.
+     *
+     * @param baseline       the pinned baseline of the scenario
+     * @param scenarioResult the run to compare
+     * @param resultName     the stored name of the run, or {@code null} if it is not stored yet
+     * @return the step-by-step comparison
+     */
+    public BaselineComparison compare(Baseline baseline, ScenarioResult scenarioResult,
+        String resultName) {
+        List<StepComparison> steps = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : collectStepDurations(scenarioResult)
+            .entrySet()) {
+            List<Long> reference = baseline.getStepDurations().getOrDefault(entry.getKey(),
+                List.of());
+            steps.add(compareStep(entry.getKey(), reference, entry.getValue()));
+        }
+        return new BaselineComparison(baseline.getScenarioName(), resultName,
+            baseline.getPinnedAt(), baseline.getSourceResults(), steps);
+    }
+
+    private StepComparison compareStep(String stepName, List<Long> reference, List<Long> run) {
+        long[] sortedReference = sorted(reference);
+        long[] sortedRun = sorted(run);
+        long baselineP95 = percentile(sortedReference, 0.95);
+        long runP95 = percentile(sortedRun, 0.95);
+
+        StepComparison.Builder builder = new StepComparison.Builder()
+            .stepName(stepName)
+            .baselineSamples(sortedReference.length)
+            .runSamples(sortedRun.length)
+            .baselineP50Ms(percentile(sortedReference, 0.50))
+            .runP50Ms(percentile(sortedRun, 0.50))
+            .baselineP95Ms(baselineP95)
+            .runP95Ms(runP95);
+        if (sortedReference.length == 0) {
+            return builder.build();
+        }
+
+        boolean slower = runP95 > baselineP95 * analyticsSetting.getLatencyRatio();
+        int minSamples = analyticsSetting.getMinSamples();
+        if (sortedReference.length < minSamples || sortedRun.length < minSamples) {
+            return builder.regressed(slower).build();
+        }
+        double pValue = MannWhitneyTest.pValueGreater(run, reference);
+        boolean significant = pValue < analyticsSetting.getSignificanceLevel();
+        return builder.pValue(pValue)
+            .significant(significant)
+            .regressed(slower && significant)
+            .build();
+    }
+
+    private static long[] sorted(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /* Nearest-rank percentile of sorted values. */
+    static long percentile(long[] sortedValues, double quantile) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sortedValues.length);
+        return sortedValues[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,226 @@
+package com.apighost.agent.analytics;
+
+import com.apighost.agent.file.AtomicFileWriter;
+import com.apighost.agent.model.Baseline;
+import com.apighost.agent.model.BaselineComparison;
+import com.apighost.agent.store.ResultStore;
+import com.apighost.agent.util.ObjectWriterHolder;
+import com.apighost.model.scenario.ScenarioResult;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pins, loads and applies the latency baselines of the scenarios of one workspace.
+ * <p>
+ * Each baseline is kept as a small JSON document in the hidden {@code .baseline} directory of the
+ * result directory and cached in memory after its first use, so comparing a finished run with
+ * its baseline never touches the disk. A baseline keeps at most
+ * {@value #MAX_SAMPLES_PER_STEP} samples per step; larger sample sets are thinned evenly across
+ * their sorted values, which preserves their percentiles.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class BaselineStore {
+
+    private static final String BASELINE_DIRECTORY = ".baseline";
+    private static final int MAX_SAMPLES_PER_STEP = 1000;
+    private static final Logger log = LoggerFactory.getLogger(BaselineStore.class);
+
+    private final ResultStore resultStore;
+    private final BaselineComparator baselineComparator;
+    private final Path baselineDirectory;
+    private final ObjectReader baselineReader;
+    private final ConcurrentMap<String, Optional<Baseline>> baselines = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@code BaselineStore} for the given result directory.
+     *
+     * @param resultStore        the store the baseline results are read from
+     * @param baselineComparator the comparator applied to runs
+     * @param resultPath         the result directory of the workspace
+     */
+    public BaselineStore(ResultStore resultStore, BaselineComparator baselineComparator,
+        String resultPath) {
+        this.resultStore = resultStore;
+        this.baselineComparator = baselineComparator;
+        this.baselineDirectory = Paths.get(resultPath, BASELINE_DIRECTORY);
+        this.baselineReader = ObjectWriterHolder.jsonReader().forType(Baseline.class);
+    }
+
+    /**
+     * Pins the given stored results as the baseline of their scenario, replacing any previous
+     * baseline.
+     * <p>
+     * Pinning several results, such as the runs of a load test, combines all their samples.
+     * </p>
+     *
+     * @param resultNames the stored results to pin
+     * @return the pinned baseline
+     * @throws IllegalArgumentException if no result is given, a result cannot be read or the
+     *                                  results belong to different scenarios
+     */
+    public Baseline pin(List<String> resultNames) {
+        if (resultNames == null || resultNames.isEmpty()) {
+            throw new IllegalArgumentException("testResultName must not be null or empty");
+        }
+
+        String scenarioName = null;
+        List<String> sourceResults = new ArrayList<>();
+        Map<String, List<Long>> stepDurations = new LinkedHashMap<>();
+        for (String resultName : resultNames) {
+            String storedName = resultStore.resolveName(resultName);
+            ScenarioResult scenarioResult = readResult(storedName);
+            if (scenarioName == null) {
+                scenarioName = scenarioResult.getName();
+            } else if (!scenarioName.equals(scenarioResult.getName())) {
+                throw new IllegalArgumentException(
+                    "Baseline results must belong to one scenario: " + storedName);
+            }
+            sourceResults.add(storedName);
+            BaselineComparator.collectStepDurations(scenarioResult).forEach(
+                (stepName, durations) -> stepDurations.computeIfAbsent(stepName,
+                    name -> new ArrayList<>()).addAll(durations));
+        }
+        stepDurations.replaceAll((stepName, durations) -> thin(durations));
+
+        Baseline baseline = new Baseline.Builder()
+            .scenarioName(scenarioName)
+            .pinnedAt(Instant.now().toString())
+            .sourceResults(sourceResults)
+            .stepDurations(stepDurations)
+            .build();
+        try {
+            Files.createDirectories(baselineDirectory);
+            AtomicFileWriter.write(pathOf(scenarioName), false,
+                outputStream -> ObjectWriterHolder.jsonWriter().writeValue(outputStream,
+                    baseline));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write baseline: " + scenarioName, e);
+        }
+        baselines.put(scenarioName, Optional.of(baseline));
+        return baseline;
+    }
+
+    /**
+     * Removes the baseline of a scenario.
+     *
+     * @param scenarioName the scenario name
+     * @return {@code true} if a baseline was removed
+     */
+    public boolean unpin(String scenarioName) {
+        if (scenarioName == null || scenarioName.isEmpty()) {
+            throw new IllegalArgumentException("scenarioName must not be null or empty");
+        }
+        baselines.put(scenarioName, Optional.empty());
+        try {
+            return Files.deleteIfExists(pathOf(scenarioName));
+        } catch (IOException e) {
+            log.warn("Failed to delete baseline: {}", scenarioName);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the baseline of a scenario.
+     *
+     * @param scenarioName the scenario name
+     * @return the baseline, or empty if none is pinned
+     */
+    public Optional<Baseline> get(String scenarioName) {
+        return baselines.computeIfAbsent(scenarioName, this::load);
+    }
+
+    /**
+     * Compares a run with the baseline of its scenario.
+     *
+     * @param scenarioResult the run to compare
+     * @param resultName     the stored name of the run, or {@code null} if it is not stored yet
+     * @return the comparison, or empty if the scenario has no baseline
+     */
+    public Optional<BaselineComparison> compare(ScenarioResult scenarioResult,
+        String resultName) {
+        if (scenarioResult.getName() == null) {
+            return Optional.empty();
+        }
+        return get(scenarioResult.getName()).map(
+            baseline -> baselineComparator.compare(baseline, scenarioResult, resultName));
+    }
+
+    /**
+     * Compares a stored result with the baseline of its scenario.
+     *
+     * @param resultName the stored result name
+     * @return the comparison
+     * @throws IllegalArgumentException if the result cannot be read or its scenario has no
+     *                                  baseline
+     */
+    public BaselineComparison report(String resultName) {
+        if (resultName == null || resultName.isEmpty()) {
+            throw new IllegalArgumentException("testResultName must not be null or empty");
+        }
+        String storedName = resultStore.resolveName(resultName);
+        ScenarioResult scenarioResult = readResult(storedName);
+        return compare(scenarioResult, storedName).orElseThrow(
+            () -> new IllegalArgumentException(
+                "No baseline pinned for scenario: " + scenarioResult.getName()));
+    }
+
+    private ScenarioResult readResult(String storedName) {
+        try {
+            return resultStore.read(storedName);
+        } catch (IOException e) {
+            log.error("ResultFile Not Found: {}", e.getMessage());
+            throw new IllegalArgumentException("ResultFile Not Founded : " + storedName);
+        }
+    }
+
+    private Optional<Baseline> load(String scenarioName) {
+        Path path = pathOf(scenarioName);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(baselineReader.readValue(path.toFile()));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable baseline: {}", path);
+            return Optional.empty();
+        }
+    }
+
+    private Path pathOf(String scenarioName) {
+        String encoded = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(scenarioName.getBytes(StandardCharsets.UTF_8));
+        return baselineDirectory.resolve(encoded + ".json");
+    }
+
+    private static List<Long> thin(List<Long> durations) {
+        if (durations.size() <= MAX_SAMPLES_PER_STEP) {
+            return durations;
+        }
+        long[] sorted = durations.stream().mapToLong(Long::longValue).sorted().toArray();
+        List<Long> thinned = new ArrayList<>(MAX_SAMPLES_PER_STEP);
+        for (int i = 0; i < MAX_SAMPLES_PER_STEP; i++) {
+            thinned.add(sorted[(int) ((long) i * sorted.length / MAX_SAMPLES_PER_STEP)]);
+        }
+        return thinned;
+    }
+}
@@ -0,0 +1,149 @@
+package com.apighost.agent.analytics;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compact log-linear histogram of latencies in milliseconds.
+ * <p>
+ * Values below {@value #LINEAR_LIMIT} ms get one bucket each. Above that, every power of two is
+ * split into {@value #SUB_BUCKETS} equal sub-buckets, so a recorded value is known to within
+ * 12.5% while a histogram covering milliseconds to hours needs only a few hundred counters. The
+ * counter array grows only as far as the largest value recorded.
+ * </p>
+ * <p>
+ * Instances are not thread-safe; callers synchronize on the rollup that owns them.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_LIMIT = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BITS = 4;
+
+    private long[] counts = new long[0];
+    private long totalCount;
+
+    /**
+     * Records one latency.
+     *
+     * @param valueMs the latency in milliseconds; negative values are recorded as {@code 0}
+     */
+    public void record(long valueMs) {
+        int index = indexOf(Math.max(0, valueMs));
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, index + 1);
+        }
+        counts[index]++;
+        totalCount++;
+    }
+
+    /**
+     * Adds every count of the given histogram to this one.
+     *
+     * @param other the histogram to merge
+     */
+    public void merge(LatencyHistogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the value at the given quantile.
+     *
+     * @param quantile the quantile, between {@code 0} and {@code 1}
+     * @return the latency at the quantile in milliseconds, or {@code 0} if the histogram is empty
+     */
+    public long valueAtQuantile(double quantile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(counts.length - 1);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Writes the non-empty buckets of this histogram.
+     *
+     * @param output the target stream
+     * @throws IOException if the histogram cannot be written
+     */
+    public void writeTo(DataOutputStream output) throws IOException {
+        int used = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                used++;
+            }
+        }
+        output.writeShort(used);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                output.writeShort(i);
+                output.writeLong(counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a histogram written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param input the source stream
+     * @return the histogram
+     * @throws IOException if the histogram cannot be read
+     */
+    public static LatencyHistogram readFrom(DataInputStream input) throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int used = input.readUnsignedShort();
+        for (int i = 0; i < used; i++) {
+            int index = input.readUnsignedShort();
+            long count = input.readLong();
+            if (index >= histogram.counts.length) {
+                histogram.counts = Arrays.copyOf(histogram.counts, index + 1);
+            }
+            histogram.counts[index] += count;
+            histogram.totalCount += count;
+        }
+        return histogram;
+    }
+
+    static int indexOf(long valueMs) {
+        if (valueMs < LINEAR_LIMIT) {
+            return (int) valueMs;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(valueMs);
+        int subBucket = (int) (valueMs >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + subBucket) * width + width - 1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.apighost.agent.analytics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One-sided Mann-Whitney U test on latency samples.
+ * <p>
+ * The test makes no assumption about the shape of the latency distribution, which is usually
+ * skewed. The U statistic is approximated by a normal distribution with tie and continuity
+ * correction, which is accurate once both samples hold a handful of values.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public final class MannWhitneyTest {
+
+    private MannWhitneyTest() {
+    }
+
+    /**
+     * Returns the p-value of the hypothesis that values of {@code sample} tend to be larger than
+     * values of {@code reference}.
+     *
+     * @param sample    the samples suspected to be larger
+     * @param reference the reference samples
+     * @return the one-sided p-value, {@code 1} if either side is empty or all values are equal
+     */
+    public static double pValueGreater(List<Long> sample, List<Long> reference) {
+        int n1 = sample.size();
+        int n2 = reference.size();
+        if (n1 == 0 || n2 == 0) {
+            return 1;
+        }
+
+        int n = n1 + n2;
+        long[] values = new long[n];
+        boolean[] fromSample = new boolean[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i < n1 ? sample.get(i) : reference.get(i - n1);
+            fromSample[i] = i < n1;
+            order[i] = i;
+        }
+        Arrays.sort(order, (left, right) -> Long.compare(values[left], values[right]));
+
+        double sampleRankSum = 0;
+        double tieTerm = 0;
+        int start = 0;
+        while (start < n) {
+            int end = start;
+            while (end + 1 < n && values[order[end + 1]] == values[order[start]]) {
+                end++;
+            }
+            double averageRank = (start + end) / 2.0 + 1;
+            for (int i = start; i <= end; i++) {
+                if (fromSample[order[i]]) {
+                    sampleRankSum += averageRank;
+                }
+            }
+            long ties = end - start + 1;
+            tieTerm += ties * ties * ties - ties;
+            start = end + 1;
+        }
+
+        double u = sampleRankSum - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    private static double normalCdf(double z) {
+        return 0.5 * (1 + erf(z / Math.sqrt(2)));
+    }
+
+    /* Abramowitz and Stegun 7.1.26, absolute error below 1.5e-7. */
+    private static double erf(double x) {
+        double sign = Math.signum(x);
+        double abs = Math.abs(x);
+        double t = 1 / (1 + 0.3275911 * abs);
+        double polynomial = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+            + t * (-1.453152027 + t * 1.061405429))));
+        return sign * (1 - polynomial * Math.exp(-abs * abs));
+    }
+}
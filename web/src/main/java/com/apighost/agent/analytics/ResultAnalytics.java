@@ -0,0 +1,484 @@
+package com.apighost.agent.analytics;
+
+import com.apighost.agent.config.AnalyticsSetting;
+import com.apighost.agent.file.AtomicFileWriter;
+import com.apighost.agent.index.ResultCursor;
+import com.apighost.agent.model.RegressionReport;
+import com.apighost.agent.model.ResultSummary;
+import com.apighost.agent.model.ResultTrendResponse;
+import com.apighost.agent.model.TrendPoint;
+import com.apighost.agent.store.ResultStore;
+import com.apighost.agent.store.ResultWriteListener;
+import com.apighost.agent.util.ExecutionTimestamps;
+import com.apighost.model.scenario.ScenarioResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incrementally maintained latency and error trends of the results of one workspace.
+ * <p>
+ * Every result is folded into per-scenario and per-step {@link StepRollup}s of fixed-width time
+ * buckets as it is saved, so trend queries only touch the rollups and never re-read a result.
+ * The rollups are written to a snapshot in the hidden {@code .analytics} directory of the result
+ * directory, together with the position of the newest result they include. On startup the
+ * snapshot is loaded and only results saved after that position are read once to catch up; the
+ * very first start reads every result within the retention period once.
+ * </p>
+ * <p>
+ * Results are saved in completion order, so a result may be saved after a newer one and still
+ * be missing from a snapshot that already holds the newer one. Catching up therefore also reads
+ * the results executed within the catch-up grace before that position, skipping the ones whose
+ * names the snapshot records as already included.
+ * </p>
+ * <p>
+ * No snapshot is written until catching up has finished, so an interrupted catch-up is simply
+ * repeated on the next start.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ResultAnalytics implements ResultWriteListener, AutoCloseable {
+
+    private static final String ANALYTICS_DIRECTORY = ".analytics";
+    private static final String SNAPSHOT_FILE = "rollups.bin";
+    private static final int SNAPSHOT_MAGIC = 0x41474154;
+    private static final int SNAPSHOT_VERSION = 3;
+    private static final int CATCH_UP_PAGE_SIZE = 500;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    private static final Logger log = LoggerFactory.getLogger(ResultAnalytics.class);
+
+    private final ResultStore resultStore;
+    private final AnalyticsSetting analyticsSetting;
+    private final Path snapshotPath;
+    private final long bucketMillis;
+    private final long catchUpGraceMillis;
+    private final Map<String, ScenarioRollups> rollups = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Object catchUpLock = new Object();
+    private final Set<String> catchUpNames = new HashSet<>();
+    private final Set<String> liveNames = new HashSet<>();
+    private final Map<String, Long> recordedNames = new HashMap<>();
+    private final ScheduledExecutorService executor;
+
+    private ResultCursor watermark;
+    private volatile boolean caughtUp;
+
+    /**
+     * Constructs a {@code ResultAnalytics}, loads its snapshot and starts catching up with the
+     * results saved since.
+     *
+     * @param resultStore      the store the results are saved to
+     * @param analyticsSetting the bucket, retention and regression settings
+     * @param resultPath       the result directory of the workspace
+     */
+    public ResultAnalytics(ResultStore resultStore, AnalyticsSetting analyticsSetting,
+        String resultPath) {
+        this.resultStore = resultStore;
+        this.analyticsSetting = analyticsSetting;
+        this.snapshotPath = Paths.get(resultPath, ANALYTICS_DIRECTORY, SNAPSHOT_FILE);
+        this.bucketMillis = analyticsSetting.getBucketSize().toMillis();
+        this.catchUpGraceMillis = analyticsSetting.getCatchUpGrace().toMillis();
+
+        loadSnapshot();
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "apighost-analytics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::catchUp);
+        long intervalMillis = analyticsSetting.getSnapshotInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::writeSnapshotQuietly, intervalMillis,
+            intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Folds a freshly saved result into the rollups.
+     *
+     * @param resultSummary  the summary of the saved result
+     * @param scenarioResult the saved result
+     */
+    @Override
+    public void onSaved(ResultSummary resultSummary, ScenarioResult scenarioResult) {
+        if (!caughtUp) {
+            synchronized (catchUpLock) {
+                if (!caughtUp) {
+                    if (catchUpNames.contains(resultSummary.getFileName())) {
+                        return;
+                    }
+                    liveNames.add(resultSummary.getFileName());
+                }
+            }
+        }
+        ingest(resultSummary, scenarioResult);
+    }
+
+    /**
+     * Returns the trend of a scenario, or of one of its steps, over the given period.
+     * <p>
+     * The last {@code window} buckets are compared with every earlier bucket of the period to
+     * decide whether latency or errors regressed.
+     * </p>
+     *
+     * @param scenarioName the scenario name
+     * @param stepName     the step name, or {@code null} for the whole scenario
+     * @param from         the ISO instant, date-time or date the period starts at, in UTC when
+     *                     it has no offset, or {@code null}
+     * @param to           the ISO instant, date-time or date the period ends at, in UTC when it
+     *                     has no offset, or {@code null}
+     * @param window       the number of most recent buckets compared against the rest
+     * @return the trend and its regression verdict
+     * @throws IllegalArgumentException if the scenario name is missing, the window is not
+     *                                  positive or a bound cannot be parsed
+     */
+    public ResultTrendResponse getTrend(String scenarioName, String stepName, String from,
+        String to, int window) {
+        if (scenarioName == null || scenarioName.isBlank()) {
+            throw new IllegalArgumentException("scenarioName must not be null or empty");
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        long fromMillis = from == null ? Long.MIN_VALUE
+            : bucketStartOf(ExecutionTimestamps.parseBound(from, false));
+        long toMillis = to == null ? Long.MAX_VALUE : ExecutionTimestamps.parseBound(to, true);
+        long bucketMinutes = analyticsSetting.getBucketSize().toMinutes();
+
+        ScenarioRollups scenarioRollups = rollups.get(scenarioName);
+        if (scenarioRollups == null) {
+            return new ResultTrendResponse(scenarioName, stepName, bucketMinutes, List.of(),
+                List.of(), notEnoughData("No results recorded for this scenario"));
+        }
+
+        NavigableMap<Long, StepRollup> collected = scenarioRollups.collect(stepName, fromMillis,
+            toMillis);
+        List<TrendPoint> points = new ArrayList<>(collected.size());
+        for (Map.Entry<Long, StepRollup> entry : collected.entrySet()) {
+            points.add(toPoint(entry.getKey(), entry.getValue()));
+        }
+        return new ResultTrendResponse(scenarioName, stepName, bucketMinutes,
+            scenarioRollups.getStepNames(), points, detectRegression(collected, window));
+    }
+
+    /**
+     * Stops the background thread and writes a final snapshot.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeSnapshotQuietly();
+    }
+
+    private void ingest(ResultSummary resultSummary, ScenarioResult scenarioResult) {
+        long executedAt = ExecutionTimestamps.toEpochMillis(scenarioResult.getExecutedAt());
+        if (executedAt == ExecutionTimestamps.UNKNOWN) {
+            executedAt = System.currentTimeMillis();
+        }
+        if (executedAt < retentionCutoff()) {
+            return;
+        }
+
+        snapshotLock.readLock().lock();
+        try {
+            rollups.computeIfAbsent(scenarioResult.getName(), name -> new ScenarioRollups())
+                .record(bucketStartOf(executedAt), scenarioResult);
+            advanceWatermark(
+                ResultCursor.of(resultSummary.getExecutedAt(), resultSummary.getFileName()));
+            dirty.set(true);
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    private synchronized void advanceWatermark(ResultCursor cursor) {
+        if (watermark == null || cursor.compareTo(watermark) < 0) {
+            watermark = cursor;
+            long graceStart = graceStartOf(watermark);
+            recordedNames.values().removeIf(executedAt -> executedAt < graceStart);
+        }
+        if (cursor.getExecutedAt() >= graceStartOf(watermark)) {
+            recordedNames.put(cursor.getFileName(), cursor.getExecutedAt());
+        }
+    }
+
+    private synchronized ResultCursor getWatermark() {
+        return watermark;
+    }
+
+    private synchronized Map<String, Long> getRecordedNames() {
+        return new HashMap<>(recordedNames);
+    }
+
+    private long graceStartOf(ResultCursor cursor) {
+        long executedAt = cursor.getExecutedAt();
+        if (executedAt < ExecutionTimestamps.UNKNOWN + catchUpGraceMillis) {
+            return ExecutionTimestamps.UNKNOWN;
+        }
+        return executedAt - catchUpGraceMillis;
+    }
+
+    private void catchUp() {
+        try {
+            ResultCursor recordedUpTo;
+            Map<String, Long> recorded;
+            synchronized (this) {
+                recordedUpTo = getWatermark();
+                recorded = getRecordedNames();
+            }
+            List<ResultSummary> pending = findUnrecordedResults(recordedUpTo, recorded.keySet());
+            synchronized (catchUpLock) {
+                pending.removeIf(summary -> liveNames.contains(summary.getFileName()));
+                pending.forEach(summary -> catchUpNames.add(summary.getFileName()));
+            }
+
+            /* Oldest first, so the watermark only ever moves forward. */
+            Collections.reverse(pending);
+            for (ResultSummary summary : pending) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try {
+                    ingest(summary, resultStore.read(summary.getFileName()));
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Skipping unreadable result in analytics: {}",
+                        summary.getFileName());
+                }
+            }
+
+            synchronized (catchUpLock) {
+                caughtUp = true;
+                catchUpNames.clear();
+                liveNames.clear();
+            }
+            if (!pending.isEmpty()) {
+                log.info("Result analytics caught up with {} results", pending.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Result analytics failed to catch up", e);
+        }
+    }
+
+    private List<ResultSummary> findUnrecordedResults(ResultCursor recordedUpTo,
+        Set<String> recorded) {
+        List<ResultSummary> pending = new ArrayList<>();
+        long cutoff = retentionCutoff();
+        long graceStart = recordedUpTo == null ? Long.MIN_VALUE : graceStartOf(recordedUpTo);
+        ResultCursor after = null;
+        List<ResultSummary> page;
+        do {
+            page = resultStore.findSummaries(after, null, null, null, null, CATCH_UP_PAGE_SIZE);
+            for (ResultSummary summary : page) {
+                ResultCursor cursor = ResultCursor.of(summary.getExecutedAt(),
+                    summary.getFileName());
+                if (recordedUpTo != null && cursor.getExecutedAt() < graceStart) {
+                    return pending;
+                }
+                if (cursor.getExecutedAt() != ExecutionTimestamps.UNKNOWN
+                    && cursor.getExecutedAt() < cutoff) {
+                    return pending;
+                }
+                if (!recorded.contains(summary.getFileName())) {
+                    pending.add(summary);
+                }
+                after = cursor;
+            }
+        } while (page.size() == CATCH_UP_PAGE_SIZE);
+        return pending;
+    }
+
+    private RegressionReport detectRegression(NavigableMap<Long, StepRollup> collected,
+        int window) {
+        if (collected.size() <= window) {
+            return notEnoughData("Not enough buckets for a baseline");
+        }
+        StepRollup baseline = new StepRollup();
+        StepRollup recent = new StepRollup();
+        int baselineBuckets = collected.size() - window;
+        int position = 0;
+        for (StepRollup rollup : collected.values()) {
+            (position++ < baselineBuckets ? baseline : recent).merge(rollup);
+        }
+        return compare(baseline, recent);
+    }
+
+    private RegressionReport compare(StepRollup baseline, StepRollup recent) {
+        RegressionReport.Builder builder = new RegressionReport.Builder()
+            .baselineCount(baseline.getCount())
+            .recentCount(recent.getCount())
+            .baselineP95Ms(baseline.latencyAtQuantile(0.95))
+            .recentP95Ms(recent.latencyAtQuantile(0.95))
+            .baselineErrorRate(baseline.getErrorRate())
+            .recentErrorRate(recent.getErrorRate());
+
+        int minSamples = analyticsSetting.getMinSamples();
+        if (baseline.getCount() < minSamples || recent.getCount() < minSamples) {
+            return builder.reason("Not enough samples").build();
+        }
+        long baselineP95 = baseline.latencyAtQuantile(0.95);
+        long recentP95 = recent.latencyAtQuantile(0.95);
+        if (recentP95 > baselineP95 * analyticsSetting.getLatencyRatio()) {
+            return builder.regressed(true).reason("p95 latency").build();
+        }
+        if (recent.getErrorRate() - baseline.getErrorRate()
+            > analyticsSetting.getErrorRateDelta()) {
+            return builder.regressed(true).reason("error rate").build();
+        }
+        return builder.build();
+    }
+
+    private RegressionReport notEnoughData(String reason) {
+        return new RegressionReport.Builder().reason(reason).build();
+    }
+
+    private TrendPoint toPoint(long bucketStart, StepRollup rollup) {
+        return new TrendPoint.Builder()
+            .bucketStart(Instant.ofEpochMilli(bucketStart).toString())
+            .count(rollup.getCount())
+            .errorCount(rollup.getErrorCount())
+            .errorRate(rollup.getErrorRate())
+            .meanMs(rollup.getMeanDurationMs())
+            .p50Ms(rollup.latencyAtQuantile(0.50))
+            .p95Ms(rollup.latencyAtQuantile(0.95))
+            .p99Ms(rollup.latencyAtQuantile(0.99))
+            .maxMs(rollup.getMaxDurationMs())
+            .build();
+    }
+
+    private void writeSnapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write result analytics snapshot", e);
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        if (!caughtUp) {
+            return;
+        }
+        Files.createDirectories(snapshotPath.getParent());
+        snapshotLock.writeLock().lock();
+        try {
+            long cutoff = bucketStartOf(retentionCutoff());
+            if (rollups.entrySet().removeIf(entry -> entry.getValue().prune(cutoff))) {
+                dirty.set(true);
+            }
+            if (!dirty.getAndSet(false)) {
+                return;
+            }
+            ResultCursor recordedUpTo;
+            Map<String, Long> recorded;
+            synchronized (this) {
+                recordedUpTo = getWatermark();
+                recorded = getRecordedNames();
+            }
+            AtomicFileWriter.write(snapshotPath, false, outputStream -> {
+                DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(outputStream));
+                output.writeInt(SNAPSHOT_MAGIC);
+                output.writeInt(SNAPSHOT_VERSION);
+                output.writeBoolean(recordedUpTo != null);
+                if (recordedUpTo != null) {
+                    output.writeLong(recordedUpTo.getExecutedAt());
+                    output.writeUTF(recordedUpTo.getFileName());
+                }
+                output.writeInt(recorded.size());
+                for (Map.Entry<String, Long> entry : recorded.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeLong(entry.getValue());
+                }
+                output.writeInt(rollups.size());
+                for (Map.Entry<String, ScenarioRollups> entry : rollups.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    entry.getValue().writeTo(output);
+                }
+                output.flush();
+            });
+        } catch (IOException e) {
+            dirty.set(true);
+            throw e;
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    private void loadSnapshot() {
+        try (InputStream inputStream = Files.newInputStream(snapshotPath)) {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+            if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported analytics snapshot");
+            }
+            ResultCursor recordedUpTo = input.readBoolean()
+                ? new ResultCursor(input.readLong(), input.readUTF()) : null;
+            Map<String, Long> recorded = new HashMap<>();
+            int recordedCount = input.readInt();
+            for (int i = 0; i < recordedCount; i++) {
+                recorded.put(input.readUTF(), input.readLong());
+            }
+            int scenarioCount = input.readInt();
+            for (int i = 0; i < scenarioCount; i++) {
+                String scenarioName = input.readUTF();
+                rollups.computeIfAbsent(scenarioName, name -> new ScenarioRollups())
+                    .readFrom(input);
+            }
+            watermark = recordedUpTo;
+            recordedNames.putAll(recorded);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            /* Start over; every result within retention is read once more to rebuild. */
+            log.warn("Discarding unreadable result analytics snapshot: {}", snapshotPath);
+            rollups.clear();
+            watermark = null;
+            recordedNames.clear();
+        }
+    }
+
+    private long retentionCutoff() {
+        if (analyticsSetting.getRetention().isZero()) {
+            return Long.MIN_VALUE;
+        }
+        return System.currentTimeMillis() - analyticsSetting.getRetention().toMillis();
+    }
+
+    private long bucketStartOf(long epochMillis) {
+        if (epochMillis == Long.MIN_VALUE) {
+            return epochMillis;
+        }
+        return Math.floorDiv(epochMillis, bucketMillis) * bucketMillis;
+    }
+}
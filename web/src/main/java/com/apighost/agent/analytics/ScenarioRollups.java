@@ -0,0 +1,133 @@
+package com.apighost.agent.analytics;
+
+import com.apighost.model.scenario.ScenarioResult;
+import com.apighost.model.scenario.result.ResultStep;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Time-bucketed rollups of every result of one scenario.
+ * <p>
+ * Each bucket holds one {@link StepRollup} for the scenario as a whole, built from its total
+ * duration and success flag, and one per step name. All methods synchronize on this instance.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+class ScenarioRollups {
+
+    private final NavigableMap<Long, Bucket> buckets = new TreeMap<>();
+
+    /**
+     * Adds a result to the bucket starting at the given time.
+     *
+     * @param bucketStart    the start of the bucket in epoch milliseconds
+     * @param scenarioResult the result to add
+     */
+    synchronized void record(long bucketStart, ScenarioResult scenarioResult) {
+        Bucket bucket = buckets.computeIfAbsent(bucketStart, start -> new Bucket());
+        bucket.total.record(scenarioResult.getTotalDurationMs(),
+            scenarioResult.getIsScenarioSuccess());
+        if (scenarioResult.getResults() == null) {
+            return;
+        }
+        for (ResultStep resultStep : scenarioResult.getResults()) {
+            if (resultStep.getStepName() == null) {
+                continue;
+            }
+            bucket.steps.computeIfAbsent(resultStep.getStepName(), name -> new StepRollup())
+                .record(resultStep.getDurationMs(), resultStep.getIsRequestSuccess());
+        }
+    }
+
+    /**
+     * Returns a copy of the rollups of one step, or of the whole scenario, per bucket in the
+     * given range.
+     *
+     * @param stepName the step name, or {@code null} for the whole scenario
+     * @param from     the inclusive lower bound of the bucket start
+     * @param to       the inclusive upper bound of the bucket start
+     * @return the rollups keyed by bucket start, in time order
+     */
+    synchronized NavigableMap<Long, StepRollup> collect(String stepName, long from, long to) {
+        NavigableMap<Long, StepRollup> collected = new TreeMap<>();
+        for (Map.Entry<Long, Bucket> entry : buckets.subMap(from, true, to, true).entrySet()) {
+            StepRollup source = stepName == null ? entry.getValue().total
+                : entry.getValue().steps.get(stepName);
+            if (source != null) {
+                StepRollup copy = new StepRollup();
+                copy.merge(source);
+                collected.put(entry.getKey(), copy);
+            }
+        }
+        return collected;
+    }
+
+    /**
+     * Returns the names of the steps recorded in any bucket.
+     *
+     * @return the step names in name order
+     */
+    synchronized List<String> getStepNames() {
+        TreeSet<String> stepNames = new TreeSet<>();
+        for (Bucket bucket : buckets.values()) {
+            stepNames.addAll(bucket.steps.keySet());
+        }
+        return new ArrayList<>(stepNames);
+    }
+
+    /**
+     * Drops every bucket that starts before the given time.
+     *
+     * @param cutoff the oldest bucket start to keep, in epoch milliseconds
+     * @return {@code true} if no bucket is left
+     */
+    synchronized boolean prune(long cutoff) {
+        buckets.headMap(cutoff, false).clear();
+        return buckets.isEmpty();
+    }
+
+    synchronized void writeTo(DataOutputStream output) throws IOException {
+        output.writeInt(buckets.size());
+        for (Map.Entry<Long, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            output.writeLong(entry.getKey());
+            bucket.total.writeTo(output);
+            output.writeInt(bucket.steps.size());
+            for (Map.Entry<String, StepRollup> step : bucket.steps.entrySet()) {
+                output.writeUTF(step.getKey());
+                step.getValue().writeTo(output);
+            }
+        }
+    }
+
+    synchronized void readFrom(DataInputStream input) throws IOException {
+        int bucketCount = input.readInt();
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.computeIfAbsent(input.readLong(), start -> new Bucket());
+            bucket.total.merge(StepRollup.readFrom(input));
+            int stepCount = input.readInt();
+            for (int j = 0; j < stepCount; j++) {
+                String stepName = input.readUTF();
+                bucket.steps.computeIfAbsent(stepName, name -> new StepRollup())
+                    .merge(StepRollup.readFrom(input));
+            }
+        }
+    }
+
+    private static class Bucket {
+
+        private final StepRollup total = new StepRollup();
+        private final Map<String, StepRollup> steps = new HashMap<>();
+    }
+}
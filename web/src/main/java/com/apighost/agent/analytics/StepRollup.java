@@ -0,0 +1,112 @@
+package com.apighost.agent.analytics;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Aggregated outcome of one step, or of a whole scenario, within one time bucket.
+ * <p>
+ * Instances are not thread-safe; callers synchronize on the {@link ScenarioRollups} that owns
+ * them.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class StepRollup {
+
+    private long count;
+    private long errorCount;
+    private long totalDurationMs;
+    private long maxDurationMs;
+    private final LatencyHistogram histogram;
+
+    public StepRollup() {
+        this(new LatencyHistogram());
+    }
+
+    private StepRollup(LatencyHistogram histogram) {
+        this.histogram = histogram;
+    }
+
+    /**
+     * Records one execution.
+     *
+     * @param durationMs the execution time in milliseconds
+     * @param success    whether the execution succeeded
+     */
+    public void record(long durationMs, boolean success) {
+        count++;
+        if (!success) {
+            errorCount++;
+        }
+        totalDurationMs += durationMs;
+        maxDurationMs = Math.max(maxDurationMs, durationMs);
+        histogram.record(durationMs);
+    }
+
+    /**
+     * Adds the given rollup to this one.
+     *
+     * @param other the rollup to merge
+     */
+    public void merge(StepRollup other) {
+        count += other.count;
+        errorCount += other.errorCount;
+        totalDurationMs += other.totalDurationMs;
+        maxDurationMs = Math.max(maxDurationMs, other.maxDurationMs);
+        histogram.merge(other.histogram);
+    }
+
+    /**
+     * Returns the latency at the given quantile, never above the largest recorded latency.
+     *
+     * @param quantile the quantile, between {@code 0} and {@code 1}
+     * @return the latency in milliseconds
+     */
+    public long latencyAtQuantile(double quantile) {
+        return Math.min(histogram.valueAtQuantile(quantile), maxDurationMs);
+    }
+
+    public double getErrorRate() {
+        return count == 0 ? 0 : (double) errorCount / count;
+    }
+
+    public long getMeanDurationMs() {
+        return count == 0 ? 0 : totalDurationMs / count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getMaxDurationMs() {
+        return maxDurationMs;
+    }
+
+    void writeTo(DataOutputStream output) throws IOException {
+        output.writeLong(count);
+        output.writeLong(errorCount);
+        output.writeLong(totalDurationMs);
+        output.writeLong(maxDurationMs);
+        histogram.writeTo(output);
+    }
+
+    static StepRollup readFrom(DataInputStream input) throws IOException {
+        long count = input.readLong();
+        long errorCount = input.readLong();
+        long totalDurationMs = input.readLong();
+        long maxDurationMs = input.readLong();
+        StepRollup rollup = new StepRollup(LatencyHistogram.readFrom(input));
+        rollup.count = count;
+        rollup.errorCount = errorCount;
+        rollup.totalDurationMs = totalDurationMs;
+        rollup.maxDurationMs = maxDurationMs;
+        return rollup;
+    }
+}
@@ -0,0 +1,252 @@
+package com.apighost.agent.cache;
+
+import com.apighost.model.scenario.Scenario;
+import com.apighost.model.scenario.step.Route;
+import com.apighost.model.scenario.step.Step;
+import com.apighost.model.scenario.step.Then;
+import com.apighost.validator.ScenarioValidator;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A parsed and validated {@link Scenario} together with the execution plan derived from it.
+ * <p>
+ * The plan holds the first step key, a routing table of every step's declared successors and
+ * the set of steps whose route stores contain {@code ${...}} templates. Step executors resolve
+ * those templates in place, so {@link #instantiateSteps()} hands out fresh copies of the
+ * templated routes while the remaining steps are shared between runs.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class CompiledScenario {
+
+    private static final String TEMPLATE_PREFIX = "${";
+
+    private final Path sourcePath;
+    private final FileTime lastModifiedTime;
+    private final long size;
+    private final Scenario scenario;
+    private final RuntimeException validationFailure;
+    private final String firstStepKey;
+    private final Map<String, Set<String>> routingTable;
+    private final Set<String> templatedSteps;
+
+    private CompiledScenario(Path sourcePath, FileTime lastModifiedTime, long size,
+        Scenario scenario, RuntimeException validationFailure, String firstStepKey,
+        Map<String, Set<String>> routingTable, Set<String> templatedSteps) {
+
+        this.sourcePath = sourcePath;
+        this.lastModifiedTime = lastModifiedTime;
+        this.size = size;
+        this.scenario = scenario;
+        this.validationFailure = validationFailure;
+        this.firstStepKey = firstStepKey;
+        this.routingTable = routingTable;
+        this.templatedSteps = templatedSteps;
+    }
+
+    /**
+     * Compiles a scenario that was not loaded from a file.
+     *
+     * @param scenario the scenario to validate and plan
+     * @return the compiled scenario
+     */
+    public static CompiledScenario compile(Scenario scenario) {
+        return compile(scenario, null, null);
+    }
+
+    /**
+     * Compiles a scenario loaded from the given file.
+     *
+     * @param scenario   the parsed scenario
+     * @param sourcePath the file the scenario was read from
+     * @param attributes the file attributes captured before parsing
+     * @return the compiled scenario
+     */
+    public static CompiledScenario compile(Scenario scenario, Path sourcePath,
+        BasicFileAttributes attributes) {
+
+        FileTime lastModifiedTime = attributes != null ? attributes.lastModifiedTime() : null;
+        long size = attributes != null ? attributes.size() : -1;
+
+        try {
+            ScenarioValidator.validateScenarioForExecution(scenario);
+            String firstStepKey = scenario.getSteps().keySet().iterator().next();
+            ScenarioValidator.validateNoRouteCycle(scenario, firstStepKey);
+
+            return new CompiledScenario(sourcePath, lastModifiedTime, size, scenario, null,
+                firstStepKey, buildRoutingTable(scenario.getSteps()),
+                findTemplatedSteps(scenario.getSteps()));
+        } catch (RuntimeException e) {
+            return new CompiledScenario(sourcePath, lastModifiedTime, size, scenario, e, null,
+                Collections.emptyMap(), Collections.emptySet());
+        }
+    }
+
+    /**
+     * Checks whether this compilation still reflects the file described by the given attributes.
+     *
+     * @param attributes the current attributes of the source file
+     * @return {@code true} if the file has not changed since it was compiled
+     */
+    public boolean isUpToDate(BasicFileAttributes attributes) {
+        return lastModifiedTime != null
+            && lastModifiedTime.equals(attributes.lastModifiedTime())
+            && size == attributes.size();
+    }
+
+    /**
+     * Rethrows the validation failure recorded at compile time, if any.
+     *
+     * @throws RuntimeException the exception raised by {@link ScenarioValidator}
+     */
+    public void ensureValid() {
+        if (validationFailure != null) {
+            throw validationFailure;
+        }
+    }
+
+    /**
+     * Creates the step map for a single execution.
+     *
+     * @return an ordered step map safe to be mutated by step executors
+     */
+    public LinkedHashMap<String, Step> instantiateSteps() {
+        LinkedHashMap<String, Step> steps = scenario.getSteps();
+        if (templatedSteps.isEmpty()) {
+            return steps;
+        }
+
+        LinkedHashMap<String, Step> instance = new LinkedHashMap<>(steps);
+        for (String stepKey : templatedSteps) {
+            instance.put(stepKey, copyRoutes(steps.get(stepKey)));
+        }
+        return instance;
+    }
+
+    /**
+     * Creates the variable store for a single execution, seeded with the scenario's store.
+     *
+     * @return a new mutable store
+     */
+    public Map<String, Object> newStore() {
+        return scenario.getStore() != null ? new HashMap<>(scenario.getStore()) : new HashMap<>();
+    }
+
+    /**
+     * Resolves the step reported by a step executor against the routing table.
+     * <p>
+     * Blank or unknown step keys end the scenario instead of failing the next lookup.
+     * </p>
+     *
+     * @param nextStepKey the next step reported by the step executor
+     * @return the next step key, or {@code null} if the scenario ends here
+     */
+    public String resolveNextStep(String nextStepKey) {
+        if (nextStepKey == null || !routingTable.containsKey(nextStepKey)) {
+            return null;
+        }
+        return nextStepKey;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public Path getSourcePath() {
+        return sourcePath;
+    }
+
+    public String getFirstStepKey() {
+        return firstStepKey;
+    }
+
+    public Map<String, Set<String>> getRoutingTable() {
+        return routingTable;
+    }
+
+    private static Map<String, Set<String>> buildRoutingTable(LinkedHashMap<String, Step> steps) {
+        Map<String, Set<String>> routingTable = new HashMap<>();
+        for (Map.Entry<String, Step> entry : steps.entrySet()) {
+            Set<String> successors = new LinkedHashSet<>();
+            List<Route> routes = entry.getValue().getRoute();
+            if (routes != null) {
+                for (Route route : routes) {
+                    Then then = route.getThen();
+                    if (then != null && then.getStep() != null
+                        && steps.containsKey(then.getStep())) {
+                        successors.add(then.getStep());
+                    }
+                }
+            }
+            routingTable.put(entry.getKey(), Collections.unmodifiableSet(successors));
+        }
+        return Collections.unmodifiableMap(routingTable);
+    }
+
+    private static Set<String> findTemplatedSteps(LinkedHashMap<String, Step> steps) {
+        Set<String> templatedSteps = new HashSet<>();
+        for (Map.Entry<String, Step> entry : steps.entrySet()) {
+            List<Route> routes = entry.getValue().getRoute();
+            if (routes == null) {
+                continue;
+            }
+            for (Route route : routes) {
+                if (route.getThen() != null && hasTemplate(route.getThen().getStore())) {
+                    templatedSteps.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return Collections.unmodifiableSet(templatedSteps);
+    }
+
+    private static boolean hasTemplate(Map<String, Object> store) {
+        if (store == null) {
+            return false;
+        }
+        for (Object value : store.values()) {
+            if (value instanceof String text && text.contains(TEMPLATE_PREFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Step copyRoutes(Step step) {
+        List<Route> routes = new ArrayList<>(step.getRoute().size());
+        for (Route route : step.getRoute()) {
+            Then then = route.getThen();
+            if (then != null && then.getStore() != null) {
+                then = new Then.Builder()
+                    .step(then.getStep())
+                    .store(new HashMap<>(then.getStore()))
+                    .build();
+            }
+            routes.add(new Route.Builder()
+                .expected(route.getExpected())
+                .then(then)
+                .build());
+        }
+
+        return new Step.Builder()
+            .type(step.getType())
+            .position(step.getPosition())
+            .request(step.getRequest())
+            .route(routes)
+            .build();
+    }
+}
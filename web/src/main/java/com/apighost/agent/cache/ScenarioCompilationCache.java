@@ -0,0 +1,79 @@
+package com.apighost.agent.cache;
+
+import com.apighost.agent.file.ScenarioFileLoader;
+import com.apighost.agent.util.ObjectWriterHolder;
+import com.apighost.model.scenario.Scenario;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches {@link CompiledScenario} instances keyed by the absolute path of their scenario file.
+ * <p>
+ * Every lookup compares the file's last-modified time and size with the values captured when
+ * the entry was compiled, so editing a scenario file transparently replaces its entry while
+ * repeated executions of an unchanged file skip YAML parsing and validation entirely.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ScenarioCompilationCache {
+
+    private final ScenarioFileLoader scenarioFileLoader;
+    private final ObjectReader scenarioReader;
+    private final ConcurrentMap<Path, CompiledScenario> compiledScenarios =
+        new ConcurrentHashMap<>();
+
+    public ScenarioCompilationCache(ScenarioFileLoader scenarioFileLoader) {
+        this.scenarioFileLoader = scenarioFileLoader;
+        this.scenarioReader = ObjectWriterHolder.scenarioYamlReader();
+    }
+
+    /**
+     * Returns the compiled form of the given scenario file, compiling it if it is missing or
+     * stale.
+     *
+     * @param scenarioName the scenario file name (e.g., "login.yaml")
+     * @return the compiled scenario
+     * @throws IOException if the scenario file cannot be found or parsed
+     */
+    public CompiledScenario get(String scenarioName) throws IOException {
+        File scenarioFile = scenarioFileLoader.findScenarioFile(scenarioName);
+        Path sourcePath = scenarioFile.toPath().toAbsolutePath();
+        BasicFileAttributes attributes = Files.readAttributes(sourcePath,
+            BasicFileAttributes.class);
+
+        CompiledScenario cached = compiledScenarios.get(sourcePath);
+        if (cached != null && cached.isUpToDate(attributes)) {
+            return cached;
+        }
+
+        Scenario scenario = scenarioReader.readValue(scenarioFile);
+        CompiledScenario compiled = CompiledScenario.compile(scenario, sourcePath, attributes);
+        compiledScenarios.put(sourcePath, compiled);
+        return compiled;
+    }
+
+    /**
+     * Drops the cached entry for the given scenario file.
+     *
+     * @param sourcePath the scenario file path
+     */
+    public void invalidate(Path sourcePath) {
+        compiledScenarios.remove(sourcePath.toAbsolutePath());
+    }
+
+    /**
+     * Drops every cached entry.
+     */
+    public void clear() {
+        compiledScenarios.clear();
+    }
+}
@@ -0,0 +1,104 @@
+package com.apighost.agent.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the result trend analytics.
+ * <p>
+ * Results are rolled up into time buckets of {@code bucketSize}. Buckets older than
+ * {@code retention} are dropped, and the rollups are written to a snapshot every
+ * {@code snapshotInterval}. On startup, results executed up to {@code catchUpGrace} before the
+ * newest result in the snapshot are read again, so that results saved out of execution order
+ * are not missed; the grace must exceed the longest delay between executing and saving a result.
+ * A trend is flagged as a regression when both the baseline and the
+ * recent window hold at least {@code minSamples} samples and either the recent p95 latency exceeds
+ * the baseline p95 by more than {@code latencyRatio}, or the recent error rate exceeds the
+ * baseline error rate by more than {@code errorRateDelta}.
+ * </p>
+ * <p>
+ * The same latency ratio decides whether a step of a run regressed against a pinned baseline.
+ * When both sides hold at least {@code minSamples} samples, the slowdown must also be
+ * statistically significant at {@code significanceLevel}.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class AnalyticsSetting {
+
+    private final Duration bucketSize;
+    private final Duration retention;
+    private final Duration snapshotInterval;
+    private final Duration catchUpGrace;
+    private final double latencyRatio;
+    private final double errorRateDelta;
+    private final int minSamples;
+    private final double significanceLevel;
+
+    /**
+     * Constructs a new {@code AnalyticsSetting}.
+     *
+     * @param bucketSize        the width of one rollup bucket
+     * @param retention         how long buckets are kept
+     * @param snapshotInterval  the delay between two snapshots of the rollups
+     * @param catchUpGrace      how far before the newest recorded result catching up reads again
+     * @param latencyRatio      the p95 ratio above which latency is reported as regressed
+     * @param errorRateDelta    the error rate increase above which errors are reported as
+     *                          regressed
+     * @param minSamples        the number of samples each side of a comparison needs
+     * @param significanceLevel the p-value below which a baseline slowdown is significant
+     */
+    public AnalyticsSetting(Duration bucketSize, Duration retention, Duration snapshotInterval,
+        Duration catchUpGrace, double latencyRatio, double errorRateDelta, int minSamples,
+        double significanceLevel) {
+        if (bucketSize.toMillis() <= 0) {
+            throw new IllegalArgumentException("Analytics bucket size must be positive");
+        }
+        if (snapshotInterval.toMillis() <= 0) {
+            throw new IllegalArgumentException("Analytics snapshot interval must be positive");
+        }
+        if (catchUpGrace.isNegative()) {
+            throw new IllegalArgumentException("Analytics catch-up grace must not be negative");
+        }
+        this.bucketSize = bucketSize;
+        this.retention = retention;
+        this.snapshotInterval = snapshotInterval;
+        this.catchUpGrace = catchUpGrace;
+        this.latencyRatio = latencyRatio;
+        this.errorRateDelta = errorRateDelta;
+        this.minSamples = minSamples;
+        this.significanceLevel = significanceLevel;
+    }
+
+    public Duration getBucketSize() {
+        return bucketSize;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public Duration getCatchUpGrace() {
+        return catchUpGrace;
+    }
+
+    public double getLatencyRatio() {
+        return latencyRatio;
+    }
+
+    public double getErrorRateDelta() {
+        return errorRateDelta;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public double getSignificanceLevel() {
+        return significanceLevel;
+    }
+}
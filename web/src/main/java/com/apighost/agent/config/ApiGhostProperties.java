@@ -1,12 +1,14 @@
 package com.apighost.agent.config;
 
+import com.apighost.agent.collector.ScanMode;
+
 import org.springframework.stereotype.Component;
 
 /**
  * Configuration properties for the API Ghost application.
  * <p>
- * This component holds configurable settings such as the base package to scan and the OpenAI API
- * key for integration.
+ * This component holds configurable settings such as the base package to scan, how endpoint
+ * schemas are resolved during the scan, and the OpenAI API key for integration.
  * </p>
  *
  * @author kobenlys
@@ -18,11 +20,18 @@ public class ApiGhostProperties {
     private String basePackage;
     private String baseUrl;
     private String openAiKey;
+    private ScanMode scanMode;
 
     public ApiGhostProperties(String basePackage, String baseUrl, String openAiKey) {
+        this(basePackage, baseUrl, openAiKey, ScanMode.REFLECTION);
+    }
+
+    public ApiGhostProperties(String basePackage, String baseUrl, String openAiKey,
+        ScanMode scanMode) {
         this.basePackage = basePackage;
         this.baseUrl = baseUrl;
         this.openAiKey = openAiKey;
+        this.scanMode = scanMode;
     }
 
     public String getBasePackage() {
@@ -48,4 +57,12 @@ public class ApiGhostProperties {
     public void setOpenAiKey(String openAiKey) {
         this.openAiKey = openAiKey;
     }
+
+    public ScanMode getScanMode() {
+        return scanMode;
+    }
+
+    public void setScanMode(ScanMode scanMode) {
+        this.scanMode = scanMode;
+    }
 }
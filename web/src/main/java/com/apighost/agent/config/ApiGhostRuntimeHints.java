@@ -0,0 +1,108 @@
+package com.apighost.agent.config;
+
+import com.apighost.agent.collector.manifest.EndpointManifest;
+import com.apighost.agent.model.Baseline;
+import com.apighost.agent.model.BaselineComparison;
+import com.apighost.agent.model.CompactEndpoint;
+import com.apighost.agent.model.CompactEndpointResponse;
+import com.apighost.agent.model.GenericFileDetailResponse;
+import com.apighost.agent.model.RegressionReport;
+import com.apighost.agent.model.ResponseResult;
+import com.apighost.agent.model.ResultStepPageResponse;
+import com.apighost.agent.model.ResultSummary;
+import com.apighost.agent.model.ResultTrendResponse;
+import com.apighost.agent.model.RunListResponse;
+import com.apighost.agent.model.RunStartResponse;
+import com.apighost.agent.model.RunStatus;
+import com.apighost.agent.model.ScenarioExportResponse;
+import com.apighost.agent.model.ScenarioListResponse;
+import com.apighost.agent.model.ScenarioResultBrief;
+import com.apighost.agent.model.ScenarioResultListResponse;
+import com.apighost.agent.model.StepComparison;
+import com.apighost.agent.model.TrendPoint;
+import com.apighost.agent.model.WorkspaceListResponse;
+import com.apighost.model.collector.Endpoint;
+import com.apighost.model.collector.FieldMeta;
+import com.apighost.model.collector.Parameter;
+import com.apighost.model.scenario.Scenario;
+import com.apighost.model.scenario.ScenarioResult;
+import com.apighost.model.scenario.WebSocketStatusCode;
+import com.apighost.model.scenario.request.FormData;
+import com.apighost.model.scenario.request.Request;
+import com.apighost.model.scenario.request.RequestBody;
+import com.apighost.model.scenario.result.ResultStep;
+import com.apighost.model.scenario.step.Expected;
+import com.apighost.model.scenario.step.HTTPMethod;
+import com.apighost.model.scenario.step.Position;
+import com.apighost.model.scenario.step.ProtocolType;
+import com.apighost.model.scenario.step.Route;
+import com.apighost.model.scenario.step.Step;
+import com.apighost.model.scenario.step.Then;
+
+import java.util.List;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Registers the reflection and resource hints the agent needs in a GraalVM native image.
+ * <p>
+ * Scenarios, results and endpoints are read and written by Jackson, which reaches their
+ * constructors, getters, builders and fields reflectively; every such type and its builder is
+ * registered here. The settings file and the endpoint manifest are registered as resources.
+ * </p>
+ * <p>
+ * A native image has no class path for ClassGraph to scan, so the endpoints must come from an
+ * {@link EndpointManifest} generated at build time.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ApiGhostRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] BINDING_CATEGORIES = {
+        MemberCategory.DECLARED_FIELDS,
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_PUBLIC_METHODS
+    };
+
+    private static final List<Class<?>> SERIALIZED_TYPES = List.of(
+        Endpoint.class, Endpoint.Builder.class, FieldMeta.class, Parameter.class,
+        Scenario.class, Scenario.Builder.class,
+        ScenarioResult.class, ScenarioResult.Builder.class,
+        ResultStep.class, ResultStep.Builder.class,
+        Step.class, Step.Builder.class,
+        Request.class, Request.Builder.class,
+        RequestBody.class, RequestBody.Builder.class,
+        FormData.class, FormData.Builder.class,
+        Route.class, Route.Builder.class,
+        Expected.class, Expected.Builder.class,
+        Then.class, Then.Builder.class,
+        Position.class, Position.Builder.class,
+        HTTPMethod.class, ProtocolType.class, WebSocketStatusCode.class,
+        ResultSummary.class, ResultSummary.Builder.class,
+        Baseline.class, Baseline.Builder.class,
+        BaselineComparison.class,
+        RegressionReport.class, RegressionReport.Builder.class,
+        StepComparison.class, StepComparison.Builder.class,
+        TrendPoint.class, TrendPoint.Builder.class,
+        RunStatus.class, RunStatus.Builder.class,
+        ResponseResult.class, ResponseResult.Builder.class,
+        GenericFileDetailResponse.class, ResultStepPageResponse.class, ResultTrendResponse.class,
+        ScenarioExportResponse.class, ScenarioListResponse.class, ScenarioResultBrief.class,
+        ScenarioResultListResponse.class, WorkspaceListResponse.class,
+        CompactEndpoint.class, CompactEndpointResponse.class,
+        RunListResponse.class, RunStartResponse.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : SERIALIZED_TYPES) {
+            hints.reflection().registerType(type, BINDING_CATEGORIES);
+        }
+        hints.resources().registerPattern("apighost-settings.properties");
+        hints.resources().registerPattern(EndpointManifest.RESOURCE_PATH);
+    }
+}
@@ -1,5 +1,6 @@
 package com.apighost.agent.config;
 
+import com.apighost.agent.file.ResultFormat;
 import org.springframework.stereotype.Component;
 
 /**
@@ -21,6 +22,7 @@ public class ApiGhostSetting {
     private final String formatYaml;
     private final String formatYml;
     private final String formatJson;
+    private final ResultFormat resultFormat;
 
     /**
      * Constructs a new {@code ApiGhostSetting} with provided scenario path, result path, and format
@@ -34,11 +36,63 @@ public class ApiGhostSetting {
      */
     public ApiGhostSetting(String scenarioPath, String resultPath, String formatYaml,
         String formatYml, String formatJson) {
+        this(scenarioPath, resultPath, formatYaml, formatYml, formatJson, ResultFormat.JSON);
+    }
+
+    /**
+     * Constructs a new {@code ApiGhostSetting} that also selects the storage format of newly
+     * written results.
+     *
+     * @param scenarioPath the file system path where scenario files are stored
+     * @param resultPath   the file system path where test result files are stored
+     * @param formatYaml   the extension string for YAML format (e.g., ".yaml")
+     * @param formatYml    the extension string for YML format (e.g., ".yml")
+     * @param formatJson   the extension string for JSON format (e.g., ".json")
+     * @param resultFormat the format used to write new result files
+     */
+    public ApiGhostSetting(String scenarioPath, String resultPath, String formatYaml,
+        String formatYml, String formatJson, ResultFormat resultFormat) {
         this.scenarioPath = scenarioPath;
         this.resultPath = resultPath;
         this.formatYaml = formatYaml;
         this.formatYml = formatYml;
         this.formatJson = formatJson;
+        this.resultFormat = resultFormat;
+    }
+
+    /**
+     * Returns a copy of this setting that stores scenarios and results under the given
+     * directories, keeping every format setting.
+     *
+     * @param scenarioPath the file system path where scenario files are stored
+     * @param resultPath   the file system path where test result files are stored
+     * @return the relocated setting
+     */
+    public ApiGhostSetting withPaths(String scenarioPath, String resultPath) {
+        return new ApiGhostSetting(scenarioPath, resultPath, formatYaml, formatYml, formatJson,
+            resultFormat);
+    }
+
+    /**
+     * Returns whether the given file name has the extension of a stored result in any supported
+     * format.
+     *
+     * @param fileName the file name to check
+     * @return {@code true} if the file is a result file
+     */
+    public boolean isResultFile(String fileName) {
+        return fileName.endsWith(formatJson) || fileName.endsWith(
+            ResultFormat.SMILE_GZIP_EXTENSION);
+    }
+
+    /**
+     * Returns the file extension used for newly written results.
+     *
+     * @return the result file extension of the configured format
+     */
+    public String getResultExtension() {
+        return resultFormat == ResultFormat.SMILE_GZIP ? ResultFormat.SMILE_GZIP_EXTENSION
+            : formatJson;
     }
 
     public String getScenarioPath() {
@@ -60,4 +114,8 @@ public class ApiGhostSetting {
     public String getFormatJson() {
         return formatJson;
     }
+
+    public ResultFormat getResultFormat() {
+        return resultFormat;
+    }
 }
@@ -1,27 +1,49 @@
 package com.apighost.agent.config;
 
 import com.apighost.agent.collector.RestApiCollector;
+import com.apighost.agent.collector.ScanMode;
+import com.apighost.agent.collector.ScanScope;
+import com.apighost.agent.config.ResultStoreSetting.StoreType;
+import com.apighost.agent.config.SseSetting.OverflowPolicy;
+import com.apighost.agent.config.TracingSetting.ExporterType;
 import com.apighost.agent.collector.WebSocketCollector;
+import com.apighost.agent.collector.manifest.EndpointManifest;
 import com.apighost.agent.controller.EndPointProvider;
 import com.apighost.agent.controller.EngineController;
+import com.apighost.agent.controller.MetricsController;
 import com.apighost.agent.controller.ScenarioGUIController;
-import com.apighost.agent.engine.FileLoaderEngine;
 import com.apighost.agent.exception.GlobalExceptionHandler;
-import com.apighost.agent.executor.ScenarioTestExecutor;
-import com.apighost.agent.file.ScenarioFileLoader;
-import com.apighost.agent.orchestrator.ScenarioTestOrchestrator;
+import com.apighost.agent.executor.AsyncHttpStepExecutor;
+import com.apighost.agent.executor.AsyncStepExecutor;
+import com.apighost.agent.executor.BlockingStepExecutorAdapter;
+import com.apighost.agent.executor.MeteredAsyncStepExecutor;
+import com.apighost.agent.file.FsyncPolicy;
+import com.apighost.agent.file.ResultFormat;
+import com.apighost.agent.metrics.MetricsRegistry;
+import com.apighost.agent.notifier.SseSender;
+import com.apighost.agent.run.RunRegistry;
+import com.apighost.agent.startup.AgentTrainingRun;
+import com.apighost.agent.tracing.FileSpanExporter;
+import com.apighost.agent.tracing.OtlpHttpSpanExporter;
+import com.apighost.agent.tracing.OtlpJsonEncoder;
+import com.apighost.agent.tracing.ScenarioTracer;
+import com.apighost.agent.tracing.SpanExporter;
+import com.apighost.agent.workspace.WorkspaceFactory;
+import com.apighost.agent.workspace.WorkspaceRegistry;
 import com.apighost.orchestrator.OpenAiGenerateOrchestrator;
-import com.apighost.scenario.executor.HTTPStepExecutor;
-import com.apighost.scenario.executor.StepExecutor;
 import com.apighost.scenario.executor.WebSocketStepExecutor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 
+import java.time.Duration;
+
 @Configuration
 @PropertySource("classpath:apighost-settings.properties")
+@ImportRuntimeHints(ApiGhostRuntimeHints.class)
 public class ApiGhostWebAutoConfiguration {
 
     @Bean
@@ -29,7 +51,9 @@ public class ApiGhostWebAutoConfiguration {
         String basePackage = env.getProperty("apighost.lib.basePackage", "./");
         String baseUrl = env.getProperty("apighost.lib.baseUrl", "http://localhost:8080");
         String openAiKey = env.getProperty("apighost.lib.openAiKey", "");
-        return new ApiGhostProperties(basePackage, baseUrl, openAiKey);
+        ScanMode scanMode = ScanMode.fromProperty(
+            env.getProperty("apighost.lib.scanMode", "reflection"));
+        return new ApiGhostProperties(basePackage, baseUrl, openAiKey, scanMode);
     }
 
     @Bean
@@ -39,13 +63,134 @@ public class ApiGhostWebAutoConfiguration {
         String formatYaml = env.getProperty("apighost.format.yaml");
         String formatYml = env.getProperty("apighost.format.yml");
         String formatJson = env.getProperty("apighost.format.json");
-        return new ApiGhostSetting(scenarioPath, resultPath, formatYaml, formatYml, formatJson);
+        ResultFormat resultFormat = ResultFormat.fromProperty(
+            env.getProperty("apighost.result.format", "json"));
+        return new ApiGhostSetting(scenarioPath, resultPath, formatYaml, formatYml, formatJson,
+            resultFormat);
+    }
+
+    @Bean
+    public ResultStoreSetting resultStoreSetting(Environment env) {
+        StoreType storeType = StoreType.fromProperty(
+            env.getProperty("apighost.result.store", "file"));
+        long segmentMaxBytes = env.getProperty("apighost.result.segment.maxBytes", Long.class,
+            64L * 1024 * 1024);
+        Duration segmentMaxAge = Duration.ofMinutes(
+            env.getProperty("apighost.result.segment.maxAgeMinutes", Long.class, 1440L));
+        int retentionDays = env.getProperty("apighost.result.retention.days", Integer.class, 0);
+        int retentionKeepPerScenario = env.getProperty(
+            "apighost.result.retention.keepPerScenario", Integer.class, 0);
+        Duration compactionInterval = Duration.ofMinutes(
+            env.getProperty("apighost.result.compaction.intervalMinutes", Long.class, 10L));
+        double compactionMinGarbageRatio = env.getProperty(
+            "apighost.result.compaction.minGarbageRatio", Double.class, 0.5);
+        FsyncPolicy fsyncPolicy = FsyncPolicy.fromProperty(
+            env.getProperty("apighost.result.fsync", "batch"));
+        int writerQueueCapacity = env.getProperty("apighost.result.writer.queueCapacity",
+            Integer.class, 256);
+        int writerBatchSize = env.getProperty("apighost.result.writer.batchSize", Integer.class,
+            32);
+        return new ResultStoreSetting(storeType, segmentMaxBytes, segmentMaxAge, retentionDays,
+            retentionKeepPerScenario, compactionInterval, compactionMinGarbageRatio, fsyncPolicy,
+            writerQueueCapacity, writerBatchSize);
+    }
+
+    @Bean
+    public AnalyticsSetting analyticsSetting(Environment env) {
+        Duration bucketSize = Duration.ofMinutes(
+            env.getProperty("apighost.analytics.bucketMinutes", Long.class, 60L));
+        Duration retention = Duration.ofDays(
+            env.getProperty("apighost.analytics.retentionDays", Long.class, 30L));
+        Duration snapshotInterval = Duration.ofMinutes(
+            env.getProperty("apighost.analytics.snapshotMinutes", Long.class, 5L));
+        Duration catchUpGrace = Duration.ofMinutes(
+            env.getProperty("apighost.analytics.catchUpGraceMinutes", Long.class, 10L));
+        double latencyRatio = env.getProperty("apighost.analytics.regression.latencyRatio",
+            Double.class, 1.2);
+        double errorRateDelta = env.getProperty("apighost.analytics.regression.errorRateDelta",
+            Double.class, 0.05);
+        int minSamples = env.getProperty("apighost.analytics.regression.minSamples",
+            Integer.class, 5);
+        double significanceLevel = env.getProperty(
+            "apighost.analytics.regression.significanceLevel", Double.class, 0.05);
+        return new AnalyticsSetting(bucketSize, retention, snapshotInterval, catchUpGrace,
+            latencyRatio, errorRateDelta, minSamples, significanceLevel);
+    }
+
+    @Bean
+    public WorkspaceSetting workspaceSetting(Environment env) {
+        String rootPath = env.getProperty("apighost.workspace.rootPath", "apighost/workspaces");
+        int maxWorkspaces = env.getProperty("apighost.workspace.max", Integer.class, 32);
+        return new WorkspaceSetting(rootPath, maxWorkspaces);
+    }
+
+    @Bean
+    public TracingSetting tracingSetting(Environment env) {
+        boolean enabled = env.getProperty("apighost.tracing.enabled", Boolean.class, false);
+        ExporterType exporterType = ExporterType.fromProperty(
+            env.getProperty("apighost.tracing.exporter", "file"));
+        String filePath = env.getProperty("apighost.tracing.filePath",
+            "apighost/traces/spans.jsonl");
+        String endpoint = env.getProperty("apighost.tracing.endpoint",
+            "http://localhost:4318/v1/traces");
+        String serviceName = env.getProperty("apighost.tracing.serviceName", "apighost-agent");
+        return new TracingSetting(enabled, exporterType, filePath, endpoint, serviceName);
+    }
+
+    @Bean
+    public SseSetting sseSetting(Environment env) {
+        int queueCapacity = env.getProperty("apighost.sse.queueCapacity", Integer.class, 256);
+        OverflowPolicy overflowPolicy = OverflowPolicy.fromProperty(
+            env.getProperty("apighost.sse.overflow", "coalesce"));
+        int batchSize = env.getProperty("apighost.sse.batchSize", Integer.class, 32);
+        Duration heartbeatInterval = Duration.ofSeconds(
+            env.getProperty("apighost.sse.heartbeatSeconds", Long.class, 15L));
+        return new SseSetting(queueCapacity, overflowPolicy, batchSize, heartbeatInterval);
+    }
+
+    @Bean
+    public SseSender sseSender(SseSetting sseSetting) {
+        return new SseSender(sseSetting);
+    }
+
+    @Bean
+    public RunSetting runSetting(Environment env) {
+        int replayBufferSize = env.getProperty("apighost.run.replayBufferSize", Integer.class,
+            512);
+        int retainedRuns = env.getProperty("apighost.run.retainedRuns", Integer.class, 32);
+        boolean cancelOnDisconnect = env.getProperty("apighost.run.cancelOnDisconnect",
+            Boolean.class, true);
+        Duration disconnectGrace = Duration.ofSeconds(
+            env.getProperty("apighost.run.disconnectGraceSeconds", Long.class, 30L));
+        return new RunSetting(replayBufferSize, retainedRuns, cancelOnDisconnect,
+            disconnectGrace);
+    }
+
+    @Bean
+    public RunRegistry runRegistry(RunSetting runSetting) {
+        return new RunRegistry(runSetting);
     }
 
     @Bean
-    public EndPointProvider endPointProvider(RestApiCollector restApiCollector, WebSocketCollector webSocketCollector) {
-        // need core method
-        return new EndPointProvider(restApiCollector, webSocketCollector);
+    public ScenarioTracer scenarioTracer(TracingSetting tracingSetting) {
+        OtlpJsonEncoder encoder = new OtlpJsonEncoder(tracingSetting.getServiceName());
+        SpanExporter spanExporter = switch (tracingSetting.getExporterType()) {
+            case NONE -> SpanExporter.NONE;
+            case FILE -> new FileSpanExporter(tracingSetting.getFilePath(), encoder);
+            case OTLP_HTTP -> new OtlpHttpSpanExporter(tracingSetting.getEndpoint(), encoder);
+        };
+        return new ScenarioTracer(tracingSetting.isEnabled(), spanExporter);
+    }
+
+    @Bean
+    public EndPointProvider endPointProvider(RestApiCollector restApiCollector,
+        WebSocketCollector webSocketCollector, ApiGhostProperties apiGhostProperties) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader() != null
+            ? Thread.currentThread().getContextClassLoader()
+            : EndpointManifest.class.getClassLoader();
+        EndpointManifest endpointManifest = EndpointManifest.load(classLoader,
+            apiGhostProperties.getBasePackage());
+        return new EndPointProvider(restApiCollector, webSocketCollector, endpointManifest);
     }
 
     @Bean
@@ -54,57 +199,85 @@ public class ApiGhostWebAutoConfiguration {
     }
 
     @Bean
-    public EngineController engineController(ScenarioTestOrchestrator scenarioTestOrchestrator,
-        OpenAiGenerateOrchestrator openAiGenerateOrchestrator, FileLoaderEngine fileLoaderEngine,
-        ApiGhostSetting apiGhostSetting, ApiGhostProperties apiGhostProperties) {
-        return new EngineController(scenarioTestOrchestrator, openAiGenerateOrchestrator,
-            fileLoaderEngine,apiGhostSetting, apiGhostProperties);
+    public EngineController engineController(
+        OpenAiGenerateOrchestrator openAiGenerateOrchestrator,
+        ApiGhostProperties apiGhostProperties, WorkspaceRegistry workspaceRegistry,
+        SseSender sseSender, RunRegistry runRegistry) {
+        return new EngineController(openAiGenerateOrchestrator, apiGhostProperties,
+            workspaceRegistry, sseSender, runRegistry);
     }
 
     @Bean
-    public RestApiCollector apiCollector(ApiGhostProperties apiGhostProperties) {
-        return new RestApiCollector(apiGhostProperties.getBasePackage(),
-            apiGhostProperties.getBaseUrl());
+    public MetricsRegistry metricsRegistry() {
+        return MetricsRegistry.getInstance();
     }
 
     @Bean
-    public WebSocketCollector webSocketCollector(ApiGhostProperties apiGhostProperties) {
-        return new WebSocketCollector(apiGhostProperties.getBasePackage(),
-            apiGhostProperties.getBaseUrl());
+    public MetricsController metricsController(MetricsRegistry metricsRegistry) {
+        return new MetricsController(metricsRegistry);
     }
 
     @Bean
-    public ScenarioFileLoader scenarioFileLoader() {
-        return new ScenarioFileLoader();
+    public ScanScope scanScope(Environment env, ApiGhostProperties apiGhostProperties) {
+        return new ScanScope.Builder()
+            .basePackage(apiGhostProperties.getBasePackage())
+            .acceptJars(env.getProperty("apighost.lib.scan.acceptJars", ""))
+            .rejectJars(env.getProperty("apighost.lib.scan.rejectJars", ""))
+            .scanSystemJars(env.getProperty("apighost.lib.scan.systemJars", Boolean.class,
+                false))
+            .annotationPrefilter(env.getProperty("apighost.lib.scan.annotationPrefilter",
+                Boolean.class, true))
+            .workerCount(env.getProperty("apighost.lib.scan.workers", Integer.class, 0))
+            .build();
     }
 
     @Bean
-    public FileLoaderEngine fileLoaderEngine(ApiGhostSetting apiGhostSetting) {
-        return new FileLoaderEngine(apiGhostSetting);
+    public AgentTrainingRun agentTrainingRun(Environment env, ScanScope scanScope,
+        ApiGhostSetting apiGhostSetting, ApiGhostProperties apiGhostProperties) {
+        boolean enabled = env.getProperty("apighost.training.enabled", Boolean.class, false)
+            || "onRefresh".equals(env.getProperty("spring.context.exit"));
+        return new AgentTrainingRun(enabled, scanScope, apiGhostSetting, apiGhostProperties);
     }
 
     @Bean
-    public ScenarioTestExecutor scenarioTestExecutor(ApiGhostSetting apiGhostSetting,
-        ApiGhostProperties apiGhostProperties, @Qualifier("apighost-http-exe") StepExecutor http,
-        @Qualifier("apighost-websocket-exe") StepExecutor websocket) {
-        return new ScenarioTestExecutor(apiGhostSetting, apiGhostProperties, http, websocket);
+    public RestApiCollector apiCollector(ApiGhostProperties apiGhostProperties,
+        ScanScope scanScope) {
+        return new RestApiCollector(scanScope, apiGhostProperties.getBaseUrl(),
+            apiGhostProperties.getScanMode());
     }
 
-    @Bean("apighost-http-exe")
-    public StepExecutor HttpStepExecutor() {
-        return new HTTPStepExecutor();
+    @Bean
+    public WebSocketCollector webSocketCollector(ApiGhostProperties apiGhostProperties,
+        ScanScope scanScope) {
+        return new WebSocketCollector(scanScope, apiGhostProperties.getBaseUrl(),
+            apiGhostProperties.getScanMode());
     }
 
-    @Bean("apighost-websocket-exe")
-    public StepExecutor WebStocketStepExecutor() {
-        return new WebSocketStepExecutor();
+    @Bean
+    public WorkspaceFactory workspaceFactory(ResultStoreSetting resultStoreSetting,
+        AnalyticsSetting analyticsSetting, ApiGhostProperties apiGhostProperties,
+        @Qualifier("apighost-http-exe") AsyncStepExecutor http,
+        @Qualifier("apighost-websocket-exe") AsyncStepExecutor websocket,
+        ScenarioTracer scenarioTracer) {
+        return new WorkspaceFactory(resultStoreSetting, analyticsSetting, apiGhostProperties,
+            http, websocket, scenarioTracer);
     }
 
     @Bean
-    public ScenarioTestOrchestrator scenarioTestOrchestrator(ScenarioFileLoader scenarioFileLoader,
-        ScenarioTestExecutor scenarioTestExecutor, ApiGhostSetting apiGhostSetting) {
-        return new ScenarioTestOrchestrator(scenarioFileLoader, scenarioTestExecutor,
-            apiGhostSetting);
+    public WorkspaceRegistry workspaceRegistry(ApiGhostSetting apiGhostSetting,
+        WorkspaceSetting workspaceSetting, WorkspaceFactory workspaceFactory) {
+        return new WorkspaceRegistry(apiGhostSetting, workspaceSetting, workspaceFactory);
+    }
+
+    @Bean("apighost-http-exe")
+    public AsyncStepExecutor HttpStepExecutor() {
+        return new MeteredAsyncStepExecutor(new AsyncHttpStepExecutor(), "http");
+    }
+
+    @Bean("apighost-websocket-exe")
+    public AsyncStepExecutor WebStocketStepExecutor() {
+        return new MeteredAsyncStepExecutor(BlockingStepExecutorAdapter.pooled(
+            new WebSocketStepExecutor(), "apighost-websocket-step"), "websocket");
     }
 
     @Bean
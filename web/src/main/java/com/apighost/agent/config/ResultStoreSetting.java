@@ -0,0 +1,133 @@
+package com.apighost.agent.config;
+
+import com.apighost.agent.file.FsyncPolicy;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Configuration of the result store backing executed scenario results.
+ * <p>
+ * {@code file} keeps one file per result. {@code segmented} appends results to a few large
+ * segment files and applies the segment rolling, retention and compaction settings held here.
+ * A retention value of {@code 0} disables that retention rule.
+ * </p>
+ * <p>
+ * Results are handed to the store by a background writer that drains a bounded queue in
+ * batches; the queue capacity, batch size and {@link FsyncPolicy} apply to both stores.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ResultStoreSetting {
+
+    /**
+     * Supported result store implementations.
+     */
+    public enum StoreType {
+        FILE,
+        SEGMENTED;
+
+        /**
+         * Parses the {@code apighost.result.store} property value.
+         *
+         * @param value {@code file} or {@code segmented}, case-insensitive
+         * @return the matching store type
+         * @throws IllegalArgumentException if the value is not a known store type
+         */
+        public static StoreType fromProperty(String value) {
+            if (value == null || value.isBlank()) {
+                return FILE;
+            }
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "file" -> FILE;
+                case "segmented" -> SEGMENTED;
+                default -> throw new IllegalArgumentException(
+                    "Unsupported result store: " + value);
+            };
+        }
+    }
+
+    private final StoreType storeType;
+    private final long segmentMaxBytes;
+    private final Duration segmentMaxAge;
+    private final int retentionDays;
+    private final int retentionKeepPerScenario;
+    private final Duration compactionInterval;
+    private final double compactionMinGarbageRatio;
+    private final FsyncPolicy fsyncPolicy;
+    private final int writerQueueCapacity;
+    private final int writerBatchSize;
+
+    /**
+     * Constructs a new {@code ResultStoreSetting}.
+     *
+     * @param storeType                 the result store implementation
+     * @param segmentMaxBytes           the size after which the active segment is rolled
+     * @param segmentMaxAge             the age after which the active segment is rolled
+     * @param retentionDays             the number of days results are kept, or {@code 0}
+     * @param retentionKeepPerScenario  the number of newest results kept per scenario, or
+     *                                  {@code 0}
+     * @param compactionInterval        the delay between retention and compaction runs
+     * @param compactionMinGarbageRatio the share of dead bytes from which a segment is compacted
+     * @param fsyncPolicy               when written results are forced to disk
+     * @param writerQueueCapacity       the number of results that may wait to be written
+     * @param writerBatchSize           the maximum number of results written per batch
+     */
+    public ResultStoreSetting(StoreType storeType, long segmentMaxBytes, Duration segmentMaxAge,
+        int retentionDays, int retentionKeepPerScenario, Duration compactionInterval,
+        double compactionMinGarbageRatio, FsyncPolicy fsyncPolicy, int writerQueueCapacity,
+        int writerBatchSize) {
+        this.storeType = storeType;
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.segmentMaxAge = segmentMaxAge;
+        this.retentionDays = retentionDays;
+        this.retentionKeepPerScenario = retentionKeepPerScenario;
+        this.compactionInterval = compactionInterval;
+        this.compactionMinGarbageRatio = compactionMinGarbageRatio;
+        this.fsyncPolicy = fsyncPolicy;
+        this.writerQueueCapacity = writerQueueCapacity;
+        this.writerBatchSize = writerBatchSize;
+    }
+
+    public StoreType getStoreType() {
+        return storeType;
+    }
+
+    public long getSegmentMaxBytes() {
+        return segmentMaxBytes;
+    }
+
+    public Duration getSegmentMaxAge() {
+        return segmentMaxAge;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public int getRetentionKeepPerScenario() {
+        return retentionKeepPerScenario;
+    }
+
+    public Duration getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    public double getCompactionMinGarbageRatio() {
+        return compactionMinGarbageRatio;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public int getWriterQueueCapacity() {
+        return writerQueueCapacity;
+    }
+
+    public int getWriterBatchSize() {
+        return writerBatchSize;
+    }
+}
@@ -0,0 +1,66 @@
+package com.apighost.agent.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the run registry that lets several SSE subscribers follow one scenario run.
+ * <p>
+ * Every run keeps its last {@code replayBufferSize} events, so a subscriber that attaches late
+ * or reconnects with a {@code Last-Event-ID} receives what it missed. Finished runs stay
+ * attachable until {@code retainedRuns} newer runs have finished.
+ * </p>
+ * <p>
+ * With {@code cancelOnDisconnect}, a run whose subscribers have all disconnected is aborted
+ * unless a subscriber attaches again within {@code disconnectGrace}, which leaves a client time
+ * to reconnect. Runs that never had a subscriber are not affected.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class RunSetting {
+
+    private final int replayBufferSize;
+    private final int retainedRuns;
+    private final boolean cancelOnDisconnect;
+    private final Duration disconnectGrace;
+
+    /**
+     * Constructs a new {@code RunSetting}.
+     *
+     * @param replayBufferSize   the maximum number of events kept per run for replay
+     * @param retainedRuns       the maximum number of finished runs kept in the registry
+     * @param cancelOnDisconnect whether runs left without subscribers are aborted
+     * @param disconnectGrace    how long a run may be left without subscribers before it is
+     *                           aborted
+     * @throws IllegalArgumentException if the buffer size is not positive, or the number of
+     *                                  retained runs or the grace period is negative
+     */
+    public RunSetting(int replayBufferSize, int retainedRuns, boolean cancelOnDisconnect,
+        Duration disconnectGrace) {
+        if (replayBufferSize <= 0 || retainedRuns < 0 || disconnectGrace.isNegative()) {
+            throw new IllegalArgumentException(
+                "Run replay buffer size must be positive, retained runs and grace non-negative");
+        }
+        this.replayBufferSize = replayBufferSize;
+        this.retainedRuns = retainedRuns;
+        this.cancelOnDisconnect = cancelOnDisconnect;
+        this.disconnectGrace = disconnectGrace;
+    }
+
+    public int getReplayBufferSize() {
+        return replayBufferSize;
+    }
+
+    public int getRetainedRuns() {
+        return retainedRuns;
+    }
+
+    public boolean isCancelOnDisconnect() {
+        return cancelOnDisconnect;
+    }
+
+    public Duration getDisconnectGrace() {
+        return disconnectGrace;
+    }
+}
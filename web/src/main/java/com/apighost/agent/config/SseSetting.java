@@ -0,0 +1,100 @@
+package com.apighost.agent.config;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Configuration of the delivery of scenario results to SSE subscribers.
+ * <p>
+ * Events of a run are put on a bounded queue per subscriber and sent by a separate sender, so a
+ * slow connection never delays the run. Step results beyond {@code queueCapacity} are handled by
+ * the {@link OverflowPolicy}; the comparison and completion events are always queued. Up to
+ * {@code batchSize} queued events are written and flushed together, and an idle connection
+ * receives a comment line every {@code heartbeatInterval} to keep proxies from closing it.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class SseSetting {
+
+    /**
+     * What happens to a step result that arrives while the subscriber's queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The new step result is discarded.
+         */
+        DROP,
+        /**
+         * The oldest queued step result is discarded to make room for the new one.
+         */
+        COALESCE,
+        /**
+         * The subscriber is disconnected.
+         */
+        DISCONNECT;
+
+        /**
+         * Parses the {@code apighost.sse.overflow} property value.
+         *
+         * @param value {@code drop}, {@code coalesce} or {@code disconnect}, case-insensitive
+         * @return the matching policy
+         * @throws IllegalArgumentException if the value is not a known policy
+         */
+        public static OverflowPolicy fromProperty(String value) {
+            if (value == null || value.isBlank()) {
+                return COALESCE;
+            }
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "drop" -> DROP;
+                case "coalesce" -> COALESCE;
+                case "disconnect" -> DISCONNECT;
+                default -> throw new IllegalArgumentException(
+                    "Unsupported SSE overflow policy: " + value);
+            };
+        }
+    }
+
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final Duration heartbeatInterval;
+
+    /**
+     * Constructs a new {@code SseSetting}.
+     *
+     * @param queueCapacity     the maximum number of step results queued per subscriber
+     * @param overflowPolicy    what to do with step results beyond the capacity
+     * @param batchSize         the maximum number of events written in one flush
+     * @param heartbeatInterval the idle time after which a heartbeat is sent, or zero for none
+     * @throws IllegalArgumentException if the capacity or batch size is not positive
+     */
+    public SseSetting(int queueCapacity, OverflowPolicy overflowPolicy, int batchSize,
+        Duration heartbeatInterval) {
+        if (queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException(
+                "SSE queue capacity and batch size must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+}
@@ -0,0 +1,91 @@
+package com.apighost.agent.config;
+
+import java.util.Locale;
+
+/**
+ * Configuration of scenario and step tracing.
+ * <p>
+ * When tracing is enabled, every step request carries a W3C {@code traceparent} header and the
+ * spans of each run are handed to the exporter selected by {@code exporterType}: appended as
+ * OTLP/JSON lines to {@code filePath}, or posted to the OTLP/HTTP endpoint at
+ * {@code endpoint}.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class TracingSetting {
+
+    /**
+     * Destination of the recorded spans.
+     */
+    public enum ExporterType {
+        NONE,
+        FILE,
+        OTLP_HTTP;
+
+        /**
+         * Parses the {@code apighost.tracing.exporter} property value.
+         *
+         * @param value {@code none}, {@code file} or {@code otlp-http}, case-insensitive
+         * @return the matching exporter type
+         * @throws IllegalArgumentException if the value is not a known exporter type
+         */
+        public static ExporterType fromProperty(String value) {
+            if (value == null || value.isBlank()) {
+                return FILE;
+            }
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "none" -> NONE;
+                case "file" -> FILE;
+                case "otlp-http" -> OTLP_HTTP;
+                default -> throw new IllegalArgumentException(
+                    "Unsupported tracing exporter: " + value);
+            };
+        }
+    }
+
+    private final boolean enabled;
+    private final ExporterType exporterType;
+    private final String filePath;
+    private final String endpoint;
+    private final String serviceName;
+
+    /**
+     * Constructs a new {@code TracingSetting}.
+     *
+     * @param enabled      whether steps are traced at all
+     * @param exporterType where recorded spans are sent
+     * @param filePath     the OTLP/JSON lines file used by the file exporter
+     * @param endpoint     the OTLP/HTTP traces endpoint used by the HTTP exporter
+     * @param serviceName  the {@code service.name} reported for the agent
+     */
+    public TracingSetting(boolean enabled, ExporterType exporterType, String filePath,
+        String endpoint, String serviceName) {
+        this.enabled = enabled;
+        this.exporterType = exporterType;
+        this.filePath = filePath;
+        this.endpoint = endpoint;
+        this.serviceName = serviceName;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ExporterType getExporterType() {
+        return exporterType;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+}
@@ -0,0 +1,63 @@
+package com.apighost.agent.config;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration of the named workspaces that isolate the scenarios and results of several teams
+ * sharing one agent.
+ * <p>
+ * The default workspace keeps using the scenario and result paths of {@link ApiGhostSetting}.
+ * Every other workspace gets its own directory named after it under the workspace root, with
+ * results stored in its {@code result} sub-directory. At most {@code maxWorkspaces} workspaces,
+ * including the default one, are open at the same time.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class WorkspaceSetting {
+
+    private static final String RESULT_DIRECTORY = "result";
+
+    private final String rootPath;
+    private final int maxWorkspaces;
+
+    /**
+     * Constructs a new {@code WorkspaceSetting}.
+     *
+     * @param rootPath      the directory that holds one directory per named workspace
+     * @param maxWorkspaces the maximum number of open workspaces
+     */
+    public WorkspaceSetting(String rootPath, int maxWorkspaces) {
+        this.rootPath = rootPath;
+        this.maxWorkspaces = maxWorkspaces;
+    }
+
+    /**
+     * Returns the scenario directory of the given named workspace.
+     *
+     * @param workspaceName a validated workspace name
+     * @return the scenario path of the workspace
+     */
+    public String getScenarioPath(String workspaceName) {
+        return Paths.get(rootPath, workspaceName).toString();
+    }
+
+    /**
+     * Returns the result directory of the given named workspace.
+     *
+     * @param workspaceName a validated workspace name
+     * @return the result path of the workspace
+     */
+    public String getResultPath(String workspaceName) {
+        return Paths.get(rootPath, workspaceName, RESULT_DIRECTORY).toString();
+    }
+
+    public String getRootPath() {
+        return rootPath;
+    }
+
+    public int getMaxWorkspaces() {
+        return maxWorkspaces;
+    }
+}
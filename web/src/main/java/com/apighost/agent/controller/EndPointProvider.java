@@ -1,19 +1,25 @@
 package com.apighost.agent.controller;
 
+import com.apighost.agent.collector.EndpointRegistry;
 import com.apighost.agent.collector.RestApiCollector;
 import com.apighost.agent.collector.WebSocketCollector;
-import com.apighost.model.collector.Endpoint;
-import java.util.ArrayList;
+import com.apighost.agent.collector.manifest.EndpointManifest;
+import com.apighost.agent.model.CompactEndpointResponse;
 import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * REST controller that provides API endpoint metadata collected from the application context.
  * <p>
- * Exposes a single endpoint to return all collected API mappings in JSON format.
+ * Exposes a single endpoint to return all collected API mappings in JSON format. The endpoints
+ * are taken from the {@link EndpointManifest} packaged with the application when one was
+ * generated at build time; only without a manifest are the controllers scanned at startup.
  * </p>
  *
  * @author kobenlys
@@ -23,30 +29,71 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/apighost")
 public class EndPointProvider {
 
-    private final RestApiCollector restApiCollector;
-    private final WebSocketCollector webSocketCollector;
+    private static final Logger log = LoggerFactory.getLogger(EndPointProvider.class);
+
+    private final EndpointRegistry endpointRegistry;
+    private final CompactEndpointResponse compactEndpointResponse;
+
     /**
      * Initializes the {@code EndPointProvider} and triggers API endpoint scanning.
      *
      * @param restApiCollector the collector responsible for scanning available API endpoints
      */
     public EndPointProvider(RestApiCollector restApiCollector, WebSocketCollector webSocketCollector) {
-        this.restApiCollector = restApiCollector;
-        this.restApiCollector.scan();
-        this.webSocketCollector = webSocketCollector;
-        this.webSocketCollector.scan();
+        this(restApiCollector, webSocketCollector, null);
+    }
+
+    /**
+     * Initializes the {@code EndPointProvider} from a build-time manifest, scanning with the
+     * collectors only if there is none.
+     *
+     * @param restApiCollector   the collector scanning REST endpoints
+     * @param webSocketCollector the collector scanning WebSocket endpoints
+     * @param endpointManifest   the packaged manifest, or {@code null} to scan
+     */
+    public EndPointProvider(RestApiCollector restApiCollector,
+        WebSocketCollector webSocketCollector, EndpointManifest endpointManifest) {
+        if (endpointManifest != null) {
+            this.endpointRegistry = EndpointRegistry.of(endpointManifest.getRestEndpoints(),
+                endpointManifest.getWebSocketEndpoints());
+            log.info("Loaded {} endpoints from manifest {}", endpointRegistry.size(),
+                EndpointManifest.RESOURCE_PATH);
+        } else {
+            restApiCollector.scan();
+            webSocketCollector.scan();
+            this.endpointRegistry = EndpointRegistry.of(restApiCollector.getEndpointList(),
+                webSocketCollector.getEndpointList());
+            restApiCollector.clear();
+            webSocketCollector.clear();
+        }
+        endpointRegistry.publishMetrics();
+        log.info("Endpoint registry holds {} endpoints, {} distinct strings, ~{} bytes",
+            endpointRegistry.size(), endpointRegistry.getDistinctStringCount(),
+            endpointRegistry.getEstimatedHeapBytes());
+        this.compactEndpointResponse = CompactEndpointResponse.of(endpointRegistry.getEndpoints());
     }
 
     /**
      * Returns the list of collected API endpoints in JSON format.
+     * <p>
+     * With {@code format=compact}, the request and response schemas are sent once in a shared
+     * dictionary and the endpoints refer to them by id; see {@link CompactEndpointResponse}.
+     * </p>
      *
+     * @param format {@code full} (default) or {@code compact}
      * @return a {@link ResponseEntity} containing the endpoint list
+     * @throws IllegalArgumentException if the format is unknown
      */
     @GetMapping("/endpoint-json")
-    public ResponseEntity<?> getEndPoints() {
-        List<Endpoint> endpointList = new ArrayList<>(restApiCollector.getEndpointList());
-        endpointList.addAll(webSocketCollector.getEndpointList());
-        return ResponseEntity.ok(endpointList);
+    public ResponseEntity<?> getEndPoints(
+        @RequestParam(value = "format", required = false) String format) {
+        if ("compact".equals(format)) {
+            return ResponseEntity.ok(compactEndpointResponse);
+        }
+        if (format != null && !"full".equals(format)) {
+            throw new IllegalArgumentException("Unsupported endpoint format: " + format);
+        }
+        return ResponseEntity.ok(endpointRegistry.getEndpoints());
     }
 
 }
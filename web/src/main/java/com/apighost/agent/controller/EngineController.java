@@ -2,19 +2,33 @@ package com.apighost.agent.controller;
 
 import com.apighost.agent.config.ApiGhostProperties;
 import com.apighost.agent.config.ApiGhostSetting;
-import com.apighost.agent.engine.FileLoaderEngine;
 import com.apighost.agent.file.FileExporter;
 import com.apighost.agent.file.FileRemover;
+import com.apighost.agent.model.Baseline;
+import com.apighost.agent.model.BaselineComparison;
+import com.apighost.agent.model.ResultListQuery;
+import com.apighost.agent.model.ResultStepPageResponse;
+import com.apighost.agent.model.ResultTrendResponse;
+import com.apighost.agent.model.RunListResponse;
+import com.apighost.agent.model.RunStartResponse;
+import com.apighost.agent.model.RunStatus;
 import com.apighost.agent.model.ScenarioExportResponse;
 import com.apighost.agent.model.ScenarioListResponse;
 import com.apighost.agent.model.ScenarioResultListResponse;
+import com.apighost.agent.model.WorkspaceListResponse;
 import com.apighost.agent.notifier.ResultSseNotifier;
-import com.apighost.agent.notifier.ScenarioResultNotifier;
-import com.apighost.agent.orchestrator.ScenarioTestOrchestrator;
+import com.apighost.agent.notifier.SseSender;
+import com.apighost.agent.run.RunRecord;
+import com.apighost.agent.run.RunRegistry;
+import com.apighost.agent.workspace.Workspace;
+import com.apighost.agent.workspace.WorkspaceRegistry;
 import com.apighost.model.GenerateBody;
 import com.apighost.model.scenario.Scenario;
 import com.apighost.orchestrator.DataGenerationOrchestrator;
 
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -25,10 +39,19 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
  * This controller provides endpoints to:
  * <ul>
  *     <li>Execute a scenario test with real-time results via Server-Sent Events (SSE)</li>
+ *     <li>Follow a running scenario test from several clients and list the runs' progress</li>
+ *     <li>Cancel a running scenario test</li>
  *     <li>Retrieve the list of available test scenarios</li>
  *     <li>Retrieve the list of completed scenario test results</li>
  * </ul>
  * </p>
+ * <p>
+ * Every endpoint that reads or writes scenarios or results accepts an optional
+ * {@code workspace} parameter selecting the {@link Workspace} to operate on; without it the
+ * default workspace is used. A named workspace must have been created, through
+ * {@code /workspace-create} or by exporting a scenario to it; otherwise the request fails with
+ * 404.
+ * </p>
  *
  * @author kobenlys
  * @version BETA-0.0.1
@@ -37,21 +60,21 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RequestMapping("/apighost")
 public class EngineController {
 
-    private final ScenarioTestOrchestrator scenarioTestOrchestrator;
     private final DataGenerationOrchestrator dataGenerationOrchestrator;
-    private final FileLoaderEngine fileLoaderEngine;
     private final ApiGhostProperties apiGhostProperties;
-    private final ApiGhostSetting apiGhostSetting;
+    private final WorkspaceRegistry workspaceRegistry;
+    private final SseSender sseSender;
+    private final RunRegistry runRegistry;
 
-    public EngineController(ScenarioTestOrchestrator scenarioTestOrchestrator,
-        DataGenerationOrchestrator dataGenerationOrchestrator, FileLoaderEngine fileLoaderEngine,
-        ApiGhostSetting apiGhostSetting, ApiGhostProperties apiGhostProperties) {
+    public EngineController(DataGenerationOrchestrator dataGenerationOrchestrator,
+        ApiGhostProperties apiGhostProperties, WorkspaceRegistry workspaceRegistry,
+        SseSender sseSender, RunRegistry runRegistry) {
 
-        this.scenarioTestOrchestrator = scenarioTestOrchestrator;
         this.dataGenerationOrchestrator = dataGenerationOrchestrator;
-        this.fileLoaderEngine = fileLoaderEngine;
-        this.apiGhostSetting = apiGhostSetting;
         this.apiGhostProperties = apiGhostProperties;
+        this.workspaceRegistry = workspaceRegistry;
+        this.sseSender = sseSender;
+        this.runRegistry = runRegistry;
     }
 
     /**
@@ -62,39 +85,174 @@ public class EngineController {
      * scenario execution. Events are sent as the test progresses, and include step results and a
      * completion signal.
      * </p>
+     * <p>
+     * The run is started without waiting for its steps, so the request thread is released as
+     * soon as the emitter is returned. It is registered in the {@link RunRegistry}: the first
+     * event, {@code run}, carries its id, with which other clients can follow the same run and a
+     * disconnected client can resume through {@code /run-events/{runId}}.
+     * </p>
      *
      * @param scenarioName the name of the scenario to be executed (without file extension)
+     * @param workspace    the workspace of the scenario
      * @return an {@link SseEmitter} for streaming scenario execution updates to the client
      */
     @GetMapping("/scenario-test")
-    public SseEmitter scenarioExecutor(@RequestParam("scenarioName") String scenarioName) {
+    public SseEmitter scenarioExecutor(@RequestParam("scenarioName") String scenarioName,
+        @RequestParam(value = "workspace", required = false) String workspace) {
 
-        SseEmitter sseEmitter = new SseEmitter();
-        ScenarioResultNotifier notifier = new ResultSseNotifier(sseEmitter);
-        scenarioTestOrchestrator.executeScenario(scenarioName, notifier);
-        return sseEmitter;
+        RunRecord run = startRun(scenarioName, workspace);
+        return subscribe(run, 0);
+    }
+
+    /**
+     * Starts a scenario test without streaming its results.
+     * <p>
+     * The results are followed through {@code /run-events/{runId}} by any number of clients,
+     * and the progress through {@code /run-list}.
+     * </p>
+     *
+     * @param scenarioName the name of the scenario to be executed (without file extension)
+     * @param workspace    the workspace of the scenario
+     * @return a {@link ResponseEntity} containing the id of the started run
+     */
+    @PostMapping("/scenario-run")
+    public ResponseEntity<RunStartResponse> startScenarioRun(
+        @RequestParam("scenarioName") String scenarioName,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+
+        RunRecord run = startRun(scenarioName, workspace);
+        return ResponseEntity.ok(new RunStartResponse(run.getRunId()));
+    }
+
+    /**
+     * Streams the results of a started or recently finished run using Server-Sent Events (SSE).
+     * <p>
+     * Every result event carries an id. A client reconnecting with the {@code Last-Event-ID}
+     * header receives the events after it that are still kept by the run; without the header it
+     * receives all kept events. Events no longer kept are announced by a {@code skipped} event.
+     * </p>
+     *
+     * @param runId       the id of the run
+     * @param lastEventId the id of the last event received before reconnecting
+     * @return an {@link SseEmitter} for streaming the run's updates to the client
+     * @throws IllegalArgumentException if the run is unknown or the event id is not a number
+     */
+    @GetMapping("/run-events/{runId}")
+    public SseEmitter runEvents(@PathVariable("runId") String runId,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        RunRecord run = runRegistry.get(runId);
+        return subscribe(run, ResultSseNotifier.parseEventId(lastEventId));
+    }
+
+    /**
+     * Stops a running scenario test.
+     * <p>
+     * By default the step in flight completes and no further step is started; with
+     * {@code force} the step in flight is aborted. Either way the run completes with the steps
+     * executed so far, which are stored as a failed result, and its subscribers receive a
+     * {@code cancelled} event before {@code complete}.
+     * </p>
+     *
+     * @param runId the id of the run
+     * @param force whether the step in flight is aborted rather than awaited
+     * @return a {@link ResponseEntity} containing the status of the run
+     * @throws IllegalArgumentException if the run is unknown
+     * @throws IllegalStateException    if the run has already finished
+     */
+    @PostMapping("/run-cancel/{runId}")
+    public ResponseEntity<RunStatus> cancelRun(@PathVariable("runId") String runId,
+        @RequestParam(value = "force", defaultValue = "false") boolean force) {
+        return ResponseEntity.ok(runRegistry.cancel(runId, force).toStatus());
+    }
+
+    /**
+     * Retrieves the progress of the scenario runs.
+     *
+     * @param includeFinished whether recently finished runs are listed too
+     * @return a {@link ResponseEntity} containing the status of each run, newest first
+     */
+    @GetMapping("/run-list")
+    public ResponseEntity<RunListResponse> getRuns(
+        @RequestParam(value = "includeFinished", defaultValue = "false") boolean includeFinished) {
+        return ResponseEntity.ok(new RunListResponse(runRegistry.list(includeFinished)));
+    }
+
+    /**
+     * Retrieves the names of the available workspaces.
+     *
+     * @return a {@link ResponseEntity} containing the list of workspace names
+     */
+    @GetMapping("/workspace-list")
+    public ResponseEntity<WorkspaceListResponse> getWorkspaces() {
+        return ResponseEntity.ok(new WorkspaceListResponse(workspaceRegistry.getWorkspaceNames()));
+    }
+
+    /**
+     * Creates a workspace. Creating an existing workspace has no effect.
+     *
+     * @param workspace the name of the workspace to create
+     * @return a {@link ResponseEntity} containing the list of workspace names
+     */
+    @PostMapping("/workspace-create")
+    public ResponseEntity<WorkspaceListResponse> createWorkspace(
+        @RequestParam("workspace") String workspace) {
+        workspaceRegistry.create(workspace);
+        return ResponseEntity.ok(new WorkspaceListResponse(workspaceRegistry.getWorkspaceNames()));
     }
 
     /**
      * Retrieves the list of available scenario test files.
      *
+     * @param workspace the workspace to list
      * @return a {@link ResponseEntity} containing the list of scenario names
      */
     @GetMapping("/scenario-list")
-    public ResponseEntity<ScenarioListResponse> getScenarios() {
-        ScenarioListResponse scenarioListResponse = fileLoaderEngine.getScenarioNames();
+    public ResponseEntity<ScenarioListResponse> getScenarios(
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        ScenarioListResponse scenarioListResponse = workspaceRegistry.get(workspace)
+            .getFileLoaderEngine().getScenarioNames();
         return ResponseEntity.ok(scenarioListResponse);
     }
 
     /**
-     * Retrieves the list of stored scenario test results.
+     * Retrieves the stored scenario test results, newest first.
+     * <p>
+     * All parameters are optional. Without a {@code limit} every matching result is returned;
+     * with one, the response includes a {@code nextCursor} to request the following page.
+     * </p>
      *
+     * @param cursor       the {@code nextCursor} of the previous page
+     * @param limit        the maximum number of results to return
+     * @param scenarioName only return results of this scenario
+     * @param success      only return successful ({@code true}) or failed ({@code false}) results
+     * @param from         only return results executed at or after this ISO instant, date-time
+     *                     or date; without an offset it is taken to be in UTC
+     * @param to           only return results executed at or before this ISO instant,
+     *                     date-time or date; without an offset it is taken to be in UTC
+     * @param workspace    the workspace to list
      * @return a {@link ResponseEntity} containing the list of scenario result summaries
      */
     @GetMapping("/result-list")
-    public ResponseEntity<ScenarioResultListResponse> getScenarioResults() {
-        ScenarioResultListResponse scenarioResultListResponse =
-            fileLoaderEngine.getScenarioResults();
+    public ResponseEntity<ScenarioResultListResponse> getScenarioResults(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", required = false) Integer limit,
+        @RequestParam(value = "scenarioName", required = false) String scenarioName,
+        @RequestParam(value = "success", required = false) Boolean success,
+        @RequestParam(value = "from", required = false) String from,
+        @RequestParam(value = "to", required = false) String to,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+
+        ResultListQuery query = new ResultListQuery.Builder()
+            .cursor(cursor)
+            .limit(limit)
+            .scenarioName(scenarioName)
+            .success(success)
+            .from(from)
+            .to(to)
+            .build();
+        ScenarioResultListResponse scenarioResultListResponse = workspaceRegistry.get(workspace)
+            .getFileLoaderEngine().getScenarioResults(query);
         return ResponseEntity.ok(scenarioResultListResponse);
     }
 
@@ -102,38 +260,167 @@ public class EngineController {
      * Retrieve detailed information about a specific scenario.
      *
      * @param scenarioName the name of the scenario file to retrieve information for
+     * @param workspace    the workspace of the scenario
      * @return a {@link ResponseEntity} containing the scenario information, or an appropriate error
      * response
      */
     @GetMapping("/scenario-info")
-    public ResponseEntity<?> getScenarioInfo(@RequestParam("scenarioName") String scenarioName) {
-        return ResponseEntity.ok(fileLoaderEngine.getScenarioInfo(scenarioName));
+    public ResponseEntity<?> getScenarioInfo(@RequestParam("scenarioName") String scenarioName,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        return ResponseEntity.ok(
+            workspaceRegistry.get(workspace).getFileLoaderEngine().getScenarioInfo(scenarioName));
     }
 
     /**
      * Retrieve test result details based on a specific result file name.
      *
      * @param testResultName the name of the test result file to retrieve
+     * @param workspace      the workspace of the result
      * @return a {@link ResponseEntity} containing the test result information, or an appropriate
      * error response
      */
     @GetMapping("/result-info")
-    public ResponseEntity<?> getResultInfo(@RequestParam("testResultName") String testResultName) {
-        return ResponseEntity.ok(fileLoaderEngine.getTestResultInfo(testResultName));
+    public ResponseEntity<?> getResultInfo(@RequestParam("testResultName") String testResultName,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        return ResponseEntity.ok(workspaceRegistry.get(workspace).getFileLoaderEngine()
+            .getTestResultInfo(testResultName));
+    }
+
+    /**
+     * Retrieve one page of steps from a specific test result file.
+     * <p>
+     * The result file is streamed from disk, so only the returned steps are held in memory.
+     * Pass the returned {@code nextOffset} as {@code offset} to read the following page.
+     * </p>
+     *
+     * @param testResultName the name of the test result file to read
+     * @param offset         the step position to start scanning from
+     * @param limit          the maximum number of steps to return
+     * @param failedOnly     {@code true} to only return steps whose request failed
+     * @param stepName       only return steps with this name
+     * @param workspace      the workspace of the result
+     * @return a {@link ResponseEntity} containing the requested page of steps
+     */
+    @GetMapping("/result-steps")
+    public ResponseEntity<ResultStepPageResponse> getResultSteps(
+        @RequestParam("testResultName") String testResultName,
+        @RequestParam(value = "offset", defaultValue = "0") int offset,
+        @RequestParam(value = "limit", defaultValue = "50") int limit,
+        @RequestParam(value = "failedOnly", defaultValue = "false") boolean failedOnly,
+        @RequestParam(value = "stepName", required = false) String stepName,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        return ResponseEntity.ok(workspaceRegistry.get(workspace).getFileLoaderEngine()
+            .getTestResultSteps(testResultName, offset, limit, failedOnly, stepName));
+    }
+
+    /**
+     * Retrieves the latency and error trend of a scenario, or of one of its steps.
+     * <p>
+     * The trend is served from rollups maintained as results are saved, so no result file is
+     * read. The last {@code window} buckets are compared with the earlier buckets of the period
+     * to flag regressions.
+     * </p>
+     *
+     * @param scenarioName the scenario name
+     * @param stepName     the step name; the whole scenario when omitted
+     * @param from         the ISO instant, date-time or date the period starts at, in UTC when
+     *                     it has no offset
+     * @param to           the ISO instant, date-time or date the period ends at, in UTC when it
+     *                     has no offset
+     * @param window       the number of most recent buckets compared against the rest
+     * @param workspace    the workspace of the scenario
+     * @return a {@link ResponseEntity} containing the trend and its regression verdict
+     */
+    @GetMapping("/result-trend")
+    public ResponseEntity<ResultTrendResponse> getResultTrend(
+        @RequestParam("scenarioName") String scenarioName,
+        @RequestParam(value = "stepName", required = false) String stepName,
+        @RequestParam(value = "from", required = false) String from,
+        @RequestParam(value = "to", required = false) String to,
+        @RequestParam(value = "window", defaultValue = "1") int window,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        return ResponseEntity.ok(workspaceRegistry.get(workspace).getResultAnalytics()
+            .getTrend(scenarioName, stepName, from, to, window));
+    }
+
+    /**
+     * Pins stored results as the latency baseline of their scenario.
+     * <p>
+     * Every later run of the scenario is compared step by step with the baseline, and the
+     * comparison is streamed as a {@code comparison} event before {@code complete}. Passing
+     * several results, such as the runs of a load test, combines their samples.
+     * </p>
+     *
+     * @param testResultNames the stored results to pin, all of the same scenario
+     * @param workspace       the workspace of the results
+     * @return a {@link ResponseEntity} containing the pinned baseline
+     */
+    @PostMapping("/baseline")
+    public ResponseEntity<Baseline> pinBaseline(
+        @RequestParam("testResultName") List<String> testResultNames,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        return ResponseEntity.ok(
+            workspaceRegistry.get(workspace).getBaselineStore().pin(testResultNames));
+    }
+
+    /**
+     * Removes the latency baseline of a scenario.
+     *
+     * @param scenarioName the scenario name
+     * @param workspace    the workspace of the scenario
+     * @return {@link ResponseEntity} containing {@code true} if a baseline was removed
+     */
+    @DeleteMapping("/baseline")
+    public ResponseEntity<Boolean> unpinBaseline(
+        @RequestParam("scenarioName") String scenarioName,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        return ResponseEntity.ok(
+            workspaceRegistry.get(workspace).getBaselineStore().unpin(scenarioName));
+    }
+
+    /**
+     * Compares a stored result with the baseline of its scenario, for use by CI jobs.
+     * <p>
+     * With {@code failOnRegression}, a regressed run is answered with HTTP 422 so that a plain
+     * HTTP client fails the job; the body is the same report either way.
+     * </p>
+     *
+     * @param testResultName   the stored result to compare
+     * @param failOnRegression {@code true} to answer a regression with HTTP 422
+     * @param workspace        the workspace of the result
+     * @return a {@link ResponseEntity} containing the step-by-step comparison
+     */
+    @GetMapping("/baseline-report")
+    public ResponseEntity<BaselineComparison> getBaselineReport(
+        @RequestParam("testResultName") String testResultName,
+        @RequestParam(value = "failOnRegression", defaultValue = "false")
+        boolean failOnRegression,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        BaselineComparison comparison = workspaceRegistry.get(workspace).getBaselineStore()
+            .report(testResultName);
+        if (failOnRegression && comparison.isRegressed()) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(comparison);
+        }
+        return ResponseEntity.ok(comparison);
     }
 
     /**
      * Exports the provided scenario to a file using the configured format and path.
      * <p>
      * The scenario is saved in either YAML or JSON format depending on the current settings.
+     * The workspace is created if it does not exist yet.
      * </p>
      *
-     * @param scenario the {@link Scenario} object to be exported
+     * @param scenario  the {@link Scenario} object to be exported
+     * @param workspace the workspace to export the scenario to
      * @return a {@link ResponseEntity} containing the export result, including file name and status
      */
     @PostMapping("/scenario-export")
     public ResponseEntity<ScenarioExportResponse> exportScenarioFile(
-        @RequestBody Scenario scenario) {
+        @RequestBody Scenario scenario,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        ApiGhostSetting apiGhostSetting = workspaceRegistry.create(workspace)
+            .getApiGhostSetting();
         FileExporter fileExporter = new FileExporter();
         return ResponseEntity.ok(
             fileExporter.safeExportFile(scenario, apiGhostSetting.getFormatYaml(),
@@ -151,14 +438,32 @@ public class EngineController {
     /**
      * Deletes a file with the specified file name under the apighost directory.
      *
-     * @param fileName the name of the file to be deleted, including extension (e.g.
-     *                 "example.yaml")
+     * @param fileName  the name of the file to be deleted, including extension (e.g.
+     *                  "example.yaml")
+     * @param workspace the workspace of the file
      * @return {@link ResponseEntity} containing {@code true} if the file was deleted successfully,
      * or {@code false} if deletion failed or the file does not exist
      */
     @DeleteMapping("/file-remove/{fileName:.+}")
-    public ResponseEntity<Boolean> removeFile(@PathVariable("fileName") String fileName) {
-        FileRemover fileRemover = new FileRemover(apiGhostSetting);
+    public ResponseEntity<Boolean> removeFile(@PathVariable("fileName") String fileName,
+        @RequestParam(value = "workspace", required = false) String workspace) {
+        Workspace target = workspaceRegistry.get(workspace);
+        FileRemover fileRemover = new FileRemover(target.getApiGhostSetting(),
+            target.getResultStore());
         return ResponseEntity.ok(fileRemover.remove(fileName));
     }
+
+    private RunRecord startRun(String scenarioName, String workspace) {
+        Workspace target = workspaceRegistry.get(workspace);
+        return runRegistry.start(target.getName(), scenarioName,
+            (notifier, cancellation) -> target.getScenarioTestOrchestrator()
+                .executeScenario(scenarioName, notifier, cancellation));
+    }
+
+    private SseEmitter subscribe(RunRecord run, long lastEventId) {
+        /* The run completes the emitter, so it is not bounded by the async request timeout. */
+        SseEmitter sseEmitter = new SseEmitter(0L);
+        run.subscribe(sseSender.subscribe(sseEmitter), lastEventId);
+        return sseEmitter;
+    }
 }
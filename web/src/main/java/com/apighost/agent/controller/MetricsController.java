@@ -0,0 +1,44 @@
+package com.apighost.agent.controller;
+
+import com.apighost.agent.metrics.MetricsRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller that exposes the agent metrics for scraping by Prometheus.
+ * <p>
+ * The response lists scan, scenario, step, SSE, file write and writer queue metrics in the
+ * Prometheus text exposition format.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@RestController
+@RequestMapping("/apighost")
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType(
+        MetricsRegistry.CONTENT_TYPE);
+
+    private final MetricsRegistry metricsRegistry;
+
+    public MetricsController(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    /**
+     * Returns every registered metric in the Prometheus text format.
+     *
+     * @return a {@link ResponseEntity} containing the exposition text
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<String> getMetrics() {
+        return ResponseEntity.ok()
+            .contentType(PROMETHEUS_TEXT)
+            .body(metricsRegistry.scrape());
+    }
+}
@@ -1,30 +1,32 @@
 package com.apighost.agent.engine;
 
 import com.apighost.agent.config.ApiGhostSetting;
-import com.apighost.agent.file.FileLoader;
+import com.apighost.agent.file.ResultStepReader;
+import com.apighost.agent.index.FileWatchIndex;
+import com.apighost.agent.index.ResultCursor;
 import com.apighost.agent.model.GenericFileDetailResponse;
-import com.apighost.agent.model.ScenarioResultBrief;
+import com.apighost.agent.model.ResultListQuery;
+import com.apighost.agent.model.ResultStepPageResponse;
+import com.apighost.agent.model.ResultSummary;
 import com.apighost.agent.model.ScenarioResultListResponse;
 import com.apighost.agent.model.ScenarioListResponse;
-import com.apighost.agent.util.ObjectMapperHolder;
+import com.apighost.agent.store.ResultStore;
+import com.apighost.agent.util.ExecutionTimestamps;
 import com.apighost.model.scenario.Scenario;
 import com.apighost.model.scenario.ScenarioResult;
-import com.apighost.parser.scenario.reader.JsonScenarioResultReader;
 import com.apighost.parser.scenario.reader.YamlScenarioReader;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Engine that loads scenario definitions and test results using the {@link FileLoader}.
+ * Engine that loads scenario definitions and test results.
  * <p>
- * It converts raw file data into structured response models used by the API layer.
+ * Listings are served from a {@link FileWatchIndex}, while detail requests read the requested
+ * file and convert it into the response models used by the API layer.
  * </p>
  *
  * @author kobenlys
@@ -32,51 +34,78 @@ import org.slf4j.LoggerFactory;
  */
 public class FileLoaderEngine {
 
-    private final FileLoader fileLoader;
-    private final ObjectMapper objectMapper;
+    private final FileWatchIndex fileWatchIndex;
+    private final ResultStore resultStore;
     private final ApiGhostSetting apiGhostSetting;
     private static final Logger log = LoggerFactory.getLogger(FileLoaderEngine.class);
+    private static final int MAX_RESULT_PAGE_SIZE = 1000;
+    private static final int MAX_STEP_PAGE_SIZE = 1000;
 
-    public FileLoaderEngine(ApiGhostSetting apiGhostSetting) {
+    public FileLoaderEngine(ApiGhostSetting apiGhostSetting, FileWatchIndex fileWatchIndex,
+        ResultStore resultStore) {
         this.apiGhostSetting = apiGhostSetting;
-        this.fileLoader = new FileLoader(apiGhostSetting);
-        this.objectMapper = ObjectMapperHolder.getInstance();
+        this.fileWatchIndex = fileWatchIndex;
+        this.resultStore = resultStore;
     }
 
     public ScenarioListResponse getScenarioNames() {
-        return new ScenarioListResponse(fileLoader.getScenarioNames());
+        return new ScenarioListResponse(fileWatchIndex.getScenarioNames());
     }
 
     /**
      * Retrieves the list of scenario result summaries.
      * <p>
-     * Parses each result file into a {@link ScenarioResult}, extracts key metadata, and returns a
-     * list of brief summaries.
+     * The summaries are served from the in-memory index of the {@link ResultStore}, so no result
+     * is opened while listing.
      * </p>
      *
      * @return a {@link ScenarioResultListResponse} containing brief result information
      */
     public ScenarioResultListResponse getScenarioResults() {
-        List<ScenarioResultBrief> resultBriefs = new ArrayList<>();
-        List<File> resultFiles = fileLoader.getScenarioResults();
-
-        for (File file : resultFiles) {
-            ScenarioResult scenarioResult;
-            try {
-                scenarioResult = objectMapper.readValue(file, ScenarioResult.class);
-
-            } catch (IOException e) {
-                log.error("Failed to parse result file: {}", file.getAbsolutePath());
-                continue;
-            }
+        return new ScenarioResultListResponse(resultStore.getSummaries().stream()
+            .map(ResultSummary::toBrief)
+            .toList());
+    }
 
-            ScenarioResultBrief brief = new ScenarioResultBrief(file.getName(),
-                scenarioResult.getIsScenarioSuccess(), scenarioResult.getExecutedAt());
+    /**
+     * Retrieves one page of scenario result summaries, newest first.
+     * <p>
+     * When no limit is given every matching result is returned. Otherwise the response carries a
+     * {@code nextCursor} as long as more results match, which is passed back as the
+     * {@code cursor} of the next request.
+     * </p>
+     *
+     * @param query the filter and paging options
+     * @return a {@link ScenarioResultListResponse} containing the requested page
+     * @throws IllegalArgumentException if the limit, cursor or time range is invalid
+     */
+    public ScenarioResultListResponse getScenarioResults(ResultListQuery query) {
+        Integer limit = query.getLimit();
+        if (limit != null && (limit < 1 || limit > MAX_RESULT_PAGE_SIZE)) {
+            throw new IllegalArgumentException(
+                "limit must be between 1 and " + MAX_RESULT_PAGE_SIZE);
+        }
 
-            resultBriefs.add(brief);
+        ResultCursor after = isEmptyOrNull(query.getCursor()) ? null
+            : ResultCursor.decode(query.getCursor());
+        Long from = parseBound(query.getFrom(), false);
+        Long to = parseBound(query.getTo(), true);
+        String scenarioName = isEmptyOrNull(query.getScenarioName()) ? null
+            : query.getScenarioName();
+
+        int fetchSize = limit == null ? Integer.MAX_VALUE : limit + 1;
+        List<ResultSummary> summaries = resultStore.findSummaries(after, scenarioName,
+            query.getSuccess(), from, to, fetchSize);
+
+        String nextCursor = null;
+        if (limit != null && summaries.size() > limit) {
+            summaries = summaries.subList(0, limit);
+            ResultSummary last = summaries.get(limit - 1);
+            nextCursor = ResultCursor.of(last.getExecutedAt(), last.getFileName()).encode();
         }
 
-        return new ScenarioResultListResponse(resultBriefs);
+        return new ScenarioResultListResponse(
+            summaries.stream().map(ResultSummary::toBrief).toList(), nextCursor);
     }
 
     /**
@@ -108,7 +137,7 @@ public class FileLoaderEngine {
     }
 
     /**
-     * Retrieves a {@link ScenarioResult} object by reading the JSON test result file with the given
+     * Retrieves a {@link ScenarioResult} object by reading the test result file with the given
      * name.
      *
      * <p>
@@ -121,19 +150,15 @@ public class FileLoaderEngine {
      *                                  read
      */
     public GenericFileDetailResponse getTestResultInfo(String resultName) {
-        JsonScenarioResultReader jsonScenarioResultReader = new JsonScenarioResultReader();
         if (isEmptyOrNull(resultName)) {
             throw new IllegalArgumentException("resultName must not be null or empty");
         }
 
-        if (!resultName.endsWith(apiGhostSetting.getFormatJson())) {
-            resultName += apiGhostSetting.getFormatJson();
-        }
+        resultName = resultStore.resolveName(resultName);
 
         try {
 
-            ScenarioResult scenarioResult = jsonScenarioResultReader.readScenarioResult(
-                apiGhostSetting.getResultPath() + "/" + resultName);
+            ScenarioResult scenarioResult = resultStore.read(resultName);
             return new GenericFileDetailResponse(resultName, scenarioResult);
         } catch (IOException e) {
             log.error("ResultFile Not Found: {}", e.getMessage());
@@ -141,6 +166,58 @@ public class FileLoaderEngine {
         }
     }
 
+    /**
+     * Retrieves one page of steps from the test result file with the given name.
+     * <p>
+     * Unlike {@link #getTestResultInfo(String)}, the result is read as a stream and only the
+     * requested steps are deserialized, so large result files can be browsed with bounded memory.
+     * </p>
+     *
+     * @param resultName the name of the result file to read (e.g., "login-result.json")
+     * @param offset     the step position to start scanning from
+     * @param limit      the maximum number of steps to return
+     * @param failedOnly {@code true} to only return steps whose request failed
+     * @param stepName   the step name to match, or {@code null} for any step
+     * @return the requested {@link ResultStepPageResponse}
+     * @throws IllegalArgumentException if an argument is invalid or the file cannot be read
+     */
+    public ResultStepPageResponse getTestResultSteps(String resultName, int offset, int limit,
+        boolean failedOnly, String stepName) {
+        if (isEmptyOrNull(resultName)) {
+            throw new IllegalArgumentException("resultName must not be null or empty");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_STEP_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                "limit must be between 1 and " + MAX_STEP_PAGE_SIZE);
+        }
+
+        String storedName = resultStore.resolveName(resultName);
+        String stepNameFilter = isEmptyOrNull(stepName) ? null : stepName;
+
+        try {
+            return resultStore.stream(storedName,
+                parser -> new ResultStepReader().read(parser, storedName, offset, limit,
+                    failedOnly, stepNameFilter));
+        } catch (IOException e) {
+            log.error("ResultFile Not Found: {}", e.getMessage());
+            throw new IllegalArgumentException("ResultFile Not Founded : " + storedName);
+        }
+    }
+
+    /**
+     * Converts a time range bound into epoch milliseconds, see
+     * {@link ExecutionTimestamps#parseBound(String, boolean)}.
+     */
+    private Long parseBound(String bound, boolean endOfDay) {
+        if (isEmptyOrNull(bound)) {
+            return null;
+        }
+        return ExecutionTimestamps.parseBound(bound, endOfDay);
+    }
+
     private boolean isEmptyOrNull(String targetString) {
         return targetString == null || targetString.isEmpty();
     }
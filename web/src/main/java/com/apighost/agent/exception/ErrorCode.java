@@ -23,6 +23,7 @@ public enum ErrorCode {
     INVALID_JSON_FORMAT(HttpStatus.BAD_REQUEST, "400", "Invalid JSON format."),
 
     FILE_NOT_FOUND(HttpStatus.NOT_FOUND, "404", "The requested file was not found."),
+    WORKSPACE_NOT_FOUND(HttpStatus.NOT_FOUND, "404", "The requested workspace was not found."),
 
     ILLEGAL_STATE(HttpStatus.CONFLICT, "409", "Invalid state change requested."),
 
@@ -127,6 +127,25 @@ public class GlobalExceptionHandler {
             .body(errorResponse);
     }
 
+    /**
+     * Handles WorkspaceNotFoundException by returning a standardized error response.
+     *
+     * @param ex the exception indicating a workspace was not found
+     * @return a ResponseEntity containing the error response with HTTP status 404
+     */
+    @ExceptionHandler(WorkspaceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleWorkspaceNotFoundException(WorkspaceNotFoundException ex, WebRequest request) {
+        ErrorCode errorCode = ErrorCode.WORKSPACE_NOT_FOUND;
+        ErrorResponse errorResponse = new ErrorResponse.Builder()
+            .code(errorCode.getCode())
+            .message(resolveErrorMessage(ex, errorCode))
+            .build();
+        return ResponseEntity
+            .status(errorCode.getHttpStatus())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(errorResponse);
+    }
+
     /**
      * Handles ClassNotFoundException by returning a standardized error response.
      *
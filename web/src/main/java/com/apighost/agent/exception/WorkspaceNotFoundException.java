@@ -0,0 +1,22 @@
+package com.apighost.agent.exception;
+
+/**
+ * Thrown when a request refers to a workspace that has not been created.
+ *
+ * <p>Read requests only resolve existing workspaces; this exception is mapped to
+ * {@link ErrorCode#WORKSPACE_NOT_FOUND} by {@link GlobalExceptionHandler}.</p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class WorkspaceNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code WorkspaceNotFoundException}.
+     *
+     * @param workspaceName the name of the missing workspace
+     */
+    public WorkspaceNotFoundException(String workspaceName) {
+        super("Workspace not found: " + workspaceName);
+    }
+}
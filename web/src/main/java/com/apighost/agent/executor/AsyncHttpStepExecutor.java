@@ -0,0 +1,317 @@
+package com.apighost.agent.executor;
+
+import com.apighost.agent.util.ObjectMapperHolder;
+import com.apighost.model.scenario.request.FormData;
+import com.apighost.model.scenario.request.Request;
+import com.apighost.model.scenario.request.RequestBody;
+import com.apighost.model.scenario.result.ResultStep;
+import com.apighost.model.scenario.step.Expected;
+import com.apighost.model.scenario.step.Route;
+import com.apighost.model.scenario.step.Step;
+import com.apighost.model.scenario.step.Then;
+import com.apighost.parser.flattener.Flattener;
+import com.apighost.parser.flattener.JsonFlattener;
+import com.apighost.parser.template.TemplateConvertor;
+import com.apighost.scenario.builder.MultipartBodyPublisher;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+/**
+ * {@link AsyncStepExecutor} for HTTP steps, built on {@link HttpClient#sendAsync}.
+ * <p>
+ * Requests are built and results evaluated exactly as by the library's
+ * {@link com.apighost.scenario.executor.HTTPStepExecutor}: the same header and body templating,
+ * body encodings, JSON response flattening, route matching and store updates. Only the wait
+ * differs; the response is processed on the client's completion threads, so no thread is parked
+ * while a request is in flight. Cancelling the returned stage aborts the exchange.
+ * </p>
+ * <p>
+ * The {@code then.store} of a matched route is templated into a copy, leaving the step
+ * untouched for other runs of the same compiled scenario.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class AsyncHttpStepExecutor implements AsyncStepExecutor {
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String MULTIPART_FORM_DATA = "multipart/form-data";
+    private static final String FORM_URLENCODED = "application/x-www-form-urlencoded";
+    private static final String TEXT_PLAIN = "text/plain";
+
+    private final HttpClient httpClient;
+    private final Flattener flattener;
+
+    /**
+     * Constructs an executor with a default {@link HttpClient}.
+     */
+    public AsyncHttpStepExecutor() {
+        this(HttpClient.newHttpClient());
+    }
+
+    /**
+     * Constructs an executor sending through the given client.
+     *
+     * @param httpClient the client whose executor completes the responses
+     */
+    public AsyncHttpStepExecutor(HttpClient httpClient) {
+        this.httpClient = httpClient;
+        this.flattener = new JsonFlattener(ObjectMapperHolder.getInstance());
+    }
+
+    @Override
+    public CompletionStage<ResultStep> executeAsync(String stepName, Step step,
+        Map<String, Object> store, long remainTimeoutMs) {
+
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(step.getRequest(), store, remainTimeoutMs);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<HttpResponse<String>> exchange = httpClient.sendAsync(httpRequest,
+            BodyHandlers.ofString());
+        CompletableFuture<ResultStep> execution = exchange
+            .thenApply(response -> toResultStep(stepName, step, store, response, startTime,
+                System.currentTimeMillis()));
+        /* Cancelling the step aborts the exchange rather than leaving it to run to its timeout. */
+        execution.whenComplete((resultStep, error) -> {
+            if (execution.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return execution;
+    }
+
+    private HttpRequest buildRequest(Request request, Map<String, Object> store,
+        long remainTimeoutMs) {
+
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+            .uri(URI.create(request.getUrl()))
+            .timeout(Duration.ofMillis(remainTimeoutMs));
+
+        String contentType = request.getHeader() != null
+            ? request.getHeader().get(CONTENT_TYPE) : null;
+        Map<String, String> headers = request.getHeader() != null
+            ? new HashMap<>(request.getHeader()) : new HashMap<>();
+
+        BodyPublisher bodyPublisher = BodyPublishers.noBody();
+        RequestBody body = request.getBody();
+        if (body != null && body.getJson() != null) {
+            bodyPublisher = BodyPublishers.ofString(
+                TemplateConvertor.convert(body.getJson(), store));
+            if (contentType == null) {
+                headers.put(CONTENT_TYPE, APPLICATION_JSON);
+            }
+        } else if (body != null && body.getFormdata() != null) {
+            FormData formData = body.getFormdata();
+            if (contentType == null || contentType.startsWith(MULTIPART_FORM_DATA)) {
+                MultipartBodyPublisher multipart = new MultipartBodyPublisher(store);
+                if (formData.getText() != null) {
+                    for (Map.Entry<String, String> entry : formData.getText().entrySet()) {
+                        multipart.addTextPart(entry.getKey(),
+                            TemplateConvertor.convert(entry.getValue(), store), TEXT_PLAIN);
+                    }
+                }
+                if (formData.getFile() != null) {
+                    for (Map.Entry<String, String> entry : formData.getFile().entrySet()) {
+                        multipart.addFilePart(entry.getKey(), entry.getValue(),
+                            "application/octet-stream");
+                    }
+                }
+                bodyPublisher = multipart.build();
+                headers.put(CONTENT_TYPE, MULTIPART_FORM_DATA + "; boundary="
+                    + multipart.getBoundary());
+            } else if (FORM_URLENCODED.equals(contentType)) {
+                bodyPublisher = joinFormData(formData.getText(), store, "&", true);
+                headers.put(CONTENT_TYPE, contentType);
+            } else if (TEXT_PLAIN.equals(contentType)) {
+                bodyPublisher = joinFormData(formData.getText(), store, "\n", false);
+                headers.put(CONTENT_TYPE, contentType);
+            } else {
+                throw new IllegalArgumentException("Unsupported Content-Type: " + contentType);
+            }
+        }
+
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            requestBuilder.header(header.getKey(),
+                TemplateConvertor.convert(header.getValue(), store));
+        }
+
+        return switch (request.getMethod()) {
+            case GET -> requestBuilder.GET().build();
+            case POST -> requestBuilder.POST(bodyPublisher).build();
+            case PUT -> requestBuilder.PUT(bodyPublisher).build();
+            case DELETE, HEAD, TRACE, OPTIONS, PATCH, CONNECT ->
+                requestBuilder.method(request.getMethod().name(), bodyPublisher).build();
+            default -> throw new UnsupportedOperationException(
+                "Unknown method: " + request.getMethod());
+        };
+    }
+
+    private BodyPublisher joinFormData(Map<String, String> fields, Map<String, Object> store,
+        String delimiter, boolean urlEncoded) {
+
+        if (fields == null || fields.isEmpty()) {
+            return BodyPublishers.ofString("");
+        }
+        return BodyPublishers.ofString(fields.entrySet().stream()
+            .map(entry -> {
+                String value = TemplateConvertor.convert(entry.getValue(), store);
+                return urlEncoded
+                    ? URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "="
+                    + URLEncoder.encode(value, StandardCharsets.UTF_8)
+                    : entry.getKey() + "=" + value.replace(" ", "+");
+            })
+            .collect(Collectors.joining(delimiter)));
+    }
+
+    private ResultStep toResultStep(String stepName, Step step, Map<String, Object> store,
+        HttpResponse<String> response, long startTime, long endTime) {
+
+        Map<String, String> responseHeaders = response.headers().map().entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey,
+                entry -> String.join(",", entry.getValue())));
+
+        Map<String, Object> responseValues = null;
+        if (APPLICATION_JSON.equals(responseHeaders.get("content-type"))) {
+            responseValues = flattener.flatten(response.body());
+        }
+
+        Then then = matchRoute(response.statusCode(), responseValues, step.getRoute());
+        String nextStep = null;
+        boolean isRequestSuccess = false;
+        if (then != null) {
+            nextStep = applyThen(then, responseValues, store);
+            isRequestSuccess = true;
+        }
+
+        Request request = step.getRequest();
+        return new ResultStep.Builder()
+            .stepName(stepName)
+            .type(step.getType())
+            .method(request.getMethod())
+            .url(request.getUrl())
+            .requestHeader(request.getHeader())
+            .requestBody(request.getBody())
+            .responseHeaders(responseHeaders)
+            .responseBody(response.body())
+            .status(response.statusCode())
+            .startTime(Instant.ofEpochMilli(startTime).toString())
+            .endTime(Instant.ofEpochMilli(endTime).toString())
+            .durationMs(endTime - startTime)
+            .isRequestSuccess(isRequestSuccess)
+            .nextStep(nextStep)
+            .route(step.getRoute())
+            .build();
+    }
+
+    /**
+     * Returns the {@code then} of the first route matching the response. Without routes, any
+     * 2xx response matches with an empty {@code then}.
+     */
+    private Then matchRoute(int status, Map<String, Object> responseValues, List<Route> routes) {
+        if (routes == null || routes.isEmpty()) {
+            return status >= 200 && status <= 299 ? new Then.Builder().build() : null;
+        }
+        for (Route route : routes) {
+            Expected expected = route.getExpected();
+            if (expected == null) {
+                return route.getThen();
+            }
+            if (isMatchStatus(status, expected.getStatus())
+                && isMatchValue(expected.getValue(), responseValues)) {
+                return route.getThen();
+            }
+        }
+        return null;
+    }
+
+    private boolean isMatchStatus(int status, String expectedStatus) {
+        if (expectedStatus == null || expectedStatus.isEmpty()) {
+            return true;
+        }
+        try {
+            String[] range = expectedStatus.split("-");
+            if (range.length == 2) {
+                return Integer.parseInt(range[0]) <= status
+                    && status <= Integer.parseInt(range[1]);
+            }
+            if (range.length == 1) {
+                return Integer.parseInt(range[0]) == status;
+            }
+            throw new IllegalArgumentException("Invalid HTTP status pattern: " + expectedStatus);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid HTTP status pattern: " + expectedStatus,
+                e);
+        }
+    }
+
+    private boolean isMatchValue(Map<String, Object> expectedValues,
+        Map<String, Object> responseValues) {
+
+        if (expectedValues == null || expectedValues.isEmpty()) {
+            return true;
+        }
+        if (responseValues == null || responseValues.isEmpty()) {
+            return false;
+        }
+        for (Map.Entry<String, Object> expected : expectedValues.entrySet()) {
+            if (!responseValues.containsKey(expected.getKey())
+                || !responseValues.get(expected.getKey()).equals(expected.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stores the templated {@code then.store} values and returns the next step, templating first
+     * against the response values and then against the store.
+     */
+    private String applyThen(Then then, Map<String, Object> responseValues,
+        Map<String, Object> store) {
+
+        if (then.getStep() == null) {
+            return null;
+        }
+        if (then.getStore() != null) {
+            Map<String, Object> values = new HashMap<>(then.getStore());
+            convertTemplates(values, responseValues);
+            convertTemplates(values, store);
+            store.putAll(values);
+        }
+        return then.getStep();
+    }
+
+    private void convertTemplates(Map<String, Object> values, Map<String, Object> source) {
+        if (values.isEmpty() || source == null || source.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() instanceof String template) {
+                entry.setValue(TemplateConvertor.convert(template, source));
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.apighost.agent.executor;
+
+import com.apighost.model.scenario.result.ResultStep;
+import com.apighost.model.scenario.step.Step;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of {@link com.apighost.scenario.executor.StepExecutor}.
+ * <p>
+ * Instead of parking the calling thread until the step finishes, an implementation starts the
+ * step and returns a stage completed with its result, or exceptionally with the error the
+ * blocking executor would have thrown. No thread is held while the step is in flight.
+ * </p>
+ * <p>
+ * The store is updated by the step before the returned stage completes; callers must not touch
+ * it until then.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public interface AsyncStepExecutor {
+
+    /**
+     * Starts executing a step.
+     *
+     * @param stepName        the key of the step in the scenario
+     * @param step            the step to execute
+     * @param store           the scenario store used for templates and updated by the step
+     * @param remainTimeoutMs the time left for the scenario, in milliseconds
+     * @return a stage completed with the result of the step
+     */
+    CompletionStage<ResultStep> executeAsync(String stepName, Step step,
+        Map<String, Object> store, long remainTimeoutMs);
+}
@@ -0,0 +1,141 @@
+package com.apighost.agent.executor;
+
+import com.apighost.model.scenario.result.ResultStep;
+import com.apighost.model.scenario.step.Step;
+import com.apighost.scenario.executor.StepExecutor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Adapts a blocking {@link StepExecutor} to {@link AsyncStepExecutor} by running it on an
+ * {@link Executor}.
+ * <p>
+ * Used for executors that have no non-blocking form, such as the library's STOMP
+ * {@link com.apighost.scenario.executor.WebSocketStepExecutor}, whose connection state is held
+ * statically by the library. With a dedicated pool the blocking steps only occupy that pool;
+ * with {@link #direct(StepExecutor)} they run on the calling thread, as before.
+ * </p>
+ * <p>
+ * Cancelling the returned stage interrupts the thread running the step, so I/O waiting on
+ * interruptible calls is abandoned. A step not started yet is skipped.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class BlockingStepExecutorAdapter implements AsyncStepExecutor {
+
+    private final StepExecutor delegate;
+    private final Executor executor;
+
+    /**
+     * Constructs an adapter running the delegate on the given executor.
+     *
+     * @param delegate the blocking executor
+     * @param executor the executor the steps are run on
+     */
+    public BlockingStepExecutorAdapter(StepExecutor delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns an adapter running the delegate on the calling thread.
+     * <p>
+     * The step has finished by the time the stage is returned, so cancelling it has no effect:
+     * neither an abort nor the scenario deadline can stop a step run this way.
+     * </p>
+     *
+     * @param delegate the blocking executor
+     * @return the adapter
+     */
+    public static BlockingStepExecutorAdapter direct(StepExecutor delegate) {
+        return new BlockingStepExecutorAdapter(delegate, Runnable::run);
+    }
+
+    /**
+     * Returns an adapter running the delegate on a pool of daemon threads, created on demand and
+     * released after a minute of inactivity.
+     *
+     * @param delegate   the blocking executor
+     * @param threadName the name of the pool threads
+     * @return the adapter
+     */
+    public static BlockingStepExecutorAdapter pooled(StepExecutor delegate, String threadName) {
+        return new BlockingStepExecutorAdapter(delegate,
+            Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            }));
+    }
+
+    @Override
+    public CompletionStage<ResultStep> executeAsync(String stepName, Step step,
+        Map<String, Object> store, long remainTimeoutMs) {
+
+        CompletableFuture<ResultStep> execution = new CompletableFuture<>();
+        StepThread stepThread = new StepThread();
+        execution.whenComplete((resultStep, error) -> {
+            if (execution.isCancelled()) {
+                stepThread.interrupt();
+            }
+        });
+        executor.execute(() -> {
+            if (!stepThread.enter()) {
+                return;
+            }
+            try {
+                execution.complete(delegate.execute(stepName, step, store, remainTimeoutMs));
+            } catch (IOException | RuntimeException e) {
+                execution.completeExceptionally(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                execution.completeExceptionally(new CompletionException(e));
+            } finally {
+                stepThread.exit();
+            }
+        });
+        return execution;
+    }
+
+    /**
+     * The thread running one step, interrupted at most while it runs that step.
+     */
+    private static final class StepThread {
+
+        private Thread thread;
+        private boolean cancelled;
+        private boolean interrupted;
+
+        private synchronized boolean enter() {
+            if (cancelled) {
+                return false;
+            }
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        private synchronized void interrupt() {
+            cancelled = true;
+            if (thread != null) {
+                thread.interrupt();
+                interrupted = true;
+            }
+        }
+
+        private synchronized void exit() {
+            thread = null;
+            if (interrupted) {
+                /* Clear the interrupt so it does not leak into the next task of the thread. */
+                Thread.interrupted();
+            }
+        }
+    }
+}
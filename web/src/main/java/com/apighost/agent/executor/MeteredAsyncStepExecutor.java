@@ -0,0 +1,72 @@
+package com.apighost.agent.executor;
+
+import com.apighost.agent.metrics.Counter;
+import com.apighost.agent.metrics.Histogram;
+import com.apighost.agent.metrics.MetricFamily;
+import com.apighost.agent.metrics.MetricsRegistry;
+import com.apighost.model.scenario.result.ResultStep;
+import com.apighost.model.scenario.step.Step;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link AsyncStepExecutor} decorator that records the latency and failures of every executed
+ * step.
+ * <p>
+ * Latency is measured from the start of the step to the completion of its stage and recorded by
+ * step name, HTTP method and response status. A stage completed exceptionally has no status to
+ * report and is counted as an error of the protocol instead; cancelled steps are not recorded.
+ * The delegate's stage is returned as is, so cancelling it still reaches the delegate.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class MeteredAsyncStepExecutor implements AsyncStepExecutor {
+
+    private static final MetricFamily<Histogram> STEP_DURATION = MetricsRegistry.getInstance()
+        .histogram("apighost_step_duration_seconds", "Duration of executed scenario steps",
+            "step", "method", "status");
+    private static final MetricFamily<Counter> STEP_ERRORS = MetricsRegistry.getInstance()
+        .counter("apighost_step_errors_total", "Scenario steps that failed with an exception",
+            "protocol");
+
+    private final AsyncStepExecutor delegate;
+    private final Counter errorCounter;
+
+    /**
+     * Constructs a {@code MeteredAsyncStepExecutor} around the given executor.
+     *
+     * @param delegate the executor that runs the steps
+     * @param protocol the protocol label of the delegate, e.g. {@code http}
+     */
+    public MeteredAsyncStepExecutor(AsyncStepExecutor delegate, String protocol) {
+        this.delegate = delegate;
+        this.errorCounter = STEP_ERRORS.labels(protocol);
+    }
+
+    @Override
+    public CompletionStage<ResultStep> executeAsync(String stepName, Step step,
+        Map<String, Object> store, long remainTimeoutMs) {
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<ResultStep> execution = delegate
+            .executeAsync(stepName, step, store, remainTimeoutMs).toCompletableFuture();
+        execution.whenComplete((resultStep, error) -> {
+            if (error instanceof CancellationException) {
+                return;
+            }
+            if (error != null) {
+                errorCounter.increment();
+                return;
+            }
+            STEP_DURATION.labels(stepName,
+                resultStep.getMethod() == null ? "" : resultStep.getMethod().name(),
+                Integer.toString(resultStep.getStatus())).recordSince(startNanos);
+        });
+        return execution;
+    }
+}
@@ -0,0 +1,81 @@
+package com.apighost.agent.executor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cancellation handle of one scenario run.
+ * <p>
+ * {@link #cancel(String)} is cooperative: the step in flight completes and no further step is
+ * started. {@link #abort(String)} additionally cancels the step in flight, which aborts its HTTP
+ * exchange or interrupts the thread blocked in its WebSocket I/O; the step is then recorded as
+ * failed. Either way the run finishes with the steps executed so far, and only the first reason
+ * given is kept.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ScenarioCancellation {
+
+    private final AtomicReference<String> reason = new AtomicReference<>();
+
+    private volatile boolean forced;
+    private volatile CompletableFuture<?> inFlight;
+
+    /**
+     * Stops the run once the step in flight has completed.
+     *
+     * @param reason why the run is cancelled
+     * @return {@code true} if the run was not cancelled before
+     */
+    public boolean cancel(String reason) {
+        return this.reason.compareAndSet(null, reason);
+    }
+
+    /**
+     * Stops the run immediately, cancelling the step in flight.
+     *
+     * @param reason why the run is aborted
+     * @return {@code true} if the run was not cancelled before
+     */
+    public boolean abort(String reason) {
+        boolean first = cancel(reason);
+        forced = true;
+        CompletableFuture<?> step = inFlight;
+        if (step != null) {
+            step.cancel(true);
+        }
+        return first;
+    }
+
+    /**
+     * Returns whether the run has been cancelled or aborted.
+     *
+     * @return {@code true} once cancelled
+     */
+    public boolean isCancelled() {
+        return reason.get() != null;
+    }
+
+    /**
+     * Returns the reason the run was first cancelled with.
+     *
+     * @return the reason, or {@code null} if the run has not been cancelled
+     */
+    public String getReason() {
+        return reason.get();
+    }
+
+    /**
+     * Registers the step in flight, cancelling it right away if the run has been aborted.
+     *
+     * @param step the future of the step, or {@code null} once no step is in flight
+     */
+    void track(CompletableFuture<?> step) {
+        inFlight = step;
+        if (step != null && forced) {
+            step.cancel(true);
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.apighost.agent.executor;
 
+import com.apighost.agent.cache.CompiledScenario;
 import com.apighost.agent.config.ApiGhostProperties;
 import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.metrics.Counter;
+import com.apighost.agent.metrics.Histogram;
+import com.apighost.agent.metrics.MetricFamily;
+import com.apighost.agent.metrics.MetricsRegistry;
+import com.apighost.agent.tracing.ScenarioTrace;
+import com.apighost.agent.tracing.ScenarioTracer;
+import com.apighost.agent.tracing.StepSpan;
 import com.apighost.model.scenario.Scenario;
 import com.apighost.model.scenario.ScenarioResult;
 import com.apighost.model.scenario.result.ResultStep;
 import com.apighost.model.scenario.step.Step;
 import com.apighost.scenario.executor.StepExecutor;
 import com.apighost.scenario.executor.WebSocketStepExecutor;
-import com.apighost.validator.ScenarioValidator;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +33,23 @@ import java.util.function.Consumer;
 /**
  * Executes scenario-based HTTP tests by reading and running steps defined in YAML files. Sends
  * step-wise and final test results via Server-Sent Events (SSE).
+ * <p>
+ * Each run is traced through the {@link ScenarioTracer}: step requests carry a W3C
+ * {@code traceparent} header and a span is recorded per step and per scenario.
+ * </p>
+ * <p>
+ * Steps are run through {@link AsyncStepExecutor}s and chained on the completion of the previous
+ * step, so {@link #testExecutorAsync(CompiledScenario, Consumer)} holds no thread while a step is
+ * in flight. Steps that complete immediately are chained in a loop on the current thread rather
+ * than recursively. Blocking {@link StepExecutor}s are run on pools of their own, so that an
+ * aborted step can be interrupted.
+ * </p>
+ * <p>
+ * The scenario timeout is a deadline for the whole run: no step is started once it has passed,
+ * and the step in flight when it passes is aborted. A run can also be stopped through its
+ * {@link ScenarioCancellation}. A stopped run finishes with the steps executed so far and is
+ * reported as failed.
+ * </p>
  *
  * @author kobenlys
  * @version BETA-0.0.1
@@ -28,18 +58,41 @@ public class ScenarioTestExecutor {
 
     private final ApiGhostSetting apiGhostSetting;
     private final ApiGhostProperties apiGhostProperties;
-    private final StepExecutor httpStepExecutor;
-    private final StepExecutor webSocketStepExecutor;
+    private final AsyncStepExecutor httpStepExecutor;
+    private final AsyncStepExecutor webSocketStepExecutor;
+    private final ScenarioTracer scenarioTracer;
 
     private static final Logger log = LoggerFactory.getLogger(ScenarioTestExecutor.class);
+    private static final MetricFamily<Counter> SCENARIO_EXECUTIONS = MetricsRegistry.getInstance()
+        .counter("apighost_scenario_executions_total", "Executed scenarios by outcome",
+            "outcome");
+    private static final Histogram SCENARIO_DURATION = MetricsRegistry.getInstance()
+        .histogram("apighost_scenario_duration_seconds", "Wall-clock duration of scenarios")
+        .labels();
 
     public ScenarioTestExecutor(ApiGhostSetting apiGhostSetting,
         ApiGhostProperties apiGhostProperties, StepExecutor http, StepExecutor webSocket) {
+        this(apiGhostSetting, apiGhostProperties, http, webSocket, ScenarioTracer.disabled());
+    }
+
+    public ScenarioTestExecutor(ApiGhostSetting apiGhostSetting,
+        ApiGhostProperties apiGhostProperties, StepExecutor http, StepExecutor webSocket,
+        ScenarioTracer scenarioTracer) {
+        this(apiGhostSetting, apiGhostProperties,
+            BlockingStepExecutorAdapter.pooled(http, "apighost-http-step"),
+            BlockingStepExecutorAdapter.pooled(webSocket, "apighost-websocket-step"),
+            scenarioTracer);
+    }
+
+    public ScenarioTestExecutor(ApiGhostSetting apiGhostSetting,
+        ApiGhostProperties apiGhostProperties, AsyncStepExecutor http,
+        AsyncStepExecutor webSocket, ScenarioTracer scenarioTracer) {
 
         this.apiGhostSetting = apiGhostSetting;
         this.apiGhostProperties = apiGhostProperties;
         this.httpStepExecutor = http;
         this.webSocketStepExecutor = webSocket;
+        this.scenarioTracer = scenarioTracer;
     }
 
     /**
@@ -50,71 +103,254 @@ public class ScenarioTestExecutor {
      * @return the {@link ScenarioResult} containing execution outcomes
      */
     public ScenarioResult testExecutor(Scenario scenario, Consumer<ResultStep> callback) {
-        ScenarioValidator.validateScenarioForExecution(scenario);
-        ScenarioValidator.validateNoRouteCycle(scenario,
-            scenario.getSteps().keySet().iterator().next());
-
-        List<ResultStep> resultStepList = new ArrayList<>();
-        Map<String, Object> store =
-            scenario.getStore() != null ? scenario.getStore() : new HashMap<>();
-        LinkedHashMap<String, Step> steps = scenario.getSteps();
-
-        boolean isAllScenarioSuccess = true;
-        long totalDurationMs = 0;
-        long remainTimeoutMs = scenario.getTimeoutMs();
-        String currentStepKey = steps.keySet().iterator().next();
-        log.info("Execute Scenario Test : " + scenario.getName());
-        while (currentStepKey != null) {
-
-            Step currentStep = steps.get(currentStepKey);
-            ResultStep resultStep;
-
-            try {
-                resultStep = switch (currentStep.getType()) {
-                    case HTTP -> httpStepExecutor.execute(currentStepKey, currentStep, store,
-                        remainTimeoutMs);
-                    case WEBSOCKET ->
-                        webSocketStepExecutor.execute(currentStepKey, currentStep, store,
-                            remainTimeoutMs);
-                };
-            } catch (Exception e) {
-                resultStep = new ResultStep.Builder()
-                    .stepName(currentStepKey)
-                    .type(currentStep.getType())
-                    .url(currentStep.getRequest().getUrl())
-                    .method(currentStep.getRequest().getMethod())
-                    .url(currentStep.getRequest().getUrl())
-                    .requestHeader(currentStep.getRequest().getHeader())
-                    .requestBody(currentStep.getRequest().getBody())
-                    .route(currentStep.getRoute())
-                    .build();
+        return testExecutor(CompiledScenario.compile(scenario), callback);
+    }
+
+    /**
+     * Executes an already compiled scenario and returns the result, blocking until the last
+     * step has finished.
+     * <p>
+     * Validation is not repeated; the outcome recorded at compile time is rethrown if the
+     * scenario is invalid.
+     * </p>
+     *
+     * @param compiledScenario the compiled scenario to execute
+     * @param callback         optional callback invoked after each step and at the end of the
+     *                         scenario
+     * @return the {@link ScenarioResult} containing execution outcomes
+     */
+    public ScenarioResult testExecutor(CompiledScenario compiledScenario,
+        Consumer<ResultStep> callback) {
+        try {
+            return testExecutorAsync(compiledScenario, callback).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-            if (!resultStep.getIsRequestSuccess()) {
-                isAllScenarioSuccess = false;
+    /**
+     * Starts executing an already compiled scenario without waiting for its steps.
+     * <p>
+     * Each step is started once the previous one has completed, on the thread that completed
+     * it, and the callback is invoked on that thread as well. An invalid scenario is rejected
+     * before the returned future is created.
+     * </p>
+     *
+     * @param compiledScenario the compiled scenario to execute
+     * @param callback         callback invoked after each step
+     * @return a future completed with the {@link ScenarioResult} after the last step
+     */
+    public CompletableFuture<ScenarioResult> testExecutorAsync(CompiledScenario compiledScenario,
+        Consumer<ResultStep> callback) {
+        return testExecutorAsync(compiledScenario, callback, new ScenarioCancellation());
+    }
+
+    /**
+     * Starts executing an already compiled scenario that can be stopped through the given
+     * cancellation.
+     *
+     * @param compiledScenario the compiled scenario to execute
+     * @param callback         callback invoked after each step
+     * @param cancellation     the cancellation handle of the run
+     * @return a future completed with the {@link ScenarioResult} after the last executed step
+     * @see #testExecutorAsync(CompiledScenario, Consumer)
+     */
+    public CompletableFuture<ScenarioResult> testExecutorAsync(CompiledScenario compiledScenario,
+        Consumer<ResultStep> callback, ScenarioCancellation cancellation) {
+        compiledScenario.ensureValid();
+
+        ScenarioRun run = new ScenarioRun(compiledScenario, callback,
+            scenarioTracer.start(compiledScenario.getScenario().getName()), cancellation);
+        log.info("Execute Scenario Test : " + run.scenario.getName());
+        if (run.timeoutMs > 0) {
+            run.deadline = DeadlineScheduler.INSTANCE.schedule(
+                () -> cancellation.abort(timeoutReason(run)), run.timeoutMs,
+                TimeUnit.MILLISECONDS);
+        }
+        return runSteps(run)
+            .whenComplete((ignored, error) -> {
+                if (run.deadline != null) {
+                    run.deadline.cancel(false);
+                }
+            })
+            .thenApply(ignored -> finish(run));
+    }
+
+    private CompletableFuture<Void> runSteps(ScenarioRun run) {
+        while (run.currentStepKey != null) {
+            if (run.remainTimeoutMs() <= 0) {
+                run.cancellation.cancel(timeoutReason(run));
+            }
+            if (run.cancellation.isCancelled()) {
+                log.info("Scenario {} stopped: {}", run.scenario.getName(),
+                    run.cancellation.getReason());
+                break;
+            }
+            CompletableFuture<ResultStep> execution = executeStep(run);
+            if (!execution.isDone()) {
+                return execution.thenCompose(resultStep -> {
+                    run.record(resultStep);
+                    return runSteps(run);
+                });
             }
+            run.record(execution.join());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
 
-            resultStepList.add(resultStep);
-            totalDurationMs += resultStep.getDurationMs();
-            remainTimeoutMs -= resultStep.getDurationMs();
-            callback.accept(resultStep);
-            currentStepKey = resultStep.getNextStep();
+    private CompletableFuture<ResultStep> executeStep(ScenarioRun run) {
+        String currentStepKey = run.currentStepKey;
+        Step currentStep = run.steps.get(currentStepKey);
+        StepSpan stepSpan = run.trace.startStep(currentStepKey, currentStep);
+        long remainTimeoutMs = run.remainTimeoutMs();
 
+        CompletionStage<ResultStep> execution;
+        try {
+            execution = switch (currentStep.getType()) {
+                case HTTP -> httpStepExecutor.executeAsync(currentStepKey, stepSpan.getStep(),
+                    run.store, remainTimeoutMs);
+                case WEBSOCKET ->
+                    webSocketStepExecutor.executeAsync(currentStepKey, stepSpan.getStep(),
+                        run.store, remainTimeoutMs);
+            };
+        } catch (RuntimeException e) {
+            execution = CompletableFuture.failedFuture(e);
         }
 
+        CompletableFuture<ResultStep> stepFuture = execution.toCompletableFuture();
+        run.cancellation.track(stepFuture);
+        return stepFuture.handle((resultStep, error) -> {
+            run.cancellation.track(null);
+            if (error == null) {
+                stepSpan.end(resultStep);
+                return resultStep;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+            if (!(cause instanceof Exception exception)) {
+                throw new CompletionException(cause);
+            }
+            stepSpan.fail(exception);
+            return new ResultStep.Builder()
+                .stepName(currentStepKey)
+                .type(currentStep.getType())
+                .url(currentStep.getRequest().getUrl())
+                .method(currentStep.getRequest().getMethod())
+                .url(currentStep.getRequest().getUrl())
+                .requestHeader(currentStep.getRequest().getHeader())
+                .requestBody(currentStep.getRequest().getBody())
+                .route(currentStep.getRoute())
+                .build();
+        }).toCompletableFuture();
+    }
+
+    private ScenarioResult finish(ScenarioRun run) {
         WebSocketStepExecutor.clearAll();
 
+        /* A last step cut short by its request timeout ends the run before the deadline fires. */
+        if (run.remainTimeoutMs() <= 0) {
+            run.cancellation.cancel(timeoutReason(run));
+        }
+        boolean cancelled = run.cancellation.isCancelled();
+        boolean success = run.isAllScenarioSuccess && !cancelled;
+        run.trace.end(success);
+        SCENARIO_DURATION.recordSince(run.startNanos);
+        SCENARIO_EXECUTIONS.labels(cancelled ? "cancelled" : success ? "success" : "failure")
+            .increment();
+
+        List<ResultStep> resultStepList = run.resultStepList;
         return new ScenarioResult.Builder()
-            .name(scenario.getName())
-            .description(scenario.getDescription())
+            .name(run.scenario.getName())
+            .description(run.scenario.getDescription())
             .executedAt(Instant.now().toString())
             .baseUrl(apiGhostProperties.getBaseUrl())
             .filePath(apiGhostSetting.getResultPath())
-            .totalDurationMs(totalDurationMs)
+            .totalDurationMs(run.totalDurationMs)
             .averageDurationMs(
-                resultStepList.isEmpty() ? 0 : totalDurationMs / resultStepList.size())
-            .isScenarioSuccess(isAllScenarioSuccess)
+                resultStepList.isEmpty() ? 0 : run.totalDurationMs / resultStepList.size())
+            .isScenarioSuccess(success)
             .results(resultStepList)
             .build();
     }
+
+    private static String timeoutReason(ScenarioRun run) {
+        return "Scenario timeout of " + run.timeoutMs + " ms exceeded";
+    }
+
+    /**
+     * Schedules the deadlines of all runs on a single daemon thread, created on first use.
+     */
+    private static final class DeadlineScheduler {
+
+        private static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "apighost-scenario-deadline");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    /**
+     * State of one scenario execution. Steps run one after another, each starting after the
+     * previous one completed, so the fields are never accessed concurrently; the cancellation
+     * is the only state shared with other threads.
+     */
+    private static final class ScenarioRun {
+
+        private final CompiledScenario compiledScenario;
+        private final Scenario scenario;
+        private final Consumer<ResultStep> callback;
+        private final ScenarioTrace trace;
+        private final long startNanos = System.nanoTime();
+        private final List<ResultStep> resultStepList = new ArrayList<>();
+        private final Map<String, Object> store;
+        private final LinkedHashMap<String, Step> steps;
+        private final ScenarioCancellation cancellation;
+        private final long timeoutMs;
+
+        private boolean isAllScenarioSuccess = true;
+        private long totalDurationMs;
+        private String currentStepKey;
+        private volatile ScheduledFuture<?> deadline;
+
+        private ScenarioRun(CompiledScenario compiledScenario, Consumer<ResultStep> callback,
+            ScenarioTrace trace, ScenarioCancellation cancellation) {
+            this.compiledScenario = compiledScenario;
+            this.scenario = compiledScenario.getScenario();
+            this.callback = callback;
+            this.trace = trace;
+            this.store = compiledScenario.newStore();
+            this.steps = compiledScenario.instantiateSteps();
+            this.cancellation = cancellation;
+            this.timeoutMs = scenario.getTimeoutMs();
+            this.currentStepKey = compiledScenario.getFirstStepKey();
+        }
+
+        private long remainTimeoutMs() {
+            return timeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        private void record(ResultStep resultStep) {
+            if (!resultStep.getIsRequestSuccess()) {
+                isAllScenarioSuccess = false;
+            }
+
+            resultStepList.add(resultStep);
+            totalDurationMs += resultStep.getDurationMs();
+            callback.accept(resultStep);
+            currentStepKey = compiledScenario.resolveNextStep(resultStep.getNextStep());
+        }
+    }
 }
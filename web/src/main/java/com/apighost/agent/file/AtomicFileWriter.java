@@ -0,0 +1,136 @@
+package com.apighost.agent.file;
+
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes files so that readers only ever see the previous or the complete new content.
+ * <p>
+ * Content is written to a hidden temporary file next to the target, optionally forced to disk,
+ * and then atomically renamed over the target. If the process dies mid-write, only the
+ * temporary file is left behind, and listings ignore it because of its leading dot and
+ * {@code .tmp} suffix.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public final class AtomicFileWriter {
+
+    /** Suffix of in-progress temporary files. */
+    public static final String TEMP_SUFFIX = ".tmp";
+
+    private static final Logger log = LoggerFactory.getLogger(AtomicFileWriter.class);
+
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Produces the content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        /**
+         * Writes the content. The stream may be closed by the writer.
+         *
+         * @param outputStream the stream to write to
+         * @throws IOException if the content cannot be written
+         */
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Atomically replaces the target file with the content produced by the writer.
+     *
+     * @param target        the file to create or replace
+     * @param forceToDisk   {@code true} to force the content to disk before it is moved into
+     *                      place
+     * @param contentWriter the producer of the content
+     * @throws IOException if the content cannot be written or moved into place
+     */
+    public static void write(Path target, boolean forceToDisk, ContentWriter contentWriter)
+        throws IOException {
+        Path absoluteTarget = target.toAbsolutePath();
+        Path tempFile = absoluteTarget.resolveSibling(
+            "." + absoluteTarget.getFileName() + TEMP_SUFFIX);
+
+        try {
+            try (FileOutputStream fileOutputStream = new FileOutputStream(tempFile.toFile())) {
+                contentWriter.write(new NonClosingOutputStream(fileOutputStream));
+                fileOutputStream.flush();
+                if (forceToDisk) {
+                    fileOutputStream.getFD().sync();
+                }
+            }
+            move(tempFile, absoluteTarget);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Forces the entries of a directory to disk, so that files moved into it survive a crash.
+     * File systems that do not support this are silently skipped.
+     *
+     * @param directory the directory to force
+     */
+    public static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Directory sync is not supported for {}", directory);
+        }
+    }
+
+    /**
+     * Returns whether the given file name is an in-progress temporary file.
+     *
+     * @param fileName the file name
+     * @return {@code true} for temporary files written by this class
+     */
+    public static boolean isTempFile(String fileName) {
+        return fileName.startsWith(".") && fileName.endsWith(TEMP_SUFFIX);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Keeps the underlying file open when a writer closes its stream, so the file can still be
+     * forced afterwards.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.apighost.agent.file;
 
+import com.apighost.agent.config.ApiGhostSetting;
+
 import java.io.File;
 
 /**
@@ -38,11 +40,24 @@ public class DirectoryInitializer {
     }
 
     /**
-     * Creates a directory at the given relative path under the project root if it does not exist.
+     * Initializes the scenario and result directories of the given setting.
+     *
+     * @param apiGhostSetting the setting that provides the scenario and result paths
+     */
+    public static void initializeDirectories(ApiGhostSetting apiGhostSetting) {
+        createDirectoryIfMissing(apiGhostSetting.getScenarioPath());
+        createDirectoryIfMissing(apiGhostSetting.getResultPath());
+    }
+
+    /**
+     * Creates a directory at the given path if it does not exist. Relative paths are resolved
+     * against the project root.
      */
     private static void createDirectoryIfMissing(String path) {
-        String projectRoot = System.getProperty("user.dir");
-        File directoryPath = new File(projectRoot, path);
+        File directoryPath = new File(path);
+        if (!directoryPath.isAbsolute()) {
+            directoryPath = new File(System.getProperty("user.dir"), path);
+        }
         if (!directoryPath.exists()) {
             directoryPath.mkdirs();
         }
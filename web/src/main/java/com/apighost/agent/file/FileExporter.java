@@ -1,23 +1,37 @@
 package com.apighost.agent.file;
 
+import com.apighost.agent.metrics.Counter;
+import com.apighost.agent.metrics.Histogram;
+import com.apighost.agent.metrics.MetricFamily;
+import com.apighost.agent.metrics.MetricsRegistry;
 import com.apighost.agent.model.ScenarioExportResponse;
-import com.apighost.agent.util.ObjectMapperHolder;
-import com.apighost.agent.util.YamlMapperHolder;
+import com.apighost.agent.util.ObjectWriterHolder;
 import com.apighost.model.scenario.Scenario;
 import com.apighost.model.scenario.ScenarioResult;
-import com.apighost.util.file.TimeUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
  * Utility class responsible for exporting {@link Scenario} and {@link ScenarioResult} objects to
  * files in a structured format (e.g., JSON or YAML).
  * <p>
- * This class uses Jackson's {@link ObjectMapper} to serialize objects to disk with indentation for
- * readability.
+ * This class serializes objects to disk with the pre-built, indented writers of
+ * {@link ObjectWriterHolder}, so exporting never reconfigures the shared mappers. Files are
+ * written through {@link AtomicFileWriter}, so an interrupted export never leaves a truncated
+ * file behind.
+ * </p>
+ * <p>
+ * The duration and failures of every file write are published to the {@link MetricsRegistry}
+ * by file kind ({@code scenario} or {@code result}).
  * </p>
  *
  * @author kobenlys
@@ -25,17 +39,33 @@ import java.io.IOException;
  */
 public class FileExporter {
 
-    private ObjectMapper jsonMapper;
-    private ObjectMapper yamlMapper;
+    private static final MetricFamily<Histogram> WRITE_DURATION = MetricsRegistry.getInstance()
+        .histogram("apighost_file_write_duration_seconds", "Duration of exported file writes",
+            "kind");
+    private static final MetricFamily<Counter> WRITE_FAILURES = MetricsRegistry.getInstance()
+        .counter("apighost_file_write_failures_total", "Exported file writes that failed",
+            "kind");
+    private static final DateTimeFormatter RESULT_NAME_TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final AtomicLong lastResultNameMillis = new AtomicLong();
+
+    private final FsyncPolicy fsyncPolicy;
+
     /**
-     * Constructs a {@code FileExporter} with a configured {@link ObjectMapper}. Enables
-     * pretty-printing for output files.
+     * Constructs a {@code FileExporter} that forces written files to disk in batches.
      */
     public FileExporter() {
-        this.yamlMapper = YamlMapperHolder.getInstance();
-        this.yamlMapper.enable(SerializationFeature.INDENT_OUTPUT);
-        this.jsonMapper = ObjectMapperHolder.getInstance();
-        this.jsonMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this(FsyncPolicy.BATCH);
+    }
+
+    /**
+     * Constructs a {@code FileExporter} that forces written files to disk according to the given
+     * policy.
+     *
+     * @param fsyncPolicy when written files and their directory entries are forced to disk
+     */
+    public FileExporter(FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
     }
 
     /**
@@ -49,9 +79,10 @@ public class FileExporter {
      *                   {@link ScenarioResult})
      * @param fileType   the file extension (e.g., ".json", ".yaml")
      * @param exportPath the directory path where the file should be saved
+     * @return the path of the written file
      * @throws IllegalArgumentException if any argument is invalid or if export fails
      */
-    public void exportFile(Object fileObject, String fileType, String exportPath) {
+    public String exportFile(Object fileObject, String fileType, String exportPath) {
 
         if (fileObject == null) {
             throw new IllegalArgumentException("File must not be null.");
@@ -74,14 +105,20 @@ public class FileExporter {
 
         } else if (fileObject instanceof ScenarioResult scenarioResult) {
 
-            String scenarioName = scenarioResult.getName();
-            String safeTimestamp = TimeUtils.getNow()
-                .replace("-", "")
-                .replace("T", "_")
-                .replace(":", "")
-                .replaceAll("\\.\\d+$", "");
-
-            exportPath = exportPath + "/" + scenarioName + "_" + safeTimestamp + fileType;
+            String resultDirectory = exportPath;
+            String resultFileName = buildUniqueResultFileName(scenarioResult.getName(), fileType,
+                name -> Files.exists(Paths.get(resultDirectory, name)));
+            ResultSummaryStore resultSummaryStore = new ResultSummaryStore(exportPath);
+            exportPath = exportPath + "/" + resultFileName;
+
+            /* The summary is written first so that the result is never listed without one. */
+            try {
+                resultSummaryStore.write(
+                    ResultSummaryStore.summarize(resultFileName, scenarioResult));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Failed ScenarioResult summary export :"
+                    + exportPath);
+            }
 
             if (!exportFileExecutor(scenarioResult, exportPath, fileType)) {
                 throw new IllegalArgumentException("Failed ScenarioResult export :" + exportPath);
@@ -90,6 +127,35 @@ public class FileExporter {
         } else {
             throw new IllegalArgumentException("Not supported file object");
         }
+        return exportPath;
+    }
+
+    /**
+     * Builds the name under which a new result of the given scenario is stored, made of the
+     * scenario name and the current local time with millisecond precision.
+     * <p>
+     * The time is taken from a clock that advances by at least one millisecond per call, so
+     * results of the same scenario completed concurrently still get distinct names within this
+     * process. A name already taken, e.g. after the system clock was set back, gets a
+     * {@code -<n>} suffix.
+     * </p>
+     *
+     * @param scenarioName the scenario name
+     * @param fileType     the file extension (e.g., ".json")
+     * @param taken        tells whether a result name is already in use
+     * @return the result name (e.g., "login_20250515_095000_123.json")
+     */
+    public static String buildUniqueResultFileName(String scenarioName, String fileType,
+        Predicate<String> taken) {
+        long millis = lastResultNameMillis.accumulateAndGet(System.currentTimeMillis(),
+            (last, now) -> Math.max(last + 1, now));
+        String stem = scenarioName + "_" + RESULT_NAME_TIME_FORMAT.format(
+            Instant.ofEpochMilli(millis).atZone(ZoneId.systemDefault()));
+        String resultFileName = stem + fileType;
+        for (int suffix = 1; taken.test(resultFileName); suffix++) {
+            resultFileName = stem + "-" + suffix + fileType;
+        }
+        return resultFileName;
     }
 
     /**
@@ -115,20 +181,35 @@ public class FileExporter {
     }
 
     private boolean exportFileExecutor(Object object, String exportPath, String fileType) {
+        String kind = object instanceof ScenarioResult ? "result" : "scenario";
+        long startNanos = System.nanoTime();
+        Path target = Paths.get(exportPath);
         try {
-            ObjectMapper mapper = getMapperByFileType(fileType);
-            mapper.writeValue(new File(exportPath), object);
+            if (object instanceof ScenarioResult) {
+                ResultFormat resultFormat = ResultFormat.of(exportPath);
+                AtomicFileWriter.write(target, fsyncPolicy.syncFiles(),
+                    outputStream -> resultFormat.write(outputStream, object));
+            } else {
+                ObjectWriter writer = getWriterByFileType(fileType);
+                AtomicFileWriter.write(target, fsyncPolicy.syncFiles(),
+                    outputStream -> writer.writeValue(outputStream, object));
+            }
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                AtomicFileWriter.forceDirectory(target.toAbsolutePath().getParent());
+            }
+            WRITE_DURATION.labels(kind).recordSince(startNanos);
             return true;
         } catch (IOException e) {
+            WRITE_FAILURES.labels(kind).increment();
             return false;
         }
     }
 
-    private ObjectMapper getMapperByFileType(String fileType) {
+    private ObjectWriter getWriterByFileType(String fileType) {
         if (fileType.equalsIgnoreCase(".yaml") || fileType.equalsIgnoreCase(".yml")) {
-            return yamlMapper;
+            return ObjectWriterHolder.prettyYamlWriter();
         } else {
-            return jsonMapper;
+            return ObjectWriterHolder.prettyJsonWriter();
         }
     }
 }
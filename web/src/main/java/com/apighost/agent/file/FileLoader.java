@@ -66,7 +66,7 @@ public class FileLoader {
     /**
      * Retrieves the list of result files from the configured result directory.
      * <p>
-     * Only files with configured JSON extension are included.
+     * Only files with the extension of a supported result format are included.
      * </p>
      *
      * @return a list of result files
@@ -86,7 +86,7 @@ public class FileLoader {
         }
 
         for (File file : files) {
-            if (file.isFile() && (file.getName().endsWith(apiGhostSetting.getFormatJson()))) {
+            if (file.isFile() && apiGhostSetting.isResultFile(file.getName())) {
                 scenarioResultFiles.add(file);
             }
         }
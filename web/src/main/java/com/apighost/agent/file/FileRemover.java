@@ -1,6 +1,7 @@
 package com.apighost.agent.file;
 
 import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.store.ResultStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,25 +21,35 @@ import java.nio.file.Paths;
 public class FileRemover {
 
     private final ApiGhostSetting apiGhostSetting;
+    private final ResultStore resultStore;
     private static final Logger log = LoggerFactory.getLogger(FileRemover.class);
 
     /**
      * Constructs a new {@code FileRemover} with the specified configuration.
      *
      * @param apiGhostSetting configuration class that provides file format and path settings
+     * @param resultStore     the store that result deletions are delegated to
      */
-    public FileRemover(ApiGhostSetting apiGhostSetting) {
+    public FileRemover(ApiGhostSetting apiGhostSetting, ResultStore resultStore) {
         this.apiGhostSetting = apiGhostSetting;
+        this.resultStore = resultStore;
     }
 
     /**
      * Deletes a file located in the {@code apighost} directory.
+     * <p>
+     * Result names are deleted through the {@link ResultStore}, whatever its storage layout.
+     * </p>
      *
      * @param fileName the name of the file to delete (relative to {@code apighost/} directory)
      * @return {@code true} if the file was successfully deleted; {@code false} otherwise
      */
     public boolean remove(String fileName) {
 
+        if (fileName != null && apiGhostSetting.isResultFile(fileName)) {
+            return resultStore.delete(fileName);
+        }
+
         fileName = buildFilePath(fileName);
 
         if (fileName == null) {
@@ -79,8 +90,6 @@ public class FileRemover {
         if (fileName.endsWith(apiGhostSetting.getFormatYaml()) || fileName.endsWith(
             apiGhostSetting.getFormatYml())) {
             return apiGhostSetting.getScenarioPath() + "/" + fileName;
-        } else if (fileName.endsWith(apiGhostSetting.getFormatJson())) {
-            return apiGhostSetting.getResultPath() + "/" + fileName;
         }
         return null;
     }
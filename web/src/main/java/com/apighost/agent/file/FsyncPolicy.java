@@ -0,0 +1,51 @@
+package com.apighost.agent.file;
+
+import java.util.Locale;
+
+/**
+ * When written results are forced to stable storage.
+ * <p>
+ * {@link #ALWAYS} forces every written file and its directory entry before the write completes.
+ * {@link #BATCH} forces every written file, but forces directory entries once per batch of
+ * writes. {@link #NEVER} leaves flushing to the operating system, so a crash may lose recently
+ * completed writes but never exposes a partially written file.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public enum FsyncPolicy {
+
+    ALWAYS,
+    BATCH,
+    NEVER;
+
+    /**
+     * Parses the {@code apighost.result.fsync} property value.
+     *
+     * @param value {@code always}, {@code batch} or {@code never}, case-insensitive; {@code null}
+     *              means {@link #BATCH}
+     * @return the matching policy
+     * @throws IllegalArgumentException if the value is not a known policy
+     */
+    public static FsyncPolicy fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return BATCH;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "always" -> ALWAYS;
+            case "batch" -> BATCH;
+            case "never" -> NEVER;
+            default -> throw new IllegalArgumentException("Unsupported fsync policy: " + value);
+        };
+    }
+
+    /**
+     * Returns whether each written file is forced before it is moved into place.
+     *
+     * @return {@code true} unless the policy is {@link #NEVER}
+     */
+    public boolean syncFiles() {
+        return this != NEVER;
+    }
+}
@@ -0,0 +1,171 @@
+package com.apighost.agent.file;
+
+import com.apighost.agent.util.ObjectWriterHolder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Storage formats of scenario result files.
+ * <p>
+ * {@link #JSON} is the default, human-readable format. {@link #SMILE_GZIP} stores the same
+ * document as gzip-compressed Smile, a binary JSON encoding whose shared name and value
+ * back-references remove most of the repetition of step headers before compression. The format
+ * of an existing file is derived from its extension, so both formats can be read side by side
+ * regardless of which one is configured for writing.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public enum ResultFormat {
+
+    JSON((byte) 0),
+    SMILE_GZIP((byte) 1);
+
+    /** File extension of {@link #SMILE_GZIP} result files. */
+    public static final String SMILE_GZIP_EXTENSION = ".smile.gz";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final byte id;
+
+    ResultFormat(byte id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the format with the given persistent identifier.
+     *
+     * @param id the identifier returned by {@link #getId()}
+     * @return the matching format
+     * @throws IllegalArgumentException if no format has the identifier
+     */
+    public static ResultFormat fromId(byte id) {
+        for (ResultFormat format : values()) {
+            if (format.id == id) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown result format id: " + id);
+    }
+
+    /**
+     * Returns the format of the given result file name.
+     *
+     * @param fileName the result file name
+     * @return {@link #SMILE_GZIP} for {@code .smile.gz} files, {@link #JSON} otherwise
+     */
+    public static ResultFormat of(String fileName) {
+        return fileName.endsWith(SMILE_GZIP_EXTENSION) ? SMILE_GZIP : JSON;
+    }
+
+    /**
+     * Parses the {@code apighost.result.format} property value.
+     *
+     * @param value {@code json} or {@code smile}, case-insensitive; {@code null} means JSON
+     * @return the matching format
+     * @throws IllegalArgumentException if the value is not a known format
+     */
+    public static ResultFormat fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return JSON;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "json" -> JSON;
+            case "smile" -> SMILE_GZIP;
+            default -> throw new IllegalArgumentException("Unsupported result format: " + value);
+        };
+    }
+
+    /**
+     * Creates a streaming parser over the given result file.
+     *
+     * @param resultFile the result file
+     * @return a parser positioned before the first token
+     * @throws IOException if the file cannot be opened
+     */
+    public JsonParser createParser(File resultFile) throws IOException {
+        return reader().createParser(openInput(resultFile));
+    }
+
+    /**
+     * Creates a streaming parser over an encoded result. The parser closes the stream.
+     *
+     * @param inputStream the encoded result, exactly as written by
+     *                    {@link #write(OutputStream, Object)}
+     * @return a parser positioned before the first token
+     * @throws IOException if the stream cannot be decoded
+     */
+    public JsonParser createParser(InputStream inputStream) throws IOException {
+        return reader().createParser(decode(inputStream));
+    }
+
+    /**
+     * Writes the value in this format to the given stream and closes it.
+     *
+     * @param outputStream the target stream
+     * @param value        the value to write
+     * @throws IOException if the value cannot be written
+     */
+    public void write(OutputStream outputStream, Object value) throws IOException {
+        try (OutputStream encoded = encode(outputStream)) {
+            writer().writeValue(encoded, value);
+        }
+    }
+
+    /**
+     * Returns the persistent identifier of this format, used when a format has to be recorded
+     * next to an encoded result.
+     *
+     * @return the format identifier
+     */
+    public byte getId() {
+        return id;
+    }
+
+    private ObjectReader reader() {
+        return this == SMILE_GZIP ? ObjectWriterHolder.smileReader()
+            : ObjectWriterHolder.jsonReader();
+    }
+
+    /* JSON results stay indented because they are the human-readable format. */
+    private ObjectWriter writer() {
+        return this == SMILE_GZIP ? ObjectWriterHolder.smileWriter()
+            : ObjectWriterHolder.prettyJsonWriter();
+    }
+
+    private InputStream openInput(File resultFile) throws IOException {
+        return decode(new FileInputStream(resultFile));
+    }
+
+    private InputStream decode(InputStream inputStream) throws IOException {
+        if (this == SMILE_GZIP) {
+            try {
+                return new GZIPInputStream(inputStream, BUFFER_SIZE);
+            } catch (IOException e) {
+                inputStream.close();
+                throw e;
+            }
+        }
+        return new BufferedInputStream(inputStream, BUFFER_SIZE);
+    }
+
+    private OutputStream encode(OutputStream outputStream) throws IOException {
+        if (this == SMILE_GZIP) {
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+        return new BufferedOutputStream(outputStream, BUFFER_SIZE);
+    }
+}
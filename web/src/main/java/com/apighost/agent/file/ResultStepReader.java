@@ -0,0 +1,100 @@
+package com.apighost.agent.file;
+
+import com.apighost.agent.model.ResultStepPageResponse;
+import com.apighost.agent.util.ObjectWriterHolder;
+import com.apighost.model.scenario.result.ResultStep;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a page of steps from a stored scenario result without loading the whole result.
+ * <p>
+ * The result is consumed as a token stream in whichever {@link ResultFormat} it is stored.
+ * Steps before the requested offset are skipped without being materialized, and at most one step
+ * beyond the page is held in memory at any time, so memory use depends on the page size rather
+ * than on the size of the file.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ResultStepReader {
+
+    private static final String RESULTS_FIELD = "results";
+
+    private final ObjectReader stepReader;
+
+    public ResultStepReader() {
+        this.stepReader = ObjectWriterHolder.resultStepReader();
+    }
+
+    /**
+     * Reads one page of steps from the given result.
+     *
+     * @param parser     a parser positioned before the first token of the result
+     * @param resultName the result name
+     * @param offset     the step position to start scanning from
+     * @param limit      the maximum number of steps to return
+     * @param failedOnly {@code true} to only return steps whose request failed
+     * @param stepName   the step name to match, or {@code null} for any step
+     * @return the page of matching steps
+     * @throws IOException if the result cannot be read or is not a result object
+     */
+    public ResultStepPageResponse read(JsonParser parser, String resultName, int offset,
+        int limit, boolean failedOnly, String stepName) throws IOException {
+
+        List<ResultStep> steps = new ArrayList<>();
+        Integer nextOffset = null;
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Result is not an object: " + resultName);
+        }
+        if (!moveToResults(parser)) {
+            return new ResultStepPageResponse(resultName, offset, steps, null);
+        }
+
+        int position = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (position < offset) {
+                parser.skipChildren();
+            } else if (steps.size() == limit) {
+                nextOffset = position;
+                break;
+            } else if (!failedOnly && stepName == null) {
+                steps.add(parser.readValueAs(ResultStep.class));
+            } else {
+                JsonNode stepNode = parser.readValueAsTree();
+                if (matches(stepNode, failedOnly, stepName)) {
+                    steps.add(stepReader.readValue(stepNode));
+                }
+            }
+            position++;
+        }
+        return new ResultStepPageResponse(resultName, offset, steps, nextOffset);
+    }
+
+    private boolean moveToResults(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (RESULTS_FIELD.equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private boolean matches(JsonNode stepNode, boolean failedOnly, String stepName) {
+        if (failedOnly && stepNode.path("isRequestSuccess").asBoolean(false)) {
+            return false;
+        }
+        return stepName == null || stepName.equals(stepNode.path("stepName").asText(null));
+    }
+}
@@ -0,0 +1,153 @@
+package com.apighost.agent.file;
+
+import com.apighost.agent.model.ResultSummary;
+import com.apighost.agent.util.ObjectWriterHolder;
+import com.apighost.model.scenario.ScenarioResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and writes the {@link ResultSummary} sidecar of each stored scenario result.
+ * <p>
+ * Summaries are kept as small JSON documents under the hidden {@code .summary} directory of the
+ * result directory, using the same file name as the result they describe. Results exported
+ * before summaries existed are summarized once with a streaming pass over the file, and the
+ * summary is written back so later listings never open the result again.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ResultSummaryStore {
+
+    private static final String SUMMARY_DIRECTORY = ".summary";
+    private static final Logger log = LoggerFactory.getLogger(ResultSummaryStore.class);
+
+    private final Path summaryDirectory;
+
+    /**
+     * Constructs a {@code ResultSummaryStore} for the given result directory.
+     *
+     * @param resultPath the directory that holds the result files
+     */
+    public ResultSummaryStore(String resultPath) {
+        this.summaryDirectory = Paths.get(resultPath).resolve(SUMMARY_DIRECTORY);
+    }
+
+    /**
+     * Builds the summary of a result that is about to be stored under the given file name.
+     *
+     * @param fileName       the result file name
+     * @param scenarioResult the result to summarize
+     * @return the summary of the result
+     */
+    public static ResultSummary summarize(String fileName, ScenarioResult scenarioResult) {
+        return new ResultSummary.Builder()
+            .fileName(fileName)
+            .scenarioName(scenarioResult.getName())
+            .success(scenarioResult.getIsScenarioSuccess())
+            .executedAt(scenarioResult.getExecutedAt())
+            .totalDurationMs(scenarioResult.getTotalDurationMs())
+            .stepCount(scenarioResult.getResults() == null ? 0 : scenarioResult.getResults().size())
+            .build();
+    }
+
+    /**
+     * Writes the summary sidecar for a result.
+     *
+     * @param summary the summary to write
+     * @throws IOException if the sidecar cannot be written
+     */
+    public void write(ResultSummary summary) throws IOException {
+        Files.createDirectories(summaryDirectory);
+        AtomicFileWriter.write(summaryDirectory.resolve(summary.getFileName()), false,
+            outputStream -> ObjectWriterHolder.summaryWriter().writeValue(outputStream, summary));
+    }
+
+    /**
+     * Returns the summary of the given result file, creating its sidecar if it is missing.
+     *
+     * @param resultFile the result file
+     * @return the summary of the result
+     * @throws IOException if neither the sidecar nor the result file can be read
+     */
+    public ResultSummary read(File resultFile) throws IOException {
+        File summaryFile = summaryDirectory.resolve(resultFile.getName()).toFile();
+        if (summaryFile.isFile()) {
+            try {
+                return ObjectWriterHolder.summaryReader().readValue(summaryFile);
+            } catch (IOException e) {
+                log.warn("Rebuilding unreadable result summary: {}", summaryFile.getName());
+            }
+        }
+
+        ResultSummary summary = summarizeFile(resultFile);
+        try {
+            write(summary);
+        } catch (IOException e) {
+            log.warn("Failed to write result summary: {}", summaryFile.getName());
+        }
+        return summary;
+    }
+
+    /**
+     * Deletes the summary sidecar of the given result file if it exists.
+     *
+     * @param resultFileName the result file name
+     */
+    public void delete(String resultFileName) {
+        try {
+            Files.deleteIfExists(summaryDirectory.resolve(resultFileName));
+        } catch (IOException e) {
+            log.warn("Failed to delete result summary: {}", resultFileName);
+        }
+    }
+
+    private ResultSummary summarizeFile(File resultFile) throws IOException {
+        ResultSummary.Builder builder = new ResultSummary.Builder().fileName(resultFile.getName());
+
+        ResultFormat resultFormat = ResultFormat.of(resultFile.getName());
+        try (JsonParser parser = resultFormat.createParser(resultFile)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Result file is not an object: " + resultFile);
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+
+                switch (fieldName) {
+                    case "name" -> builder.scenarioName(parser.getValueAsString());
+                    case "isScenarioSuccess" -> builder.success(valueToken == JsonToken.VALUE_TRUE);
+                    case "executedAt" -> builder.executedAt(parser.getValueAsString());
+                    case "totalDurationMs" -> builder.totalDurationMs(parser.getValueAsLong());
+                    case "results" -> builder.stepCount(countElements(parser, valueToken));
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private int countElements(JsonParser parser, JsonToken valueToken) throws IOException {
+        if (valueToken != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return 0;
+        }
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            count++;
+        }
+        return count;
+    }
+}
@@ -1,21 +1,47 @@
 package com.apighost.agent.file;
 
+import com.apighost.agent.config.ApiGhostSetting;
+
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+/**
+ * Locates scenario files inside the scenario directory of one workspace.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
 public class ScenarioFileLoader {
 
-    public File findScenarioFile(String scenarioFileName) throws IOException {
+    private final Path scenarioDirectory;
 
-        Path rootPath = Paths.get("").toAbsolutePath();
+    /**
+     * Constructs a {@code ScenarioFileLoader} for the scenario directory of the given setting.
+     *
+     * @param apiGhostSetting the setting that provides the scenario path
+     */
+    public ScenarioFileLoader(ApiGhostSetting apiGhostSetting) {
+        this.scenarioDirectory = Paths.get(apiGhostSetting.getScenarioPath()).toAbsolutePath()
+            .normalize();
+    }
+
+    /**
+     * Returns the scenario file with the given name.
+     *
+     * @param scenarioFileName the scenario file name (e.g., "login.yaml")
+     * @return the scenario file
+     * @throws FileNotFoundException if the file does not exist or lies outside the scenario
+     *                               directory
+     */
+    public File findScenarioFile(String scenarioFileName) throws IOException {
 
-        Path targetFile = rootPath.resolve("apighost").resolve(scenarioFileName);
+        Path targetFile = scenarioDirectory.resolve(scenarioFileName).normalize();
         File yamlFile = targetFile.toFile();
 
-        if (yamlFile.isFile()) {
+        if (targetFile.startsWith(scenarioDirectory) && yamlFile.isFile()) {
             return yamlFile;
         }
         throw new FileNotFoundException("File not found: " + targetFile);
@@ -0,0 +1,277 @@
+package com.apighost.agent.index;
+
+import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.file.FileLoader;
+import com.apighost.agent.file.ResultSummaryStore;
+import com.apighost.agent.model.ResultSummary;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory index of scenario names and result summaries kept up to date by a {@link WatchService}.
+ * <p>
+ * The index is populated with a full directory scan the first time it is read. From then on a
+ * daemon thread applies create, modify and delete events incrementally, so listing requests are
+ * served from memory without touching the file system. An {@code OVERFLOW} event, or the loss of
+ * a watched directory, triggers a new full scan.
+ * </p>
+ * <p>
+ * Result summaries are kept in a {@link ResultSummaryIndex}, so filtered pages in newest-first
+ * order are served without scanning every result.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class FileWatchIndex implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileWatchIndex.class);
+
+    private final ApiGhostSetting apiGhostSetting;
+    private final FileLoader fileLoader;
+    private final ResultSummaryStore resultSummaryStore;
+    private final Path scenarioDirectory;
+    private final Path resultDirectory;
+    private final ConcurrentSkipListSet<String> scenarioNames = new ConcurrentSkipListSet<>();
+    private final ResultSummaryIndex resultSummaryIndex = new ResultSummaryIndex();
+
+    private WatchService watchService;
+    private Thread watcherThread;
+    private volatile boolean started;
+
+    public FileWatchIndex(ApiGhostSetting apiGhostSetting) {
+        this.apiGhostSetting = apiGhostSetting;
+        this.fileLoader = new FileLoader(apiGhostSetting);
+        this.resultSummaryStore = new ResultSummaryStore(apiGhostSetting.getResultPath());
+        this.scenarioDirectory = Paths.get(apiGhostSetting.getScenarioPath()).toAbsolutePath();
+        this.resultDirectory = Paths.get(apiGhostSetting.getResultPath()).toAbsolutePath();
+    }
+
+    /**
+     * Returns the indexed scenario file names.
+     *
+     * @return a snapshot of the scenario file names in name order
+     * @throws IllegalStateException if the scenario directory does not exist
+     */
+    public List<String> getScenarioNames() {
+        ensureStarted();
+        return new ArrayList<>(scenarioNames);
+    }
+
+    /**
+     * Returns the indexed result summaries.
+     *
+     * @return a snapshot of the result summaries in file name order
+     * @throws IllegalStateException if the result directory does not exist
+     */
+    public List<ResultSummary> getResultSummaries() {
+        ensureStarted();
+        return resultSummaryIndex.getAll();
+    }
+
+    /**
+     * Returns one page of result summaries in newest-first order.
+     *
+     * @param after        the position of the last result of the previous page, or
+     *                     {@code null} for the first page
+     * @param scenarioName the scenario name to match, or {@code null} for any scenario
+     * @param success      the success flag to match, or {@code null} for any result
+     * @param from         the inclusive lower bound of the execution instant in epoch
+     *                     milliseconds, or {@code null}
+     * @param to           the inclusive upper bound of the execution instant in epoch
+     *                     milliseconds, or {@code null}
+     * @param limit        the maximum number of summaries to return
+     * @return the matching summaries, newest first
+     * @throws IllegalStateException if the result directory does not exist
+     * @see ResultSummaryIndex#find(ResultCursor, String, Boolean, Long, Long, int)
+     */
+    public List<ResultSummary> findResults(ResultCursor after, String scenarioName,
+        Boolean success, Long from, Long to, int limit) {
+        ensureStarted();
+        return resultSummaryIndex.find(after, scenarioName, success, from, to, limit);
+    }
+
+    /**
+     * Stops the watcher thread and releases the underlying {@link WatchService}.
+     */
+    @Override
+    public synchronized void close() {
+        started = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.warn("Failed to close file watch service", e);
+            }
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    private void ensureStarted() {
+        if (started) {
+            return;
+        }
+        synchronized (this) {
+            if (started) {
+                return;
+            }
+            /* Register before scanning: a file created in between is seen by both, which is
+               harmless, rather than by neither. */
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+                register();
+                rescan();
+            } catch (IOException | RuntimeException e) {
+                closeQuietly(watchService);
+                watchService = null;
+                if (e instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Failed to watch apighost directories", e);
+            }
+            watcherThread = new Thread(this::watchLoop, "apighost-file-watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+            started = true;
+        }
+    }
+
+    private static void closeQuietly(WatchService service) {
+        if (service == null) {
+            return;
+        }
+        try {
+            service.close();
+        } catch (IOException e) {
+            log.warn("Failed to close file watch service", e);
+        }
+    }
+
+    private void register() throws IOException {
+        scenarioDirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        resultDirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    private void rescan() {
+        List<String> names = fileLoader.getScenarioNames();
+        List<File> resultFiles = fileLoader.getScenarioResults();
+
+        scenarioNames.retainAll(names);
+        scenarioNames.addAll(names);
+
+        Set<String> resultNames = new HashSet<>();
+        for (File resultFile : resultFiles) {
+            resultNames.add(resultFile.getName());
+            indexResult(resultFile.toPath());
+        }
+        resultSummaryIndex.retainAll(resultNames);
+    }
+
+    private void watchLoop() {
+        while (started) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path directory = (Path) key.watchable();
+            boolean overflow = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    overflow = true;
+                    continue;
+                }
+                Path changed = directory.resolve((Path) event.context());
+                if (directory.equals(resultDirectory)) {
+                    applyResultEvent(event.kind(), changed);
+                } else {
+                    applyScenarioEvent(event.kind(), changed);
+                }
+            }
+
+            boolean valid = key.reset();
+            if (overflow || !valid) {
+                recover(valid);
+            }
+        }
+    }
+
+    private void applyScenarioEvent(WatchEvent.Kind<?> kind, Path changed) {
+        String fileName = changed.getFileName().toString();
+        if (!isScenarioFile(fileName)) {
+            return;
+        }
+        if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            scenarioNames.remove(fileName);
+        } else if (changed.toFile().isFile()) {
+            scenarioNames.add(fileName);
+        }
+    }
+
+    private void applyResultEvent(WatchEvent.Kind<?> kind, Path changed) {
+        String fileName = changed.getFileName().toString();
+        if (!apiGhostSetting.isResultFile(fileName)) {
+            return;
+        }
+        if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            resultSummaryIndex.remove(fileName);
+        } else {
+            indexResult(changed);
+        }
+    }
+
+    private void indexResult(Path resultPath) {
+        File resultFile = resultPath.toFile();
+        if (!resultFile.isFile()) {
+            return;
+        }
+        try {
+            resultSummaryIndex.put(resultSummaryStore.read(resultFile));
+        } catch (IOException e) {
+            /* A partially written file is picked up again by its next modify event. */
+            log.debug("Skipping unreadable result file: {}", resultFile.getAbsolutePath());
+        }
+    }
+
+    private void recover(boolean keyStillValid) {
+        try {
+            if (!keyStillValid) {
+                register();
+            }
+            rescan();
+        } catch (IOException | IllegalStateException e) {
+            log.warn("apighost directories are unavailable, index will be rebuilt on next read");
+            synchronized (this) {
+                close();
+            }
+        }
+    }
+
+    private boolean isScenarioFile(String fileName) {
+        return fileName.endsWith(apiGhostSetting.getFormatYaml())
+            || fileName.endsWith(apiGhostSetting.getFormatYml());
+    }
+}
@@ -0,0 +1,121 @@
+package com.apighost.agent.index;
+
+import com.apighost.agent.util.ExecutionTimestamps;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position of a result in the newest-first order used by {@link FileWatchIndex}.
+ * <p>
+ * Results are ordered by their execution instant in epoch milliseconds, newest first, with the
+ * file name breaking ties; a result without a readable timestamp sorts last. The same value is
+ * handed to API clients as an opaque page cursor, which points at the last result of the
+ * previous page.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public final class ResultCursor implements Comparable<ResultCursor> {
+
+    private static final char SEPARATOR = '|';
+    private static final Comparator<ResultCursor> ORDER = Comparator
+        .comparingLong(ResultCursor::getExecutedAt).reversed()
+        .thenComparing(ResultCursor::getFileName);
+
+    private final long executedAt;
+    private final String fileName;
+
+    /**
+     * Constructs a {@code ResultCursor}.
+     *
+     * @param executedAt the execution instant of the result in epoch milliseconds, or
+     *                   {@link ExecutionTimestamps#UNKNOWN}, which sorts last
+     * @param fileName   the result file name
+     */
+    public ResultCursor(long executedAt, String fileName) {
+        this.executedAt = executedAt;
+        this.fileName = fileName;
+    }
+
+    /**
+     * Returns the position of a result from its recorded execution timestamp.
+     *
+     * @param executedAt the recorded execution timestamp, may be {@code null}
+     * @param fileName   the result file name
+     * @return the position of the result
+     * @see ExecutionTimestamps#toEpochMillis(String)
+     */
+    public static ResultCursor of(String executedAt, String fileName) {
+        return new ResultCursor(ExecutionTimestamps.toEpochMillis(executedAt), fileName);
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ResultCursor decode(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        int separatorIndex = decoded.indexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new ResultCursor(Long.parseLong(decoded.substring(0, separatorIndex)),
+                decoded.substring(separatorIndex + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encodes this cursor into an opaque, URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String value = Long.toString(executedAt) + SEPARATOR + fileName;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getExecutedAt() {
+        return executedAt;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Override
+    public int compareTo(ResultCursor other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ResultCursor that)) {
+            return false;
+        }
+        return executedAt == that.executedAt && fileName.equals(that.fileName);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(executedAt) + fileName.hashCode();
+    }
+}
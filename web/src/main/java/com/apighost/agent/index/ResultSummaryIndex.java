@@ -0,0 +1,197 @@
+package com.apighost.agent.index;
+
+import com.apighost.agent.model.ResultSummary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted in-memory index of {@link ResultSummary} entries keyed by result name.
+ * <p>
+ * Summaries are kept in newest-first order, both overall and per scenario name and success flag,
+ * so a filtered page is read directly from the narrowest matching map instead of scanning every
+ * result. Reads are lock-free; updates are serialized so the maps stay consistent.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ResultSummaryIndex {
+
+    private final ConcurrentSkipListMap<String, ResultSummary> resultSummaries =
+        new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<ResultCursor, ResultSummary> resultsByTime =
+        new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<ResultCursor, ResultSummary> failedResultsByTime =
+        new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, ConcurrentSkipListMap<ResultCursor, ResultSummary>>
+        resultsByScenario = new ConcurrentHashMap<>();
+    private final Object resultLock = new Object();
+
+    /**
+     * Returns the summary of the given result.
+     *
+     * @param fileName the result name
+     * @return the summary, or {@code null} if the result is not indexed
+     */
+    public ResultSummary get(String fileName) {
+        return resultSummaries.get(fileName);
+    }
+
+    /**
+     * Returns every indexed summary.
+     *
+     * @return a snapshot of the summaries in name order
+     */
+    public List<ResultSummary> getAll() {
+        return new ArrayList<>(resultSummaries.values());
+    }
+
+    /**
+     * Returns the indexed result names.
+     *
+     * @return a live, read-only view of the indexed result names
+     */
+    public Set<String> getFileNames() {
+        return resultSummaries.keySet();
+    }
+
+    /**
+     * Returns the scenario names that have at least one indexed result.
+     *
+     * @return a snapshot of the scenario names
+     */
+    public List<String> getScenarioNames() {
+        return new ArrayList<>(resultsByScenario.keySet());
+    }
+
+    /**
+     * Returns one page of summaries in newest-first order.
+     * <p>
+     * The page is read from the per-scenario map when a scenario name is given, otherwise from
+     * the failed-results map when only failures are requested, so its cost depends on the page
+     * size rather than on the total number of results.
+     * </p>
+     *
+     * @param after        the position of the last result of the previous page, or
+     *                     {@code null} for the first page
+     * @param scenarioName the scenario name to match, or {@code null} for any scenario
+     * @param success      the success flag to match, or {@code null} for any result
+     * @param from         the inclusive lower bound of the execution instant in epoch
+     *                     milliseconds, or {@code null}
+     * @param to           the inclusive upper bound of the execution instant in epoch
+     *                     milliseconds, or {@code null}
+     * @param limit        the maximum number of summaries to return
+     * @return the matching summaries, newest first
+     */
+    public List<ResultSummary> find(ResultCursor after, String scenarioName, Boolean success,
+        Long from, Long to, int limit) {
+
+        NavigableMap<ResultCursor, ResultSummary> source;
+        if (scenarioName != null) {
+            source = resultsByScenario.get(scenarioName);
+            if (source == null) {
+                return new ArrayList<>();
+            }
+        } else if (Boolean.FALSE.equals(success)) {
+            source = failedResultsByTime;
+        } else {
+            source = resultsByTime;
+        }
+
+        if (to != null) {
+            ResultCursor upperBound = new ResultCursor(to, "");
+            if (after == null || after.compareTo(upperBound) < 0) {
+                source = source.tailMap(upperBound, true);
+            } else {
+                source = source.tailMap(after, false);
+            }
+        } else if (after != null) {
+            source = source.tailMap(after, false);
+        }
+
+        List<ResultSummary> page = new ArrayList<>();
+        for (Map.Entry<ResultCursor, ResultSummary> entry : source.entrySet()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            if (from != null && entry.getKey().getExecutedAt() < from) {
+                break;
+            }
+            ResultSummary summary = entry.getValue();
+            if (success != null && summary.isSuccess() != success) {
+                continue;
+            }
+            page.add(summary);
+        }
+        return page;
+    }
+
+    /**
+     * Adds a summary, replacing any previous summary of the same result.
+     *
+     * @param summary the summary to index
+     */
+    public void put(ResultSummary summary) {
+        synchronized (resultLock) {
+            remove(summary.getFileName());
+            ResultCursor position = ResultCursor.of(summary.getExecutedAt(),
+                summary.getFileName());
+            resultSummaries.put(summary.getFileName(), summary);
+            resultsByTime.put(position, summary);
+            if (!summary.isSuccess()) {
+                failedResultsByTime.put(position, summary);
+            }
+            if (summary.getScenarioName() != null) {
+                resultsByScenario.computeIfAbsent(summary.getScenarioName(),
+                    name -> new ConcurrentSkipListMap<>()).put(position, summary);
+            }
+        }
+    }
+
+    /**
+     * Removes the summary of the given result.
+     *
+     * @param fileName the result name
+     * @return the removed summary, or {@code null} if the result was not indexed
+     */
+    public ResultSummary remove(String fileName) {
+        synchronized (resultLock) {
+            ResultSummary previous = resultSummaries.remove(fileName);
+            if (previous == null) {
+                return null;
+            }
+            ResultCursor position = ResultCursor.of(previous.getExecutedAt(), fileName);
+            resultsByTime.remove(position);
+            failedResultsByTime.remove(position);
+            if (previous.getScenarioName() != null) {
+                resultsByScenario.computeIfPresent(previous.getScenarioName(),
+                    (name, results) -> {
+                        results.remove(position);
+                        return results.isEmpty() ? null : results;
+                    });
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * Removes every summary whose result name is not in the given collection.
+     *
+     * @param fileNames the result names to keep
+     */
+    public void retainAll(Collection<String> fileNames) {
+        for (String fileName : resultSummaries.keySet()) {
+            if (!fileNames.contains(fileName)) {
+                remove(fileName);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.apighost.agent.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-step latency samples pinned as the reference for later runs of a scenario.
+ * <p>
+ * A baseline is built from one or more stored results of the same scenario, keeping the
+ * duration of every successful step execution grouped by step name. It is constructed using the
+ * {@link Builder} pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@JsonDeserialize(builder = Baseline.Builder.class)
+public class Baseline {
+
+    private final String scenarioName;
+    private final String pinnedAt;
+    private final List<String> sourceResults;
+    private final Map<String, List<Long>> stepDurations;
+
+    private Baseline(Builder builder) {
+        this.scenarioName = builder.scenarioName;
+        this.pinnedAt = builder.pinnedAt;
+        this.sourceResults = builder.sourceResults;
+        this.stepDurations = builder.stepDurations;
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    public String getPinnedAt() {
+        return pinnedAt;
+    }
+
+    public List<String> getSourceResults() {
+        return sourceResults;
+    }
+
+    public Map<String, List<Long>> getStepDurations() {
+        return stepDurations;
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class Builder {
+
+        private String scenarioName;
+        private String pinnedAt;
+        private List<String> sourceResults;
+        private Map<String, List<Long>> stepDurations;
+
+        public Builder scenarioName(String scenarioName) {
+            this.scenarioName = scenarioName;
+            return this;
+        }
+
+        public Builder pinnedAt(String pinnedAt) {
+            this.pinnedAt = pinnedAt;
+            return this;
+        }
+
+        public Builder sourceResults(List<String> sourceResults) {
+            this.sourceResults = sourceResults;
+            return this;
+        }
+
+        public Builder stepDurations(Map<String, List<Long>> stepDurations) {
+            this.stepDurations = stepDurations;
+            return this;
+        }
+
+        public Baseline build() {
+            return new Baseline(this);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.apighost.agent.model;
+
+import java.util.List;
+
+/**
+ * Step-by-step comparison of a scenario run against the pinned baseline of its scenario.
+ * <p>
+ * {@code regressed} is {@code true} when at least one step regressed, so CI jobs can act on
+ * this single flag and inspect {@code steps} for the details.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class BaselineComparison {
+
+    private final String scenarioName;
+    private final String resultName;
+    private final String baselinePinnedAt;
+    private final List<String> baselineSources;
+    private final boolean regressed;
+    private final List<StepComparison> steps;
+
+    /**
+     * Constructs a new {@code BaselineComparison}.
+     *
+     * @param scenarioName     the scenario name
+     * @param resultName       the stored name of the compared run, or {@code null} if it is not
+     *                         stored yet
+     * @param baselinePinnedAt when the baseline was pinned
+     * @param baselineSources  the results the baseline was built from
+     * @param steps            the comparison of every step of the run
+     */
+    public BaselineComparison(String scenarioName, String resultName, String baselinePinnedAt,
+        List<String> baselineSources, List<StepComparison> steps) {
+        this.scenarioName = scenarioName;
+        this.resultName = resultName;
+        this.baselinePinnedAt = baselinePinnedAt;
+        this.baselineSources = baselineSources;
+        this.regressed = steps.stream().anyMatch(StepComparison::isRegressed);
+        this.steps = steps;
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    public String getResultName() {
+        return resultName;
+    }
+
+    public String getBaselinePinnedAt() {
+        return baselinePinnedAt;
+    }
+
+    public List<String> getBaselineSources() {
+        return baselineSources;
+    }
+
+    public boolean isRegressed() {
+        return regressed;
+    }
+
+    public List<StepComparison> getSteps() {
+        return steps;
+    }
+}
@@ -0,0 +1,155 @@
+package com.apighost.agent.model;
+
+import com.apighost.model.collector.Endpoint;
+import com.apighost.model.scenario.step.HTTPMethod;
+import com.apighost.model.scenario.step.ProtocolType;
+
+import java.util.List;
+
+/**
+ * An {@link Endpoint} whose request and response schemas are replaced by ids into the schema
+ * dictionary of a {@link CompactEndpointResponse}.
+ * <p>
+ * All other fields carry the same values as in the full endpoint representation. It is
+ * constructed using the {@link Builder} pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class CompactEndpoint {
+
+    private final ProtocolType protocolType;
+    private final String baseUrl;
+    private final String methodName;
+    private final HTTPMethod httpMethod;
+    private final String path;
+    private final List<String> produces;
+    private final List<String> consumes;
+    private final String requestSchemaId;
+    private final String responseSchemaId;
+    private final String headers;
+    private final String cookies;
+    private final String requestParams;
+    private final String pathVariables;
+
+    private CompactEndpoint(Builder builder) {
+        this.protocolType = builder.protocolType;
+        this.baseUrl = builder.baseUrl;
+        this.methodName = builder.methodName;
+        this.httpMethod = builder.httpMethod;
+        this.path = builder.path;
+        this.produces = builder.produces;
+        this.consumes = builder.consumes;
+        this.requestSchemaId = builder.requestSchemaId;
+        this.responseSchemaId = builder.responseSchemaId;
+        this.headers = builder.headers;
+        this.cookies = builder.cookies;
+        this.requestParams = builder.requestParams;
+        this.pathVariables = builder.pathVariables;
+    }
+
+    public ProtocolType getProtocolType() {
+        return protocolType;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public HTTPMethod getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public List<String> getProduces() {
+        return produces;
+    }
+
+    public List<String> getConsumes() {
+        return consumes;
+    }
+
+    public String getRequestSchemaId() {
+        return requestSchemaId;
+    }
+
+    public String getResponseSchemaId() {
+        return responseSchemaId;
+    }
+
+    public String getHeaders() {
+        return headers;
+    }
+
+    public String getCookies() {
+        return cookies;
+    }
+
+    public String getRequestParams() {
+        return requestParams;
+    }
+
+    public String getPathVariables() {
+        return pathVariables;
+    }
+
+    public static class Builder {
+
+        private ProtocolType protocolType;
+        private String baseUrl;
+        private String methodName;
+        private HTTPMethod httpMethod;
+        private String path;
+        private List<String> produces;
+        private List<String> consumes;
+        private String requestSchemaId;
+        private String responseSchemaId;
+        private String headers;
+        private String cookies;
+        private String requestParams;
+        private String pathVariables;
+
+        /**
+         * Copies every field of the endpoint except its request and response schemas.
+         *
+         * @param endpoint the endpoint to copy
+         * @return this builder
+         */
+        public Builder from(Endpoint endpoint) {
+            this.protocolType = endpoint.getProtocolType();
+            this.baseUrl = endpoint.getBaseUrl();
+            this.methodName = endpoint.getMethodName();
+            this.httpMethod = endpoint.getHttpMethod();
+            this.path = endpoint.getPath();
+            this.produces = endpoint.getProduces();
+            this.consumes = endpoint.getConsumes();
+            this.headers = endpoint.getHeaders();
+            this.cookies = endpoint.getCookies();
+            this.requestParams = endpoint.getRequestParams();
+            this.pathVariables = endpoint.getPathVariables();
+            return this;
+        }
+
+        public Builder requestSchemaId(String requestSchemaId) {
+            this.requestSchemaId = requestSchemaId;
+            return this;
+        }
+
+        public Builder responseSchemaId(String responseSchemaId) {
+            this.responseSchemaId = responseSchemaId;
+            return this;
+        }
+
+        public CompactEndpoint build() {
+            return new CompactEndpoint(this);
+        }
+    }
+}
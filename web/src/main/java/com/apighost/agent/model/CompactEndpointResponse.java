@@ -0,0 +1,61 @@
+package com.apighost.agent.model;
+
+import com.apighost.agent.collector.converter.SchemaDictionary;
+import com.apighost.model.collector.Endpoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response model of the compact endpoint format: each distinct schema is sent once in
+ * {@code schemas}, and endpoints refer to it by id.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class CompactEndpointResponse {
+
+    private final Map<String, String> schemas;
+    private final List<CompactEndpoint> endpoints;
+
+    /**
+     * Constructs a new {@code CompactEndpointResponse}.
+     *
+     * @param schemas   the schema JSON by id
+     * @param endpoints the endpoints referring to the schemas
+     */
+    public CompactEndpointResponse(Map<String, String> schemas, List<CompactEndpoint> endpoints) {
+        this.schemas = schemas;
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Builds the compact representation of the given endpoints.
+     *
+     * @param endpointList the endpoints in full representation
+     * @return the compact response
+     */
+    public static CompactEndpointResponse of(List<Endpoint> endpointList) {
+        SchemaDictionary schemaDictionary = new SchemaDictionary();
+        List<CompactEndpoint> endpoints = new ArrayList<>(endpointList.size());
+        for (Endpoint endpoint : endpointList) {
+            endpoints.add(new CompactEndpoint.Builder()
+                .from(endpoint)
+                .requestSchemaId(schemaDictionary.intern(endpoint.getRequestSchema()))
+                .responseSchemaId(schemaDictionary.intern(endpoint.getResponseSchema()))
+                .build());
+        }
+        return new CompactEndpointResponse(schemaDictionary.getSchemas(),
+            Collections.unmodifiableList(endpoints));
+    }
+
+    public Map<String, String> getSchemas() {
+        return schemas;
+    }
+
+    public List<CompactEndpoint> getEndpoints() {
+        return endpoints;
+    }
+}
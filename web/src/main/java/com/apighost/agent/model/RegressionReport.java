@@ -0,0 +1,123 @@
+package com.apighost.agent.model;
+
+/**
+ * Comparison of the most recent buckets of a trend against the buckets before them.
+ * <p>
+ * {@code regressed} is only set when both sides hold enough samples. {@code reason} names the
+ * metric that regressed, or explains why no verdict could be reached. It is constructed using
+ * the {@link Builder} pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class RegressionReport {
+
+    private final boolean regressed;
+    private final String reason;
+    private final long baselineCount;
+    private final long recentCount;
+    private final long baselineP95Ms;
+    private final long recentP95Ms;
+    private final double baselineErrorRate;
+    private final double recentErrorRate;
+
+    private RegressionReport(Builder builder) {
+        this.regressed = builder.regressed;
+        this.reason = builder.reason;
+        this.baselineCount = builder.baselineCount;
+        this.recentCount = builder.recentCount;
+        this.baselineP95Ms = builder.baselineP95Ms;
+        this.recentP95Ms = builder.recentP95Ms;
+        this.baselineErrorRate = builder.baselineErrorRate;
+        this.recentErrorRate = builder.recentErrorRate;
+    }
+
+    public boolean isRegressed() {
+        return regressed;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long getBaselineCount() {
+        return baselineCount;
+    }
+
+    public long getRecentCount() {
+        return recentCount;
+    }
+
+    public long getBaselineP95Ms() {
+        return baselineP95Ms;
+    }
+
+    public long getRecentP95Ms() {
+        return recentP95Ms;
+    }
+
+    public double getBaselineErrorRate() {
+        return baselineErrorRate;
+    }
+
+    public double getRecentErrorRate() {
+        return recentErrorRate;
+    }
+
+    public static class Builder {
+
+        private boolean regressed;
+        private String reason;
+        private long baselineCount;
+        private long recentCount;
+        private long baselineP95Ms;
+        private long recentP95Ms;
+        private double baselineErrorRate;
+        private double recentErrorRate;
+
+        public Builder regressed(boolean regressed) {
+            this.regressed = regressed;
+            return this;
+        }
+
+        public Builder reason(String reason) {
+            this.reason = reason;
+            return this;
+        }
+
+        public Builder baselineCount(long baselineCount) {
+            this.baselineCount = baselineCount;
+            return this;
+        }
+
+        public Builder recentCount(long recentCount) {
+            this.recentCount = recentCount;
+            return this;
+        }
+
+        public Builder baselineP95Ms(long baselineP95Ms) {
+            this.baselineP95Ms = baselineP95Ms;
+            return this;
+        }
+
+        public Builder recentP95Ms(long recentP95Ms) {
+            this.recentP95Ms = recentP95Ms;
+            return this;
+        }
+
+        public Builder baselineErrorRate(double baselineErrorRate) {
+            this.baselineErrorRate = baselineErrorRate;
+            return this;
+        }
+
+        public Builder recentErrorRate(double recentErrorRate) {
+            this.recentErrorRate = recentErrorRate;
+            return this;
+        }
+
+        public RegressionReport build() {
+            return new RegressionReport(this);
+        }
+    }
+}
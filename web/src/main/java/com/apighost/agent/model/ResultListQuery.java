@@ -0,0 +1,100 @@
+package com.apighost.agent.model;
+
+/**
+ * Filter and paging options for listing stored scenario results.
+ * <p>
+ * Every option is optional. Results are always returned newest first; {@code from} and
+ * {@code to} bound the execution instant inclusively. They accept an ISO instant, a date-time
+ * with an offset, or a date-time or date without an offset, which is taken to be in UTC; a bare
+ * {@code to} date includes the whole day. It is constructed using the {@link Builder} pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ResultListQuery {
+
+    private final String cursor;
+    private final Integer limit;
+    private final String scenarioName;
+    private final Boolean success;
+    private final String from;
+    private final String to;
+
+    private ResultListQuery(Builder builder) {
+        this.cursor = builder.cursor;
+        this.limit = builder.limit;
+        this.scenarioName = builder.scenarioName;
+        this.success = builder.success;
+        this.from = builder.from;
+        this.to = builder.to;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    public Boolean getSuccess() {
+        return success;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public static class Builder {
+
+        private String cursor;
+        private Integer limit;
+        private String scenarioName;
+        private Boolean success;
+        private String from;
+        private String to;
+
+        public Builder cursor(String cursor) {
+            this.cursor = cursor;
+            return this;
+        }
+
+        public Builder limit(Integer limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder scenarioName(String scenarioName) {
+            this.scenarioName = scenarioName;
+            return this;
+        }
+
+        public Builder success(Boolean success) {
+            this.success = success;
+            return this;
+        }
+
+        public Builder from(String from) {
+            this.from = from;
+            return this;
+        }
+
+        public Builder to(String to) {
+            this.to = to;
+            return this;
+        }
+
+        public ResultListQuery build() {
+            return new ResultListQuery(this);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.apighost.agent.model;
+
+import com.apighost.model.scenario.result.ResultStep;
+
+import java.util.List;
+
+/**
+ * Represents one page of steps read from a stored scenario result.
+ * <p>
+ * Offsets are positions in the step list of the result file. {@code nextOffset} is where the
+ * next page starts scanning, or {@code null} when the end of the step list has been reached.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ResultStepPageResponse {
+
+    private final String fileName;
+    private final int offset;
+    private final List<ResultStep> steps;
+    private final Integer nextOffset;
+
+    /**
+     * Constructs a new {@code ResultStepPageResponse}.
+     *
+     * @param fileName   the result file name
+     * @param offset     the step position the page started scanning from
+     * @param steps      the steps of this page
+     * @param nextOffset the step position of the next page, or {@code null} if there is none
+     */
+    public ResultStepPageResponse(String fileName, int offset, List<ResultStep> steps,
+        Integer nextOffset) {
+        this.fileName = fileName;
+        this.offset = offset;
+        this.steps = steps;
+        this.nextOffset = nextOffset;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public List<ResultStep> getSteps() {
+        return steps;
+    }
+
+    public Integer getNextOffset() {
+        return nextOffset;
+    }
+}
@@ -0,0 +1,112 @@
+package com.apighost.agent.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+
+/**
+ * Fixed-schema summary of a stored scenario result.
+ * <p>
+ * A summary is written next to every exported result so that listings can be built without
+ * reading the result itself. It is constructed using the {@link Builder} pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@JsonDeserialize(builder = ResultSummary.Builder.class)
+public class ResultSummary {
+
+    private final String fileName;
+    private final String scenarioName;
+    private final boolean success;
+    private final String executedAt;
+    private final long totalDurationMs;
+    private final int stepCount;
+
+    private ResultSummary(Builder builder) {
+        this.fileName = builder.fileName;
+        this.scenarioName = builder.scenarioName;
+        this.success = builder.success;
+        this.executedAt = builder.executedAt;
+        this.totalDurationMs = builder.totalDurationMs;
+        this.stepCount = builder.stepCount;
+    }
+
+    /**
+     * Converts this summary into the brief representation used by the result list API.
+     *
+     * @return the brief of this result
+     */
+    public ScenarioResultBrief toBrief() {
+        return new ScenarioResultBrief(fileName, success, executedAt);
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getExecutedAt() {
+        return executedAt;
+    }
+
+    public long getTotalDurationMs() {
+        return totalDurationMs;
+    }
+
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class Builder {
+
+        private String fileName;
+        private String scenarioName;
+        private boolean success;
+        private String executedAt;
+        private long totalDurationMs;
+        private int stepCount;
+
+        public Builder fileName(String fileName) {
+            this.fileName = fileName;
+            return this;
+        }
+
+        public Builder scenarioName(String scenarioName) {
+            this.scenarioName = scenarioName;
+            return this;
+        }
+
+        public Builder success(boolean success) {
+            this.success = success;
+            return this;
+        }
+
+        public Builder executedAt(String executedAt) {
+            this.executedAt = executedAt;
+            return this;
+        }
+
+        public Builder totalDurationMs(long totalDurationMs) {
+            this.totalDurationMs = totalDurationMs;
+            return this;
+        }
+
+        public Builder stepCount(int stepCount) {
+            this.stepCount = stepCount;
+            return this;
+        }
+
+        public ResultSummary build() {
+            return new ResultSummary(this);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.apighost.agent.model;
+
+import java.util.List;
+
+/**
+ * Response model of the result trend API.
+ * <p>
+ * Holds the trend of one step, or of the whole scenario when no step was requested, as a
+ * series of time buckets together with the regression verdict for the most recent buckets.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ResultTrendResponse {
+
+    private final String scenarioName;
+    private final String stepName;
+    private final long bucketMinutes;
+    private final List<String> stepNames;
+    private final List<TrendPoint> points;
+    private final RegressionReport regression;
+
+    /**
+     * Constructs a new {@code ResultTrendResponse}.
+     *
+     * @param scenarioName  the scenario name
+     * @param stepName      the step name, or {@code null} for the whole scenario
+     * @param bucketMinutes the width of one bucket in minutes
+     * @param stepNames     the step names with recorded data
+     * @param points        the buckets of the trend in time order
+     * @param regression    the regression verdict
+     */
+    public ResultTrendResponse(String scenarioName, String stepName, long bucketMinutes,
+        List<String> stepNames, List<TrendPoint> points, RegressionReport regression) {
+        this.scenarioName = scenarioName;
+        this.stepName = stepName;
+        this.bucketMinutes = bucketMinutes;
+        this.stepNames = stepNames;
+        this.points = points;
+        this.regression = regression;
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public long getBucketMinutes() {
+        return bucketMinutes;
+    }
+
+    public List<String> getStepNames() {
+        return stepNames;
+    }
+
+    public List<TrendPoint> getPoints() {
+        return points;
+    }
+
+    public RegressionReport getRegression() {
+        return regression;
+    }
+}
@@ -0,0 +1,30 @@
+package com.apighost.agent.model;
+
+import java.util.List;
+
+/**
+ * Response model that contains the status of the scenario runs held by the run registry.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class RunListResponse {
+    private List<RunStatus> runList;
+
+    /**
+     * Constructs a new {@code RunListResponse} with the given run statuses.
+     *
+     * @param runList the status of each run
+     */
+    public RunListResponse(List<RunStatus> runList) {
+        this.runList = runList;
+    }
+
+    public List<RunStatus> getRunList() {
+        return runList;
+    }
+
+    public void setRunList(List<RunStatus> runList) {
+        this.runList = runList;
+    }
+}
@@ -0,0 +1,28 @@
+package com.apighost.agent.model;
+
+/**
+ * Response model that contains the id of a started scenario run.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class RunStartResponse {
+    private String runId;
+
+    /**
+     * Constructs a new {@code RunStartResponse} with the given run id.
+     *
+     * @param runId the id of the started run
+     */
+    public RunStartResponse(String runId) {
+        this.runId = runId;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+}
@@ -0,0 +1,190 @@
+package com.apighost.agent.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+
+/**
+ * Progress of a scenario run held by the run registry.
+ * <p>
+ * {@code totalSteps} is the number of steps defined by the scenario; a scenario whose routes
+ * revisit steps may complete more steps than that. {@code lastEventId} is the id of the last SSE
+ * event of the run, which a client can compare with the {@code Last-Event-ID} it received, and
+ * {@code cancelReason} is set once the run has been asked to stop. It is constructed using the
+ * {@link Builder} pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@JsonDeserialize(builder = RunStatus.Builder.class)
+public class RunStatus {
+
+    private final String runId;
+    private final String workspace;
+    private final String scenarioName;
+    private final String state;
+    private final String startedAt;
+    private final String finishedAt;
+    private final int totalSteps;
+    private final int completedSteps;
+    private final int failedSteps;
+    private final String lastStepName;
+    private final String cancelReason;
+    private final int subscriberCount;
+    private final long lastEventId;
+
+    private RunStatus(Builder builder) {
+        this.runId = builder.runId;
+        this.workspace = builder.workspace;
+        this.scenarioName = builder.scenarioName;
+        this.state = builder.state;
+        this.startedAt = builder.startedAt;
+        this.finishedAt = builder.finishedAt;
+        this.totalSteps = builder.totalSteps;
+        this.completedSteps = builder.completedSteps;
+        this.failedSteps = builder.failedSteps;
+        this.lastStepName = builder.lastStepName;
+        this.cancelReason = builder.cancelReason;
+        this.subscriberCount = builder.subscriberCount;
+        this.lastEventId = builder.lastEventId;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getWorkspace() {
+        return workspace;
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getStartedAt() {
+        return startedAt;
+    }
+
+    public String getFinishedAt() {
+        return finishedAt;
+    }
+
+    public int getTotalSteps() {
+        return totalSteps;
+    }
+
+    public int getCompletedSteps() {
+        return completedSteps;
+    }
+
+    public int getFailedSteps() {
+        return failedSteps;
+    }
+
+    public String getLastStepName() {
+        return lastStepName;
+    }
+
+    public String getCancelReason() {
+        return cancelReason;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount;
+    }
+
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class Builder {
+
+        private String runId;
+        private String workspace;
+        private String scenarioName;
+        private String state;
+        private String startedAt;
+        private String finishedAt;
+        private int totalSteps;
+        private int completedSteps;
+        private int failedSteps;
+        private String lastStepName;
+        private String cancelReason;
+        private int subscriberCount;
+        private long lastEventId;
+
+        public Builder runId(String runId) {
+            this.runId = runId;
+            return this;
+        }
+
+        public Builder workspace(String workspace) {
+            this.workspace = workspace;
+            return this;
+        }
+
+        public Builder scenarioName(String scenarioName) {
+            this.scenarioName = scenarioName;
+            return this;
+        }
+
+        public Builder state(String state) {
+            this.state = state;
+            return this;
+        }
+
+        public Builder startedAt(String startedAt) {
+            this.startedAt = startedAt;
+            return this;
+        }
+
+        public Builder finishedAt(String finishedAt) {
+            this.finishedAt = finishedAt;
+            return this;
+        }
+
+        public Builder totalSteps(int totalSteps) {
+            this.totalSteps = totalSteps;
+            return this;
+        }
+
+        public Builder completedSteps(int completedSteps) {
+            this.completedSteps = completedSteps;
+            return this;
+        }
+
+        public Builder failedSteps(int failedSteps) {
+            this.failedSteps = failedSteps;
+            return this;
+        }
+
+        public Builder lastStepName(String lastStepName) {
+            this.lastStepName = lastStepName;
+            return this;
+        }
+
+        public Builder cancelReason(String cancelReason) {
+            this.cancelReason = cancelReason;
+            return this;
+        }
+
+        public Builder subscriberCount(int subscriberCount) {
+            this.subscriberCount = subscriberCount;
+            return this;
+        }
+
+        public Builder lastEventId(long lastEventId) {
+            this.lastEventId = lastEventId;
+            return this;
+        }
+
+        public RunStatus build() {
+            return new RunStatus(this);
+        }
+    }
+}
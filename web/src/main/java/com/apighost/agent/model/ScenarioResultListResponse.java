@@ -15,6 +15,7 @@ import java.util.List;
 public class ScenarioResultListResponse {
 
     private final List<ScenarioResultBrief> resultList;
+    private final String nextCursor;
 
     /**
      * Constructs a new {@code ScenarioResultListResponse} with the given list of scenario result
@@ -23,10 +24,26 @@ public class ScenarioResultListResponse {
      * @param resultList the list of scenario result brief entries
      */
     public ScenarioResultListResponse(List<ScenarioResultBrief> resultList) {
+        this(resultList, null);
+    }
+
+    /**
+     * Constructs a new {@code ScenarioResultListResponse} holding one page of scenario result
+     * briefs.
+     *
+     * @param resultList the list of scenario result brief entries
+     * @param nextCursor the cursor of the next page, or {@code null} if this is the last page
+     */
+    public ScenarioResultListResponse(List<ScenarioResultBrief> resultList, String nextCursor) {
         this.resultList = resultList;
+        this.nextCursor = nextCursor;
     }
 
     public List<ScenarioResultBrief> getResultList() {
         return resultList;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
@@ -0,0 +1,162 @@
+package com.apighost.agent.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Latency comparison of one step between a run and the pinned baseline of its scenario.
+ * <p>
+ * Deltas are run minus baseline, in milliseconds. {@code pValue} is only set when both sides
+ * hold enough samples for a significance test. It is constructed using the {@link Builder}
+ * pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class StepComparison {
+
+    private final String stepName;
+    private final int baselineSamples;
+    private final int runSamples;
+    private final long baselineP50Ms;
+    private final long runP50Ms;
+    private final long p50DeltaMs;
+    private final long baselineP95Ms;
+    private final long runP95Ms;
+    private final long p95DeltaMs;
+    private final Double pValue;
+    private final boolean significant;
+    private final boolean regressed;
+
+    private StepComparison(Builder builder) {
+        this.stepName = builder.stepName;
+        this.baselineSamples = builder.baselineSamples;
+        this.runSamples = builder.runSamples;
+        this.baselineP50Ms = builder.baselineP50Ms;
+        this.runP50Ms = builder.runP50Ms;
+        this.p50DeltaMs = builder.runP50Ms - builder.baselineP50Ms;
+        this.baselineP95Ms = builder.baselineP95Ms;
+        this.runP95Ms = builder.runP95Ms;
+        this.p95DeltaMs = builder.runP95Ms - builder.baselineP95Ms;
+        this.pValue = builder.pValue;
+        this.significant = builder.significant;
+        this.regressed = builder.regressed;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public int getBaselineSamples() {
+        return baselineSamples;
+    }
+
+    public int getRunSamples() {
+        return runSamples;
+    }
+
+    public long getBaselineP50Ms() {
+        return baselineP50Ms;
+    }
+
+    public long getRunP50Ms() {
+        return runP50Ms;
+    }
+
+    public long getP50DeltaMs() {
+        return p50DeltaMs;
+    }
+
+    public long getBaselineP95Ms() {
+        return baselineP95Ms;
+    }
+
+    public long getRunP95Ms() {
+        return runP95Ms;
+    }
+
+    public long getP95DeltaMs() {
+        return p95DeltaMs;
+    }
+
+    @JsonProperty("pValue")
+    public Double getPValue() {
+        return pValue;
+    }
+
+    public boolean isSignificant() {
+        return significant;
+    }
+
+    public boolean isRegressed() {
+        return regressed;
+    }
+
+    public static class Builder {
+
+        private String stepName;
+        private int baselineSamples;
+        private int runSamples;
+        private long baselineP50Ms;
+        private long runP50Ms;
+        private long baselineP95Ms;
+        private long runP95Ms;
+        private Double pValue;
+        private boolean significant;
+        private boolean regressed;
+
+        public Builder stepName(String stepName) {
+            this.stepName = stepName;
+            return this;
+        }
+
+        public Builder baselineSamples(int baselineSamples) {
+            this.baselineSamples = baselineSamples;
+            return this;
+        }
+
+        public Builder runSamples(int runSamples) {
+            this.runSamples = runSamples;
+            return this;
+        }
+
+        public Builder baselineP50Ms(long baselineP50Ms) {
+            this.baselineP50Ms = baselineP50Ms;
+            return this;
+        }
+
+        public Builder runP50Ms(long runP50Ms) {
+            this.runP50Ms = runP50Ms;
+            return this;
+        }
+
+        public Builder baselineP95Ms(long baselineP95Ms) {
+            this.baselineP95Ms = baselineP95Ms;
+            return this;
+        }
+
+        public Builder runP95Ms(long runP95Ms) {
+            this.runP95Ms = runP95Ms;
+            return this;
+        }
+
+        public Builder pValue(Double pValue) {
+            this.pValue = pValue;
+            return this;
+        }
+
+        public Builder significant(boolean significant) {
+            this.significant = significant;
+            return this;
+        }
+
+        public Builder regressed(boolean regressed) {
+            this.regressed = regressed;
+            return this;
+        }
+
+        public StepComparison build() {
+            return new StepComparison(this);
+        }
+    }
+}
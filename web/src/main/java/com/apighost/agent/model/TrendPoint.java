@@ -0,0 +1,134 @@
+package com.apighost.agent.model;
+
+/**
+ * One time bucket of a result trend.
+ * <p>
+ * Latencies are in milliseconds and accurate to within the resolution of the underlying
+ * histogram. It is constructed using the {@link Builder} pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class TrendPoint {
+
+    private final String bucketStart;
+    private final long count;
+    private final long errorCount;
+    private final double errorRate;
+    private final long meanMs;
+    private final long p50Ms;
+    private final long p95Ms;
+    private final long p99Ms;
+    private final long maxMs;
+
+    private TrendPoint(Builder builder) {
+        this.bucketStart = builder.bucketStart;
+        this.count = builder.count;
+        this.errorCount = builder.errorCount;
+        this.errorRate = builder.errorRate;
+        this.meanMs = builder.meanMs;
+        this.p50Ms = builder.p50Ms;
+        this.p95Ms = builder.p95Ms;
+        this.p99Ms = builder.p99Ms;
+        this.maxMs = builder.maxMs;
+    }
+
+    public String getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public long getMeanMs() {
+        return meanMs;
+    }
+
+    public long getP50Ms() {
+        return p50Ms;
+    }
+
+    public long getP95Ms() {
+        return p95Ms;
+    }
+
+    public long getP99Ms() {
+        return p99Ms;
+    }
+
+    public long getMaxMs() {
+        return maxMs;
+    }
+
+    public static class Builder {
+
+        private String bucketStart;
+        private long count;
+        private long errorCount;
+        private double errorRate;
+        private long meanMs;
+        private long p50Ms;
+        private long p95Ms;
+        private long p99Ms;
+        private long maxMs;
+
+        public Builder bucketStart(String bucketStart) {
+            this.bucketStart = bucketStart;
+            return this;
+        }
+
+        public Builder count(long count) {
+            this.count = count;
+            return this;
+        }
+
+        public Builder errorCount(long errorCount) {
+            this.errorCount = errorCount;
+            return this;
+        }
+
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder meanMs(long meanMs) {
+            this.meanMs = meanMs;
+            return this;
+        }
+
+        public Builder p50Ms(long p50Ms) {
+            this.p50Ms = p50Ms;
+            return this;
+        }
+
+        public Builder p95Ms(long p95Ms) {
+            this.p95Ms = p95Ms;
+            return this;
+        }
+
+        public Builder p99Ms(long p99Ms) {
+            this.p99Ms = p99Ms;
+            return this;
+        }
+
+        public Builder maxMs(long maxMs) {
+            this.maxMs = maxMs;
+            return this;
+        }
+
+        public TrendPoint build() {
+            return new TrendPoint(this);
+        }
+    }
+}
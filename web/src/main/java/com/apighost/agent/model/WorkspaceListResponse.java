@@ -0,0 +1,30 @@
+package com.apighost.agent.model;
+
+import java.util.List;
+
+/**
+ * Response model that contains the names of the available workspaces.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class WorkspaceListResponse {
+    private List<String> workspaceNameList;
+
+    /**
+     * Constructs a new {@code WorkspaceListResponse} with the given workspace name list.
+     *
+     * @param workspaceNameList the list of workspace names
+     */
+    public WorkspaceListResponse(List<String> workspaceNameList) {
+        this.workspaceNameList = workspaceNameList;
+    }
+
+    public List<String> getWorkspaceNameList() {
+        return workspaceNameList;
+    }
+
+    public void setWorkspaceNameList(List<String> workspaceNameList) {
+        this.workspaceNameList = workspaceNameList;
+    }
+}
@@ -1,24 +1,40 @@
 package com.apighost.agent.notifier;
 
-import com.apighost.agent.executor.ScenarioTestExecutor;
+import com.apighost.agent.model.BaselineComparison;
 import com.apighost.model.scenario.ScenarioResult;
 import com.apighost.model.scenario.result.ResultStep;
-import java.io.IOException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
 
 /**
- * {@link ScenarioResultNotifier} implementation that sends scenario execution updates to the client
- * using Server-Sent Events (SSE).
+ * {@link ScenarioResultNotifier} implementation that sends scenario execution updates to the
+ * clients using Server-Sent Events (SSE).
  * <p>
  * This class is responsible for streaming step-by-step results and final scenario completion
- * results to the connected client through an {@link SseEmitter}.
+ * results of one run to any number of {@link SseSubscriber}s. Notifying only queues the event on
+ * each subscriber; the subscribers' senders write it, so a slow client never delays the scenario
+ * or its measured step durations.
+ * </p>
+ * <p>
+ * Every event carries a sequential id and the last {@code replayBufferSize} events are kept. A
+ * subscriber attaching while the run is in progress, or after it has finished, first receives
+ * the kept events after the {@code Last-Event-ID} it reconnected with, or all of them; events no
+ * longer kept are announced by a {@code skipped} event with their count.
  * </p>
  * <p>
  * Events emitted:
  * <ul>
  *   <li><b>stepResult</b> — triggered for each step in the scenario execution</li>
+ *   <li><b>skipped</b> — triggered when step results were discarded because the client fell
+ *   behind, with their count</li>
+ *   <li><b>comparison</b> — triggered right before completion when the scenario has a pinned
+ *   baseline</li>
+ *   <li><b>cancelled</b> — triggered right before completion when the run was stopped early,
+ *   with the reason</li>
  *   <li><b>complete</b> — triggered once the scenario execution is finished</li>
  * </ul>
  * </p>
@@ -28,50 +44,193 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
  */
 public class ResultSseNotifier implements ScenarioResultNotifier {
 
-    private final SseEmitter sseEmitter;
-    private static final Logger log = LoggerFactory.getLogger(ResultSseNotifier.class);
+    private final int replayBufferSize;
+    private final Deque<RunEvent> replayBuffer = new ArrayDeque<>();
+    private final List<SseSubscriber> subscribers = new ArrayList<>();
+
+    private long lastEventId;
+    private boolean finished;
+    private Throwable failure;
+
+    /**
+     * Constructs a new {@code ResultSseNotifier} without subscribers.
+     *
+     * @param replayBufferSize the maximum number of events kept for replay
+     */
+    public ResultSseNotifier(int replayBufferSize) {
+        this.replayBufferSize = replayBufferSize;
+    }
+
+    /**
+     * Attaches a subscriber, replaying the kept events it has not received yet. A subscriber
+     * attaching to a finished run receives the kept events and is then completed.
+     *
+     * @param subscriber  the subscriber to attach
+     * @param lastEventId the id of the last event the client received, or {@code 0} to replay
+     *                    every kept event
+     */
+    public synchronized void subscribe(SseSubscriber subscriber, long lastEventId) {
+        RunEvent oldest = replayBuffer.peekFirst();
+        if (oldest != null && oldest.id > lastEventId + 1) {
+            subscriber.reportSkipped(oldest.id - lastEventId - 1);
+        }
+        for (RunEvent event : replayBuffer) {
+            if (event.id > lastEventId) {
+                deliver(subscriber, event);
+            }
+        }
+        if (failure != null) {
+            subscriber.fail(failure);
+        } else if (!finished) {
+            subscribers.add(subscriber);
+        }
+    }
+
+    /**
+     * Parses the {@code Last-Event-ID} header of a reconnecting client.
+     *
+     * @param lastEventId the header value, or {@code null} if absent
+     * @return the event id, or {@code 0} if absent
+     * @throws IllegalArgumentException if the value is not a number
+     */
+    public static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid Last-Event-ID: " + lastEventId);
+        }
+    }
 
     /**
-     * Constructs a new {@code ResultSseNotifier} with the given {@link SseEmitter}.
+     * Returns the number of attached subscribers whose connection is still open.
      *
-     * @param sseEmitter the emitter used to stream data to the client
+     * @return the number of open subscribers
      */
-    public ResultSseNotifier(SseEmitter sseEmitter) {
-        this.sseEmitter = sseEmitter;
+    public synchronized int getSubscriberCount() {
+        subscribers.removeIf(subscriber -> !subscriber.isOpen());
+        return subscribers.size();
     }
 
     /**
-     * Sends a step result event to the client.
+     * Returns the id of the last event of the run.
+     *
+     * @return the last event id, or {@code 0} if no event has been sent
+     */
+    public synchronized long getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Sends a step result event to the clients.
      *
      * @param step the result of the current scenario step
-     * @throws IllegalStateException if the SSE connection fails
      */
     @Override
     public void notifyStep(ResultStep step) {
+        broadcast(EventType.STEP, "stepResult", step);
+    }
 
-        try {
-            sseEmitter.send(SseEmitter.event().name("stepResult").data(step));
-        } catch (IOException e) {
-            log.warn("Failed to SSE stepResult connection");
-            sseEmitter.completeWithError(e);
-        }
+    /**
+     * Sends the baseline comparison event to the clients.
+     *
+     * @param comparison the baseline comparison of the finished run
+     */
+    @Override
+    public void notifyComparison(BaselineComparison comparison) {
+        broadcast(EventType.EVENT, "comparison", comparison);
+    }
+
+    /**
+     * Sends the cancellation event to the clients.
+     *
+     * @param reason why the run was stopped
+     */
+    @Override
+    public void notifyCancellation(String reason) {
+        broadcast(EventType.EVENT, "cancelled", Map.of("reason", reason));
     }
 
     /**
-     * Sends a scenario completion event to the client.
+     * Sends the scenario completion event, after which the streams are completed.
      *
      * @param result the final result of the scenario execution
-     * @throws IllegalStateException if the SSE connection fails
      */
     @Override
     public void notifyCompletion(ScenarioResult result) {
+        broadcast(EventType.COMPLETE, "complete", result);
+    }
 
-        try {
-            sseEmitter.send(SseEmitter.event().name("complete").data(result));
-            sseEmitter.complete();
-        } catch (IOException e) {
-            log.warn("Failed to SSE complete connection");
-            sseEmitter.completeWithError(e);
+    /**
+     * Ends the streams with the error of a run that produced no result.
+     *
+     * @param error the error that ended the run
+     */
+    @Override
+    public synchronized void notifyFailure(Throwable error) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        failure = error;
+        SseSubscriber[] targets = subscribers.toArray(new SseSubscriber[0]);
+        subscribers.clear();
+        for (SseSubscriber subscriber : targets) {
+            subscriber.fail(error);
+        }
+    }
+
+    private synchronized void broadcast(EventType type, String eventName, Object data) {
+        if (finished) {
+            return;
+        }
+        RunEvent event = new RunEvent(++lastEventId, type, eventName, data);
+        replayBuffer.add(event);
+        if (replayBuffer.size() > replayBufferSize) {
+            replayBuffer.poll();
+        }
+
+        /* Delivering may close a subscriber, whose close listener can query this notifier. */
+        subscribers.removeIf(subscriber -> !subscriber.isOpen());
+        SseSubscriber[] targets = subscribers.toArray(new SseSubscriber[0]);
+        if (type == EventType.COMPLETE) {
+            finished = true;
+            subscribers.clear();
+        }
+        for (SseSubscriber subscriber : targets) {
+            deliver(subscriber, event);
+        }
+    }
+
+    private static void deliver(SseSubscriber subscriber, RunEvent event) {
+        String eventId = Long.toString(event.id);
+        switch (event.type) {
+            case STEP -> subscriber.publishStep(eventId, event.name, event.data);
+            case EVENT -> subscriber.publish(eventId, event.name, event.data);
+            case COMPLETE -> subscriber.finish(eventId, event.name, event.data);
+        }
+    }
+
+    private enum EventType {
+        STEP,
+        EVENT,
+        COMPLETE
+    }
+
+    private static final class RunEvent {
+
+        private final long id;
+        private final EventType type;
+        private final String name;
+        private final Object data;
+
+        private RunEvent(long id, EventType type, String name, Object data) {
+            this.id = id;
+            this.type = type;
+            this.name = name;
+            this.data = data;
         }
     }
 }
@@ -1,12 +1,49 @@
 package com.apighost.agent.notifier;
 
+import com.apighost.agent.model.BaselineComparison;
+import com.apighost.model.scenario.Scenario;
 import com.apighost.model.scenario.ScenarioResult;
 import com.apighost.model.scenario.result.ResultStep;
 
 public interface ScenarioResultNotifier {
 
+    /**
+     * Reports that the run of the given scenario is about to execute its first step.
+     *
+     * @param scenario the scenario being run
+     */
+    default void notifyStart(Scenario scenario) {
+    }
+
     void notifyStep(ResultStep step);
 
     void notifyCompletion(ScenarioResult result);
 
+    /**
+     * Reports the comparison of a finished run with the baseline of its scenario. Called just
+     * before {@link #notifyCompletion(ScenarioResult)}, and only if a baseline is pinned.
+     *
+     * @param comparison the baseline comparison of the run
+     */
+    default void notifyComparison(BaselineComparison comparison) {
+    }
+
+    /**
+     * Reports that the run was stopped before its last step. Called just before
+     * {@link #notifyCompletion(ScenarioResult)}, whose result holds the steps executed so far.
+     *
+     * @param reason why the run was stopped
+     */
+    default void notifyCancellation(String reason) {
+    }
+
+    /**
+     * Reports that the run ended without a result, for example because a step callback failed.
+     * No completion is notified for such a run.
+     *
+     * @param error the error that ended the run
+     */
+    default void notifyFailure(Throwable error) {
+    }
+
 }
@@ -0,0 +1,62 @@
+package com.apighost.agent.notifier;
+
+import com.apighost.agent.config.SseSetting;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Writes the events of all {@link SseSubscriber}s, off the threads that run the scenarios.
+ * <p>
+ * Sender tasks run on a pool of daemon threads created on demand, so a stalled connection only
+ * blocks its own sender. Heartbeats are scheduled on a single daemon thread that merely queues
+ * them. Closing the sender stops both; subscribers still open stop receiving events.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class SseSender implements AutoCloseable {
+
+    private final SseSetting sseSetting;
+    private final ExecutorService senderExecutor;
+    private final ScheduledExecutorService heartbeatScheduler;
+
+    /**
+     * Constructs a new {@code SseSender}.
+     *
+     * @param sseSetting the queue, batching and heartbeat settings
+     */
+    public SseSender(SseSetting sseSetting) {
+        this.sseSetting = sseSetting;
+        this.senderExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "apighost-sse-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "apighost-sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a subscriber delivering to the given emitter.
+     *
+     * @param sseEmitter the emitter of the client connection
+     * @return the subscriber
+     */
+    public SseSubscriber subscribe(SseEmitter sseEmitter) {
+        return new SseSubscriber(sseEmitter, sseSetting, senderExecutor, heartbeatScheduler);
+    }
+
+    @Override
+    public void close() {
+        heartbeatScheduler.shutdownNow();
+        senderExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,395 @@
+package com.apighost.agent.notifier;
+
+import com.apighost.agent.config.SseSetting;
+import com.apighost.agent.config.SseSetting.OverflowPolicy;
+import com.apighost.agent.metrics.Counter;
+import com.apighost.agent.metrics.Gauge;
+import com.apighost.agent.metrics.MetricFamily;
+import com.apighost.agent.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One SSE connection, fed through a bounded queue and written by a sender thread.
+ * <p>
+ * Publishing an event only queues it, so the publishing thread never waits for the network.
+ * A sender task writes the queued events in batches of up to {@link SseSetting#getBatchSize()}
+ * with a single flush, and at most one sender task runs per subscriber, so events are written in
+ * order. Step results beyond {@link SseSetting#getQueueCapacity()} are handled by the
+ * {@link OverflowPolicy}. Discarded step results are reported to the client by a
+ * {@code skipped} event carrying their count; they remain part of the final result. Events
+ * published with an id are written with it, so a reconnecting client can report the last one it
+ * received.
+ * </p>
+ * <p>
+ * The subscriber is closed when its last event has been written, or when the connection
+ * completes, times out or fails. A closed subscriber discards everything published to it.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class SseSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(SseSubscriber.class);
+    private static final Gauge ACTIVE_EMITTERS = MetricsRegistry.getInstance()
+        .gauge("apighost_sse_emitters_active", "Open scenario result SSE emitters")
+        .labels();
+    private static final MetricFamily<Counter> EVENTS_SENT = MetricsRegistry.getInstance()
+        .counter("apighost_sse_events_total", "SSE events sent to clients", "event");
+    private static final MetricFamily<Counter> EVENTS_FAILED = MetricsRegistry.getInstance()
+        .counter("apighost_sse_send_failures_total", "SSE events that could not be sent",
+            "event");
+    private static final MetricFamily<Counter> EVENTS_DROPPED = MetricsRegistry.getInstance()
+        .counter("apighost_sse_events_dropped_total",
+            "Step results not sent because the subscriber queue was full", "policy");
+
+    private static final String SKIPPED_EVENT = "skipped";
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final SseEmitter sseEmitter;
+    private final SseSetting sseSetting;
+    private final Executor senderExecutor;
+    private final Deque<QueuedEvent> queue = new ArrayDeque<>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final ScheduledFuture<?> heartbeat;
+
+    private int queuedSteps;
+    private long skippedSteps;
+    private boolean finished;
+    private boolean closed;
+    private Runnable closeListener;
+    private volatile long lastWriteNanos = System.nanoTime();
+
+    SseSubscriber(SseEmitter sseEmitter, SseSetting sseSetting, Executor senderExecutor,
+        ScheduledExecutorService heartbeatScheduler) {
+        this.sseEmitter = sseEmitter;
+        this.sseSetting = sseSetting;
+        this.senderExecutor = senderExecutor;
+        ACTIVE_EMITTERS.increment();
+        sseEmitter.onCompletion(this::close);
+        sseEmitter.onTimeout(this::close);
+        sseEmitter.onError(e -> close());
+
+        long heartbeatMillis = sseSetting.getHeartbeatInterval().toMillis();
+        this.heartbeat = heartbeatMillis > 0
+            ? heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis,
+            heartbeatMillis, TimeUnit.MILLISECONDS)
+            : null;
+    }
+
+    /**
+     * Queues a step result, subject to the overflow policy.
+     *
+     * @param eventId   the SSE event id, or {@code null} for none
+     * @param eventName the SSE event name
+     * @param data      the event data
+     */
+    public void publishStep(String eventId, String eventName, Object data) {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            if (queuedSteps >= sseSetting.getQueueCapacity()) {
+                EVENTS_DROPPED.labels(sseSetting.getOverflowPolicy().name()).increment();
+                switch (sseSetting.getOverflowPolicy()) {
+                    case DROP -> {
+                        skippedSteps++;
+                        return;
+                    }
+                    case COALESCE -> {
+                        removeOldestStep();
+                        skippedSteps++;
+                    }
+                    case DISCONNECT -> {
+                        log.warn("SSE subscriber fell {} step results behind; disconnecting",
+                            queuedSteps);
+                        queue.clear();
+                        queuedSteps = 0;
+                        finished = true;
+                        queue.add(new QueuedEvent(EventType.FAIL, null, null,
+                            new IllegalStateException("SSE subscriber queue overflow")));
+                    }
+                }
+            }
+            if (!finished) {
+                queue.add(new QueuedEvent(EventType.STEP, eventId, eventName, data));
+                queuedSteps++;
+            }
+        }
+        scheduleSend();
+    }
+
+    /**
+     * Queues an event that is never discarded.
+     *
+     * @param eventId   the SSE event id, or {@code null} for none
+     * @param eventName the SSE event name
+     * @param data      the event data
+     */
+    public void publish(String eventId, String eventName, Object data) {
+        enqueue(new QueuedEvent(EventType.EVENT, eventId, eventName, data), false);
+    }
+
+    /**
+     * Queues the last event of the stream; the connection is completed once it has been
+     * written.
+     *
+     * @param eventId   the SSE event id, or {@code null} for none
+     * @param eventName the SSE event name
+     * @param data      the event data
+     */
+    public void finish(String eventId, String eventName, Object data) {
+        enqueue(new QueuedEvent(EventType.COMPLETE, eventId, eventName, data), true);
+    }
+
+    /**
+     * Reports step results the client will not receive, such as those no longer available for
+     * replay. They are announced by the next {@code skipped} event.
+     *
+     * @param count the number of step results
+     */
+    public void reportSkipped(long count) {
+        synchronized (this) {
+            if (finished || count <= 0) {
+                return;
+            }
+            skippedSteps += count;
+        }
+        scheduleSend();
+    }
+
+    /**
+     * Completes the connection with an error once the events queued so far have been written.
+     *
+     * @param error the error ending the stream
+     */
+    public void fail(Throwable error) {
+        enqueue(new QueuedEvent(EventType.FAIL, null, null, error), true);
+    }
+
+    /**
+     * Registers a listener run once the subscriber is closed, on the thread closing it. If the
+     * subscriber is already closed, the listener is run right away.
+     *
+     * @param listener the listener
+     */
+    public void onClose(Runnable listener) {
+        synchronized (this) {
+            if (!closed) {
+                closeListener = listener;
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    /**
+     * Returns whether the subscriber still accepts events.
+     *
+     * @return {@code false} once the stream has been finished or the connection has ended
+     */
+    public synchronized boolean isOpen() {
+        return !finished && !closed;
+    }
+
+    private void enqueue(QueuedEvent event, boolean last) {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            queue.add(event);
+            finished = last;
+        }
+        scheduleSend();
+    }
+
+    private void removeOldestStep() {
+        Iterator<QueuedEvent> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().type == EventType.STEP) {
+                iterator.remove();
+                queuedSteps--;
+                return;
+            }
+        }
+    }
+
+    private void heartbeat() {
+        long idleNanos = System.nanoTime() - lastWriteNanos;
+        if (idleNanos < sseSetting.getHeartbeatInterval().toNanos()) {
+            return;
+        }
+        synchronized (this) {
+            if (finished || !queue.isEmpty()) {
+                return;
+            }
+            queue.add(new QueuedEvent(EventType.HEARTBEAT, null, null, null));
+        }
+        scheduleSend();
+    }
+
+    private void scheduleSend() {
+        if (sending.compareAndSet(false, true)) {
+            try {
+                senderExecutor.execute(this::send);
+            } catch (RuntimeException e) {
+                sending.set(false);
+                log.warn("Failed to schedule SSE delivery", e);
+                close();
+            }
+        }
+    }
+
+    private void send() {
+        while (true) {
+            List<QueuedEvent> batch = new ArrayList<>();
+            long skipped;
+            synchronized (this) {
+                if (closed) {
+                    sending.set(false);
+                    return;
+                }
+                while (batch.size() < sseSetting.getBatchSize() && !queue.isEmpty()) {
+                    QueuedEvent event = queue.poll();
+                    if (event.type == EventType.STEP) {
+                        queuedSteps--;
+                    }
+                    batch.add(event);
+                }
+                skipped = skippedSteps;
+                skippedSteps = 0;
+                if (batch.isEmpty() && skipped == 0) {
+                    sending.set(false);
+                    return;
+                }
+            }
+            if (!write(batch, skipped)) {
+                sending.set(false);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes one batch and performs the completion it ends with, if any.
+     *
+     * @return {@code false} if the connection has ended
+     */
+    private boolean write(List<QueuedEvent> batch, long skipped) {
+        Set<DataWithMediaType> items = new LinkedHashSet<>();
+        List<String> eventNames = new ArrayList<>(batch.size() + 1);
+        if (skipped > 0) {
+            items.addAll(SseEmitter.event().name(SKIPPED_EVENT)
+                .data(Map.of("count", skipped)).build());
+            eventNames.add(SKIPPED_EVENT);
+        }
+        QueuedEvent last = null;
+        for (QueuedEvent event : batch) {
+            if (event.type == EventType.HEARTBEAT) {
+                items.addAll(SseEmitter.event().comment(HEARTBEAT_COMMENT).build());
+            } else if (event.type != EventType.FAIL) {
+                SseEmitter.SseEventBuilder builder = SseEmitter.event();
+                if (event.id != null) {
+                    builder.id(event.id);
+                }
+                items.addAll(builder.name(event.name).data(event.data).build());
+                eventNames.add(event.name);
+            }
+            last = event;
+        }
+
+        try {
+            if (!items.isEmpty()) {
+                sseEmitter.send(items);
+                lastWriteNanos = System.nanoTime();
+                for (String eventName : eventNames) {
+                    EVENTS_SENT.labels(eventName).increment();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Failed to send {} SSE events", eventNames.size());
+            for (String eventName : eventNames) {
+                EVENTS_FAILED.labels(eventName).increment();
+            }
+            sseEmitter.completeWithError(e);
+            close();
+            return false;
+        }
+
+        if (last != null && last.type == EventType.COMPLETE) {
+            sseEmitter.complete();
+            close();
+            return false;
+        }
+        if (last != null && last.type == EventType.FAIL) {
+            sseEmitter.completeWithError((Throwable) last.data);
+            close();
+            return false;
+        }
+        return true;
+    }
+
+    private void close() {
+        Runnable listener;
+        synchronized (this) {
+            closed = true;
+            finished = true;
+            queue.clear();
+            queuedSteps = 0;
+            listener = closeListener;
+            closeListener = null;
+        }
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+        }
+        if (released.compareAndSet(false, true)) {
+            ACTIVE_EMITTERS.decrement();
+        }
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    private enum EventType {
+        STEP,
+        EVENT,
+        HEARTBEAT,
+        COMPLETE,
+        FAIL
+    }
+
+    private static final class QueuedEvent {
+
+        private final EventType type;
+        private final String id;
+        private final String name;
+        private final Object data;
+
+        private QueuedEvent(EventType type, String id, String name, Object data) {
+            this.type = type;
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+}
@@ -1,50 +1,87 @@
 package com.apighost.agent.orchestrator;
 
-import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.analytics.BaselineStore;
+import com.apighost.agent.cache.CompiledScenario;
+import com.apighost.agent.cache.ScenarioCompilationCache;
+import com.apighost.agent.executor.ScenarioCancellation;
 import com.apighost.agent.executor.ScenarioTestExecutor;
-import com.apighost.agent.file.FileExporter;
-import com.apighost.agent.file.ScenarioFileLoader;
 import com.apighost.agent.notifier.ScenarioResultNotifier;
-import com.apighost.agent.util.YamlMapperHolder;
-import com.apighost.model.scenario.Scenario;
+import com.apighost.agent.store.ResultWriteQueue;
 import com.apighost.model.scenario.ScenarioResult;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ScenarioTestOrchestrator {
 
-    private final ScenarioFileLoader scenarioFileLoader;
+    private static final Logger log = LoggerFactory.getLogger(ScenarioTestOrchestrator.class);
+
+    private final ScenarioCompilationCache scenarioCompilationCache;
     private final ScenarioTestExecutor scenarioTestExecutor;
-    private final FileExporter fileExporter;
-    private final ApiGhostSetting setting;
-    private final ObjectMapper yamlObjectMapper;
+    private final ResultWriteQueue resultWriteQueue;
+    private final BaselineStore baselineStore;
 
-    public ScenarioTestOrchestrator(ScenarioFileLoader scenarioFileLoader,
-        ScenarioTestExecutor scenarioTestExecutor, ApiGhostSetting apiGhostSetting) {
+    public ScenarioTestOrchestrator(ScenarioCompilationCache scenarioCompilationCache,
+        ScenarioTestExecutor scenarioTestExecutor, ResultWriteQueue resultWriteQueue,
+        BaselineStore baselineStore) {
 
-        this.scenarioFileLoader = scenarioFileLoader;
+        this.scenarioCompilationCache = scenarioCompilationCache;
         this.scenarioTestExecutor = scenarioTestExecutor;
-        this.fileExporter = new FileExporter();
-        this.setting = apiGhostSetting;
-        this.yamlObjectMapper = YamlMapperHolder.getInstance();
+        this.resultWriteQueue = resultWriteQueue;
+        this.baselineStore = baselineStore;
     }
 
-    public void executeScenario(String scenarioName, ScenarioResultNotifier resultNotifier) {
-
-        Scenario scenario = loadScenario(scenarioName);
-        ScenarioResult scenarioResult = scenarioTestExecutor.testExecutor(scenario,
-            resultNotifier::notifyStep);
-        fileExporter.exportFile(scenarioResult, setting.getFormatJson(), setting.getResultPath());
+    /**
+     * Starts a scenario run and returns without waiting for its steps. Step results, the
+     * baseline comparison and the completion are sent to the notifier as the run progresses.
+     * <p>
+     * A run stopped through the cancellation, or by its timeout, still completes with the steps
+     * executed so far and its result is stored, but it is not compared with the baseline; the
+     * cancellation is notified instead.
+     * </p>
+     * <p>
+     * The completion is handled on the thread that finished the last step, so the result is
+     * handed to the {@link ResultWriteQueue} without waiting for room in it.
+     * </p>
+     *
+     * @param scenarioName   the name of the scenario to run
+     * @param resultNotifier the notifier receiving the results of the run
+     * @param cancellation   the cancellation handle of the run
+     * @return a future completed once the run has finished and its result has been notified
+     * @throws IllegalStateException if the scenario cannot be loaded
+     */
+    public CompletableFuture<ScenarioResult> executeScenario(String scenarioName,
+        ScenarioResultNotifier resultNotifier, ScenarioCancellation cancellation) {
 
-        resultNotifier.notifyCompletion(scenarioResult);
+        CompiledScenario scenario = loadScenario(scenarioName);
+        resultNotifier.notifyStart(scenario.getScenario());
+        return scenarioTestExecutor.testExecutorAsync(scenario, resultNotifier::notifyStep,
+                cancellation)
+            .whenComplete((scenarioResult, error) -> {
+                if (error != null) {
+                    log.warn("Scenario {} ended without a result", scenarioName, error);
+                    resultNotifier.notifyFailure(error);
+                    return;
+                }
+                try {
+                    if (cancellation.isCancelled()) {
+                        resultNotifier.notifyCancellation(cancellation.getReason());
+                    } else {
+                        baselineStore.compare(scenarioResult, null)
+                            .ifPresent(resultNotifier::notifyComparison);
+                    }
+                    resultNotifier.notifyCompletion(scenarioResult);
+                } finally {
+                    resultWriteQueue.submitAsync(scenarioResult);
+                }
+            });
     }
 
-    private Scenario loadScenario(String scenarioName) {
+    private CompiledScenario loadScenario(String scenarioName) {
 
         try {
-            File scenarioFile = scenarioFileLoader.findScenarioFile(scenarioName);
-            return yamlObjectMapper.readValue(scenarioFile, Scenario.class);
+            return scenarioCompilationCache.get(scenarioName);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to Load Scenario");
         }
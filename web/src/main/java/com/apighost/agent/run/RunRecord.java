@@ -0,0 +1,202 @@
+package com.apighost.agent.run;
+
+import com.apighost.agent.executor.ScenarioCancellation;
+import com.apighost.agent.model.BaselineComparison;
+import com.apighost.agent.model.RunStatus;
+import com.apighost.agent.notifier.ResultSseNotifier;
+import com.apighost.agent.notifier.ScenarioResultNotifier;
+import com.apighost.agent.notifier.SseSubscriber;
+import com.apighost.model.scenario.Scenario;
+import com.apighost.model.scenario.ScenarioResult;
+import com.apighost.model.scenario.result.ResultStep;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One scenario run held by the {@link RunRegistry}.
+ * <p>
+ * The record is the notifier of its run: it tracks the progress reported for the run and
+ * forwards every notification to the {@link ResultSseNotifier} that streams the run to its
+ * subscribers. When the run has finished, or its last subscriber has disconnected, the registry
+ * is told so that it can retire old runs or abort abandoned ones.
+ * </p>
+ * <p>
+ * The record also holds the {@link ScenarioCancellation} of the run; a run stopped through it
+ * ends in the {@link State#CANCELLED} state.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class RunRecord implements ScenarioResultNotifier {
+
+    /**
+     * The lifecycle state of a run.
+     */
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final String runId;
+    private final String workspace;
+    private final String scenarioName;
+    private final Instant startedAt;
+    private final ResultSseNotifier events;
+    private final ScenarioCancellation cancellation = new ScenarioCancellation();
+    private final RunRegistry registry;
+    private final AtomicInteger completedSteps = new AtomicInteger();
+    private final AtomicInteger failedSteps = new AtomicInteger();
+
+    private volatile State state = State.RUNNING;
+    private volatile int totalSteps;
+    private volatile String lastStepName;
+    private volatile String finishedAt;
+
+    RunRecord(String runId, String workspace, String scenarioName, int replayBufferSize,
+        RunRegistry registry) {
+        this.runId = runId;
+        this.workspace = workspace;
+        this.scenarioName = scenarioName;
+        this.startedAt = Instant.now();
+        this.events = new ResultSseNotifier(replayBufferSize);
+        this.registry = registry;
+    }
+
+    /**
+     * Attaches an SSE subscriber to the run. The subscriber first receives a {@code run} event,
+     * without an id, carrying the current {@link RunStatus}, so a client learns the id of the
+     * run it follows.
+     *
+     * @param subscriber  the subscriber to attach
+     * @param lastEventId the id of the last event the client received, or {@code 0}
+     * @see ResultSseNotifier#subscribe(SseSubscriber, long)
+     */
+    public void subscribe(SseSubscriber subscriber, long lastEventId) {
+        subscriber.publish(null, "run", toStatus());
+        subscriber.onClose(this::subscriberClosed);
+        events.subscribe(subscriber, lastEventId);
+    }
+
+    /**
+     * Stops the run, see {@link ScenarioCancellation}.
+     *
+     * @param force  whether the step in flight is aborted rather than awaited
+     * @param reason why the run is stopped
+     * @return {@code true} if the run was running and not cancelled before
+     */
+    public boolean cancel(boolean force, String reason) {
+        if (state != State.RUNNING) {
+            return false;
+        }
+        return force ? cancellation.abort(reason) : cancellation.cancel(reason);
+    }
+
+    /**
+     * Returns the number of subscribers whose connection is still open.
+     *
+     * @return the number of open subscribers
+     */
+    public int getSubscriberCount() {
+        return events.getSubscriberCount();
+    }
+
+    /**
+     * Returns a snapshot of the progress of the run.
+     *
+     * @return the run status
+     */
+    public RunStatus toStatus() {
+        return new RunStatus.Builder()
+            .runId(runId)
+            .workspace(workspace)
+            .scenarioName(scenarioName)
+            .state(state.name())
+            .startedAt(startedAt.toString())
+            .finishedAt(finishedAt)
+            .totalSteps(totalSteps)
+            .completedSteps(completedSteps.get())
+            .failedSteps(failedSteps.get())
+            .lastStepName(lastStepName)
+            .cancelReason(cancellation.getReason())
+            .subscriberCount(events.getSubscriberCount())
+            .lastEventId(events.getLastEventId())
+            .build();
+    }
+
+    @Override
+    public void notifyStart(Scenario scenario) {
+        totalSteps = scenario.getSteps() == null ? 0 : scenario.getSteps().size();
+    }
+
+    @Override
+    public void notifyStep(ResultStep step) {
+        completedSteps.incrementAndGet();
+        if (!step.getIsRequestSuccess()) {
+            failedSteps.incrementAndGet();
+        }
+        lastStepName = step.getStepName();
+        events.notifyStep(step);
+    }
+
+    @Override
+    public void notifyComparison(BaselineComparison comparison) {
+        events.notifyComparison(comparison);
+    }
+
+    @Override
+    public void notifyCompletion(ScenarioResult result) {
+        events.notifyCompletion(result);
+        finish(cancellation.isCancelled() ? State.CANCELLED : State.COMPLETED);
+    }
+
+    @Override
+    public void notifyCancellation(String reason) {
+        events.notifyCancellation(reason);
+    }
+
+    @Override
+    public void notifyFailure(Throwable error) {
+        events.notifyFailure(error);
+        finish(State.FAILED);
+    }
+
+    private void finish(State finalState) {
+        finishedAt = Instant.now().toString();
+        state = finalState;
+        registry.retire(this);
+    }
+
+    private void subscriberClosed() {
+        if (state == State.RUNNING && events.getSubscriberCount() == 0) {
+            registry.abandoned(this);
+        }
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getWorkspace() {
+        return workspace;
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public ScenarioCancellation getCancellation() {
+        return cancellation;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+}
@@ -0,0 +1,173 @@
+package com.apighost.agent.run;
+
+import com.apighost.agent.config.RunSetting;
+import com.apighost.agent.executor.ScenarioCancellation;
+import com.apighost.agent.model.RunStatus;
+import com.apighost.agent.notifier.ScenarioResultNotifier;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the scenario runs started through the API, so that any number of clients can follow a
+ * run by its id.
+ * <p>
+ * A run is registered under a random id before it is started and stays registered while it is
+ * running. Once finished it remains available for late subscribers and status queries until
+ * {@link RunSetting#getRetainedRuns()} newer runs have finished. Runs are looked up without
+ * locking; only retiring finished runs is serialized.
+ * </p>
+ * <p>
+ * Runs can be cancelled by id. If {@link RunSetting#isCancelOnDisconnect()} is set, a run whose
+ * subscribers have all disconnected is aborted once {@link RunSetting#getDisconnectGrace()} has
+ * passed without a new subscriber; the check is scheduled on a single daemon thread. Closing the
+ * registry aborts the runs still in progress.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class RunRegistry implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RunRegistry.class);
+
+    private final RunSetting runSetting;
+    private final Map<String, RunRecord> runs = new ConcurrentHashMap<>();
+    private final Deque<String> finishedRunIds = new ArrayDeque<>();
+    private final ScheduledExecutorService watchdog;
+
+    /**
+     * Constructs a new {@code RunRegistry}.
+     *
+     * @param runSetting the replay buffer size and retention of runs
+     */
+    public RunRegistry(RunSetting runSetting) {
+        this.runSetting = runSetting;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "apighost-run-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers a new run and starts it. The launcher starts the run with the record of the run
+     * as its notifier and the cancellation of the record; if it fails, the run is unregistered
+     * again.
+     *
+     * @param workspace    the workspace of the scenario
+     * @param scenarioName the name of the scenario
+     * @param launcher     starts the run, sending its results to the given notifier
+     * @return the record of the started run
+     */
+    public RunRecord start(String workspace, String scenarioName,
+        BiConsumer<ScenarioResultNotifier, ScenarioCancellation> launcher) {
+
+        String runId = UUID.randomUUID().toString();
+        RunRecord run = new RunRecord(runId, workspace, scenarioName,
+            runSetting.getReplayBufferSize(), this);
+        runs.put(runId, run);
+        try {
+            launcher.accept(run, run.getCancellation());
+        } catch (RuntimeException e) {
+            runs.remove(runId);
+            throw e;
+        }
+        log.info("Started run {} of scenario {}", runId, scenarioName);
+        return run;
+    }
+
+    /**
+     * Returns the run with the given id.
+     *
+     * @param runId the run id
+     * @return the run
+     * @throws IllegalArgumentException if no run with this id is held
+     */
+    public RunRecord get(String runId) {
+        RunRecord run = runId == null ? null : runs.get(runId);
+        if (run == null) {
+            throw new IllegalArgumentException("Unknown run: " + runId);
+        }
+        return run;
+    }
+
+    /**
+     * Stops the run with the given id.
+     *
+     * @param runId the run id
+     * @param force whether the step in flight is aborted rather than awaited
+     * @return the run
+     * @throws IllegalArgumentException if no run with this id is held
+     * @throws IllegalStateException    if the run has already finished
+     */
+    public RunRecord cancel(String runId, boolean force) {
+        RunRecord run = get(runId);
+        if (run.getState() != RunRecord.State.RUNNING) {
+            throw new IllegalStateException("Run already finished: " + runId);
+        }
+        run.cancel(force, force ? "Aborted by request" : "Cancelled by request");
+        log.info("Cancelling run {} (force={})", runId, force);
+        return run;
+    }
+
+    /**
+     * Returns the status of the held runs, most recently started first.
+     *
+     * @param includeFinished whether finished runs are listed too
+     * @return the run statuses
+     */
+    public List<RunStatus> list(boolean includeFinished) {
+        return runs.values().stream()
+            .filter(run -> includeFinished || run.getState() == RunRecord.State.RUNNING)
+            .sorted(Comparator.comparing(RunRecord::getStartedAt).reversed())
+            .map(RunRecord::toStatus)
+            .toList();
+    }
+
+    /**
+     * Aborts the runs still in progress and stops the disconnect checks.
+     */
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+        for (RunRecord run : runs.values()) {
+            run.cancel(true, "Agent shutting down");
+        }
+    }
+
+    synchronized void retire(RunRecord run) {
+        finishedRunIds.add(run.getRunId());
+        while (finishedRunIds.size() > runSetting.getRetainedRuns()) {
+            runs.remove(finishedRunIds.poll());
+        }
+    }
+
+    void abandoned(RunRecord run) {
+        if (!runSetting.isCancelOnDisconnect()) {
+            return;
+        }
+        try {
+            watchdog.schedule(() -> {
+                if (run.getSubscriberCount() == 0 && run.cancel(true,
+                    "All subscribers disconnected")) {
+                    log.info("Aborted run {}: all subscribers disconnected", run.getRunId());
+                }
+            }, runSetting.getDisconnectGrace().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            log.warn("Failed to schedule the disconnect check of run {}", run.getRunId(), e);
+        }
+    }
+}
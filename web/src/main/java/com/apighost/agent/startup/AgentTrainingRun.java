@@ -0,0 +1,222 @@
+package com.apighost.agent.startup;
+
+import com.apighost.agent.cache.CompiledScenario;
+import com.apighost.agent.collector.RestApiCollector;
+import com.apighost.agent.collector.ScanMode;
+import com.apighost.agent.collector.ScanScope;
+import com.apighost.agent.collector.WebSocketCollector;
+import com.apighost.agent.collector.manifest.EndpointManifest;
+import com.apighost.agent.config.ApiGhostProperties;
+import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.executor.AsyncHttpStepExecutor;
+import com.apighost.agent.executor.BlockingStepExecutorAdapter;
+import com.apighost.agent.executor.ScenarioTestExecutor;
+import com.apighost.agent.file.ResultFormat;
+import com.apighost.agent.metrics.MetricsRegistry;
+import com.apighost.agent.tracing.ScenarioTracer;
+import com.apighost.agent.util.ObjectWriterHolder;
+import com.apighost.model.scenario.Scenario;
+import com.apighost.model.scenario.ScenarioResult;
+import com.apighost.scenario.executor.WebSocketStepExecutor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * Exercises the agent's code paths once so that a training run loads every class they need.
+ * <p>
+ * The run scans the configured packages with both collectors in both scan modes, round-trips an
+ * endpoint manifest, parses and compiles a two-step scenario, executes it against a stub server
+ * on the loopback interface, and serializes the result in every supported format. Run under
+ * {@code -XX:ArchiveClassesAtExit=app.jsa}, the JVM writes a dynamic CDS archive holding the
+ * agent classes together with ClassGraph, ASM, Jackson and the HTTP client, and later starts
+ * with {@code -XX:SharedArchiveFile=app.jsa} skip loading and verifying them cold.
+ * </p>
+ * <p>
+ * Inside the host application the run is triggered after all singletons are created, either by
+ * {@code apighost.training.enabled=true} or by Spring's {@code -Dspring.context.exit=onRefresh}
+ * training run, which then exits before the application starts serving. It can also be started
+ * on its own through {@link #main(String[])} with the application class path. The run records
+ * scenario metrics like any other execution and is meant for training runs only.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class AgentTrainingRun implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentTrainingRun.class);
+
+    private static final String SCENARIO_TEMPLATE = """
+        name: training
+        description: two step scenario against the embedded stub
+        timeoutMs: 10000
+        store: {}
+        steps:
+          ping:
+            type: HTTP
+            position: {x: 0, y: 0}
+            request:
+              method: GET
+              url: %1$s/ping
+              header: {}
+            route:
+              - expected:
+                  status: "200"
+                then:
+                  step: order
+          order:
+            type: HTTP
+            position: {x: 0, y: 0}
+            request:
+              method: POST
+              url: %1$s/orders
+              header:
+                Content-Type: application/json
+              body:
+                json: '{"sku":"A-1","quantity":2}'
+            route: []
+        """;
+
+    private final boolean enabled;
+    private final ScanScope scanScope;
+    private final ApiGhostSetting apiGhostSetting;
+    private final ApiGhostProperties apiGhostProperties;
+
+    /**
+     * Constructs an {@code AgentTrainingRun}.
+     *
+     * @param enabled            whether the run is performed once the context is initialized
+     * @param scanScope          the scope scanned by the collectors
+     * @param apiGhostSetting    the agent file settings
+     * @param apiGhostProperties the agent library properties
+     */
+    public AgentTrainingRun(boolean enabled, ScanScope scanScope,
+        ApiGhostSetting apiGhostSetting, ApiGhostProperties apiGhostProperties) {
+        this.enabled = enabled;
+        this.scanScope = scanScope;
+        this.apiGhostSetting = apiGhostSetting;
+        this.apiGhostProperties = apiGhostProperties;
+    }
+
+    /**
+     * Runs the training outside a Spring context.
+     *
+     * @param args the base package to scan, optionally followed by the base URL
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            throw new IllegalArgumentException(
+                "Usage: AgentTrainingRun <basePackage> [baseUrl]");
+        }
+        String baseUrl = args.length == 2 ? args[1] : "http://localhost:8080";
+        new AgentTrainingRun(true, ScanScope.forPackage(args[0]),
+            new ApiGhostSetting("apighost", "apighost/result", ".yaml", ".yml", ".json",
+                ResultFormat.JSON),
+            new ApiGhostProperties(args[0], baseUrl, "")).run();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /**
+     * Performs the training run. Failures are logged and never propagated, so a training run
+     * cannot prevent the host application from starting.
+     */
+    public void run() {
+        long startNanos = System.nanoTime();
+        try {
+            EndpointManifest manifest = trainCollectors();
+            trainManifest(manifest);
+            trainScenarioExecution();
+            MetricsRegistry.getInstance().scrape();
+            log.info("Agent training run finished in {} ms",
+                (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Agent training run failed", e);
+        }
+    }
+
+    private EndpointManifest trainCollectors() {
+        RestApiCollector restApiCollector = null;
+        WebSocketCollector webSocketCollector = null;
+        for (ScanMode scanMode : ScanMode.values()) {
+            restApiCollector = new RestApiCollector(scanScope,
+                apiGhostProperties.getBaseUrl(), scanMode);
+            restApiCollector.scan();
+            webSocketCollector = new WebSocketCollector(scanScope,
+                apiGhostProperties.getBaseUrl(), scanMode);
+            webSocketCollector.scan();
+        }
+        return new EndpointManifest(apiGhostProperties.getBasePackage(),
+            apiGhostProperties.getBaseUrl(), System.currentTimeMillis(),
+            restApiCollector.getEndpointList(), webSocketCollector.getEndpointList());
+    }
+
+    private void trainManifest(EndpointManifest manifest) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        manifest.writeTo(outputStream);
+        EndpointManifest.readFrom(new ByteArrayInputStream(outputStream.toByteArray()));
+        ObjectWriterHolder.jsonWriter().writeValueAsBytes(manifest.getRestEndpoints());
+    }
+
+    private void trainScenarioExecution() throws IOException {
+        HttpServer stubServer = HttpServer.create(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stubServer.createContext("/ping", exchange -> respond(exchange, "{\"status\":\"UP\"}"));
+        stubServer.createContext("/orders",
+            exchange -> respond(exchange, "{\"orderId\":42,\"status\":\"PAID\"}"));
+        stubServer.start();
+        try {
+            String baseUrl = "http://127.0.0.1:" + stubServer.getAddress().getPort();
+            String scenarioYaml = SCENARIO_TEMPLATE.formatted(baseUrl);
+            Scenario scenario = ObjectWriterHolder.scenarioYamlReader().readValue(scenarioYaml);
+            CompiledScenario compiledScenario = CompiledScenario.compile(scenario);
+
+            ScenarioTestExecutor scenarioTestExecutor = new ScenarioTestExecutor(apiGhostSetting,
+                apiGhostProperties, new AsyncHttpStepExecutor(),
+                BlockingStepExecutorAdapter.pooled(new WebSocketStepExecutor(),
+                    "apighost-websocket-step"),
+                ScenarioTracer.disabled());
+            ScenarioResult scenarioResult = scenarioTestExecutor.testExecutor(compiledScenario,
+                resultStep -> {
+                });
+
+            byte[] json = ObjectWriterHolder.prettyJsonWriter().writeValueAsBytes(scenarioResult);
+            ObjectWriterHolder.jsonReader().readTree(json);
+            byte[] smile = ObjectWriterHolder.smileWriter().writeValueAsBytes(scenarioResult);
+            ObjectWriterHolder.smileReader().readTree(smile);
+            ObjectWriterHolder.prettyYamlWriter().writeValueAsString(scenario);
+        } finally {
+            stubServer.stop(0);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+        }
+        byte[] response = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(response);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.apighost.agent.store;
+
+import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.config.ResultStoreSetting;
+import com.apighost.agent.file.AtomicFileWriter;
+import com.apighost.agent.file.FileExporter;
+import com.apighost.agent.file.FsyncPolicy;
+import com.apighost.agent.file.ResultFormat;
+import com.apighost.agent.file.ResultSummaryStore;
+import com.apighost.agent.index.FileWatchIndex;
+import com.apighost.agent.index.ResultCursor;
+import com.apighost.agent.model.ResultSummary;
+import com.apighost.model.scenario.ScenarioResult;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ResultStore} that keeps one file per result in the result directory.
+ * <p>
+ * Results are written by {@link FileExporter} together with their summary sidecar, and listings
+ * are served from the {@link FileWatchIndex}. This is the default store.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class FileResultStore implements ResultStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileResultStore.class);
+
+    private final ApiGhostSetting apiGhostSetting;
+    private final FileWatchIndex fileWatchIndex;
+    private final FileExporter fileExporter;
+    private final ResultSummaryStore resultSummaryStore;
+    private final FsyncPolicy fsyncPolicy;
+
+    public FileResultStore(ApiGhostSetting apiGhostSetting, ResultStoreSetting resultStoreSetting,
+        FileWatchIndex fileWatchIndex) {
+        this.apiGhostSetting = apiGhostSetting;
+        this.fsyncPolicy = resultStoreSetting.getFsyncPolicy();
+        this.fileWatchIndex = fileWatchIndex;
+        this.fileExporter = new FileExporter(fsyncPolicy);
+        this.resultSummaryStore = new ResultSummaryStore(apiGhostSetting.getResultPath());
+        deleteTempFiles();
+    }
+
+    @Override
+    public ResultSummary save(ScenarioResult scenarioResult) {
+        String exportedPath = fileExporter.exportFile(scenarioResult,
+            apiGhostSetting.getResultExtension(), apiGhostSetting.getResultPath());
+        return ResultSummaryStore.summarize(new File(exportedPath).getName(), scenarioResult);
+    }
+
+    @Override
+    public List<ResultSummary> getSummaries() {
+        return fileWatchIndex.getResultSummaries();
+    }
+
+    @Override
+    public List<ResultSummary> findSummaries(ResultCursor after, String scenarioName,
+        Boolean success, Long from, Long to, int limit) {
+        return fileWatchIndex.findResults(after, scenarioName, success, from, to, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The configured format is tried first, falling back to the other format for results written
+     * before a format change.
+     * </p>
+     */
+    @Override
+    public String resolveName(String resultName) {
+        if (apiGhostSetting.isResultFile(resultName)) {
+            return resultName;
+        }
+        String preferred = resultName + apiGhostSetting.getResultExtension();
+        if (resultFile(preferred).isFile()) {
+            return preferred;
+        }
+        String fallback = resultName + (apiGhostSetting.getResultFormat() == ResultFormat.JSON
+            ? ResultFormat.SMILE_GZIP_EXTENSION : apiGhostSetting.getFormatJson());
+        return resultFile(fallback).isFile() ? fallback : preferred;
+    }
+
+    @Override
+    public <T> T stream(String resultName, ResultStreamHandler<T> handler) throws IOException {
+        try (JsonParser parser = ResultFormat.of(resultName).createParser(
+            resultFile(resultName))) {
+            return handler.handle(parser);
+        }
+    }
+
+    @Override
+    public boolean delete(String resultName) {
+        File file = resultFile(resultName);
+        if (!file.isFile()) {
+            log.error("Target path is not a file: {}", resultName);
+            return false;
+        }
+        try {
+            Files.delete(file.toPath());
+        } catch (IOException e) {
+            log.error("An error occurred while deleting the file: {}", resultName, e);
+            return false;
+        }
+        resultSummaryStore.delete(resultName);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Under {@link FsyncPolicy#BATCH} the result directory entries are forced once here instead
+     * of after every file.
+     * </p>
+     */
+    @Override
+    public void flush() {
+        if (fsyncPolicy == FsyncPolicy.BATCH) {
+            AtomicFileWriter.forceDirectory(Paths.get(apiGhostSetting.getResultPath()));
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Removes temporary files left behind by writes that were interrupted by a crash.
+     */
+    private void deleteTempFiles() {
+        File[] tempFiles = new File(apiGhostSetting.getResultPath()).listFiles(
+            (directory, name) -> AtomicFileWriter.isTempFile(name));
+        if (tempFiles == null) {
+            return;
+        }
+        for (File tempFile : tempFiles) {
+            if (!tempFile.delete()) {
+                log.warn("Failed to delete temporary result file: {}", tempFile.getName());
+            }
+        }
+    }
+
+    private File resultFile(String resultName) {
+        return new File(apiGhostSetting.getResultPath(), resultName);
+    }
+}
@@ -0,0 +1,112 @@
+package com.apighost.agent.store;
+
+import com.apighost.agent.index.ResultCursor;
+import com.apighost.agent.model.ResultSummary;
+import com.apighost.model.scenario.ScenarioResult;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage of executed {@link ScenarioResult}s.
+ * <p>
+ * Results are addressed by the name assigned when they are saved (e.g.,
+ * {@code login_20250515_095000.json}). Listing is served from result summaries, and the content
+ * of a result can be consumed as a stream so that large results never have to be held in memory.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public interface ResultStore extends AutoCloseable {
+
+    /**
+     * Stores a new result.
+     *
+     * @param scenarioResult the result to store
+     * @return the summary of the stored result, including its assigned name
+     * @throws IOException if the result cannot be stored
+     */
+    ResultSummary save(ScenarioResult scenarioResult) throws IOException;
+
+    /**
+     * Returns the summaries of every stored result.
+     *
+     * @return the result summaries in name order
+     */
+    List<ResultSummary> getSummaries();
+
+    /**
+     * Returns one page of result summaries in newest-first order.
+     *
+     * @param after        the position of the last result of the previous page, or
+     *                     {@code null} for the first page
+     * @param scenarioName the scenario name to match, or {@code null} for any scenario
+     * @param success      the success flag to match, or {@code null} for any result
+     * @param from         the inclusive lower bound of the execution instant in epoch
+     *                     milliseconds, or {@code null}
+     * @param to           the inclusive upper bound of the execution instant in epoch
+     *                     milliseconds, or {@code null}
+     * @param limit        the maximum number of summaries to return
+     * @return the matching summaries, newest first
+     */
+    List<ResultSummary> findSummaries(ResultCursor after, String scenarioName, Boolean success,
+        Long from, Long to, int limit);
+
+    /**
+     * Completes a result name that was given without its extension.
+     *
+     * @param resultName the result name, with or without extension
+     * @return the stored name of the result, or the name with the configured extension if no
+     * stored result matches
+     */
+    String resolveName(String resultName);
+
+    /**
+     * Opens the stored result for streaming and passes it to the handler.
+     * <p>
+     * The parser is only valid until the handler returns.
+     * </p>
+     *
+     * @param resultName the stored result name
+     * @param handler    the handler consuming the result
+     * @param <T>        the handler's return type
+     * @return the value returned by the handler
+     * @throws IOException if the result does not exist or cannot be read
+     */
+    <T> T stream(String resultName, ResultStreamHandler<T> handler) throws IOException;
+
+    /**
+     * Reads the whole stored result.
+     *
+     * @param resultName the stored result name
+     * @return the result
+     * @throws IOException if the result does not exist or cannot be read
+     */
+    default ScenarioResult read(String resultName) throws IOException {
+        return stream(resultName, parser -> parser.readValueAs(ScenarioResult.class));
+    }
+
+    /**
+     * Deletes a stored result.
+     *
+     * @param resultName the stored result name
+     * @return {@code true} if the result existed and was deleted
+     */
+    boolean delete(String resultName);
+
+    /**
+     * Forces results saved so far to stable storage as required by the configured fsync policy.
+     * Called after each batch of saves.
+     *
+     * @throws IOException if the results cannot be forced to disk
+     */
+    default void flush() throws IOException {
+    }
+
+    /**
+     * Releases the resources held by the store.
+     */
+    @Override
+    void close();
+}
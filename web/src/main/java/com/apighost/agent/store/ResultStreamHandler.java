@@ -0,0 +1,26 @@
+package com.apighost.agent.store;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Consumes a stored result as a stream of tokens.
+ *
+ * @param <T> the type of value produced from the result
+ * @author kobenlys
+ * @version BETA-0.0.1
+ * @see ResultStore#stream(String, ResultStreamHandler)
+ */
+@FunctionalInterface
+public interface ResultStreamHandler<T> {
+
+    /**
+     * Consumes the result.
+     *
+     * @param parser a parser positioned before the first token of the result
+     * @return the produced value
+     * @throws IOException if the result cannot be read
+     */
+    T handle(JsonParser parser) throws IOException;
+}
@@ -0,0 +1,26 @@
+package com.apighost.agent.store;
+
+import com.apighost.agent.model.ResultSummary;
+import com.apighost.model.scenario.ScenarioResult;
+
+/**
+ * Callback notified by {@link ResultWriteQueue} after a result has been saved to its
+ * {@link ResultStore}.
+ * <p>
+ * Listeners run on the writer thread, so they should only do cheap, in-memory work.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@FunctionalInterface
+public interface ResultWriteListener {
+
+    /**
+     * Called once a result has been saved.
+     *
+     * @param resultSummary  the summary of the saved result
+     * @param scenarioResult the saved result
+     */
+    void onSaved(ResultSummary resultSummary, ScenarioResult scenarioResult);
+}
@@ -0,0 +1,237 @@
+package com.apighost.agent.store;
+
+import com.apighost.agent.model.ResultSummary;
+import com.apighost.model.scenario.ScenarioResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists scenario results on a background thread, off the execution path.
+ * <p>
+ * Submitted results wait in a bounded queue and are saved to the {@link ResultStore} in batches,
+ * with one {@link ResultStore#flush()} per batch. When the queue is full, {@link #submit} blocks
+ * until there is room, which slows down producers instead of dropping results. Closing the queue
+ * stops accepting results and writes out everything still queued.
+ * </p>
+ * <p>
+ * Callers that must not block, such as the threads completing scenario steps, use
+ * {@link #submitAsync} instead: it hands the result to a single handoff thread, which does the
+ * waiting. Every run submits one result, so the handoffs waiting for that thread are bounded by
+ * the number of runs in flight.
+ * </p>
+ * <p>
+ * Queueing a result and closing exclude each other, so no result can be queued after closing
+ * has begun; later results are saved on the submitting thread. Only the writer thread takes
+ * results from the queue, unless it has terminated.
+ * </p>
+ * <p>
+ * Registered {@link ResultWriteListener}s are notified on the writer thread after each
+ * successful save.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ResultWriteQueue implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultWriteQueue.class);
+    private static final long POLL_INTERVAL_MILLIS = 200;
+    private static final long CLOSE_TIMEOUT_MILLIS = 30_000;
+
+    private final ResultStore resultStore;
+    private final BlockingQueue<ScenarioResult> queue;
+    private final int batchSize;
+    private final Thread writerThread;
+    private final ExecutorService handoffExecutor;
+    private final List<ResultWriteListener> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a {@code ResultWriteQueue} and starts its writer thread.
+     *
+     * @param resultStore the store results are saved to
+     * @param capacity    the number of results that may wait to be written
+     * @param batchSize   the maximum number of results saved per batch
+     */
+    public ResultWriteQueue(ResultStore resultStore, int capacity, int batchSize) {
+        this.resultStore = resultStore;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.writerThread = new Thread(this::writeLoop, "apighost-result-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        this.handoffExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "apighost-result-handoff");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a result to be saved.
+     * <p>
+     * After {@link #close()} the result is saved on the calling thread instead.
+     * </p>
+     *
+     * @param scenarioResult the result to save
+     * @throws IllegalStateException if the calling thread is interrupted while waiting for room
+     */
+    public void submit(ScenarioResult scenarioResult) {
+        try {
+            while (true) {
+                stateLock.readLock().lock();
+                try {
+                    if (!running) {
+                        break;
+                    }
+                    if (queue.offer(scenarioResult, POLL_INTERVAL_MILLIS,
+                        TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } finally {
+                    stateLock.readLock().unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing result: "
+                + scenarioResult.getName(), e);
+        }
+        writeBatch(List.of(scenarioResult));
+    }
+
+    /**
+     * Queues a result to be saved without blocking the calling thread. Waiting for room in the
+     * queue is left to the handoff thread.
+     * <p>
+     * After {@link #close()} the result is saved on the calling thread instead.
+     * </p>
+     *
+     * @param scenarioResult the result to save
+     */
+    public void submitAsync(ScenarioResult scenarioResult) {
+        try {
+            handoffExecutor.execute(() -> submit(scenarioResult));
+        } catch (RejectedExecutionException e) {
+            submit(scenarioResult);
+        }
+    }
+
+    /**
+     * Registers a listener that is notified after every saved result.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(ResultWriteListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the number of results waiting to be written.
+     *
+     * @return the current queue depth
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting results and blocks until every queued result has been written. If the
+     * writer thread does not finish in time, it is left to write the rest of the queue.
+     */
+    @Override
+    public void close() {
+        handoffExecutor.shutdown();
+        try {
+            if (!handoffExecutor.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                log.warn("Result handoff did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stateLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Result writer did not finish in time, {} results are still queued",
+                queue.size());
+            return;
+        }
+
+        List<ScenarioResult> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeBatch(remaining);
+        }
+    }
+
+    private void writeLoop() {
+        List<ScenarioResult> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ScenarioResult first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<ScenarioResult> batch) {
+        for (ScenarioResult scenarioResult : batch) {
+            ResultSummary resultSummary;
+            try {
+                resultSummary = resultStore.save(scenarioResult);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to save scenario result: {}", scenarioResult.getName(), e);
+                continue;
+            }
+            notifyListeners(resultSummary, scenarioResult);
+        }
+        try {
+            resultStore.flush();
+        } catch (IOException e) {
+            log.error("Failed to flush scenario results", e);
+        }
+    }
+
+    private void notifyListeners(ResultSummary resultSummary, ScenarioResult scenarioResult) {
+        for (ResultWriteListener listener : listeners) {
+            try {
+                listener.onSaved(resultSummary, scenarioResult);
+            } catch (RuntimeException e) {
+                log.error("Result write listener failed: {}", resultSummary.getFileName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,778 @@
+package com.apighost.agent.store;
+
+import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.config.ResultStoreSetting;
+import com.apighost.agent.file.AtomicFileWriter;
+import com.apighost.agent.file.FileExporter;
+import com.apighost.agent.file.FsyncPolicy;
+import com.apighost.agent.file.ResultFormat;
+import com.apighost.agent.file.ResultSummaryStore;
+import com.apighost.agent.index.ResultCursor;
+import com.apighost.agent.index.ResultSummaryIndex;
+import com.apighost.agent.model.ResultSummary;
+import com.apighost.agent.util.ExecutionTimestamps;
+import com.apighost.agent.util.ObjectWriterHolder;
+import com.apighost.model.scenario.ScenarioResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ResultStore} that appends results to a small number of log segment files.
+ * <p>
+ * Each result is written as one record to the active segment in
+ * {@code <resultPath>/segments}. A record holds the result name, its {@link ResultSummary} and
+ * the encoded result, and deletions are written as tombstone records. The active segment is
+ * rolled once it exceeds the configured size or age. On startup the in-memory offset index and
+ * summary index are rebuilt by reading record headers only; payloads are skipped, except for the
+ * last record of each segment, which is verified to detect a torn write. A torn tail of the
+ * active segment is truncated. A closed segment is never truncated: if it is damaged, only the
+ * records before the damage are indexed and the file is kept as it is for inspection, excluded
+ * from compaction.
+ * </p>
+ * <p>
+ * A background task applies the retention rules and compacts closed segments whose share of
+ * dead bytes exceeds the configured ratio, by copying their live records into the active
+ * segment and deleting the old file once the copies are forced to disk. Results are parsed
+ * outside the store lock; a reader holds a reference to its segment, so a compacted segment is
+ * closed and deleted only after its last reader has finished.
+ * </p>
+ * <p>
+ * Record layout (big-endian):
+ * {@code magic:int, type:byte, format:byte, nameLength:int, summaryLength:int,
+ * payloadLength:int, name, summary, headerCrc:int, payload, payloadCrc:int}.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class SegmentedResultStore implements ResultStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentedResultStore.class);
+
+    private static final String SEGMENT_DIRECTORY = "segments";
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final int MAGIC = 0x41475253;
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_TOMBSTONE = 2;
+    private static final int FIXED_HEADER_BYTES = 18;
+    private static final int CRC_BYTES = 4;
+
+    private final ApiGhostSetting apiGhostSetting;
+    private final ResultStoreSetting resultStoreSetting;
+    private final Path segmentDirectory;
+    private final ObjectWriter summaryWriter;
+    private final ObjectReader summaryReader;
+    private final ResultSummaryIndex resultSummaryIndex = new ResultSummaryIndex();
+    private final Map<String, RecordLocation> locations = new HashMap<>();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService maintenanceExecutor;
+
+    private Segment activeSegment;
+
+    /**
+     * Opens the segment directory, rebuilds the indexes from the existing segments and schedules
+     * retention and compaction.
+     *
+     * @param apiGhostSetting    the path and format settings
+     * @param resultStoreSetting the segment, retention and compaction settings
+     * @throws IllegalStateException if the segment directory cannot be opened
+     */
+    public SegmentedResultStore(ApiGhostSetting apiGhostSetting,
+        ResultStoreSetting resultStoreSetting) {
+        this.apiGhostSetting = apiGhostSetting;
+        this.resultStoreSetting = resultStoreSetting;
+        this.segmentDirectory = Paths.get(apiGhostSetting.getResultPath(), SEGMENT_DIRECTORY);
+        this.summaryWriter = ObjectWriterHolder.summaryWriter();
+        this.summaryReader = ObjectWriterHolder.summaryReader();
+
+        try {
+            Files.createDirectories(segmentDirectory);
+            load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open result segments: " + segmentDirectory,
+                e);
+        }
+
+        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "apighost-result-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = resultStoreSetting.getCompactionInterval().toMillis();
+        maintenanceExecutor.scheduleWithFixedDelay(this::runMaintenance, intervalMillis,
+            intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ResultSummary save(ScenarioResult scenarioResult) throws IOException {
+        ResultFormat resultFormat = apiGhostSetting.getResultFormat();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        resultFormat.write(payload, scenarioResult);
+
+        ResultSummary summary;
+        lock.writeLock().lock();
+        try {
+            /* Named under the lock, so an existing record is never replaced by a new result. */
+            String resultName = FileExporter.buildUniqueResultFileName(scenarioResult.getName(),
+                apiGhostSetting.getResultExtension(), locations::containsKey);
+            summary = ResultSummaryStore.summarize(resultName, scenarioResult);
+            byte[] summaryBytes = summaryWriter.writeValueAsBytes(summary);
+            RecordLocation location = append(TYPE_PUT, resultFormat, resultName, summaryBytes,
+                payload.toByteArray());
+            replaceLocation(resultName, location);
+            resultSummaryIndex.put(summary);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return summary;
+    }
+
+    @Override
+    public List<ResultSummary> getSummaries() {
+        return resultSummaryIndex.getAll();
+    }
+
+    @Override
+    public List<ResultSummary> findSummaries(ResultCursor after, String scenarioName,
+        Boolean success, Long from, Long to, int limit) {
+        return resultSummaryIndex.find(after, scenarioName, success, from, to, limit);
+    }
+
+    @Override
+    public String resolveName(String resultName) {
+        if (apiGhostSetting.isResultFile(resultName)) {
+            return resultName;
+        }
+        String preferred = resultName + apiGhostSetting.getResultExtension();
+        if (resultSummaryIndex.get(preferred) != null) {
+            return preferred;
+        }
+        String fallback = resultName + (apiGhostSetting.getResultFormat() == ResultFormat.JSON
+            ? ResultFormat.SMILE_GZIP_EXTENSION : apiGhostSetting.getFormatJson());
+        return resultSummaryIndex.get(fallback) != null ? fallback : preferred;
+    }
+
+    @Override
+    public <T> T stream(String resultName, ResultStreamHandler<T> handler) throws IOException {
+        RecordLocation location;
+        Segment segment;
+        lock.readLock().lock();
+        try {
+            location = locations.get(resultName);
+            if (location == null) {
+                throw new FileNotFoundException("Result not found: " + resultName);
+            }
+            segment = segments.get(location.segmentId);
+            segment.retain();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try {
+            InputStream payload = new RegionInputStream(segment.channel, location.payloadOffset(),
+                location.payloadLength);
+            try (JsonParser parser = location.format.createParser(payload)) {
+                return handler.handle(parser);
+            }
+        } finally {
+            segment.release();
+        }
+    }
+
+    @Override
+    public boolean delete(String resultName) {
+        lock.writeLock().lock();
+        try {
+            if (!locations.containsKey(resultName)) {
+                log.error("Result not found: {}", resultName);
+                return false;
+            }
+            append(TYPE_TOMBSTONE, ResultFormat.JSON, resultName, new byte[0], new byte[0]);
+            replaceLocation(resultName, null);
+            resultSummaryIndex.remove(resultName);
+            return true;
+        } catch (IOException e) {
+            log.error("An error occurred while deleting the result: {}", resultName, e);
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Records are only ever appended and carry checksums, so a crash can at worst leave a torn
+     * last record, which is truncated on the next startup. Forcing the active segment here bounds
+     * how many completed saves such a crash can lose.
+     * </p>
+     */
+    @Override
+    public void flush() throws IOException {
+        if (!resultStoreSetting.getFsyncPolicy().syncFiles()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            activeSegment.channel.force(false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops background maintenance and closes every segment.
+     */
+    @Override
+    public void close() {
+        maintenanceExecutor.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.channel.force(true);
+                    segment.channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close result segment: {}", segment.path, e);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the retention rules, then compacts closed segments. Runs on the maintenance thread.
+     */
+    void runMaintenance() {
+        try {
+            applyRetention();
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Result segment maintenance failed", e);
+        }
+    }
+
+    private void applyRetention() {
+        if (resultStoreSetting.getRetentionDays() > 0) {
+            long cutoff = Instant.now()
+                .minus(Duration.ofDays(resultStoreSetting.getRetentionDays()))
+                .toEpochMilli();
+            for (ResultSummary summary : resultSummaryIndex.getAll()) {
+                long executedAt = ExecutionTimestamps.toEpochMillis(summary.getExecutedAt());
+                if (executedAt != ExecutionTimestamps.UNKNOWN && executedAt < cutoff) {
+                    delete(summary.getFileName());
+                }
+            }
+        }
+
+        int keepPerScenario = resultStoreSetting.getRetentionKeepPerScenario();
+        if (keepPerScenario > 0) {
+            for (String scenarioName : resultSummaryIndex.getScenarioNames()) {
+                List<ResultSummary> results = resultSummaryIndex.find(null, scenarioName, null,
+                    null, null, Integer.MAX_VALUE);
+                for (int i = keepPerScenario; i < results.size(); i++) {
+                    delete(results.get(i).getFileName());
+                }
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : new ArrayList<>(segments.values())) {
+                if (segment == activeSegment || segment.damaged || segment.garbageRatio()
+                    < resultStoreSetting.getCompactionMinGarbageRatio()) {
+                    continue;
+                }
+                compactSegment(segment);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the live records of a closed segment to the active segment and deletes it.
+     * Tombstones are carried over while an older segment could still hold the record they delete.
+     * The copies are forced to disk before the old file is deleted, so a crash in between leaves
+     * the records in both segments rather than in neither.
+     */
+    private void compactSegment(Segment segment) throws IOException {
+        boolean olderSegmentExists = segments.firstKey() < segment.id;
+        long position = 0;
+        while (position < segment.size) {
+            RecordHeader header = readHeader(segment.channel, position, segment.size);
+            RecordLocation current = locations.get(header.name);
+            boolean live = header.type == TYPE_PUT && current != null
+                && current.segmentId == segment.id && current.offset == position;
+            boolean carryTombstone = header.type == TYPE_TOMBSTONE && olderSegmentExists
+                && current == null;
+
+            if (live || carryTombstone) {
+                ByteBuffer record = ByteBuffer.allocate(Math.toIntExact(header.recordLength()));
+                readFully(segment.channel, record, position);
+                RecordLocation moved = appendRaw(record, header);
+                if (live) {
+                    replaceLocation(header.name, moved);
+                }
+            }
+            position += header.recordLength();
+        }
+
+        activeSegment.channel.force(true);
+        segments.remove(segment.id);
+        segment.retire(resultStoreSetting.getFsyncPolicy().syncFiles());
+        log.info("Compacted result segment {}", segment.path.getFileName());
+    }
+
+    private void load() throws IOException {
+        List<Path> segmentFiles = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(segmentDirectory,
+            "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segmentFiles::add);
+        }
+
+        for (Path segmentFile : segmentFiles) {
+            String fileName = segmentFile.getFileName().toString();
+            long id = Long.parseLong(
+                fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+            segments.put(id, Segment.open(id, segmentFile));
+        }
+
+        for (Segment segment : segments.values()) {
+            replay(segment);
+        }
+
+        if (segments.isEmpty()) {
+            activeSegment = createSegment(0);
+        } else if (segments.lastEntry().getValue().damaged) {
+            activeSegment = createSegment(segments.lastKey() + 1);
+        } else {
+            activeSegment = segments.lastEntry().getValue();
+        }
+    }
+
+    /**
+     * Indexes the records of a segment. A record that cannot be read ends the segment. In the last
+     * segment, the one that was being appended to, an incomplete or zero-filled tail or a final
+     * record with a bad payload is a torn write and is truncated; any other damage, and any damage
+     * of an earlier segment, only marks the segment as damaged.
+     */
+    private void replay(Segment segment) throws IOException {
+        boolean active = segment.id == segments.lastKey();
+        long position = 0;
+        while (position < segment.size) {
+            RecordHeader header;
+            try {
+                header = readHeader(segment.channel, position, segment.size);
+            } catch (IOException e) {
+                endReplay(segment, position,
+                    active && (e instanceof EOFException || isZeroFilled(segment, position)), e);
+                break;
+            }
+            if (position + header.recordLength() == segment.size) {
+                try {
+                    verifyPayload(segment.channel, position, header);
+                } catch (IOException e) {
+                    endReplay(segment, position, active, e);
+                    break;
+                }
+            }
+
+            if (header.type == TYPE_PUT) {
+                replaceLocation(header.name, new RecordLocation(segment.id, position, header));
+                resultSummaryIndex.put(summaryReader.readValue(header.summary));
+            } else {
+                replaceLocation(header.name, null);
+                resultSummaryIndex.remove(header.name);
+            }
+            position += header.recordLength();
+        }
+    }
+
+    private void endReplay(Segment segment, long position, boolean tornTail, IOException cause)
+        throws IOException {
+        if (tornTail) {
+            log.warn("Truncating torn tail of result segment {} at {}: {}",
+                segment.path.getFileName(), position, cause.getMessage());
+            segment.channel.truncate(position);
+        } else {
+            log.error("Result segment {} is damaged at {}, skipping the rest of it: {}",
+                segment.path.getFileName(), position, cause.getMessage());
+            segment.damaged = true;
+        }
+        segment.size = position;
+    }
+
+    private static boolean isZeroFilled(Segment segment, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long readPosition = position;
+        while (readPosition < segment.size) {
+            buffer.clear();
+            int read = segment.channel.read(buffer, readPosition);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) != 0) {
+                    return false;
+                }
+            }
+            readPosition += read;
+        }
+        return true;
+    }
+
+    private RecordLocation append(byte type, ResultFormat format, String name,
+        byte[] summaryBytes, byte[] payloadBytes) throws IOException {
+
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int headerLength = FIXED_HEADER_BYTES + nameBytes.length + summaryBytes.length;
+        ByteBuffer record = ByteBuffer.allocate(
+            headerLength + CRC_BYTES + payloadBytes.length + CRC_BYTES);
+
+        record.putInt(MAGIC)
+            .put(type)
+            .put(format.getId())
+            .putInt(nameBytes.length)
+            .putInt(summaryBytes.length)
+            .putInt(payloadBytes.length)
+            .put(nameBytes)
+            .put(summaryBytes);
+        record.putInt(crc(record.array(), 0, headerLength));
+        record.put(payloadBytes);
+        record.putInt(crc(payloadBytes, 0, payloadBytes.length));
+        record.flip();
+
+        return appendRaw(record, new RecordHeader(type, format, name, summaryBytes,
+            nameBytes.length, payloadBytes.length));
+    }
+
+    private RecordLocation appendRaw(ByteBuffer record, RecordHeader header) throws IOException {
+        rollIfNeeded(record.remaining());
+        long position = activeSegment.size;
+        long writePosition = position;
+        while (record.hasRemaining()) {
+            writePosition += activeSegment.channel.write(record, writePosition);
+        }
+        activeSegment.size = writePosition;
+        if (resultStoreSetting.getFsyncPolicy() == FsyncPolicy.ALWAYS) {
+            activeSegment.channel.force(false);
+        }
+        return new RecordLocation(activeSegment.id, position, header);
+    }
+
+    private void rollIfNeeded(int recordLength) throws IOException {
+        if (activeSegment.size == 0) {
+            return;
+        }
+        boolean full = activeSegment.size + recordLength > resultStoreSetting.getSegmentMaxBytes();
+        boolean expired = System.currentTimeMillis() - activeSegment.createdAtMillis
+            > resultStoreSetting.getSegmentMaxAge().toMillis();
+        if (full || expired) {
+            activeSegment.channel.force(true);
+            activeSegment = createSegment(activeSegment.id + 1);
+        }
+    }
+
+    private Segment createSegment(long id) throws IOException {
+        Segment segment = Segment.open(id,
+            segmentDirectory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX)));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    /**
+     * Points a result name at a new record, or removes it when {@code location} is {@code null},
+     * keeping the live byte count of the affected segments up to date.
+     */
+    private void replaceLocation(String name, RecordLocation location) {
+        RecordLocation previous = location == null ? locations.remove(name)
+            : locations.put(name, location);
+        if (previous != null) {
+            Segment previousSegment = segments.get(previous.segmentId);
+            if (previousSegment != null) {
+                previousSegment.liveBytes -= previous.recordLength;
+            }
+        }
+        if (location != null) {
+            segments.get(location.segmentId).liveBytes += location.recordLength;
+        }
+    }
+
+    private RecordHeader readHeader(FileChannel channel, long position, long segmentSize)
+        throws IOException {
+
+        if (position + FIXED_HEADER_BYTES > segmentSize) {
+            throw new EOFException("Incomplete record header");
+        }
+        ByteBuffer fixed = ByteBuffer.allocate(FIXED_HEADER_BYTES);
+        readFully(channel, fixed, position);
+        fixed.flip();
+
+        if (fixed.getInt() != MAGIC) {
+            throw new IOException("Invalid record marker");
+        }
+        byte type = fixed.get();
+        byte formatId = fixed.get();
+        int nameLength = fixed.getInt();
+        int summaryLength = fixed.getInt();
+        int payloadLength = fixed.getInt();
+        if ((type != TYPE_PUT && type != TYPE_TOMBSTONE) || nameLength < 0 || summaryLength < 0
+            || payloadLength < 0) {
+            throw new IOException("Invalid record header");
+        }
+
+        long recordLength = (long) FIXED_HEADER_BYTES + nameLength + summaryLength + CRC_BYTES
+            + payloadLength + CRC_BYTES;
+        if (position + recordLength > segmentSize) {
+            throw new EOFException("Incomplete record");
+        }
+
+        ByteBuffer variable = ByteBuffer.allocate(nameLength + summaryLength + CRC_BYTES);
+        readFully(channel, variable, position + FIXED_HEADER_BYTES);
+
+        CRC32 headerCrc = new CRC32();
+        headerCrc.update(fixed.array());
+        headerCrc.update(variable.array(), 0, nameLength + summaryLength);
+        variable.flip();
+        byte[] nameBytes = new byte[nameLength];
+        byte[] summaryBytes = new byte[summaryLength];
+        variable.get(nameBytes).get(summaryBytes);
+        if (variable.getInt() != (int) headerCrc.getValue()) {
+            throw new IOException("Record header checksum mismatch");
+        }
+
+        return new RecordHeader(type, ResultFormat.fromId(formatId),
+            new String(nameBytes, StandardCharsets.UTF_8), summaryBytes, nameLength,
+            payloadLength);
+    }
+
+    private void verifyPayload(FileChannel channel, long position, RecordHeader header)
+        throws IOException {
+        long payloadOffset = position + header.payloadOffset();
+        ByteBuffer payload = ByteBuffer.allocate(header.payloadLength + CRC_BYTES);
+        readFully(channel, payload, payloadOffset);
+        payload.flip();
+        int expected = payload.getInt(header.payloadLength);
+        if (expected != crc(payload.array(), 0, header.payloadLength)) {
+            throw new IOException("Record payload checksum mismatch");
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+        throws IOException {
+        long readPosition = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, readPosition);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of result segment");
+            }
+            readPosition += read;
+        }
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * An open segment file and its size and live byte counters.
+     * <p>
+     * The store holds one reference to every segment it lists and each reader holds one while it
+     * reads. Once compaction has retired the segment, the last reference to be released closes
+     * and deletes the file.
+     * </p>
+     */
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final long createdAtMillis;
+        private final AtomicInteger references = new AtomicInteger(1);
+        private long size;
+        private long liveBytes;
+        private boolean damaged;
+        private volatile boolean forceDirectoryOnDelete;
+
+        private Segment(long id, Path path, FileChannel channel, long createdAtMillis,
+            long size) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.createdAtMillis = createdAtMillis;
+            this.size = size;
+        }
+
+        private static Segment open(long id, Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long createdAtMillis = channel.size() == 0 ? System.currentTimeMillis()
+                : Files.getLastModifiedTime(path).toMillis();
+            return new Segment(id, path, channel, createdAtMillis, channel.size());
+        }
+
+        private double garbageRatio() {
+            return size == 0 ? 0 : 1 - (double) liveBytes / size;
+        }
+
+        private void retain() {
+            references.incrementAndGet();
+        }
+
+        /**
+         * Drops the reference of the store; the file is deleted once no reader uses it.
+         */
+        private void retire(boolean forceDirectory) {
+            forceDirectoryOnDelete = forceDirectory;
+            release();
+        }
+
+        private void release() {
+            if (references.decrementAndGet() != 0) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+                if (forceDirectoryOnDelete) {
+                    AtomicFileWriter.forceDirectory(path.getParent());
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete result segment: {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * The decoded header of one record.
+     */
+    private static final class RecordHeader {
+
+        private final byte type;
+        private final ResultFormat format;
+        private final String name;
+        private final byte[] summary;
+        private final int nameLength;
+        private final int payloadLength;
+
+        private RecordHeader(byte type, ResultFormat format, String name, byte[] summary,
+            int nameLength, int payloadLength) {
+            this.type = type;
+            this.format = format;
+            this.name = name;
+            this.summary = summary;
+            this.nameLength = nameLength;
+            this.payloadLength = payloadLength;
+        }
+
+        private long payloadOffset() {
+            return (long) FIXED_HEADER_BYTES + nameLength + summary.length + CRC_BYTES;
+        }
+
+        private long recordLength() {
+            return payloadOffset() + payloadLength + CRC_BYTES;
+        }
+    }
+
+    /**
+     * Where the current record of a result is stored.
+     */
+    private static final class RecordLocation {
+
+        private final long segmentId;
+        private final long offset;
+        private final long recordLength;
+        private final long payloadOffsetInRecord;
+        private final int payloadLength;
+        private final ResultFormat format;
+
+        private RecordLocation(long segmentId, long offset, RecordHeader header) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.recordLength = header.recordLength();
+            this.payloadOffsetInRecord = header.payloadOffset();
+            this.payloadLength = header.payloadLength;
+            this.format = header.format;
+        }
+
+        private long payloadOffset() {
+            return offset + payloadOffsetInRecord;
+        }
+    }
+
+    /**
+     * Reads a byte range of a segment with positional reads, so concurrent readers of the same
+     * channel do not interfere.
+     */
+    private static final class RegionInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+
+        private RegionInputStream(FileChannel channel, long position, long length) {
+            this.channel = channel;
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int toRead = (int) Math.min(length, remaining);
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, toRead), position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of result segment");
+            }
+            position += read;
+            remaining -= read;
+            return read;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.apighost.agent.tracing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SpanExporter} that appends every run as one OTLP/JSON line to a local file.
+ * <p>
+ * The file can be tailed, loaded by an OpenTelemetry collector file receiver, or replayed to a
+ * tracing backend, so step spans can be inspected without running a collector next to the agent.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSpanExporter.class);
+
+    private final Path file;
+    private final OtlpJsonEncoder encoder;
+
+    /**
+     * Constructs a {@code FileSpanExporter}. Relative paths are resolved against the working
+     * directory.
+     *
+     * @param filePath the file to append to
+     * @param encoder  the encoder of the exported runs
+     */
+    public FileSpanExporter(String filePath, OtlpJsonEncoder encoder) {
+        this.file = Paths.get(filePath).toAbsolutePath();
+        this.encoder = encoder;
+    }
+
+    @Override
+    public void export(List<Span> spans) {
+        if (spans.isEmpty()) {
+            return;
+        }
+        byte[] line = (encoder.encode(spans) + "\n").getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.warn("Failed to export spans to {}", file);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.apighost.agent.tracing;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SpanExporter} that posts every run to an OTLP/HTTP traces endpoint using the JSON
+ * encoding.
+ * <p>
+ * Requests are sent asynchronously, so a slow or unavailable collector never delays the
+ * scenario that produced the spans. Failed exports are logged and dropped.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class OtlpHttpSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(OtlpHttpSpanExporter.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI endpoint;
+    private final OtlpJsonEncoder encoder;
+    private final HttpClient httpClient;
+
+    /**
+     * Constructs an {@code OtlpHttpSpanExporter}.
+     *
+     * @param endpoint the traces endpoint, e.g. {@code http://localhost:4318/v1/traces}
+     * @param encoder  the encoder of the exported runs
+     * @throws IllegalArgumentException if the endpoint is not a valid URI
+     */
+    public OtlpHttpSpanExporter(String endpoint, OtlpJsonEncoder encoder) {
+        this.endpoint = URI.create(endpoint);
+        this.encoder = encoder;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    }
+
+    @Override
+    public void export(List<Span> spans) {
+        if (spans.isEmpty()) {
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(encoder.encode(spans)))
+            .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                if (error != null) {
+                    log.warn("Failed to export spans to {}: {}", endpoint, error.getMessage());
+                } else if (response.statusCode() / 100 != 2) {
+                    log.warn("Span export to {} was rejected with status {}", endpoint,
+                        response.statusCode());
+                }
+            });
+    }
+}
@@ -0,0 +1,107 @@
+package com.apighost.agent.tracing;
+
+import com.apighost.agent.util.ObjectMapperHolder;
+import com.apighost.agent.util.ObjectWriterHolder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes spans as an OTLP/JSON {@code ExportTraceServiceRequest}.
+ * <p>
+ * The output is accepted by the OTLP/HTTP traces endpoint of an OpenTelemetry collector, and one
+ * request per line is the format read by the collector's file receiver. Ids are hex encoded and
+ * 64-bit integers are written as strings, as the OTLP/JSON mapping requires.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class OtlpJsonEncoder {
+
+    private static final String SCOPE_NAME = "com.apighost.agent";
+    private static final int STATUS_OK = 1;
+    private static final int STATUS_ERROR = 2;
+
+    private final String serviceName;
+
+    public OtlpJsonEncoder(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    /**
+     * Encodes the given spans as a compact JSON document.
+     *
+     * @param spans the spans to encode
+     * @return the {@code ExportTraceServiceRequest} JSON
+     * @throws IllegalStateException if the document cannot be serialized
+     */
+    public String encode(List<Span> spans) {
+        JsonNodeFactory nodes = ObjectMapperHolder.getInstance().getNodeFactory();
+        ObjectNode request = nodes.objectNode();
+        ObjectNode resourceSpans = request.putArray("resourceSpans").addObject();
+
+        ArrayNode resourceAttributes = resourceSpans.putObject("resource").putArray("attributes");
+        addAttribute(resourceAttributes, "service.name", serviceName);
+
+        ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+        scopeSpans.putObject("scope").put("name", SCOPE_NAME);
+        ArrayNode spanArray = scopeSpans.putArray("spans");
+        for (Span span : spans) {
+            spanArray.add(encodeSpan(span, nodes));
+        }
+
+        try {
+            return ObjectWriterHolder.jsonWriter().writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode spans", e);
+        }
+    }
+
+    private ObjectNode encodeSpan(Span span, JsonNodeFactory nodes) {
+        ObjectNode node = nodes.objectNode();
+        node.put("traceId", span.getContext().getTraceId());
+        node.put("spanId", span.getContext().getSpanId());
+        if (span.getParentSpanId() != null) {
+            node.put("parentSpanId", span.getParentSpanId());
+        }
+        node.put("name", span.getName());
+        node.put("kind", span.getKind().getOtlpValue());
+        node.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+        node.put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+
+        ArrayNode attributes = node.putArray("attributes");
+        for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+            addAttribute(attributes, attribute.getKey(), attribute.getValue());
+        }
+
+        ArrayNode events = node.putArray("events");
+        for (Span.Event event : span.getEvents()) {
+            events.addObject()
+                .put("timeUnixNano", Long.toString(event.epochNanos()))
+                .put("name", event.name());
+        }
+
+        node.putObject("status").put("code", span.isError() ? STATUS_ERROR : STATUS_OK);
+        return node;
+    }
+
+    private void addAttribute(ArrayNode attributes, String key, Object value) {
+        ObjectNode attribute = attributes.addObject();
+        attribute.put("key", key);
+        ObjectNode anyValue = attribute.putObject("value");
+        if (value instanceof Boolean bool) {
+            anyValue.put("boolValue", bool);
+        } else if (value instanceof Integer || value instanceof Long) {
+            anyValue.put("intValue", value.toString());
+        } else if (value instanceof Number number) {
+            anyValue.put("doubleValue", number.doubleValue());
+        } else {
+            anyValue.put("stringValue", String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.apighost.agent.tracing;
+
+import com.apighost.model.scenario.step.Step;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Trace of one scenario run: a root span for the scenario and a child span for every step.
+ * <p>
+ * A trace belongs to one scenario run. Its steps run one after another, but each may continue
+ * on a different thread, the thread completing the previous step; the chaining of the steps
+ * orders every use of the trace, so it needs no locking but must not be shared between runs.
+ * Ending it ends the root span and exports all spans of the run at once.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ScenarioTrace {
+
+    static final ScenarioTrace NOOP = new ScenarioTrace();
+    private static final Logger log = LoggerFactory.getLogger(ScenarioTrace.class);
+
+    private final TraceClock clock;
+    private final Span rootSpan;
+    private final List<Span> spans;
+    private final SpanExporter spanExporter;
+    private int stepCount;
+
+    ScenarioTrace(String scenarioName, SpanExporter spanExporter) {
+        this.clock = new TraceClock();
+        this.rootSpan = new Span("scenario " + scenarioName, Span.Kind.INTERNAL,
+            TraceContext.newTrace(), null, clock.nowEpochNanos());
+        this.rootSpan.setAttribute("apighost.scenario.name", scenarioName);
+        this.spans = new ArrayList<>();
+        this.spans.add(rootSpan);
+        this.spanExporter = spanExporter;
+    }
+
+    private ScenarioTrace() {
+        this.clock = null;
+        this.rootSpan = null;
+        this.spans = null;
+        this.spanExporter = SpanExporter.NONE;
+    }
+
+    /**
+     * Returns the trace id of the run.
+     *
+     * @return the trace id, or {@code null} if the run is not traced
+     */
+    public String getTraceId() {
+        return rootSpan == null ? null : rootSpan.getContext().getTraceId();
+    }
+
+    /**
+     * Starts the span of a step and returns it together with the copy of the step whose request
+     * carries the span's {@code traceparent} header.
+     *
+     * @param stepKey the key of the step in the scenario
+     * @param step    the step about to be executed
+     * @return the span of the step
+     */
+    public StepSpan startStep(String stepKey, Step step) {
+        if (rootSpan == null) {
+            return StepSpan.untraced(step);
+        }
+        TraceContext context = rootSpan.getContext().newChild();
+        Span span = new Span(stepKey, Span.Kind.CLIENT, context,
+            rootSpan.getContext().getSpanId(), clock.nowEpochNanos());
+        spans.add(span);
+        stepCount++;
+        return StepSpan.traced(span, clock, step);
+    }
+
+    /**
+     * Ends the root span and exports every span of the run.
+     *
+     * @param success whether every step of the scenario succeeded
+     */
+    public void end(boolean success) {
+        if (rootSpan == null) {
+            return;
+        }
+        rootSpan.setAttribute("apighost.scenario.success", success);
+        rootSpan.setAttribute("apighost.scenario.step_count", stepCount);
+        rootSpan.end(clock.nowEpochNanos(), !success);
+        try {
+            spanExporter.export(spans);
+        } catch (RuntimeException e) {
+            log.warn("Failed to export spans of trace {}", getTraceId(), e);
+        }
+    }
+}
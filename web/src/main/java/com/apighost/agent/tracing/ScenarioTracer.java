@@ -0,0 +1,52 @@
+package com.apighost.agent.tracing;
+
+/**
+ * Starts the trace of each scenario run and hands the finished spans to a {@link SpanExporter}.
+ * <p>
+ * A disabled tracer returns traces that neither record spans nor change the steps, so the
+ * executor calls it unconditionally.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ScenarioTracer {
+
+    private static final ScenarioTracer DISABLED = new ScenarioTracer(false, SpanExporter.NONE);
+
+    private final boolean enabled;
+    private final SpanExporter spanExporter;
+
+    /**
+     * Constructs a {@code ScenarioTracer}.
+     *
+     * @param enabled      whether runs are traced
+     * @param spanExporter the destination of the spans of each run
+     */
+    public ScenarioTracer(boolean enabled, SpanExporter spanExporter) {
+        this.enabled = enabled;
+        this.spanExporter = spanExporter;
+    }
+
+    /**
+     * Returns a tracer that records nothing.
+     *
+     * @return the disabled tracer
+     */
+    public static ScenarioTracer disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Starts the trace of a scenario run.
+     *
+     * @param scenarioName the name of the scenario being run
+     * @return the trace of the run
+     */
+    public ScenarioTrace start(String scenarioName) {
+        if (!enabled) {
+            return ScenarioTrace.NOOP;
+        }
+        return new ScenarioTrace(scenarioName, spanExporter);
+    }
+}
@@ -0,0 +1,119 @@
+package com.apighost.agent.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Span recorded for a scenario run or one of its steps.
+ * <p>
+ * A span is written by the thread executing the scenario and only read by an exporter after
+ * the run has ended, so it is not synchronized. Timestamps are Unix epoch nanoseconds taken from
+ * the {@link TraceClock} of the run, so the phases of one trace are ordered consistently.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class Span {
+
+    /**
+     * Role of the span, using the OTLP span kind numbers.
+     */
+    public enum Kind {
+        INTERNAL(1),
+        CLIENT(3);
+
+        private final int otlpValue;
+
+        Kind(int otlpValue) {
+            this.otlpValue = otlpValue;
+        }
+
+        public int getOtlpValue() {
+            return otlpValue;
+        }
+    }
+
+    /**
+     * Timestamped point of interest within a span, such as the end of a timing phase.
+     *
+     * @param name       the event name
+     * @param epochNanos the time of the event in Unix epoch nanoseconds
+     */
+    public record Event(String name, long epochNanos) {
+
+    }
+
+    private final String name;
+    private final Kind kind;
+    private final TraceContext context;
+    private final String parentSpanId;
+    private final long startEpochNanos;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private final List<Event> events = new ArrayList<>();
+    private long endEpochNanos;
+    private boolean error;
+
+    Span(String name, Kind kind, TraceContext context, String parentSpanId,
+        long startEpochNanos) {
+        this.name = name;
+        this.kind = kind;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.startEpochNanos = startEpochNanos;
+    }
+
+    void setAttribute(String key, Object value) {
+        if (value != null) {
+            attributes.put(key, value);
+        }
+    }
+
+    void addEvent(String eventName, long epochNanos) {
+        events.add(new Event(eventName, epochNanos));
+    }
+
+    void end(long epochNanos, boolean error) {
+        this.endEpochNanos = epochNanos;
+        this.error = error;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public TraceContext getContext() {
+        return context;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getEndEpochNanos() {
+        return endEpochNanos;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public List<Event> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    public boolean isError() {
+        return error;
+    }
+}
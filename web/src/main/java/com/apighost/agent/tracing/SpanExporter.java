@@ -0,0 +1,27 @@
+package com.apighost.agent.tracing;
+
+import java.util.List;
+
+/**
+ * Destination of the spans recorded for a finished scenario run.
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+    /**
+     * Exporter that discards every span.
+     */
+    SpanExporter NONE = spans -> {
+    };
+
+    /**
+     * Exports the spans of one run. Implementations must not throw; export failures are logged
+     * and never fail the scenario.
+     *
+     * @param spans the spans of the run, root span first
+     */
+    void export(List<Span> spans);
+}
@@ -0,0 +1,117 @@
+package com.apighost.agent.tracing;
+
+import com.apighost.model.scenario.request.Request;
+import com.apighost.model.scenario.result.ResultStep;
+import com.apighost.model.scenario.step.Step;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Span of one executed step together with the step to execute in its place.
+ * <p>
+ * Steps are shared between runs of a compiled scenario, so the {@code traceparent} header is
+ * injected into a copy of the step and its request; the original is never changed. The span
+ * records two phases as events: {@code request.prepared}, once the traced request is built, and
+ * {@code response.received}, when the step executor returns. The duration reported by the
+ * executor is kept as an attribute, so the difference to the span duration shows the time spent
+ * outside the request itself.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class StepSpan {
+
+    private final Span span;
+    private final TraceClock clock;
+    private final Step step;
+
+    private StepSpan(Span span, TraceClock clock, Step step) {
+        this.span = span;
+        this.clock = clock;
+        this.step = step;
+    }
+
+    static StepSpan untraced(Step step) {
+        return new StepSpan(null, null, step);
+    }
+
+    static StepSpan traced(Span span, TraceClock clock, Step step) {
+        Request request = step.getRequest();
+        span.setAttribute("apighost.step.protocol",
+            step.getType() == null ? null : step.getType().name());
+        if (request == null) {
+            span.addEvent("request.prepared", clock.nowEpochNanos());
+            return new StepSpan(span, clock, step);
+        }
+
+        span.setAttribute("http.request.method",
+            request.getMethod() == null ? null : request.getMethod().name());
+        span.setAttribute("url.full", request.getUrl());
+
+        Map<String, String> header = new LinkedHashMap<>();
+        if (request.getHeader() != null) {
+            request.getHeader().forEach((name, value) -> {
+                if (!TraceContext.TRACEPARENT_HEADER.equalsIgnoreCase(name)) {
+                    header.put(name, value);
+                }
+            });
+        }
+        header.put(TraceContext.TRACEPARENT_HEADER, span.getContext().toTraceparent());
+
+        Step tracedStep = new Step.Builder()
+            .type(step.getType())
+            .position(step.getPosition())
+            .request(new Request.Builder()
+                .method(request.getMethod())
+                .url(request.getUrl())
+                .header(header)
+                .body(request.getBody())
+                .build())
+            .route(step.getRoute())
+            .build();
+        span.addEvent("request.prepared", clock.nowEpochNanos());
+        return new StepSpan(span, clock, tracedStep);
+    }
+
+    /**
+     * Returns the step to execute, carrying the {@code traceparent} header when traced.
+     *
+     * @return the step to pass to the step executor
+     */
+    public Step getStep() {
+        return step;
+    }
+
+    /**
+     * Ends the span with the result returned by the step executor.
+     *
+     * @param resultStep the result of the step
+     */
+    public void end(ResultStep resultStep) {
+        if (span == null) {
+            return;
+        }
+        long now = clock.nowEpochNanos();
+        span.addEvent("response.received", now);
+        span.setAttribute("http.response.status_code", resultStep.getStatus());
+        span.setAttribute("apighost.step.duration_ms", resultStep.getDurationMs());
+        span.setAttribute("apighost.step.success", resultStep.getIsRequestSuccess());
+        span.setAttribute("apighost.step.next", resultStep.getNextStep());
+        span.end(now, !resultStep.getIsRequestSuccess());
+    }
+
+    /**
+     * Ends the span of a step whose executor threw instead of returning a result.
+     *
+     * @param error the exception thrown by the step executor
+     */
+    public void fail(Exception error) {
+        if (span == null) {
+            return;
+        }
+        span.setAttribute("error.type", error.getClass().getName());
+        span.end(clock.nowEpochNanos(), true);
+    }
+}
@@ -0,0 +1,31 @@
+package com.apighost.agent.tracing;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monotonic clock reporting Unix epoch nanoseconds for the spans of one run.
+ * <p>
+ * The wall clock is read once when the run starts; later timestamps add the elapsed
+ * {@link System#nanoTime()}, so phase durations are not distorted by wall clock adjustments
+ * during the run.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+final class TraceClock {
+
+    private final long anchorEpochNanos;
+    private final long anchorNanoTime;
+
+    TraceClock() {
+        Instant now = Instant.now();
+        this.anchorNanoTime = System.nanoTime();
+        this.anchorEpochNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+    }
+
+    long nowEpochNanos() {
+        return anchorEpochNanos + (System.nanoTime() - anchorNanoTime);
+    }
+}
@@ -0,0 +1,83 @@
+package com.apighost.agent.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identity of one span within a trace, rendered as a W3C {@code traceparent} header.
+ * <p>
+ * Trace ids are 16 random bytes and span ids 8 random bytes, both lower-case hex and never all
+ * zero, as required by the W3C Trace Context specification. Every context created here is
+ * sampled.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public final class TraceContext {
+
+    /**
+     * Name of the W3C trace context request header.
+     */
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private static final String VERSION = "00";
+    private static final String SAMPLED = "01";
+
+    private final String traceId;
+    private final String spanId;
+
+    private TraceContext(String traceId, String spanId) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+    }
+
+    /**
+     * Creates the context of the root span of a new trace.
+     *
+     * @return a context with a new trace id and span id
+     */
+    public static TraceContext newTrace() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(hex(nonZero(random)) + hex(random.nextLong()),
+            hex(nonZero(random)));
+    }
+
+    /**
+     * Creates the context of a child span in the same trace.
+     *
+     * @return a context with the same trace id and a new span id
+     */
+    public TraceContext newChild() {
+        return new TraceContext(traceId, hex(nonZero(ThreadLocalRandom.current())));
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * Renders this context as a {@code traceparent} header value.
+     *
+     * @return the header value, e.g. {@code 00-<trace id>-<span id>-01}
+     */
+    public String toTraceparent() {
+        return VERSION + "-" + traceId + "-" + spanId + "-" + SAMPLED;
+    }
+
+    private static long nonZero(ThreadLocalRandom random) {
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value == 0);
+        return value;
+    }
+
+    private static String hex(long value) {
+        String digits = Long.toHexString(value);
+        return "0".repeat(16 - digits.length()) + digits;
+    }
+}
@@ -0,0 +1,89 @@
+package com.apighost.agent.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Utility class for parsing the execution timestamps of scenario results.
+ * <p>
+ * The executor records {@code executedAt} as an ISO-8601 instant in UTC, such as
+ * {@code 2025-01-31T09:15:02.123456Z}, whose fraction varies in width, so timestamps are
+ * compared as epoch milliseconds rather than as strings. Timestamps with an offset are accepted
+ * as well; a date-time or date without an offset is taken to be in UTC.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ExecutionTimestamps {
+
+    /**
+     * Returned for a missing or unparsable timestamp; it precedes every real timestamp.
+     */
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    /**
+     * Converts a recorded execution timestamp into epoch milliseconds.
+     *
+     * @param executedAt the execution timestamp, may be {@code null}
+     * @return the epoch milliseconds, or {@link #UNKNOWN} if the timestamp is missing or invalid
+     */
+    public static long toEpochMillis(String executedAt) {
+        if (executedAt == null || executedAt.isBlank()) {
+            return UNKNOWN;
+        }
+        Instant instant = parseInstant(executedAt.trim());
+        return instant == null ? UNKNOWN : instant.toEpochMilli();
+    }
+
+    /**
+     * Converts a bound of a time range into epoch milliseconds.
+     * <p>
+     * Accepts an instant ({@code 2025-01-31T09:15:00Z}), a date-time with an offset
+     * ({@code 2025-01-31T18:15:00+09:00}), a date-time in UTC ({@code 2025-01-31T09:15:00}) or a
+     * date in UTC ({@code 2025-01-31}), which is widened to the start or the end of that day.
+     * </p>
+     *
+     * @param value    the bound
+     * @param endOfDay whether a bare date stands for the last millisecond of the day
+     * @return the epoch milliseconds of the bound
+     * @throws IllegalArgumentException if the bound cannot be parsed
+     */
+    public static long parseBound(String value, boolean endOfDay) {
+        String trimmed = value.trim();
+        Instant instant = parseInstant(trimmed);
+        if (instant != null) {
+            return instant.toEpochMilli();
+        }
+        try {
+            LocalDate date = LocalDate.parse(trimmed);
+            LocalDate day = endOfDay ? date.plusDays(1) : date;
+            long startOfDay = day.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            return endOfDay ? startOfDay - 1 : startOfDay;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date or date-time: " + value);
+        }
+    }
+
+    private static Instant parseInstant(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            /* Fall through to the formats with an explicit or an implied offset. */
+        }
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException e) {
+            /* Fall through to a local date-time. */
+        }
+        try {
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
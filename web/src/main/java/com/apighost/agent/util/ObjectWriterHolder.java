@@ -0,0 +1,144 @@
+package com.apighost.agent.util;
+
+import com.apighost.agent.model.ResultSummary;
+import com.apighost.model.scenario.Scenario;
+import com.apighost.model.scenario.result.ResultStep;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Provides pre-built, immutable {@link ObjectWriter} and {@link ObjectReader} instances for every
+ * serialization format used by the agent.
+ * <p>
+ * The shared mappers from {@link ObjectMapperHolder}, {@link YamlMapperHolder} and
+ * {@link SmileMapperHolder} are never reconfigured after construction. Per-use settings such as
+ * pretty-printing are instead fixed once here, on writers and readers that are safe to share
+ * between threads, so serializing on a hot path never changes configuration observed by other
+ * callers.
+ * </p>
+ * <p>
+ * The instances are created lazily using the Bill Pugh Singleton pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class ObjectWriterHolder {
+
+    /**
+     * Holder class for the lazily created writers and readers.
+     */
+    private static class SingletonHolder {
+
+        private static final ObjectMapper jsonMapper = ObjectMapperHolder.getInstance();
+        private static final ObjectMapper yamlMapper = YamlMapperHolder.getInstance();
+        private static final ObjectMapper smileMapper = SmileMapperHolder.getInstance();
+
+        private static final ObjectWriter jsonWriter = jsonMapper.writer()
+            .without(SerializationFeature.INDENT_OUTPUT);
+        private static final ObjectWriter prettyJsonWriter = jsonMapper.writer()
+            .with(SerializationFeature.INDENT_OUTPUT);
+        private static final ObjectWriter prettyYamlWriter = yamlMapper.writer()
+            .with(SerializationFeature.INDENT_OUTPUT);
+        private static final ObjectWriter smileWriter = smileMapper.writer();
+        private static final ObjectWriter summaryWriter = jsonWriter.forType(ResultSummary.class);
+
+        private static final ObjectReader jsonReader = jsonMapper.reader();
+        private static final ObjectReader smileReader = smileMapper.reader();
+        private static final ObjectReader scenarioYamlReader = yamlMapper.readerFor(Scenario.class);
+        private static final ObjectReader summaryReader = jsonMapper.readerFor(ResultSummary.class);
+        private static final ObjectReader resultStepReader = jsonMapper.readerFor(ResultStep.class);
+    }
+
+    /**
+     * Returns the compact JSON writer, used for machine-read documents.
+     *
+     * @return the compact JSON {@code ObjectWriter}
+     */
+    public static ObjectWriter jsonWriter() {
+        return SingletonHolder.jsonWriter;
+    }
+
+    /**
+     * Returns the indented JSON writer, used for files meant to be read by people.
+     *
+     * @return the pretty-printing JSON {@code ObjectWriter}
+     */
+    public static ObjectWriter prettyJsonWriter() {
+        return SingletonHolder.prettyJsonWriter;
+    }
+
+    /**
+     * Returns the indented YAML writer used for scenario files.
+     *
+     * @return the pretty-printing YAML {@code ObjectWriter}
+     */
+    public static ObjectWriter prettyYamlWriter() {
+        return SingletonHolder.prettyYamlWriter;
+    }
+
+    /**
+     * Returns the Smile writer used for binary result storage.
+     *
+     * @return the Smile {@code ObjectWriter}
+     */
+    public static ObjectWriter smileWriter() {
+        return SingletonHolder.smileWriter;
+    }
+
+    /**
+     * Returns the compact JSON writer bound to {@link ResultSummary}.
+     *
+     * @return the result summary {@code ObjectWriter}
+     */
+    public static ObjectWriter summaryWriter() {
+        return SingletonHolder.summaryWriter;
+    }
+
+    /**
+     * Returns the untyped JSON reader, used to create JSON parsers.
+     *
+     * @return the JSON {@code ObjectReader}
+     */
+    public static ObjectReader jsonReader() {
+        return SingletonHolder.jsonReader;
+    }
+
+    /**
+     * Returns the untyped Smile reader, used to create Smile parsers.
+     *
+     * @return the Smile {@code ObjectReader}
+     */
+    public static ObjectReader smileReader() {
+        return SingletonHolder.smileReader;
+    }
+
+    /**
+     * Returns the YAML reader bound to {@link Scenario}.
+     *
+     * @return the scenario {@code ObjectReader}
+     */
+    public static ObjectReader scenarioYamlReader() {
+        return SingletonHolder.scenarioYamlReader;
+    }
+
+    /**
+     * Returns the JSON reader bound to {@link ResultSummary}.
+     *
+     * @return the result summary {@code ObjectReader}
+     */
+    public static ObjectReader summaryReader() {
+        return SingletonHolder.summaryReader;
+    }
+
+    /**
+     * Returns the JSON reader bound to {@link ResultStep}.
+     *
+     * @return the result step {@code ObjectReader}
+     */
+    public static ObjectReader resultStepReader() {
+        return SingletonHolder.resultStepReader;
+    }
+}
@@ -0,0 +1,42 @@
+package com.apighost.agent.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Provides a thread-safe singleton instance of {@link ObjectMapper} configured with
+ * {@link SmileFactory}.
+ * <p>
+ * Besides field names, repeated short string values are written as back-references, which keeps
+ * the many identical header names, methods and URLs of a scenario result to a few bytes each.
+ * The shared instance is created using the Bill Pugh Singleton pattern.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class SmileMapperHolder {
+
+    /**
+     * Holder class for lazy-loaded singleton instance of {@code ObjectMapper} configured for
+     * Smile.
+     */
+    private static class SingletonHolder {
+
+        private static final ObjectMapper smileMapper = new SmileMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+    }
+
+    /**
+     * Returns the singleton {@code ObjectMapper} instance configured for Smile.
+     *
+     * @return the shared Smile {@code ObjectMapper}
+     */
+    public static ObjectMapper getInstance() {
+        return SingletonHolder.smileMapper;
+    }
+}
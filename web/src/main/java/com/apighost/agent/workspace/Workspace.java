@@ -0,0 +1,107 @@
+package com.apighost.agent.workspace;
+
+import com.apighost.agent.analytics.BaselineStore;
+import com.apighost.agent.analytics.ResultAnalytics;
+import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.engine.FileLoaderEngine;
+import com.apighost.agent.index.FileWatchIndex;
+import com.apighost.agent.metrics.Gauge;
+import com.apighost.agent.metrics.MetricFamily;
+import com.apighost.agent.metrics.MetricsRegistry;
+import com.apighost.agent.orchestrator.ScenarioTestOrchestrator;
+import com.apighost.agent.store.ResultStore;
+import com.apighost.agent.store.ResultWriteQueue;
+
+/**
+ * Isolated set of scenario and result directories together with the caches, indexes and stores
+ * that serve them.
+ * <p>
+ * Each workspace owns its own {@link FileWatchIndex}, compilation cache, {@link ResultStore},
+ * background writer and {@link ResultAnalytics}, so listing, loading and persisting in one
+ * workspace never touch the files or in-memory state of another. Workspaces are created by
+ * {@link WorkspaceFactory} and handed out by {@link WorkspaceRegistry}.
+ * </p>
+ * <p>
+ * While open, the depth of the background writer queue is published to the
+ * {@link MetricsRegistry} under the workspace name.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class Workspace implements AutoCloseable {
+
+    private static final MetricFamily<Gauge> WRITER_PENDING = MetricsRegistry.getInstance()
+        .gauge("apighost_result_writer_pending", "Results waiting in the background writer queue",
+            "workspace");
+
+    private final String name;
+    private final ApiGhostSetting apiGhostSetting;
+    private final FileWatchIndex fileWatchIndex;
+    private final ResultStore resultStore;
+    private final ResultWriteQueue resultWriteQueue;
+    private final ResultAnalytics resultAnalytics;
+    private final BaselineStore baselineStore;
+    private final FileLoaderEngine fileLoaderEngine;
+    private final ScenarioTestOrchestrator scenarioTestOrchestrator;
+
+    public Workspace(String name, ApiGhostSetting apiGhostSetting, FileWatchIndex fileWatchIndex,
+        ResultStore resultStore, ResultWriteQueue resultWriteQueue,
+        ResultAnalytics resultAnalytics, BaselineStore baselineStore,
+        FileLoaderEngine fileLoaderEngine, ScenarioTestOrchestrator scenarioTestOrchestrator) {
+        this.name = name;
+        this.apiGhostSetting = apiGhostSetting;
+        this.fileWatchIndex = fileWatchIndex;
+        this.resultStore = resultStore;
+        this.resultWriteQueue = resultWriteQueue;
+        this.resultAnalytics = resultAnalytics;
+        this.baselineStore = baselineStore;
+        this.fileLoaderEngine = fileLoaderEngine;
+        this.scenarioTestOrchestrator = scenarioTestOrchestrator;
+        WRITER_PENDING.labels(name).bind(resultWriteQueue::getPendingCount);
+    }
+
+    /**
+     * Drains the pending results of this workspace and releases its store and file watcher.
+     */
+    @Override
+    public void close() {
+        WRITER_PENDING.remove(name);
+        resultWriteQueue.close();
+        resultAnalytics.close();
+        resultStore.close();
+        fileWatchIndex.close();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ApiGhostSetting getApiGhostSetting() {
+        return apiGhostSetting;
+    }
+
+    public ResultStore getResultStore() {
+        return resultStore;
+    }
+
+    public ResultWriteQueue getResultWriteQueue() {
+        return resultWriteQueue;
+    }
+
+    public ResultAnalytics getResultAnalytics() {
+        return resultAnalytics;
+    }
+
+    public BaselineStore getBaselineStore() {
+        return baselineStore;
+    }
+
+    public FileLoaderEngine getFileLoaderEngine() {
+        return fileLoaderEngine;
+    }
+
+    public ScenarioTestOrchestrator getScenarioTestOrchestrator() {
+        return scenarioTestOrchestrator;
+    }
+}
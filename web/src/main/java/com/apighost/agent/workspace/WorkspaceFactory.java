@@ -0,0 +1,101 @@
+package com.apighost.agent.workspace;
+
+import com.apighost.agent.analytics.BaselineComparator;
+import com.apighost.agent.analytics.BaselineStore;
+import com.apighost.agent.analytics.ResultAnalytics;
+import com.apighost.agent.cache.ScenarioCompilationCache;
+import com.apighost.agent.config.AnalyticsSetting;
+import com.apighost.agent.config.ApiGhostProperties;
+import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.config.ResultStoreSetting;
+import com.apighost.agent.config.ResultStoreSetting.StoreType;
+import com.apighost.agent.engine.FileLoaderEngine;
+import com.apighost.agent.executor.AsyncStepExecutor;
+import com.apighost.agent.executor.ScenarioTestExecutor;
+import com.apighost.agent.file.DirectoryInitializer;
+import com.apighost.agent.file.ScenarioFileLoader;
+import com.apighost.agent.index.FileWatchIndex;
+import com.apighost.agent.orchestrator.ScenarioTestOrchestrator;
+import com.apighost.agent.store.FileResultStore;
+import com.apighost.agent.store.ResultStore;
+import com.apighost.agent.store.ResultWriteQueue;
+import com.apighost.agent.store.SegmentedResultStore;
+import com.apighost.agent.tracing.ScenarioTracer;
+
+/**
+ * Creates {@link Workspace} instances with their own directories, caches, index and result store.
+ * <p>
+ * Step executors, the scenario tracer and the result store settings are shared by all
+ * workspaces; everything that holds files or per-directory state is created anew for each one.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class WorkspaceFactory {
+
+    private final ResultStoreSetting resultStoreSetting;
+    private final AnalyticsSetting analyticsSetting;
+    private final ApiGhostProperties apiGhostProperties;
+    private final AsyncStepExecutor httpStepExecutor;
+    private final AsyncStepExecutor webSocketStepExecutor;
+    private final ScenarioTracer scenarioTracer;
+
+    public WorkspaceFactory(ResultStoreSetting resultStoreSetting,
+        AnalyticsSetting analyticsSetting, ApiGhostProperties apiGhostProperties,
+        AsyncStepExecutor http, AsyncStepExecutor webSocket, ScenarioTracer scenarioTracer) {
+        this.resultStoreSetting = resultStoreSetting;
+        this.analyticsSetting = analyticsSetting;
+        this.apiGhostProperties = apiGhostProperties;
+        this.httpStepExecutor = http;
+        this.webSocketStepExecutor = webSocket;
+        this.scenarioTracer = scenarioTracer;
+    }
+
+    /**
+     * Creates the workspace stored under the paths of the given setting, creating its
+     * directories if they are missing.
+     *
+     * @param name            the workspace name
+     * @param apiGhostSetting the paths and formats of the workspace
+     * @return the new workspace
+     */
+    public Workspace create(String name, ApiGhostSetting apiGhostSetting) {
+        DirectoryInitializer.initializeDirectories(apiGhostSetting);
+
+        FileWatchIndex fileWatchIndex = new FileWatchIndex(apiGhostSetting);
+        ResultStore resultStore;
+        try {
+            resultStore = openResultStore(apiGhostSetting, fileWatchIndex);
+        } catch (RuntimeException e) {
+            fileWatchIndex.close();
+            throw e;
+        }
+
+        ResultWriteQueue resultWriteQueue = new ResultWriteQueue(resultStore,
+            resultStoreSetting.getWriterQueueCapacity(), resultStoreSetting.getWriterBatchSize());
+        ResultAnalytics resultAnalytics = new ResultAnalytics(resultStore, analyticsSetting,
+            apiGhostSetting.getResultPath());
+        resultWriteQueue.addListener(resultAnalytics);
+        BaselineStore baselineStore = new BaselineStore(resultStore,
+            new BaselineComparator(analyticsSetting), apiGhostSetting.getResultPath());
+        ScenarioCompilationCache scenarioCompilationCache = new ScenarioCompilationCache(
+            new ScenarioFileLoader(apiGhostSetting));
+        ScenarioTestExecutor scenarioTestExecutor = new ScenarioTestExecutor(apiGhostSetting,
+            apiGhostProperties, httpStepExecutor, webSocketStepExecutor, scenarioTracer);
+
+        return new Workspace(name, apiGhostSetting, fileWatchIndex, resultStore, resultWriteQueue,
+            resultAnalytics, baselineStore,
+            new FileLoaderEngine(apiGhostSetting, fileWatchIndex, resultStore),
+            new ScenarioTestOrchestrator(scenarioCompilationCache, scenarioTestExecutor,
+                resultWriteQueue, baselineStore));
+    }
+
+    private ResultStore openResultStore(ApiGhostSetting apiGhostSetting,
+        FileWatchIndex fileWatchIndex) {
+        if (resultStoreSetting.getStoreType() == StoreType.SEGMENTED) {
+            return new SegmentedResultStore(apiGhostSetting, resultStoreSetting);
+        }
+        return new FileResultStore(apiGhostSetting, resultStoreSetting, fileWatchIndex);
+    }
+}
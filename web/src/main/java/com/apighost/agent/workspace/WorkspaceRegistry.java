@@ -0,0 +1,192 @@
+package com.apighost.agent.workspace;
+
+import com.apighost.agent.config.ApiGhostSetting;
+import com.apighost.agent.config.WorkspaceSetting;
+import com.apighost.agent.exception.WorkspaceNotFoundException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands out the {@link Workspace} for a requested workspace name, opening it on first use.
+ * <p>
+ * A missing or blank name, or {@value #DEFAULT_WORKSPACE}, selects the default workspace, which
+ * uses the configured scenario and result paths. Other names must consist of letters, digits,
+ * {@code -} and {@code _}, so a name always maps to a single directory under the workspace
+ * root. Open workspaces are looked up without locking; only opening a new one is serialized.
+ * </p>
+ * <p>
+ * A named workspace exists once its directory does. {@link #get(String)} only opens existing
+ * workspaces, so reading never creates directories or starts background threads; only
+ * {@link #create(String)}, used by requests that write to a workspace, creates one.
+ * </p>
+ *
+ * @author kobenlys
+ * @version BETA-0.0.1
+ */
+public class WorkspaceRegistry implements AutoCloseable {
+
+    /** Name of the workspace that uses the configured scenario and result paths. */
+    public static final String DEFAULT_WORKSPACE = "default";
+
+    private static final Pattern WORKSPACE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]{0,63}");
+    private static final Logger log = LoggerFactory.getLogger(WorkspaceRegistry.class);
+
+    private final ApiGhostSetting apiGhostSetting;
+    private final WorkspaceSetting workspaceSetting;
+    private final WorkspaceFactory workspaceFactory;
+    private final Map<String, Workspace> workspaces = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@code WorkspaceRegistry}.
+     *
+     * @param apiGhostSetting  the paths and formats of the default workspace
+     * @param workspaceSetting the location and limit of named workspaces
+     * @param workspaceFactory the factory used to open workspaces
+     */
+    public WorkspaceRegistry(ApiGhostSetting apiGhostSetting, WorkspaceSetting workspaceSetting,
+        WorkspaceFactory workspaceFactory) {
+        this.apiGhostSetting = apiGhostSetting;
+        this.workspaceSetting = workspaceSetting;
+        this.workspaceFactory = workspaceFactory;
+    }
+
+    /**
+     * Returns the existing workspace with the given name, opening it if needed.
+     *
+     * @param workspaceName the workspace name, or {@code null} for the default workspace
+     * @return the workspace
+     * @throws IllegalArgumentException   if the name is invalid
+     * @throws WorkspaceNotFoundException if the named workspace has not been created
+     * @throws IllegalStateException      if the workspace limit is reached or the registry is
+     *                                    closed
+     */
+    public Workspace get(String workspaceName) {
+        String name = normalize(workspaceName);
+        Workspace workspace = workspaces.get(name);
+        if (workspace != null) {
+            return workspace;
+        }
+        return open(name, false);
+    }
+
+    /**
+     * Returns the workspace with the given name, creating its directory if it does not exist
+     * yet.
+     *
+     * @param workspaceName the workspace name, or {@code null} for the default workspace
+     * @return the workspace
+     * @throws IllegalArgumentException if the name is invalid
+     * @throws IllegalStateException    if the workspace limit is reached, the registry is closed
+     *                                  or the directory cannot be created
+     */
+    public Workspace create(String workspaceName) {
+        String name = normalize(workspaceName);
+        Workspace workspace = workspaces.get(name);
+        if (workspace != null) {
+            return workspace;
+        }
+        return open(name, true);
+    }
+
+    /**
+     * Returns the names of the default workspace and of every workspace directory under the
+     * workspace root, whether or not it is open.
+     *
+     * @return the workspace names in name order
+     */
+    public List<String> getWorkspaceNames() {
+        TreeSet<String> names = new TreeSet<>(workspaces.keySet());
+        names.add(DEFAULT_WORKSPACE);
+        File[] directories = new File(workspaceSetting.getRootPath()).listFiles(File::isDirectory);
+        if (directories != null) {
+            for (File directory : directories) {
+                if (WORKSPACE_NAME.matcher(directory.getName()).matches()) {
+                    names.add(directory.getName());
+                }
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Closes every open workspace.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Workspace workspace : workspaces.values()) {
+            try {
+                workspace.close();
+            } catch (RuntimeException e) {
+                log.warn("Failed to close workspace: {}", workspace.getName(), e);
+            }
+        }
+        workspaces.clear();
+    }
+
+    private synchronized Workspace open(String name, boolean createIfMissing) {
+        if (closed) {
+            throw new IllegalStateException("Workspace registry is closed");
+        }
+        Workspace workspace = workspaces.get(name);
+        if (workspace != null) {
+            return workspace;
+        }
+        Path directory = Paths.get(workspaceSetting.getScenarioPath(name));
+        boolean exists = DEFAULT_WORKSPACE.equals(name) || Files.isDirectory(directory);
+        if (!exists && !createIfMissing) {
+            throw new WorkspaceNotFoundException(name);
+        }
+        if (workspaces.size() >= workspaceSetting.getMaxWorkspaces()) {
+            throw new IllegalStateException(
+                "Maximum number of workspaces reached: " + workspaceSetting.getMaxWorkspaces());
+        }
+        if (!exists) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to create workspace: " + name, e);
+            }
+            log.info("Created workspace: {}", name);
+        }
+
+        workspace = workspaceFactory.create(name, settingOf(name));
+        workspaces.put(name, workspace);
+        log.info("Opened workspace: {}", name);
+        return workspace;
+    }
+
+    private ApiGhostSetting settingOf(String name) {
+        if (DEFAULT_WORKSPACE.equals(name)) {
+            return apiGhostSetting;
+        }
+        return apiGhostSetting.withPaths(workspaceSetting.getScenarioPath(name),
+            workspaceSetting.getResultPath(name));
+    }
+
+    private String normalize(String workspaceName) {
+        if (workspaceName == null || workspaceName.isBlank()) {
+            return DEFAULT_WORKSPACE;
+        }
+        String name = workspaceName.trim();
+        if (!WORKSPACE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid workspace name: " + workspaceName);
+        }
+        return name;
+    }
+}